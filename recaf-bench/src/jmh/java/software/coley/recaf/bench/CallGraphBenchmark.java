@@ -0,0 +1,42 @@
+package software.coley.recaf.bench;
+
+import org.openjdk.jmh.annotations.*;
+import software.coley.observables.ObservableBoolean;
+import software.coley.recaf.services.callgraph.CallGraph;
+import software.coley.recaf.services.callgraph.CallGraphConfig;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for building a {@link CallGraph} of a synthetic workspace.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CallGraphBenchmark extends RecafBenchmark {
+	@Param({"1000", "10000"})
+	private int classCount;
+	private Workspace workspace;
+
+	@Setup(Level.Invocation)
+	public void setup() {
+		// Graphs register listeners on the workspace and config, so each invocation gets new ones.
+		workspace = SyntheticWorkspaces.newWorkspace(classCount);
+	}
+
+	@Benchmark
+	public CallGraph build() throws InterruptedException {
+		// The graph is populated asynchronously, so wait for it to be completed.
+		CallGraph graph = new CallGraph(new CallGraphConfig(), workspace);
+		ObservableBoolean ready = graph.isReady();
+		while (!ready.getValue())
+			Thread.sleep(1);
+		return graph;
+	}
+}
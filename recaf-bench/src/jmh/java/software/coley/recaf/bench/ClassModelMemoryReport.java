@@ -0,0 +1,141 @@
+package software.coley.recaf.bench;
+
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.info.InnerClassInfo;
+import software.coley.recaf.info.member.ClassMember;
+import software.coley.recaf.info.member.LocalVariable;
+import software.coley.recaf.info.member.MethodMember;
+import software.coley.recaf.services.workspace.io.ResourceImporter;
+import software.coley.recaf.services.workspace.io.ResourceImporterConfig;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reports the memory held by the class model of an imported resource, with and without string pooling
+ * <i>(See {@link ResourceImporterConfig#getInternStrings()})</i>.
+ * <p>
+ * For each mode the resource is imported and the heap used after a full GC is compared to the heap used before
+ * the import. The strings referenced by the class model are also counted, showing how many references point to
+ * distinct instances compared to distinct values.
+ * <p>
+ * Run with: {@code gradlew :recaf-bench:memoryReport}. By default a synthetic jar is imported.
+ * A real jar can be used instead with {@code -PbenchJar=<path>}.
+ *
+ * @author Matt Coley
+ */
+public class ClassModelMemoryReport extends RecafBenchmark {
+	private static final int SYNTHETIC_CLASS_COUNT = 20_000;
+	private static final long MB = 1024 * 1024;
+
+	/**
+	 * @param args
+	 * 		Optional path of a jar to import.
+	 *
+	 * @throws IOException
+	 * 		When the jar cannot be generated or imported.
+	 */
+	public static void main(String[] args) throws IOException {
+		Path path;
+		Path generated = null;
+		if (args.length > 0) {
+			path = Paths.get(args[0]);
+		} else {
+			generated = Files.createTempFile("recaf-bench-", ".jar");
+			SyntheticWorkspaces.writeJar(SYNTHETIC_CLASS_COUNT, generated);
+			path = generated;
+		}
+		try {
+			ResourceImporter importer = recaf.get(ResourceImporter.class);
+			ResourceImporterConfig config = recaf.get(ResourceImporterConfig.class);
+			System.out.println("Class model memory report: " + path.getFileName());
+
+			// Warm up the importer so that class loading is not counted in the first mode.
+			importer.importResource(path);
+
+			long unpooled = report(importer, config, path, false);
+			long pooled = report(importer, config, path, true);
+			System.out.printf("Saved: %d MiB (%.1f%%)%n", (unpooled - pooled) / MB,
+					100.0 * (unpooled - pooled) / Math.max(1, unpooled));
+		} finally {
+			if (generated != null)
+				Files.deleteIfExists(generated);
+		}
+		System.exit(0);
+	}
+
+	private static long report(@Nonnull ResourceImporter importer, @Nonnull ResourceImporterConfig config,
+	                           @Nonnull Path path, boolean intern) throws IOException {
+		config.getInternStrings().setValue(intern);
+		long before = usedAfterGc();
+		WorkspaceResource resource = importer.importResource(path);
+		long retained = usedAfterGc() - before;
+
+		// Count strings referenced by the model. References are counted per instance and per value.
+		Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+		Set<String> values = new HashSet<>();
+		long[] references = new long[1];
+		StringCounter counter = value -> {
+			if (value == null) return;
+			references[0]++;
+			instances.add(value);
+			values.add(value);
+		};
+		List<ClassInfo> classes = resource.classBundleStreamRecursive()
+				.flatMap(bundle -> bundle.values().stream())
+				.map(ClassInfo.class::cast)
+				.toList();
+		for (ClassInfo cls : classes) {
+			counter.add(cls.getName());
+			counter.add(cls.getSuperName());
+			counter.add(cls.getSignature());
+			cls.getInterfaces().forEach(counter::add);
+			for (InnerClassInfo inner : cls.getInnerClasses()) {
+				counter.add(inner.getInnerClassName());
+				counter.add(inner.getOuterClassName());
+				counter.add(inner.getInnerName());
+			}
+			for (ClassMember member : cls.fieldAndMethodStream().toList()) {
+				counter.add(member.getName());
+				counter.add(member.getDescriptor());
+				counter.add(member.getSignature());
+				if (member instanceof MethodMember method) {
+					method.getThrownTypes().forEach(counter::add);
+					for (LocalVariable variable : method.getLocalVariables()) {
+						counter.add(variable.getName());
+						counter.add(variable.getDescriptor());
+						counter.add(variable.getSignature());
+					}
+				}
+			}
+		}
+
+		System.out.printf("%-10s retained: %4d MiB, classes: %d, string references: %d, instances: %d, values: %d%n",
+				intern ? "Pooled" : "Unpooled", retained / MB, classes.size(),
+				references[0], instances.size(), values.size());
+		resource.close();
+		return retained;
+	}
+
+	private static long usedAfterGc() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		for (int i = 0; i < 3; i++)
+			memory.gc();
+		return memory.getHeapMemoryUsage().getUsed();
+	}
+
+	private interface StringCounter {
+		void add(String value);
+	}
+}
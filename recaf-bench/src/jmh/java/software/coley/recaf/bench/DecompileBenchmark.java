@@ -0,0 +1,46 @@
+package software.coley.recaf.bench;
+
+import org.openjdk.jmh.annotations.*;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.decompile.DecompileResult;
+import software.coley.recaf.services.decompile.DecompilerManager;
+import software.coley.recaf.services.decompile.JvmDecompiler;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for decompiling a class with each {@link JvmDecompiler}.
+ * <p>
+ * Decompilers are called directly rather than through {@link DecompilerManager#decompile}, so that the
+ * cached results of prior invocations are not used.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DecompileBenchmark extends RecafBenchmark {
+	@Param({"CFR", "Procyon", "Vineflower", "Fallback"})
+	private String decompilerName;
+	private JvmDecompiler decompiler;
+	private Workspace workspace;
+	private JvmClassInfo target;
+
+	@Setup
+	public void setup() {
+		decompiler = recaf.get(DecompilerManager.class).getJvmDecompiler(decompilerName);
+		if (decompiler == null)
+			throw new IllegalStateException("Unknown decompiler: " + decompilerName);
+		workspace = SyntheticWorkspaces.newWorkspace(100);
+		target = workspace.findJvmClass(SyntheticWorkspaces.className(55)).getValue().asJvmClass();
+	}
+
+	@Benchmark
+	public DecompileResult decompile() {
+		return decompiler.decompile(workspace, target);
+	}
+}
@@ -0,0 +1,59 @@
+package software.coley.recaf.bench;
+
+import org.openjdk.jmh.annotations.*;
+import software.coley.recaf.services.workspace.io.ResourceImporter;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for importing jars with the {@link ResourceImporter}.
+ * <p>
+ * By default a synthetic jar is imported. Paths to real jars can be given as additional values
+ * of the {@code input} parameter.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ImportBenchmark extends RecafBenchmark {
+	private static final String SYNTHETIC = "synthetic";
+	@Param(SYNTHETIC)
+	private String input;
+	@Param({"1000", "10000"})
+	private int classCount;
+	private ResourceImporter importer;
+	private Path path;
+	private Path generated;
+
+	@Setup
+	public void setup() throws IOException {
+		importer = recaf.get(ResourceImporter.class);
+		if (SYNTHETIC.equals(input)) {
+			generated = Files.createTempFile("recaf-bench-", ".jar");
+			SyntheticWorkspaces.writeJar(classCount, generated);
+			path = generated;
+		} else {
+			path = Paths.get(input);
+		}
+	}
+
+	@TearDown
+	public void teardown() throws IOException {
+		if (generated != null)
+			Files.deleteIfExists(generated);
+	}
+
+	@Benchmark
+	public WorkspaceResource importJar() throws IOException {
+		return importer.importResource(path);
+	}
+}
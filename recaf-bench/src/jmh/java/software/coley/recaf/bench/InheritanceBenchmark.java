@@ -0,0 +1,63 @@
+package software.coley.recaf.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import software.coley.recaf.services.inheritance.InheritanceGraph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link InheritanceGraph} hierarchy lookups over a synthetic workspace.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InheritanceBenchmark extends RecafBenchmark {
+	private static final int PAIRS = 1024;
+	@Param({"1000", "10000"})
+	private int classCount;
+	private InheritanceGraph graph;
+	private String[] first;
+	private String[] second;
+
+	@Setup
+	public void setup() {
+		open(SyntheticWorkspaces.newWorkspace(classCount));
+		graph = recaf.get(InheritanceGraph.class);
+
+		// Pairs within the same chain, so the lookups walk the hierarchy rather than stopping at a missing vertex.
+		Random random = new Random(0);
+		first = new String[PAIRS];
+		second = new String[PAIRS];
+		for (int i = 0; i < PAIRS; i++) {
+			int chain = random.nextInt(classCount / SyntheticWorkspaces.HIERARCHY_DEPTH) * SyntheticWorkspaces.HIERARCHY_DEPTH;
+			first[i] = SyntheticWorkspaces.className(chain + random.nextInt(SyntheticWorkspaces.HIERARCHY_DEPTH));
+			second[i] = SyntheticWorkspaces.className(chain + random.nextInt(SyntheticWorkspaces.HIERARCHY_DEPTH));
+		}
+	}
+
+	@TearDown
+	public void teardown() {
+		close();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void getCommon(Blackhole bh) {
+		for (int i = 0; i < PAIRS; i++)
+			bh.consume(graph.getCommon(first[i], second[i]));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PAIRS)
+	public void isAssignableFrom(Blackhole bh) {
+		for (int i = 0; i < PAIRS; i++)
+			bh.consume(graph.isAssignableFrom(first[i], second[i]));
+	}
+}
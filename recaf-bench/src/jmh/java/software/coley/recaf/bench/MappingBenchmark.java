@@ -0,0 +1,52 @@
+package software.coley.recaf.bench;
+
+import org.openjdk.jmh.annotations.*;
+import software.coley.recaf.services.mapping.IntermediateMappings;
+import software.coley.recaf.services.mapping.MappingApplier;
+import software.coley.recaf.services.mapping.MappingResults;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link MappingApplier#applyToPrimaryResource} over a synthetic workspace.
+ * <p>
+ * The mappings rename every tenth class, which heads an inheritance chain, and the first method of every class.
+ * Results are only previewed, so the workspace is the same for each invocation.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MappingBenchmark extends RecafBenchmark {
+	@Param({"1000", "10000"})
+	private int classCount;
+	private MappingApplier applier;
+	private IntermediateMappings mappings;
+
+	@Setup
+	public void setup() {
+		open(SyntheticWorkspaces.newWorkspace(classCount));
+		applier = recaf.get(MappingApplier.class);
+		mappings = new IntermediateMappings();
+		for (int i = 0; i < classCount; i++) {
+			String name = SyntheticWorkspaces.className(i);
+			if (i % SyntheticWorkspaces.HIERARCHY_DEPTH == 0)
+				mappings.addClass(name, name + "_mapped");
+			mappings.addMethod(name, "(I)Ljava/lang/String;", "m0", "m0_mapped");
+		}
+	}
+
+	@TearDown
+	public void teardown() {
+		close();
+	}
+
+	@Benchmark
+	public MappingResults applyToPrimaryResource() {
+		return applier.applyToPrimaryResource(mappings);
+	}
+}
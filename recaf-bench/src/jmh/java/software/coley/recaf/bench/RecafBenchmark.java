@@ -0,0 +1,42 @@
+package software.coley.recaf.bench;
+
+import jakarta.annotation.Nonnull;
+import software.coley.recaf.Bootstrap;
+import software.coley.recaf.Recaf;
+import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.util.TestEnvironment;
+import software.coley.recaf.workspace.model.Workspace;
+
+/**
+ * Common base for benchmarks using the Recaf application.
+ * <p>
+ * The application is created once per benchmark fork, as a test environment so that the user's
+ * configuration and plugins do not affect results.
+ *
+ * @author Matt Coley
+ */
+public abstract class RecafBenchmark {
+	protected static final Recaf recaf;
+
+	static {
+		TestEnvironment.initTestEnv();
+		recaf = Bootstrap.get();
+	}
+
+	/**
+	 * Sets the given workspace as the current one, so workspace scoped services can be created for it.
+	 *
+	 * @param workspace
+	 * 		Workspace to open.
+	 */
+	protected static void open(@Nonnull Workspace workspace) {
+		recaf.get(WorkspaceManager.class).setCurrent(workspace);
+	}
+
+	/**
+	 * Closes the current workspace, if any.
+	 */
+	protected static void close() {
+		recaf.get(WorkspaceManager.class).setCurrent(null);
+	}
+}
@@ -0,0 +1,76 @@
+package software.coley.recaf.bench;
+
+import org.openjdk.jmh.annotations.*;
+import software.coley.recaf.services.search.SearchService;
+import software.coley.recaf.services.search.match.NumberPredicateProvider;
+import software.coley.recaf.services.search.match.StringPredicateProvider;
+import software.coley.recaf.services.search.query.NumberQuery;
+import software.coley.recaf.services.search.query.ReferenceQuery;
+import software.coley.recaf.services.search.query.StringQuery;
+import software.coley.recaf.services.search.result.Results;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link SearchService} queries over a synthetic workspace.
+ *
+ * @author Matt Coley
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SearchBenchmark extends RecafBenchmark {
+	@Param({"1000", "10000"})
+	private int classCount;
+	private SearchService searchService;
+	private Workspace workspace;
+	private StringQuery stringEquals;
+	private StringQuery stringContains;
+	private NumberQuery numberEquals;
+	private ReferenceQuery classReference;
+	private ReferenceQuery memberReference;
+
+	@Setup
+	public void setup() {
+		searchService = recaf.get(SearchService.class);
+		workspace = SyntheticWorkspaces.newWorkspace(classCount);
+
+		StringPredicateProvider strings = recaf.get(StringPredicateProvider.class);
+		NumberPredicateProvider numbers = recaf.get(NumberPredicateProvider.class);
+		String target = SyntheticWorkspaces.className(classCount / 2);
+		stringEquals = new StringQuery(strings.newEqualPredicate(SyntheticWorkspaces.stringConstant(0)));
+		stringContains = new StringQuery(strings.newContainsPredicate("lue-3"));
+		numberEquals = new NumberQuery(numbers.newEqualsPredicate(100_000 + classCount / 2));
+		classReference = new ReferenceQuery(strings.newEqualPredicate(target));
+		memberReference = new ReferenceQuery(strings.newEqualPredicate(target), strings.newEqualPredicate("m1"), null);
+	}
+
+	@Benchmark
+	public Results stringEquals() {
+		return searchService.search(workspace, stringEquals);
+	}
+
+	@Benchmark
+	public Results stringContains() {
+		return searchService.search(workspace, stringContains);
+	}
+
+	@Benchmark
+	public Results numberEquals() {
+		return searchService.search(workspace, numberEquals);
+	}
+
+	@Benchmark
+	public Results classReference() {
+		return searchService.search(workspace, classReference);
+	}
+
+	@Benchmark
+	public Results memberReference() {
+		return searchService.search(workspace, memberReference);
+	}
+}
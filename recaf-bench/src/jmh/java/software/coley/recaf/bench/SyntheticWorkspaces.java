@@ -0,0 +1,205 @@
+package software.coley.recaf.bench;
+
+import jakarta.annotation.Nonnull;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.workspace.model.BasicWorkspace;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
+import software.coley.recaf.workspace.model.resource.WorkspaceResourceBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Generator of large workspaces with predictable content, for benchmarks which need more input than the
+ * test fixture classes provide.
+ * <p>
+ * Generated classes are laid out as:
+ * <ul>
+ *     <li>{@value #INTERFACE_COUNT} marker interfaces, {@code bench/I0} through {@code bench/I19}.</li>
+ *     <li>Classes {@code bench/p<n>/C<i>} with {@value #CLASSES_PER_PACKAGE} classes per package.
+ *     Every {@value #HIERARCHY_DEPTH} classes form a chain where each extends the previous, and each class implements
+ *     one of the interfaces.</li>
+ *     <li>Each class has {@value #FIELDS_PER_CLASS} fields, and {@value #METHODS_PER_CLASS} static methods which load
+ *     number and string constants and call a method of another class.</li>
+ * </ul>
+ *
+ * @author Matt Coley
+ */
+public class SyntheticWorkspaces {
+	/**
+	 * Number of generated interfaces.
+	 */
+	public static final int INTERFACE_COUNT = 20;
+	/**
+	 * Number of classes per package.
+	 */
+	public static final int CLASSES_PER_PACKAGE = 100;
+	/**
+	 * Length of generated inheritance chains.
+	 */
+	public static final int HIERARCHY_DEPTH = 10;
+	/**
+	 * Number of fields per class.
+	 */
+	public static final int FIELDS_PER_CLASS = 3;
+	/**
+	 * Number of methods per class.
+	 */
+	public static final int METHODS_PER_CLASS = 5;
+
+	private SyntheticWorkspaces() {}
+
+	/**
+	 * @param index
+	 * 		Class index.
+	 *
+	 * @return Internal name of the generated class at the index.
+	 */
+	@Nonnull
+	public static String className(int index) {
+		return "bench/p" + (index / CLASSES_PER_PACKAGE) + "/C" + index;
+	}
+
+	/**
+	 * @param index
+	 * 		Interface index.
+	 *
+	 * @return Internal name of the generated interface at the index.
+	 */
+	@Nonnull
+	public static String interfaceName(int index) {
+		return "bench/I" + (index % INTERFACE_COUNT);
+	}
+
+	/**
+	 * @param index
+	 * 		Method index.
+	 *
+	 * @return String constant loaded by methods at the given index.
+	 */
+	@Nonnull
+	public static String stringConstant(int index) {
+		return "value-" + index;
+	}
+
+	/**
+	 * @param classCount
+	 * 		Number of classes to generate, not including interfaces.
+	 *
+	 * @return Workspace with a single resource holding the generated classes.
+	 */
+	@Nonnull
+	public static Workspace newWorkspace(int classCount) {
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		for (byte[] bytecode : generate(classCount))
+			bundle.initialPut(new JvmClassInfoBuilder(bytecode).build());
+		return new BasicWorkspace(new WorkspaceResourceBuilder().withJvmClassBundle(bundle).build());
+	}
+
+	/**
+	 * @param classCount
+	 * 		Number of classes to generate, not including interfaces.
+	 * @param path
+	 * 		Path to write the jar to.
+	 *
+	 * @throws IOException
+	 * 		When the jar cannot be written.
+	 */
+	public static void writeJar(int classCount, @Nonnull Path path) throws IOException {
+		try (OutputStream out = Files.newOutputStream(path);
+		     JarOutputStream jar = new JarOutputStream(out)) {
+			for (byte[] bytecode : generate(classCount)) {
+				String name = new ClassReader(bytecode).getClassName();
+				jar.putNextEntry(new JarEntry(name + ".class"));
+				jar.write(bytecode);
+				jar.closeEntry();
+			}
+		}
+	}
+
+	/**
+	 * @param classCount
+	 * 		Number of classes to generate, not including interfaces.
+	 *
+	 * @return Bytecode of the generated interfaces and classes.
+	 */
+	@Nonnull
+	public static List<byte[]> generate(int classCount) {
+		List<byte[]> classes = new ArrayList<>(INTERFACE_COUNT + classCount);
+		for (int i = 0; i < INTERFACE_COUNT; i++)
+			classes.add(generateInterface(i));
+		for (int i = 0; i < classCount; i++)
+			classes.add(generateClass(i, classCount));
+		return classes;
+	}
+
+	@Nonnull
+	private static byte[] generateInterface(int index) {
+		ClassWriter cw = new ClassWriter(0);
+		cw.visit(V17, ACC_PUBLIC | ACC_INTERFACE | ACC_ABSTRACT, interfaceName(index), null, "java/lang/Object", null);
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	@Nonnull
+	private static byte[] generateClass(int index, int classCount) {
+		String name = className(index);
+		String superName = index % HIERARCHY_DEPTH == 0 ? "java/lang/Object" : className(index - 1);
+
+		// Frames are not needed since the generated code has no branches, and computing them
+		// would require loading the generated types.
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(V17, ACC_PUBLIC | ACC_SUPER, name, null, superName, new String[]{interfaceName(index)});
+
+		// Fields
+		cw.visitField(ACC_PRIVATE, "count", "I", null, null).visitEnd();
+		cw.visitField(ACC_PRIVATE, "label", "Ljava/lang/String;", null, null).visitEnd();
+		cw.visitField(ACC_PRIVATE, "peer", "L" + className((index + 7) % classCount) + ";", null, null).visitEnd();
+
+		// Constructor
+		MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		mv.visitCode();
+		mv.visitVarInsn(ALOAD, 0);
+		mv.visitMethodInsn(INVOKESPECIAL, superName, "<init>", "()V", false);
+		mv.visitInsn(RETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		// Methods which each call into another class, forming a call graph spanning the workspace
+		for (int m = 0; m < METHODS_PER_CLASS; m++) {
+			int target = (int) ((index * 31L + m) % classCount);
+			mv = cw.visitMethod(ACC_PUBLIC | ACC_STATIC, "m" + m, "(I)Ljava/lang/String;", null, null);
+			mv.visitCode();
+			mv.visitVarInsn(ILOAD, 0);
+			mv.visitIntInsn(BIPUSH, (index + m) % 100);
+			mv.visitInsn(IADD);
+			mv.visitLdcInsn(100_000 + index);
+			mv.visitInsn(IMUL);
+			mv.visitInsn(POP);
+			if (m + 1 < METHODS_PER_CLASS && target != index) {
+				mv.visitVarInsn(ILOAD, 0);
+				mv.visitMethodInsn(INVOKESTATIC, className(target), "m" + (m + 1), "(I)Ljava/lang/String;", false);
+				mv.visitInsn(POP);
+			}
+			mv.visitLdcInsn(stringConstant(m));
+			mv.visitInsn(ARETURN);
+			mv.visitMaxs(0, 0);
+			mv.visitEnd();
+		}
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+}
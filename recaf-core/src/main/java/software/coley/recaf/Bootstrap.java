@@ -7,7 +7,9 @@
 import org.slf4j.Logger;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.cdi.AutoRegisterWorkspaceListenersInterceptor;
+import software.coley.recaf.cdi.BeanIndex;
 import software.coley.recaf.cdi.EagerInitializationExtension;
+import software.coley.recaf.cdi.StartupProfile;
 import software.coley.recaf.cdi.WorkspaceBeanExtension;
 
 import java.util.function.Consumer;
@@ -72,12 +74,9 @@ private static SeContainer createContainer() {
 		weld.addExtension(WorkspaceBeanExtension.getInstance());
 		weld.addExtension(EagerInitializationExtension.getInstance());
 
-		// Setup bean discovery
-		//  - one instance for base package in API
-		//  - one instance for base package in Core
+		// Setup bean discovery, using the build-time index of the module when available
 		logger.info("CDI: Registering bean packages");
-		weld.addPackage(true, RecafConstants.class);
-		weld.addPackage(true, Recaf.class);
+		BeanIndex.register(weld, "recaf-core", Recaf.class);
 
 		// Handle user-defined action
 		if (weldConsumer != null) {
@@ -87,6 +86,9 @@ private static SeContainer createContainer() {
 		}
 
 		logger.info("CDI: Initializing...");
-		return weld.initialize();
+		long then = System.nanoTime();
+		SeContainer container = weld.initialize();
+		StartupProfile.record("Container initialization", System.nanoTime() - then);
+		return container;
 	}
 }
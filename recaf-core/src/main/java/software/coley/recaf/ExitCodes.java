@@ -17,5 +17,6 @@ public class ExitCodes {
 	public static final int INTELLIJ_TERMINATION = 130;
 	public static final int ERR_CDI_INIT_FAILURE = 150;
 	public static final int ERR_NOT_A_JDK = 160;
+	public static final int ERR_BATCH_JOB_FAILURE = 170;
 
 }
@@ -0,0 +1,100 @@
+package software.coley.recaf.cdi;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.jboss.weld.environment.se.Weld;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers bean classes of a Recaf module with {@link Weld}.
+ * <p>
+ * Each module's build generates a list of its classes at {@link #INDEX_PATH}{@code /<module>.txt}. When present,
+ * the listed classes are registered directly, which skips Weld scanning the classpath entry of the module for them.
+ * Anonymous and local classes cannot be beans, so they are left out of the index. When the index is missing,
+ * such as when running from an IDE which does not run the Gradle build, the module's package is scanned instead.
+ * Scanning can also be forced with the system property {@code -D}{@value #FORCE_SCAN_PROPERTY}{@code =true}.
+ *
+ * @author Matt Coley
+ */
+public class BeanIndex {
+	/**
+	 * Resource directory containing module bean indices.
+	 */
+	public static final String INDEX_PATH = "META-INF/recaf/bean-index";
+	/**
+	 * System property to force package scanning over using bean indices.
+	 */
+	public static final String FORCE_SCAN_PROPERTY = "recaf.cdi.scan";
+	private static final Logger logger = Logging.get(BeanIndex.class);
+
+	private BeanIndex() {}
+
+	/**
+	 * @param weld
+	 * 		Weld instance to register bean classes with.
+	 * @param module
+	 * 		Name of the module, matching the name of its index.
+	 * @param packageClass
+	 * 		Class in the root package of the module, used to load the index and its classes,
+	 * 		or to scan the package if the index is not available.
+	 */
+	public static void register(@Nonnull Weld weld, @Nonnull String module, @Nonnull Class<?> packageClass) {
+		long then = System.nanoTime();
+		List<Class<?>> classes = Boolean.getBoolean(FORCE_SCAN_PROPERTY) ? null : read(module, packageClass.getClassLoader());
+		if (classes == null) {
+			logger.info("CDI: Scanning package of '{}' for module '{}'", packageClass.getPackageName(), module);
+			weld.addPackage(true, packageClass);
+		} else {
+			weld.addBeanClasses(classes.toArray(Class<?>[]::new));
+			logger.info("CDI: Registered {} classes from index of module '{}'", classes.size(), module);
+		}
+		StartupProfile.record("Bean discovery: " + module, System.nanoTime() - then);
+	}
+
+	/**
+	 * @param module
+	 * 		Name of the module.
+	 * @param loader
+	 * 		Loader to read the index and its classes from.
+	 *
+	 * @return Classes listed in the index, or {@code null} if there is no usable index.
+	 */
+	@Nullable
+	private static List<Class<?>> read(@Nonnull String module, @Nonnull ClassLoader loader) {
+		String path = INDEX_PATH + '/' + module + ".txt";
+		try (InputStream in = loader.getResourceAsStream(path)) {
+			if (in == null)
+				return null;
+			List<Class<?>> classes = new ArrayList<>();
+			BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#"))
+					continue;
+
+				// Classes are not initialized here, Weld will do so if they are used as beans.
+				// Like when scanning, classes referencing types which are not available are skipped.
+				try {
+					classes.add(Class.forName(line, false, loader));
+				} catch (LinkageError ex) {
+					logger.debug("CDI: Skipping indexed class '{}' of module '{}'", line, module, ex);
+				}
+			}
+			return classes;
+		} catch (IOException | ClassNotFoundException ex) {
+			// An outdated index may list classes which no longer exist, in which case scanning is the safe option.
+			logger.warn("CDI: Bean index of module '{}' is unusable, falling back to scanning", module, ex);
+			return null;
+		}
+	}
+}
@@ -96,6 +96,7 @@ public void onInitialize(@Observes InitializationEvent event, @Nonnull BeanManag
 		EagerInitializationExtension.beanManager = beanManager;
 		for (Bean<?> bean : applicationScopedEagerBeans)
 			create(bean);
+		StartupProfile.log("Eager initialization completed, startup profile:");
 	}
 
 	/**
@@ -111,12 +112,16 @@ public void onUiInitialize(@Observes UiInitializationEvent event, @Nonnull BeanM
 		EagerInitializationExtension.beanManager = beanManager;
 		for (Bean<?> bean : applicationScopedEagerBeansForUi)
 			create(bean);
+		StartupProfile.log("UI eager initialization completed, startup profile:");
 	}
 
 	static void create(@Nonnull Bean<?> bean) {
 		// NOTE: Calling toString() triggers the bean's proxy to the real implementation to initialize it.
 		// We have a null check here because under some test environments this may trigger without being set (see above)
-		if (beanManager != null)
+		if (beanManager != null) {
+			long then = System.nanoTime();
 			beanManager.getReference(bean, bean.getBeanClass(), beanManager.createCreationalContext(bean)).toString();
+			StartupProfile.record("Eager bean: " + bean.getBeanClass().getName(), System.nanoTime() - then);
+		}
 	}
 }
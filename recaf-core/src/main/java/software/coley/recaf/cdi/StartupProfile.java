@@ -0,0 +1,87 @@
+package software.coley.recaf.cdi;
+
+import jakarta.annotation.Nonnull;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Record of how long each step of starting Recaf took, including container creation and the creation
+ * of each {@link EagerInitialization} bean.
+ * <p>
+ * Since eager beans are created along with all of their dependencies, the time of each bean includes any
+ * dependencies which had not yet been created by earlier beans. Beans which take a large share of startup, but
+ * are not needed when running headless, are good candidates for {@link InitializationStage#AFTER_UI_INIT}.
+ * <p>
+ * The steps are logged when eager initialization completes. Use the system property
+ * {@code -D}{@value #LOG_PROPERTY}{@code =true} to log them at info level rather than debug.
+ *
+ * @author Matt Coley
+ */
+public class StartupProfile {
+	/**
+	 * System property to log the profile at info level.
+	 */
+	public static final String LOG_PROPERTY = "recaf.startup.profile";
+	private static final Logger logger = Logging.get(StartupProfile.class);
+	private static final List<Step> steps = new ArrayList<>();
+
+	private StartupProfile() {}
+
+	/**
+	 * @param name
+	 * 		Name of the step.
+	 * @param nanos
+	 * 		Time the step took, in nanoseconds.
+	 */
+	public static synchronized void record(@Nonnull String name, long nanos) {
+		steps.add(new Step(name, nanos));
+	}
+
+	/**
+	 * @return Copy of all recorded steps, in the order they were recorded.
+	 */
+	@Nonnull
+	public static synchronized List<Step> getSteps() {
+		return new ArrayList<>(steps);
+	}
+
+	/**
+	 * Logs all recorded steps, slowest first.
+	 *
+	 * @param title
+	 * 		Title of the logged profile.
+	 */
+	public static void log(@Nonnull String title) {
+		boolean info = Boolean.getBoolean(LOG_PROPERTY);
+		if (!info && !logger.isDebugEnabled())
+			return;
+
+		List<Step> sorted = getSteps();
+		sorted.sort(Comparator.comparingLong(Step::nanos).reversed());
+		StringBuilder sb = new StringBuilder(title);
+		for (Step step : sorted)
+			sb.append("\n - ").append(String.format("%6dms", step.millis())).append("  ").append(step.name());
+		if (info) logger.info(sb.toString());
+		else logger.debug(sb.toString());
+	}
+
+	/**
+	 * @param name
+	 * 		Name of the step.
+	 * @param nanos
+	 * 		Time the step took, in nanoseconds.
+	 */
+	public record Step(@Nonnull String name, long nanos) {
+		/**
+		 * @return Time the step took, in milliseconds.
+		 */
+		public long millis() {
+			return TimeUnit.NANOSECONDS.toMillis(nanos);
+		}
+	}
+}
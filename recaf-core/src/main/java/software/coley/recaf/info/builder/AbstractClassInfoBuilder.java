@@ -1,5 +1,6 @@
 package software.coley.recaf.info.builder;
 
+import jakarta.annotation.Nullable;
 import software.coley.recaf.info.Accessed;
 import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.InnerClassInfo;
@@ -9,6 +10,7 @@
 import software.coley.recaf.info.member.MethodMember;
 import software.coley.recaf.info.properties.BasicPropertyContainer;
 import software.coley.recaf.info.properties.PropertyContainer;
+import software.coley.recaf.util.StringPool;
 
 import java.util.Collections;
 import java.util.List;
@@ -40,6 +42,7 @@
 	private List<FieldMember> fields = Collections.emptyList();
 	private List<MethodMember> methods = Collections.emptyList();
 	private PropertyContainer propertyContainer = new BasicPropertyContainer();
+	private StringPool stringPool;
 
 	protected AbstractClassInfoBuilder() {
 		// default
@@ -74,6 +77,21 @@ public static <B extends AbstractClassInfoBuilder<?>> B forClass(ClassInfo info)
 		throw new IllegalStateException("Unsupported class info type: " + info);
 	}
 
+	/**
+	 * Names and descriptors read by builders adapting from existing class models are put through the pool,
+	 * so that they are shared with other classes built with the same pool.
+	 *
+	 * @param stringPool
+	 * 		Pool to share strings through, or {@code null} to not pool strings.
+	 *
+	 * @return Builder.
+	 */
+	@SuppressWarnings("unchecked")
+	public B withStringPool(@Nullable StringPool stringPool) {
+		this.stringPool = stringPool;
+		return (B) this;
+	}
+
 	@SuppressWarnings("unchecked")
 	public B withName(String name) {
 		this.name = name;
@@ -239,6 +257,22 @@ public PropertyContainer getPropertyContainer() {
 		return propertyContainer;
 	}
 
+	@Nullable
+	public StringPool getStringPool() {
+		return stringPool;
+	}
+
+	/**
+	 * @param value
+	 * 		Some name or descriptor.
+	 *
+	 * @return Pooled instance of the value, or the value itself when no {@link #withStringPool(StringPool) pool}
+	 * is set.
+	 */
+	protected String intern(@Nullable String value) {
+		return stringPool == null ? value : stringPool.intern(value);
+	}
+
 	public abstract ClassInfo build();
 
 	protected void verify() {
@@ -68,28 +68,28 @@ public AndroidClassInfo build() {
 	@Nonnull
 	public AndroidClassInfoBuilder adaptFrom(@Nonnull DexProgramClass dexClass) {
 		this.dexClass = dexClass;
-		withName(dexClass.getTypeName().replace('.', '/'));
-		withSuperName(dexClass.getSuperType().getTypeName().replace('.', '/'));
-		withInterfaces(dexClass.getInterfaces().stream().map(i -> i.getTypeName().replace('.', '/')).toList());
+		withName(intern(dexClass.getTypeName().replace('.', '/')));
+		withSuperName(intern(dexClass.getSuperType().getTypeName().replace('.', '/')));
+		withInterfaces(dexClass.getInterfaces().stream().map(i -> intern(i.getTypeName().replace('.', '/'))).toList());
 		withAccess(dexClass.getAccessFlags().getAsCfAccessFlags());
-		withSourceFileName(dexClass.getSourceFile() == null ? null : dexClass.getSourceFile().toString());
+		withSourceFileName(dexClass.getSourceFile() == null ? null : intern(dexClass.getSourceFile().toString()));
 		withAnnotations(mapAnnos(dexClass.annotations()));
 		withFields(mapFields(dexClass.fields()));
 		withMethods(mapMethods(dexClass.methods()));
-		withSignature(dexClass.getClassSignature().toString());
+		withSignature(intern(dexClass.getClassSignature().toString()));
 		InnerClassAttribute innerClasses = dexClass.getInnerClassAttributeForThisClass();
 		if (innerClasses != null) {
 			DexType outerType = innerClasses.getOuter();
 			if (outerType != null) {
-				withOuterClassName(outerType.getTypeName().replace('.', '/'));
+				withOuterClassName(intern(outerType.getTypeName().replace('.', '/')));
 			}
 		}
 		if (dexClass.hasEnclosingMethodAttribute()) {
 			DexMethod enclosingMethod = dexClass.getEnclosingMethodAttribute().getEnclosingMethod();
 			if (enclosingMethod != null) {
-				withOuterMethodName(enclosingMethod.getName().toString());
-				withOuterMethodDescriptor(enclosingMethod.getProto().toDescriptorString());
-				withOuterClassName(enclosingMethod.getHolderType().getTypeName().replace('.', '/'));
+				withOuterMethodName(intern(enclosingMethod.getName().toString()));
+				withOuterMethodDescriptor(intern(enclosingMethod.getProto().toDescriptorString()));
+				withOuterClassName(intern(enclosingMethod.getHolderType().getTypeName().replace('.', '/')));
 			}
 		}
 		return this;
@@ -100,9 +100,9 @@ private List<FieldMember> mapFields(Iterable<DexEncodedField> fields) {
 		if (fields == null) return Collections.emptyList();
 		return Streams.stream(fields)
 				.map(f -> {
-					String name = f.getName().toString();
-					String desc = f.getType().toDescriptorString();
-					String sig = f.getGenericSignature().toString();
+					String name = intern(f.getName().toString());
+					String desc = intern(f.getType().toDescriptorString());
+					String sig = intern(f.getGenericSignature().toString());
 					int access = f.accessFlags.getAsCfAccessFlags();
 					Object value = unbox(f.getStaticValue());
 					BasicFieldMember field = new BasicFieldMember(name, desc, sig, access, value);
@@ -117,9 +117,9 @@ private List<MethodMember> mapMethods(@Nullable Iterable<DexEncodedMethod> metho
 		if (methods == null) return Collections.emptyList();
 		return Streams.stream(methods)
 				.map(m -> {
-					String name = m.getName().toString();
-					String desc = m.getProto().toDescriptorString();
-					String sig = m.getSignature().toString();
+					String name = intern(m.getName().toString());
+					String desc = intern(m.getProto().toDescriptorString());
+					String sig = intern(m.getSignature().toString());
 					int access = m.getAccessFlags().getAsCfAccessFlags();
 					List<String> thrownTypes = Collections.emptyList();
 					List<LocalVariable> variables = Collections.emptyList();
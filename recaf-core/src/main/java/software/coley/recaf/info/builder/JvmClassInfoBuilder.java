@@ -11,6 +11,7 @@
 import software.coley.recaf.info.member.*;
 import software.coley.recaf.info.properties.builtin.UnknownAttributesProperty;
 import software.coley.recaf.util.MultiMap;
+import software.coley.recaf.util.StringPool;
 
 import java.util.*;
 import java.util.function.Consumer;
@@ -224,6 +225,29 @@ public JvmClassInfo build() {
 		return new BasicJvmClassInfo(this);
 	}
 
+	@Nonnull
+	private String[] internAll(@Nonnull String[] values) {
+		StringPool pool = getStringPool();
+		return pool == null ? values : pool.internAll(values);
+	}
+
+	/**
+	 * @param list
+	 * 		List populated while visiting the class.
+	 * @param <T>
+	 * 		Element type.
+	 *
+	 * @return Shared empty list if the given list is empty, otherwise the given list trimmed to its size.
+	 */
+	@Nonnull
+	private static <T> List<T> compact(@Nonnull List<T> list) {
+		if (list.isEmpty())
+			return Collections.emptyList();
+		if (list instanceof ArrayList<T> arrayList)
+			arrayList.trimToSize();
+		return list;
+	}
+
 	@Override
 	protected void verify() {
 		super.verify();
@@ -261,34 +285,34 @@ public void visit(int version, int access, String name, String signature, String
 			super.visit(version, access, name, signature, superName, interfaces);
 			withVersion(version & 0xFF);
 			withAccess(access);
-			withName(name);
-			withSignature(signature);
-			withSuperName(superName);
-			withInterfaces(Arrays.asList(interfaces));
+			withName(intern(name));
+			withSignature(intern(signature));
+			withSuperName(intern(superName));
+			withInterfaces(interfaces.length == 0 ? Collections.emptyList() : Arrays.asList(internAll(interfaces)));
 		}
 
 		@Override
 		public void visitSource(String source, String debug) {
 			super.visitSource(source, debug);
-			withSourceFileName(source);
+			withSourceFileName(intern(source));
 		}
 
 		@Override
 		public void visitOuterClass(String owner, String name, String descriptor) {
 			super.visitOuterClass(owner, name, descriptor);
-			withOuterClassName(owner);
-			withOuterMethodName(name);
-			withOuterMethodDescriptor(descriptor);
+			withOuterClassName(intern(owner));
+			withOuterMethodName(intern(name));
+			withOuterMethodDescriptor(intern(descriptor));
 		}
 
 		@Override
 		public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
-			return new AnnotationBuilderAdapter(visible, descriptor, annotations::add);
+			return new AnnotationBuilderAdapter(visible, intern(descriptor), annotations::add);
 		}
 
 		@Override
 		public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String descriptor, boolean visible) {
-			return new AnnotationBuilderAdapter(visible, descriptor,
+			return new AnnotationBuilderAdapter(visible, intern(descriptor),
 					anno -> typeAnnotations.add(anno.withTypeInfo(typeRef, typePath)));
 		}
 
@@ -300,7 +324,8 @@ public void visitInnerClass(String name, String outerName, String innerName, int
 			String currentClassName = getName();
 
 			// Add the inner data
-			innerClasses.add(new BasicInnerClassInfo(currentClassName, name, outerName, innerName, access));
+			innerClasses.add(new BasicInnerClassInfo(currentClassName, intern(name), intern(outerName),
+					intern(innerName), access));
 
 			// If the local 'name' is the current class name, then we are visiting an inner class entry
 			// that most likely is a representation of the current class. If this entry has data about
@@ -363,11 +388,11 @@ public void visitEnd() {
 			if (!annotations.isEmpty()) {
 				withAnnotations(annotations);
 			}
-			withFields(fields);
-			withMethods(methods);
-			withInnerClasses(innerClasses);
-			withAnnotations(annotations);
-			withTypeAnnotations(typeAnnotations);
+			withFields(compact(fields));
+			withMethods(compact(methods));
+			withInnerClasses(compact(innerClasses));
+			withAnnotations(compact(annotations));
+			withTypeAnnotations(compact(typeAnnotations));
 		}
 
 		/**
@@ -398,23 +423,23 @@ public Collection<String> getCustomAttributeNames() {
 		}
 	}
 
-	private static class FieldBuilderAdapter extends FieldVisitor {
+	private class FieldBuilderAdapter extends FieldVisitor {
 		private final BasicFieldMember fieldMember;
 
 		public FieldBuilderAdapter(int access, String name, String descriptor,
 		                           String signature, Object value) {
 			super(getAsmVersion());
-			fieldMember = new BasicFieldMember(name, descriptor, signature, access, value);
+			fieldMember = new BasicFieldMember(intern(name), intern(descriptor), intern(signature), access, value);
 		}
 
 		@Override
 		public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
-			return new AnnotationBuilderAdapter(visible, descriptor, fieldMember::addAnnotation);
+			return new AnnotationBuilderAdapter(visible, intern(descriptor), fieldMember::addAnnotation);
 		}
 
 		@Override
 		public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String descriptor, boolean visible) {
-			return new AnnotationBuilderAdapter(visible, descriptor,
+			return new AnnotationBuilderAdapter(visible, intern(descriptor),
 					anno -> fieldMember.addTypeAnnotation(anno.withTypeInfo(typeRef, typePath)));
 		}
 
@@ -424,7 +449,7 @@ public BasicFieldMember getFieldMember() {
 		}
 	}
 
-	private static class MethodBuilderAdapter extends MethodVisitor {
+	private class MethodBuilderAdapter extends MethodVisitor {
 		private final BasicMethodMember methodMember;
 		private final Type methodDescriptor;
 		private final List<LocalVariable> parameters;
@@ -434,8 +459,10 @@ private static class MethodBuilderAdapter extends MethodVisitor {
 		public MethodBuilderAdapter(int access, String name, String descriptor,
 		                            String signature, String[] exceptions) {
 			super(getAsmVersion());
-			List<String> exceptionList = exceptions == null ? Collections.emptyList() : Arrays.asList(exceptions);
-			methodMember = new BasicMethodMember(name, descriptor, signature, access, exceptionList, new ArrayList<>());
+			List<String> exceptionList = exceptions == null || exceptions.length == 0 ?
+					Collections.emptyList() : Arrays.asList(internAll(exceptions));
+			methodMember = new BasicMethodMember(intern(name), intern(descriptor), intern(signature), access,
+					exceptionList, Collections.emptyList());
 			methodDescriptor = Type.getMethodType(descriptor);
 			parameterSlot = methodMember.hasStaticModifier() ? 0 : 1;
 			parameters = new ArrayList<>(methodDescriptor.getArgumentCount());
@@ -443,18 +470,18 @@ public MethodBuilderAdapter(int access, String name, String descriptor,
 
 		@Override
 		public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
-			return new AnnotationBuilderAdapter(visible, descriptor, methodMember::addAnnotation);
+			return new AnnotationBuilderAdapter(visible, intern(descriptor), methodMember::addAnnotation);
 		}
 
 		@Override
 		public AnnotationVisitor visitTypeAnnotation(int typeRef, TypePath typePath, String descriptor, boolean visible) {
-			return new AnnotationBuilderAdapter(visible, descriptor,
+			return new AnnotationBuilderAdapter(visible, intern(descriptor),
 					anno -> methodMember.addTypeAnnotation(anno.withTypeInfo(typeRef, typePath)));
 		}
 
 		@Override
 		public void visitLocalVariable(String name, String descriptor, String signature, Label start, Label end, int index) {
-			methodMember.addLocalVariable(new BasicLocalVariable(index, name, descriptor, signature));
+			methodMember.addLocalVariable(new BasicLocalVariable(index, intern(name), intern(descriptor), intern(signature)));
 			super.visitLocalVariable(name, descriptor, signature, start, end, index);
 		}
 
@@ -468,7 +495,7 @@ public void visitParameter(String name, int access) {
 
 				// Only add when we have a name for the parameter.
 				if (name != null)
-					parameters.add(new BasicLocalVariable(parameterSlot, name, argumentType.getDescriptor(), null));
+					parameters.add(new BasicLocalVariable(parameterSlot, intern(name), intern(argumentType.getDescriptor()), null));
 
 				parameterIndex++;
 				parameterSlot += argumentType.getSize();
@@ -10,6 +10,7 @@
 import software.coley.recaf.info.properties.PropertyContainer;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -19,9 +20,11 @@
  * @author Matt Coley
  */
 public abstract class BasicMember implements ClassMember {
-	private final PropertyContainer properties = new BasicPropertyContainer();
-	private final List<AnnotationInfo> annotations = new ArrayList<>();
-	private final List<TypeAnnotationInfo> typeAnnotations = new ArrayList<>();
+	// Most members have no properties or annotations, so these are only allocated once something is added.
+	// Properties can be set at any time from any thread, so that container is created with double-checked locking.
+	private volatile PropertyContainer properties;
+	private List<AnnotationInfo> annotations = Collections.emptyList();
+	private List<TypeAnnotationInfo> typeAnnotations = Collections.emptyList();
 	private final String name;
 	private final String desc;
 	private final String signature;
@@ -43,6 +46,8 @@ protected BasicMember(@Nonnull String name, @Nonnull String desc, @Nullable Stri
 	 * 		Annotation to add.
 	 */
 	public void addAnnotation(@Nonnull AnnotationInfo annotation) {
+		if (annotations.isEmpty())
+			annotations = new ArrayList<>(1);
 		annotations.add(annotation);
 	}
 
@@ -54,6 +59,8 @@ public void addAnnotation(@Nonnull AnnotationInfo annotation) {
 	 * 		Annotation to add.
 	 */
 	public void addTypeAnnotation(@Nonnull TypeAnnotationInfo typeAnnotation) {
+		if (typeAnnotations.isEmpty())
+			typeAnnotations = new ArrayList<>(1);
 		typeAnnotations.add(typeAnnotation);
 	}
 
@@ -108,17 +115,30 @@ public List<TypeAnnotationInfo> getTypeAnnotations() {
 
 	@Override
 	public <V> void setProperty(Property<V> property) {
-		properties.setProperty(property);
+		PropertyContainer container = properties;
+		if (container == null) {
+			synchronized (this) {
+				container = properties;
+				if (container == null)
+					properties = container = new BasicPropertyContainer();
+			}
+		}
+		container.setProperty(property);
 	}
 
 	@Override
 	public void removeProperty(String key) {
-		properties.removeProperty(key);
+		PropertyContainer container = properties;
+		if (container != null)
+			container.removeProperty(key);
 	}
 
 	@Nonnull
 	@Override
 	public Map<String, Property<?>> getProperties() {
-		return properties.getProperties();
+		PropertyContainer container = properties;
+		if (container == null)
+			return Collections.emptyMap();
+		return container.getProperties();
 	}
 }
@@ -4,6 +4,7 @@
 import jakarta.annotation.Nullable;
 import software.coley.recaf.info.annotation.AnnotationElement;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -14,7 +15,7 @@
  */
 public class BasicMethodMember extends BasicMember implements MethodMember {
 	private final List<String> thrownTypes;
-	private final List<LocalVariable> variables;
+	private List<LocalVariable> variables;
 	private AnnotationElement annotationDefault;
 
 	/**
@@ -43,6 +44,9 @@ public BasicMethodMember(@Nonnull String name, @Nonnull String desc, @Nullable S
 	 * 		Variable to add.
 	 */
 	public void addLocalVariable(@Nonnull LocalVariable variable) {
+		// Methods without variables may share an immutable empty list, so allocate one when needed.
+		if (variables.isEmpty() && !(variables instanceof ArrayList))
+			variables = new ArrayList<>();
 		variables.add(variable);
 	}
 
@@ -0,0 +1,108 @@
+package software.coley.recaf.info.properties.builtin;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.info.properties.BasicProperty;
+import software.coley.recaf.info.properties.Property;
+import software.coley.recaf.services.workspace.io.DeferredClassValidator;
+import software.coley.recaf.services.workspace.io.InfoImporterConfig;
+
+/**
+ * Built in property to track the validation status of {@link ClassInfo} instances imported with
+ * {@link InfoImporterConfig#doDeferValidation() deferred validation}.
+ * Classes without this property were validated when they were imported.
+ *
+ * @author Matt Coley
+ * @see DeferredClassValidator
+ */
+public class ClassValidationStatusProperty extends BasicProperty<ClassValidationStatusProperty.Status> {
+	public static final String KEY = "class-validation-status";
+	private static final ClassValidationStatusProperty[] INSTANCES = new ClassValidationStatusProperty[Status.values().length];
+
+	static {
+		for (Status status : Status.values())
+			INSTANCES[status.ordinal()] = new ClassValidationStatusProperty(status);
+	}
+
+	/**
+	 * @param value
+	 * 		Validation status.
+	 */
+	private ClassValidationStatusProperty(@Nonnull Status value) {
+		super(KEY, value);
+	}
+
+	@Override
+	public boolean persistent() {
+		return false;
+	}
+
+	/**
+	 * @param info
+	 * 		Class info instance.
+	 *
+	 * @return Validation status of the class, or {@code null} if the class was validated when imported.
+	 */
+	@Nullable
+	public static Status get(@Nonnull ClassInfo info) {
+		Property<Status> property = info.getProperty(KEY);
+		if (property != null)
+			return property.value();
+		return null;
+	}
+
+	/**
+	 * @param info
+	 * 		Class info instance.
+	 *
+	 * @return {@code true} when the class has not yet been validated.
+	 */
+	public static boolean isPending(@Nonnull ClassInfo info) {
+		return get(info) == Status.PENDING;
+	}
+
+	/**
+	 * @param info
+	 * 		Class info instance.
+	 * @param status
+	 * 		Validation status to assign.
+	 */
+	public static void set(@Nonnull ClassInfo info, @Nonnull Status status) {
+		info.setProperty(INSTANCES[status.ordinal()]);
+	}
+
+	/**
+	 * @param info
+	 * 		Class info instance.
+	 */
+	public static void remove(@Nonnull ClassInfo info) {
+		info.removeProperty(KEY);
+	}
+
+	/**
+	 * Validation states of a class.
+	 */
+	public enum Status {
+		/**
+		 * The class has been imported without validation, and is waiting to be validated.
+		 */
+		PENDING,
+		/**
+		 * The class is currently being validated.
+		 */
+		VALIDATING,
+		/**
+		 * The class was found to be valid.
+		 */
+		VALID,
+		/**
+		 * The class was invalid, and has been replaced by a patched copy.
+		 */
+		PATCHED,
+		/**
+		 * The class was invalid, and could not be patched.
+		 */
+		FAILED
+	}
+}
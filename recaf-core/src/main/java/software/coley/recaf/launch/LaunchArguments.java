@@ -86,6 +86,15 @@ public File getScriptInScriptsDirectory() {
 		return directoriesConfig.getScriptsDirectory().resolve(script.getName()).toFile();
 	}
 
+	/**
+	 * @return Batch job file to run on startup.
+	 */
+	@Nullable
+	public File getJob() {
+		if (command == null) return null;
+		return command.getJob();
+	}
+
 	/**
 	 * @return Flag to skip over initializing the UI.
 	 */
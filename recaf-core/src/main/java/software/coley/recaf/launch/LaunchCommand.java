@@ -36,6 +36,8 @@ public class LaunchCommand implements Callable<Boolean> {
 	private File dataDir;
 	@Option(names = {"-r", "--extraplugins"}, description = "Point to an external location to load additional plugins.")
 	private File extraPluginDirectory;
+	@Option(names = {"-j", "--job"}, description = "Batch job file to run. Implies headless.")
+	private File job;
 	@Option(names = {"-h", "--headless"}, description = "Flag to skip over initializing the UI. Should be paired with -i or -s.")
 	private boolean headless;
 	@Option(names = {"-v", "--version"}, description = "Display the version information.")
@@ -111,10 +113,18 @@ public File getScript() {
 		return script;
 	}
 
+	/**
+	 * @return Batch job file to run on startup.
+	 */
+	@Nullable
+	public File getJob() {
+		return job;
+	}
+
 	/**
 	 * @return Flag to skip over initializing the UI.
 	 */
 	public boolean isHeadless() {
-		return headless;
+		return headless || job != null;
 	}
 }
@@ -10,7 +10,6 @@
 import me.darknet.assembler.printer.PrintContext;
 import org.objectweb.asm.Opcodes;
 import org.slf4j.Logger;
-import regexodus.Pattern;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.InnerClassInfo;
 import software.coley.recaf.info.JvmClassInfo;
@@ -22,28 +21,45 @@
 import software.coley.recaf.services.compile.JavacArguments;
 import software.coley.recaf.services.compile.JavacCompiler;
 import software.coley.recaf.services.compile.stub.ExpressionHostingClassStubGenerator;
+import software.coley.recaf.services.compile.stub.ExpressionHostingTemplate;
 import software.coley.recaf.util.AccessFlag;
 import software.coley.recaf.util.JavaVersion;
 import software.coley.recaf.util.NumberUtil;
-import software.coley.recaf.util.RegexUtil;
 import software.coley.recaf.util.StringUtil;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.WorkspaceModificationListener;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Compiles Java source expressions into JASM.
+ * <p>
+ * The class hosting the expression is generated once per class and method context, and successful results are cached
+ * per expression until the context changes, or until classes in the workspace change. Repeatedly compiling an
+ * expression, such as when the user toggles between views or undoes an edit, does not invoke the compiler again.
  *
  * @author Matt Coley
  */
 @Dependent
 public class ExpressionCompiler {
 	private static final Logger logger = Logging.get(ExpressionCompiler.class);
-	private static final Pattern IMPORT_EXTRACT_PATTERN = RegexUtil.pattern("^\\s*(import \\w.+;)");
+	private static final int MAX_CACHED_RESULTS = 64;
 	public static final String EXPR_MARKER = "/* EXPR_START */";
+	private final Map<String, ExpressionResult> resultCache = new LinkedHashMap<>(16, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ExpressionResult> eldest) {
+			return size() > MAX_CACHED_RESULTS;
+		}
+	};
+	private final WorkspaceChangeListener changeListener = new WorkspaceChangeListener();
 	private final JavacCompiler javac;
 	private final Workspace workspace;
 	private final AssemblerPipelineGeneralConfig assemblerConfig;
@@ -59,6 +75,8 @@ public class ExpressionCompiler {
 	private MethodType methodType;
 	private int methodFlags;
 	private List<LocalVariable> methodVariables;
+	private ExpressionHostingTemplate template;
+	private int cacheGeneration;
 
 	@Inject
 	public ExpressionCompiler(@Nonnull Workspace workspace, @Nonnull JavacCompiler javac,
@@ -67,6 +85,12 @@ public ExpressionCompiler(@Nonnull Workspace workspace, @Nonnull JavacCompiler j
 		this.javac = javac;
 		this.assemblerConfig = assemblerConfig;
 		clearContext();
+
+		// Expressions may reference any class in the workspace, so cached results are dropped when classes change.
+		// Only the primary resource has classes that may change, but libraries can be added or removed.
+		// These listeners are removed in close().
+		workspace.getPrimaryResource().addResourceJvmClassListener(changeListener);
+		workspace.addWorkspaceModificationListener(changeListener);
 	}
 
 	/**
@@ -85,6 +109,7 @@ public void clearContext() {
 		methodType = Types.methodType("()V");
 		methodFlags = Opcodes.ACC_STATIC | Opcodes.ACC_BRIDGE; // Bridge used to denote default state.
 		methodVariables = Collections.emptyList();
+		invalidate();
 	}
 
 	/**
@@ -111,6 +136,7 @@ public void setClassContext(@Nonnull JvmClassInfo classInfo) {
 		// Thus, we should clear our flags from the default so that they can do that.
 		if (AccessFlag.isBridge(methodFlags))
 			methodFlags = 0;
+		invalidate();
 
 		// TODO: Support for generics (For example, if we implement Supplier<String> and we have a method "String get()")
 		//  - Also will want per-method signatures for things like 'List<String> strings' as a parameter
@@ -129,6 +155,7 @@ public void setMethodContext(@Nonnull MethodMember method) {
 		methodType = Types.methodType(method.getDescriptor());
 		methodFlags = method.getAccess();
 		methodVariables = method.getLocalVariables();
+		invalidate();
 	}
 
 	/**
@@ -144,6 +171,29 @@ public void setVersionTarget(int versionTarget) {
 		this.versionTarget = versionTarget;
 	}
 
+	/**
+	 * Drops the generated hosting class template and cached results, which are specific to the current context.
+	 * <br>
+	 * Call this when classes in the workspace referenced by expressions have changed.
+	 */
+	public void invalidate() {
+		template = null;
+		synchronized (resultCache) {
+			resultCache.clear();
+			cacheGeneration++;
+		}
+	}
+
+	/**
+	 * Stops tracking changes to the workspace, and drops cached results.
+	 * Call this once the compiler is no longer used, such as when the UI hosting it is closed.
+	 */
+	public void close() {
+		workspace.getPrimaryResource().removeResourceJvmClassListener(changeListener);
+		workspace.removeWorkspaceModificationListener(changeListener);
+		invalidate();
+	}
+
 	/**
 	 * Compiles the given expression with the current context.
 	 *
@@ -157,19 +207,52 @@ public void setVersionTarget(int versionTarget) {
 	 */
 	@Nonnull
 	public ExpressionResult compile(@Nonnull String expression) {
-		// Generate source of a class to house the expression within
-		ExpressionHostingClassStubGenerator stubber;
+		// Check for a prior result of the same expression in the current context
+		int target = Math.max(versionTarget, JavacCompiler.getMinTargetVersion());
+		String cacheKey = target + ":" + expression;
+		ExpressionResult cached;
+		int generation;
+		synchronized (resultCache) {
+			cached = resultCache.get(cacheKey);
+			generation = cacheGeneration;
+		}
+		if (cached != null)
+			return cached;
+
+		ExpressionResult result = compile(expression, target);
+
+		// Only cache outcomes of the compiler itself. Exceptions may be transient.
+		// Results are also not cached if the cache was invalidated while compiling, since they may be outdated.
+		if (result.getException() == null) {
+			synchronized (resultCache) {
+				if (generation == cacheGeneration)
+					resultCache.put(cacheKey, result);
+			}
+		}
+		return result;
+	}
+
+	@Nonnull
+	private ExpressionResult compile(@Nonnull String expression, int target) {
+		// Generate source of a class to house the expression within.
+		// The class structure only depends on the context, so it is reused between expressions.
+		ExpressionHostingTemplate template = this.template;
 		String code;
 		try {
-			stubber = new ExpressionHostingClassStubGenerator(workspace, classAccess, className, superName, implementing,
-					fields, methods, innerClasses, methodFlags, methodName, methodType, methodVariables, expression);
-			code = stubber.generate();
+			if (template == null) {
+				ExpressionHostingClassStubGenerator stubber = new ExpressionHostingClassStubGenerator(workspace, classAccess,
+						className, superName, implementing, fields, methods, innerClasses, methodFlags, methodName,
+						methodType, methodVariables, "");
+				template = stubber.generateTemplate();
+				this.template = template;
+			}
+			code = template.complete(expression);
 		} catch (ExpressionCompileException ex) {
 			return new ExpressionResult(ex);
 		}
 
 		// Compile the generated class
-		JavacArguments arguments = new JavacArguments(className, code, null, Math.max(versionTarget, JavacCompiler.getMinTargetVersion()), -1, true, false, false);
+		JavacArguments arguments = new JavacArguments(className, code, null, target, -1, true, false, false);
 		CompilerResult result = javac.compile(arguments, workspace, null);
 		if (!result.wasSuccess()) {
 			Throwable exception = result.getException();
@@ -187,7 +270,7 @@ public ExpressionResult compile(@Nonnull String expression) {
 		try {
 			PrintContext<?> context = new PrintContext<>(assemblerConfig.getDisassemblyIndent().getValue());
 			JvmClassPrinter printer = new JvmClassPrinter(new ByteArrayInputStream(klass));
-			JvmMethodPrinter method = (JvmMethodPrinter) printer.method(stubber.getAdaptedMethodName(), stubber.methodDescriptorWithVariables());
+			JvmMethodPrinter method = (JvmMethodPrinter) printer.method(template.methodName(), template.methodDescriptor());
 			if (method == null)
 				return new ExpressionResult(new ExpressionCompileException("Target method was not in generated class"));
 			method.setLabelPrefix("g");
@@ -195,8 +278,6 @@ public ExpressionResult compile(@Nonnull String expression) {
 			return new ExpressionResult(context.toString());
 		} catch (IOException ex) {
 			return new ExpressionResult(new ExpressionCompileException(ex, "Failed to print generated class"));
-		} catch (ExpressionCompileException ex) {
-			return new ExpressionResult(ex);
 		}
 	}
 
@@ -226,4 +307,35 @@ private static List<CompilerDiagnostic> remap(@Nonnull String code, @Nonnull Lis
 				.map(d -> d.withLine(d.line() - lineOffset))
 				.toList();
 	}
+
+	/**
+	 * Invalidates the compiler when classes of the workspace change.
+	 */
+	private class WorkspaceChangeListener implements ResourceJvmClassListener, WorkspaceModificationListener {
+		@Override
+		public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+			invalidate();
+		}
+
+		@Override
+		public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                          @Nonnull JvmClassInfo oldCls, @Nonnull JvmClassInfo newCls) {
+			invalidate();
+		}
+
+		@Override
+		public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+			invalidate();
+		}
+
+		@Override
+		public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+			invalidate();
+		}
+
+		@Override
+		public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+			invalidate();
+		}
+	}
 }
@@ -0,0 +1,223 @@
+package software.coley.recaf.services.batch;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Declarative description of a batch job, read from a JSON file. Each input is imported into its own workspace,
+ * run through the configured stages, and exported to the output directory:
+ * <ol>
+ *     <li>Transformation with the listed {@link #getTransformers() transformers}</li>
+ *     <li>Application of {@link #getMappings() mappings from a file}</li>
+ *     <li>Generation and application of {@link #getGenerateMappings() new mappings}</li>
+ * </ol>
+ * Stages without any configuration are skipped. Example job:
+ * <pre>{@code
+ * {
+ *   "inputs": ["libs/", "app.jar"],
+ *   "output": "out/",
+ *   "concurrency": 4,
+ *   "memoryBudgetMb": 4096,
+ *   "transformers": ["SomeTransformer"],
+ *   "mappings": { "file": "mappings.tiny", "format": "Tiny-V1" },
+ *   "generateMappings": { "generator": "alphabet", "include": ["non-ascii", "whitespace"] }
+ * }
+ * }</pre>
+ * Relative paths are resolved against the directory containing the job file.
+ *
+ * @author Matt Coley
+ * @see BatchJobRunner
+ */
+public class BatchJob {
+	private List<String> inputs;
+	private String output;
+	private int concurrency;
+	private long memoryBudgetMb;
+	private List<String> transformers;
+	private MappingsFile mappings;
+	private GenerateMappings generateMappings;
+	private transient Path baseDirectory;
+
+	/**
+	 * @param gson
+	 * 		Gson instance to parse with.
+	 * @param path
+	 * 		Path to the job file.
+	 *
+	 * @return Parsed job.
+	 *
+	 * @throws IOException
+	 * 		When the file cannot be read, or does not describe a valid job.
+	 */
+	@Nonnull
+	public static BatchJob read(@Nonnull Gson gson, @Nonnull Path path) throws IOException {
+		BatchJob job;
+		try (Reader reader = Files.newBufferedReader(path)) {
+			job = gson.fromJson(reader, BatchJob.class);
+		} catch (JsonParseException ex) {
+			throw new IOException("Invalid batch job file: " + path, ex);
+		}
+		if (job == null || job.inputs == null || job.inputs.isEmpty())
+			throw new IOException("Batch job must declare at least one input: " + path);
+		if (job.output == null || job.output.isBlank())
+			throw new IOException("Batch job must declare an output directory: " + path);
+		if (job.mappings != null && (job.mappings.file == null || job.mappings.format == null))
+			throw new IOException("Batch job mappings must declare both a 'file' and 'format': " + path);
+		Path parent = path.toAbsolutePath().getParent();
+		job.baseDirectory = parent == null ? Path.of("") : parent;
+		return job;
+	}
+
+	/**
+	 * Outputs are written to the {@link #getOutputDirectory() output directory} under the file name of their input,
+	 * so inputs must have distinct file names.
+	 *
+	 * @return Input files. Directories listed as inputs are expanded to the files directly within them.
+	 *
+	 * @throws IOException
+	 * 		When an input directory cannot be listed,
+	 * 		or when multiple inputs share a file name and would be written to the same output.
+	 */
+	@Nonnull
+	public List<Path> resolveInputs() throws IOException {
+		List<Path> paths = new ArrayList<>();
+		for (String input : inputs) {
+			Path path = resolve(input);
+			if (Files.isDirectory(path)) {
+				try (Stream<Path> stream = Files.list(path)) {
+					stream.filter(Files::isRegularFile).sorted().forEach(paths::add);
+				}
+			} else {
+				paths.add(path);
+			}
+		}
+		Map<Path, Path> fileNames = new HashMap<>();
+		for (Path path : paths) {
+			Path existing = fileNames.putIfAbsent(path.getFileName(), path);
+			if (existing != null)
+				throw new IOException("Batch job inputs '" + existing + "' and '" + path
+						+ "' have the same file name, and would be written to the same output");
+		}
+		return paths;
+	}
+
+	/**
+	 * @return Directory to write outputs to.
+	 */
+	@Nonnull
+	public Path getOutputDirectory() {
+		return resolve(output);
+	}
+
+	/**
+	 * @return Number of inputs to process at the same time, or {@code 0} to use the default.
+	 */
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	/**
+	 * @return Approximate memory in megabytes the inputs being processed at the same time may use,
+	 * or {@code 0} to use the default.
+	 */
+	public long getMemoryBudgetMb() {
+		return memoryBudgetMb;
+	}
+
+	/**
+	 * @return Names of transformers to run, either fully qualified or simple class names.
+	 */
+	@Nonnull
+	public List<String> getTransformers() {
+		return transformers == null ? Collections.emptyList() : transformers;
+	}
+
+	/**
+	 * @return Mappings file to apply, or {@code null} to skip.
+	 */
+	@Nullable
+	public MappingsFile getMappings() {
+		return mappings;
+	}
+
+	/**
+	 * @return Options for generating mappings to apply, or {@code null} to skip.
+	 */
+	@Nullable
+	public GenerateMappings getGenerateMappings() {
+		return generateMappings;
+	}
+
+	/**
+	 * @param path
+	 * 		Path in the job file.
+	 *
+	 * @return Path resolved against the job file's directory.
+	 */
+	@Nonnull
+	public Path resolve(@Nonnull String path) {
+		Path base = baseDirectory == null ? Path.of("") : baseDirectory;
+		return base.resolve(path).normalize();
+	}
+
+	/**
+	 * Mappings file to apply to each input.
+	 */
+	public static class MappingsFile {
+		private String file;
+		private String format;
+
+		/**
+		 * @return Path to the mappings file, relative to the job file.
+		 */
+		@Nonnull
+		public String getFile() {
+			return file;
+		}
+
+		/**
+		 * @return Name of the mapping format.
+		 */
+		@Nonnull
+		public String getFormat() {
+			return format;
+		}
+	}
+
+	/**
+	 * Options for generating mappings for each input.
+	 */
+	public static class GenerateMappings {
+		private String generator;
+		private List<String> include;
+
+		/**
+		 * @return ID of the name generator provider to use, or {@code null} for the default.
+		 */
+		@Nullable
+		public String getGenerator() {
+			return generator;
+		}
+
+		/**
+		 * @return Kinds of names to generate mappings for. Empty to generate mappings for all names.
+		 */
+		@Nonnull
+		public List<String> getInclude() {
+			return include == null ? Collections.emptyList() : include;
+		}
+	}
+}
@@ -0,0 +1,365 @@
+package software.coley.recaf.services.batch;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.services.Service;
+import software.coley.recaf.services.inheritance.InheritanceGraph;
+import software.coley.recaf.services.inheritance.InheritanceGraphConfig;
+import software.coley.recaf.services.json.GsonProvider;
+import software.coley.recaf.services.mapping.MappingApplier;
+import software.coley.recaf.services.mapping.MappingApplierConfig;
+import software.coley.recaf.services.mapping.MappingListeners;
+import software.coley.recaf.services.mapping.MappingListenersConfig;
+import software.coley.recaf.services.mapping.Mappings;
+import software.coley.recaf.services.mapping.aggregate.AggregateMappingManager;
+import software.coley.recaf.services.mapping.aggregate.AggregateMappingManagerConfig;
+import software.coley.recaf.services.mapping.format.MappingFileFormat;
+import software.coley.recaf.services.mapping.format.MappingFormatManager;
+import software.coley.recaf.services.mapping.gen.MappingGenerator;
+import software.coley.recaf.services.mapping.gen.filter.IncludeKeywordNameFilter;
+import software.coley.recaf.services.mapping.gen.filter.IncludeNonAsciiNameFilter;
+import software.coley.recaf.services.mapping.gen.filter.IncludeWhitespaceNameFilter;
+import software.coley.recaf.services.mapping.gen.filter.NameGeneratorFilter;
+import software.coley.recaf.services.mapping.gen.naming.AlphabetNameGeneratorProvider;
+import software.coley.recaf.services.mapping.gen.naming.NameGenerator;
+import software.coley.recaf.services.mapping.gen.naming.NameGeneratorProvider;
+import software.coley.recaf.services.mapping.gen.naming.NameGeneratorProviders;
+import software.coley.recaf.services.metrics.MetricsService;
+import software.coley.recaf.services.transform.JvmClassTransformer;
+import software.coley.recaf.services.transform.TransformationApplier;
+import software.coley.recaf.services.transform.TransformationApplierConfig;
+import software.coley.recaf.services.transform.TransformationManager;
+import software.coley.recaf.services.workspace.io.DeferredClassValidator;
+import software.coley.recaf.services.workspace.io.PathWorkspaceExportConsumer;
+import software.coley.recaf.services.workspace.io.ResourceImporter;
+import software.coley.recaf.services.workspace.io.WorkspaceExportOptions;
+import software.coley.recaf.services.workspace.io.WorkspaceOutputType;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+import software.coley.recaf.workspace.model.BasicWorkspace;
+import software.coley.recaf.workspace.model.Workspace;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link BatchJob batch jobs} without a UI, for processing many inputs in one go.
+ * <p>
+ * Each input is processed in its own workspace with its own instances of the workspace-scoped services, so that
+ * multiple inputs can be processed at the same time without touching the {@link Workspace} held by the
+ * workspace manager. While one input is being exported, the next can already be imported, and the mappings file
+ * of a job is parsed while the first inputs are being imported. The number of inputs in flight is limited by both
+ * the job's concurrency and its memory budget, where the memory used by an input is estimated from its file size.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class BatchJobRunner implements Service {
+	public static final String SERVICE_ID = "batch-job-runner";
+	private static final Logger logger = Logging.get(BatchJobRunner.class);
+	private static final long MB = 1024 * 1024;
+	private final BatchJobRunnerConfig config;
+	private final GsonProvider gsonProvider;
+	private final ResourceImporter importer;
+	private final DeferredClassValidator classValidator;
+	private final TransformationManager transformationManager;
+	private final TransformationApplierConfig transformationApplierConfig;
+	private final MappingFormatManager formatManager;
+	private final MappingGenerator mappingGenerator;
+	private final NameGeneratorProviders nameGeneratorProviders;
+	private final MappingApplierConfig mappingApplierConfig;
+	private final MappingListenersConfig mappingListenersConfig;
+	private final AggregateMappingManagerConfig aggregateConfig;
+	private final InheritanceGraphConfig graphConfig;
+	private final MetricsService metrics;
+
+	@Inject
+	public BatchJobRunner(@Nonnull BatchJobRunnerConfig config,
+	                      @Nonnull GsonProvider gsonProvider,
+	                      @Nonnull ResourceImporter importer,
+	                      @Nonnull DeferredClassValidator classValidator,
+	                      @Nonnull TransformationManager transformationManager,
+	                      @Nonnull TransformationApplierConfig transformationApplierConfig,
+	                      @Nonnull MappingFormatManager formatManager,
+	                      @Nonnull MappingGenerator mappingGenerator,
+	                      @Nonnull NameGeneratorProviders nameGeneratorProviders,
+	                      @Nonnull MappingApplierConfig mappingApplierConfig,
+	                      @Nonnull MappingListenersConfig mappingListenersConfig,
+	                      @Nonnull AggregateMappingManagerConfig aggregateConfig,
+	                      @Nonnull InheritanceGraphConfig graphConfig,
+	                      @Nonnull MetricsService metrics) {
+		this.config = config;
+		this.gsonProvider = gsonProvider;
+		this.importer = importer;
+		this.classValidator = classValidator;
+		this.transformationManager = transformationManager;
+		this.transformationApplierConfig = transformationApplierConfig;
+		this.formatManager = formatManager;
+		this.mappingGenerator = mappingGenerator;
+		this.nameGeneratorProviders = nameGeneratorProviders;
+		this.mappingApplierConfig = mappingApplierConfig;
+		this.mappingListenersConfig = mappingListenersConfig;
+		this.aggregateConfig = aggregateConfig;
+		this.graphConfig = graphConfig;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @param jobFile
+	 * 		Path to a job file.
+	 *
+	 * @return Outcome of the job.
+	 *
+	 * @throws IOException
+	 * 		When the job file is invalid, or its inputs cannot be found.
+	 */
+	@Nonnull
+	public BatchReport run(@Nonnull Path jobFile) throws IOException {
+		return run(BatchJob.read(gsonProvider.getGson(), jobFile));
+	}
+
+	/**
+	 * @param job
+	 * 		Job to run.
+	 *
+	 * @return Outcome of the job.
+	 *
+	 * @throws IOException
+	 * 		When the job is invalid, or its inputs cannot be found.
+	 */
+	@Nonnull
+	public BatchReport run(@Nonnull BatchJob job) throws IOException {
+		long start = System.nanoTime();
+		List<Path> inputs = job.resolveInputs();
+		Path outputDirectory = job.getOutputDirectory();
+		Files.createDirectories(outputDirectory);
+
+		// Resolve everything shared between inputs up front, so that problems with the job are reported
+		// before any inputs are processed.
+		List<Class<? extends JvmClassTransformer>> transformers = resolveTransformers(job);
+		MappingFileFormat format = resolveFormat(job);
+		NameGeneratorProvider<?> generatorProvider = resolveGeneratorProvider(job);
+		NameGeneratorFilter generatorFilter = resolveGeneratorFilter(job);
+
+		int concurrency = job.getConcurrency() > 0 ? job.getConcurrency() : config.getDefaultConcurrency().getValue();
+		concurrency = Math.max(1, Math.min(concurrency, inputs.size()));
+		long budgetMb = job.getMemoryBudgetMb() > 0 ? job.getMemoryBudgetMb() : Runtime.getRuntime().maxMemory() / 2 / MB;
+		int budget = (int) Math.max(1, Math.min(Integer.MAX_VALUE, budgetMb));
+		Semaphore memory = new Semaphore(budget, true);
+		logger.info("Running batch job on {} inputs, {} at a time with a {}MB memory budget",
+				inputs.size(), concurrency, budget);
+
+		ExecutorService pool = ThreadPoolFactory.newFixedThreadPool("batch-job", concurrency, false);
+		try {
+			// Parse the mappings file while the first inputs are being imported.
+			CompletableFuture<Mappings> fileMappings = format == null ?
+					CompletableFuture.completedFuture(null) :
+					CompletableFuture.supplyAsync(() -> parseMappings(job, format), pool);
+
+			AtomicInteger completed = new AtomicInteger();
+			List<CompletableFuture<BatchReport.InputReport>> futures = new ArrayList<>(inputs.size());
+			for (Path input : inputs) {
+				Path output = outputDirectory.resolve(input.getFileName());
+				futures.add(CompletableFuture.supplyAsync(() -> {
+					int permits = estimatePermits(input, budget);
+					memory.acquireUninterruptibly(permits);
+					try {
+						return processInput(input, output, transformers, fileMappings, generatorProvider, generatorFilter);
+					} finally {
+						memory.release(permits);
+					}
+				}, pool).whenComplete((report, error) -> {
+					int done = completed.incrementAndGet();
+					if (report != null)
+						logger.info("[{}/{}] {}", done, inputs.size(), report.summarize());
+				}));
+			}
+
+			List<BatchReport.InputReport> reports = new ArrayList<>(futures.size());
+			for (CompletableFuture<BatchReport.InputReport> future : futures)
+				reports.add(future.join());
+			BatchReport report = new BatchReport(reports, System.nanoTime() - start);
+			logger.info(report.summarize());
+			return report;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Nonnull
+	private BatchReport.InputReport processInput(@Nonnull Path input, @Nonnull Path output,
+	                                             @Nonnull List<Class<? extends JvmClassTransformer>> transformers,
+	                                             @Nonnull CompletableFuture<Mappings> fileMappings,
+	                                             @Nullable NameGeneratorProvider<?> generatorProvider,
+	                                             @Nullable NameGeneratorFilter generatorFilter) {
+		Map<BatchReport.Stage, Long> times = new EnumMap<>(BatchReport.Stage.class);
+		Workspace workspace = null;
+		try {
+			long start = System.nanoTime();
+			workspace = new BasicWorkspace(importer.importResource(input));
+
+			// Batch workspaces are not opened through the workspace manager, so classes imported with deferred
+			// validation would never be validated in the background. They are validated here instead, so that
+			// invalid classes are patched before being transformed and exported.
+			classValidator.validatePending(workspace.getPrimaryResource());
+			start = lap(times, BatchReport.Stage.IMPORT, start);
+
+			// Workspace scoped services are created for this workspace alone, with their own listeners.
+			MappingListeners listeners = new MappingListeners(mappingListenersConfig);
+			InheritanceGraph graph = new InheritanceGraph(graphConfig, null, metrics, listeners, workspace);
+			if (!transformers.isEmpty()) {
+				new TransformationApplier(transformationManager, graph, transformationApplierConfig, metrics)
+						.transformJvm(workspace, transformers)
+						.apply();
+				start = lap(times, BatchReport.Stage.TRANSFORM, start);
+			}
+
+			Mappings mappings = fileMappings.join();
+			if (mappings != null || generatorProvider != null) {
+				MappingApplier applier = new MappingApplier(mappingApplierConfig, graph,
+						new AggregateMappingManager(aggregateConfig, workspace), listeners, workspace, metrics);
+				if (mappings != null)
+					applier.applyToPrimaryResource(mappings).apply();
+				if (generatorProvider != null) {
+					NameGenerator generator = generatorProvider.createGenerator();
+					Mappings generated = mappingGenerator.generate(workspace, workspace.getPrimaryResource(),
+							graph, generator, generatorFilter);
+					applier.applyToPrimaryResource(generated).apply();
+				}
+				start = lap(times, BatchReport.Stage.MAP, start);
+			}
+
+			new WorkspaceExportOptions(WorkspaceOutputType.FILE, new PathWorkspaceExportConsumer(output))
+					.create()
+					.export(workspace);
+			lap(times, BatchReport.Stage.EXPORT, start);
+			return new BatchReport.InputReport(input, output, times, null);
+		} catch (Throwable t) {
+			Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+			logger.error("Batch job failed to process input '{}'", input, cause);
+			return new BatchReport.InputReport(input, output, times, cause);
+		} finally {
+			if (workspace != null)
+				workspace.close();
+		}
+	}
+
+	private long lap(@Nonnull Map<BatchReport.Stage, Long> times, @Nonnull BatchReport.Stage stage, long start) {
+		long now = System.nanoTime();
+		times.put(stage, now - start);
+		metrics.timer("batch." + stage.getDisplayName()).record(now - start, false);
+		return now;
+	}
+
+	private int estimatePermits(@Nonnull Path input, int budget) {
+		long size;
+		try {
+			size = Files.size(input);
+		} catch (IOException ex) {
+			size = 0;
+		}
+		long estimateMb = size * config.getMemoryPerInputByte().getValue() / MB;
+
+		// An input larger than the whole budget is still processed, but alone.
+		return (int) Math.max(1, Math.min(budget, estimateMb));
+	}
+
+	@Nonnull
+	private Mappings parseMappings(@Nonnull BatchJob job, @Nonnull MappingFileFormat format) {
+		BatchJob.MappingsFile mappingsFile = job.getMappings();
+		if (mappingsFile == null)
+			throw new IllegalStateException("Mappings format resolved without a mappings file");
+		Path path = job.resolve(mappingsFile.getFile());
+		try (BufferedReader reader = Files.newBufferedReader(path)) {
+			long start = System.nanoTime();
+			Mappings mappings = format.parse(reader);
+			logger.info("Parsed mappings '{}' in {}ms", path.getFileName(), (System.nanoTime() - start) / 1_000_000);
+			return mappings;
+		} catch (Exception ex) {
+			throw new CompletionException(new IOException("Failed to read mappings: " + path, ex));
+		}
+	}
+
+	@Nonnull
+	private List<Class<? extends JvmClassTransformer>> resolveTransformers(@Nonnull BatchJob job) throws IOException {
+		List<Class<? extends JvmClassTransformer>> transformers = new ArrayList<>();
+		for (String name : job.getTransformers()) {
+			Class<? extends JvmClassTransformer> transformer = transformationManager.getJvmTransformerClass(name);
+			if (transformer == null)
+				throw new IOException("Unknown transformer: " + name);
+			transformers.add(transformer);
+		}
+		return transformers;
+	}
+
+	@Nullable
+	private MappingFileFormat resolveFormat(@Nonnull BatchJob job) throws IOException {
+		BatchJob.MappingsFile mappingsFile = job.getMappings();
+		if (mappingsFile == null)
+			return null;
+		MappingFileFormat format = formatManager.createFormatInstance(mappingsFile.getFormat());
+		if (format == null)
+			throw new IOException("Unknown mapping format '" + mappingsFile.getFormat() + "', expected one of: "
+					+ formatManager.getMappingFileFormats());
+		return format;
+	}
+
+	@Nullable
+	private NameGeneratorProvider<?> resolveGeneratorProvider(@Nonnull BatchJob job) throws IOException {
+		BatchJob.GenerateMappings generate = job.getGenerateMappings();
+		if (generate == null)
+			return null;
+		String id = generate.getGenerator() == null ? AlphabetNameGeneratorProvider.ID : generate.getGenerator();
+		NameGeneratorProvider<?> provider = nameGeneratorProviders.getProviders().get(id);
+		if (provider == null)
+			throw new IOException("Unknown name generator '" + id + "', expected one of: "
+					+ nameGeneratorProviders.getProviders().keySet());
+		return provider;
+	}
+
+	@Nullable
+	private static NameGeneratorFilter resolveGeneratorFilter(@Nonnull BatchJob job) throws IOException {
+		BatchJob.GenerateMappings generate = job.getGenerateMappings();
+		if (generate == null)
+			return null;
+
+		// Include filters expand on each other, so any name matching one of the kinds is mapped.
+		NameGeneratorFilter filter = null;
+		for (String kind : generate.getInclude()) {
+			filter = switch (kind) {
+				case "non-ascii" -> new IncludeNonAsciiNameFilter(filter);
+				case "whitespace" -> new IncludeWhitespaceNameFilter(filter);
+				case "keywords" -> new IncludeKeywordNameFilter(filter);
+				default -> throw new IOException("Unknown name kind '" + kind
+						+ "', expected one of: [non-ascii, whitespace, keywords]");
+			};
+		}
+		return filter;
+	}
+
+	@Nonnull
+	@Override
+	public String getServiceId() {
+		return SERVICE_ID;
+	}
+
+	@Nonnull
+	@Override
+	public BatchJobRunnerConfig getServiceConfig() {
+		return config;
+	}
+}
@@ -0,0 +1,45 @@
+package software.coley.recaf.services.batch;
+
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import software.coley.observables.ObservableInteger;
+import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
+import software.coley.recaf.config.ConfigGroups;
+import software.coley.recaf.services.ServiceConfig;
+
+/**
+ * Config for {@link BatchJobRunner}.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class BatchJobRunnerConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableInteger defaultConcurrency = new ObservableInteger(Math.min(4, Runtime.getRuntime().availableProcessors()));
+	private final ObservableInteger memoryPerInputByte = new ObservableInteger(8);
+
+	@Inject
+	public BatchJobRunnerConfig() {
+		super(ConfigGroups.SERVICE_IO, BatchJobRunner.SERVICE_ID + CONFIG_SUFFIX);
+		addValue(new BasicConfigValue<>("default-concurrency", int.class, defaultConcurrency));
+		addValue(new BasicConfigValue<>("memory-per-input-byte", int.class, memoryPerInputByte));
+	}
+
+	/**
+	 * @return Number of inputs to process at the same time when a job does not specify it.
+	 */
+	@Nonnull
+	public ObservableInteger getDefaultConcurrency() {
+		return defaultConcurrency;
+	}
+
+	/**
+	 * @return Estimated bytes of memory used while processing an input, per byte of the input file.
+	 * Used to keep the inputs being processed at the same time within a job's memory budget.
+	 */
+	@Nonnull
+	public ObservableInteger getMemoryPerInputByte() {
+		return memoryPerInputByte;
+	}
+}
@@ -0,0 +1,116 @@
+package software.coley.recaf.services.batch;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a {@link BatchJob}.
+ *
+ * @param inputs
+ * 		Outcome of each input, in the order the inputs were declared.
+ * @param nanos
+ * 		Wall time of the whole job, in nanoseconds.
+ *
+ * @author Matt Coley
+ */
+public record BatchReport(@Nonnull List<InputReport> inputs, long nanos) {
+	/**
+	 * @return {@code true} when all inputs were processed without error.
+	 */
+	public boolean isSuccess() {
+		return inputs.stream().allMatch(InputReport::isSuccess);
+	}
+
+	/**
+	 * @return Total time spent in each stage across all inputs, in nanoseconds.
+	 */
+	@Nonnull
+	public Map<Stage, Long> getStageTotals() {
+		Map<Stage, Long> totals = new EnumMap<>(Stage.class);
+		for (InputReport input : inputs)
+			input.stageNanos().forEach((stage, nanos) -> totals.merge(stage, nanos, Long::sum));
+		return totals;
+	}
+
+	/**
+	 * @return Summary of the job, with per-stage times.
+	 */
+	@Nonnull
+	public String summarize() {
+		StringBuilder sb = new StringBuilder();
+		long failed = inputs.stream().filter(i -> !i.isSuccess()).count();
+		sb.append("Processed ").append(inputs.size()).append(" inputs in ")
+				.append(TimeUnit.NANOSECONDS.toMillis(nanos)).append("ms");
+		if (failed > 0)
+			sb.append(" (").append(failed).append(" failed)");
+		getStageTotals().forEach((stage, total) -> sb.append("\n - ")
+				.append(String.format("%-10s", stage.getDisplayName()))
+				.append(TimeUnit.NANOSECONDS.toMillis(total)).append("ms total"));
+		return sb.toString();
+	}
+
+	/**
+	 * Stage of processing an input.
+	 */
+	public enum Stage {
+		IMPORT("import"),
+		TRANSFORM("transform"),
+		MAP("map"),
+		EXPORT("export");
+
+		private final String displayName;
+
+		Stage(@Nonnull String displayName) {
+			this.displayName = displayName;
+		}
+
+		/**
+		 * @return Name of the stage for display.
+		 */
+		@Nonnull
+		public String getDisplayName() {
+			return displayName;
+		}
+	}
+
+	/**
+	 * Outcome of a single input.
+	 *
+	 * @param input
+	 * 		Input file.
+	 * @param output
+	 * 		Output file.
+	 * @param stageNanos
+	 * 		Time spent in each completed stage, in nanoseconds.
+	 * @param error
+	 * 		Error that stopped processing the input, or {@code null} if it was processed successfully.
+	 */
+	public record InputReport(@Nonnull Path input, @Nonnull Path output, @Nonnull Map<Stage, Long> stageNanos,
+	                          @Nullable Throwable error) {
+		/**
+		 * @return {@code true} when the input was processed without error.
+		 */
+		public boolean isSuccess() {
+			return error == null;
+		}
+
+		/**
+		 * @return Single line summary of the input, with per-stage times.
+		 */
+		@Nonnull
+		public String summarize() {
+			StringBuilder sb = new StringBuilder(input.getFileName().toString()).append(':');
+			stageNanos.forEach((stage, nanos) -> sb.append(' ').append(stage.getDisplayName()).append(' ')
+					.append(TimeUnit.NANOSECONDS.toMillis(nanos)).append("ms"));
+			if (error != null)
+				sb.append(" - failed: ").append(error);
+			return sb.toString();
+		}
+	}
+}
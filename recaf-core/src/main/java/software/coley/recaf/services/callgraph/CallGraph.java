@@ -17,8 +17,12 @@
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.member.MethodMember;
 import software.coley.recaf.services.Service;
+import software.coley.recaf.services.file.SnapshotStorage;
+import software.coley.recaf.services.metrics.MetricsService;
+import software.coley.recaf.services.metrics.Timer;
 import software.coley.recaf.util.MultiMap;
 import software.coley.recaf.util.threading.ThreadPoolFactory;
+import software.coley.recaf.util.threading.WorkPriority;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.WorkspaceModificationListener;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
@@ -28,6 +32,7 @@
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
@@ -41,14 +46,17 @@
 public class CallGraph implements Service, WorkspaceModificationListener, ResourceJvmClassListener {
 	public static final String SERVICE_ID = "graph-calls";
 	private static final DebuggingLogger logger = Logging.get(CallGraph.class);
-	private final ExecutorService threadPool = ThreadPoolFactory.newFixedThreadPool("call-graph", 1, true);
+	private final ExecutorService threadPool = ThreadPoolFactory.newFixedThreadPool("call-graph", 1, WorkPriority.BACKGROUND);
 	private final CachedLinkResolver resolver = new CachedLinkResolver();
+	private final MethodCallIndex callIndex = new MethodCallIndex();
 	private final Map<JvmClassInfo, LinkedClass> classToLinkerType = Collections.synchronizedMap(new IdentityHashMap<>());
 	private final Map<JvmClassInfo, ClassMethodsContainer> classToMethodsContainer = Collections.synchronizedMap(new IdentityHashMap<>());
 	private final MultiMap<String, MethodRef, Set<MethodRef>> unresolvedCalls = MultiMap.from(
 			Collections.synchronizedMap(new HashMap<>()),
 			() -> Collections.synchronizedSet(new HashSet<>()));
 	private final ObservableBoolean isReady = new ObservableBoolean(false);
+	private final SnapshotStorage snapshots;
+	private final Timer buildTimer;
 	private final CallGraphConfig config;
 	private final Workspace workspace;
 	private final ClassLookup lookup;
@@ -59,9 +67,38 @@ public class CallGraph implements Service, WorkspaceModificationListener, Resour
 	 * @param workspace
 	 * 		Workspace to pull data from.
 	 */
-	@Inject
 	public CallGraph(@Nonnull CallGraphConfig config, @Nonnull Workspace workspace) {
+		this(config, null, workspace);
+	}
+
+	/**
+	 * @param config
+	 * 		Graphing config options.
+	 * @param snapshots
+	 * 		Storage to persist graph snapshots in. May be {@code null} to disable persistence.
+	 * @param workspace
+	 * 		Workspace to pull data from.
+	 */
+	public CallGraph(@Nonnull CallGraphConfig config, @Nullable SnapshotStorage snapshots, @Nonnull Workspace workspace) {
+		this(config, snapshots, null, workspace);
+	}
+
+	/**
+	 * @param config
+	 * 		Graphing config options.
+	 * @param snapshots
+	 * 		Storage to persist graph snapshots in. May be {@code null} to disable persistence.
+	 * @param metrics
+	 * 		Metrics to record the time taken to build the graph in. May be {@code null} to not record.
+	 * @param workspace
+	 * 		Workspace to pull data from.
+	 */
+	@Inject
+	public CallGraph(@Nonnull CallGraphConfig config, @Nullable SnapshotStorage snapshots,
+	                 @Nullable MetricsService metrics, @Nonnull Workspace workspace) {
 		this.config = config;
+		this.snapshots = snapshots;
+		buildTimer = metrics == null ? new Timer() : metrics.timer("graph.calls.build");
 		this.workspace = workspace;
 		lookup = new ClassLookup(workspace);
 
@@ -102,7 +139,7 @@ public ObservableBoolean isReady() {
 	 */
 	@Nonnull
 	public ClassMethodsContainer getClassMethodsContainer(@Nonnull JvmClassInfo classInfo) {
-		return classToMethodsContainer.computeIfAbsent(classInfo, c -> new ClassMethodsContainer(classInfo));
+		return classToMethodsContainer.computeIfAbsent(classInfo, c -> new ClassMethodsContainer(classInfo, callIndex));
 	}
 
 	@Nullable
@@ -129,16 +166,33 @@ private LinkedClass linked(@Nonnull JvmClassInfo classInfo) {
 	 */
 	private void initialize(@Nonnull Workspace workspace) {
 		// Initialize asynchronously, and mark 'isReady' if completed successfully
-		CompletableFuture.runAsync(() -> {
+		buildTimer.timeAsync(CompletableFuture.runAsync(() -> {
+			// Classes are tracked in snapshots by name, so only the first class of a given name is covered.
+			// Versioned and duplicate classes are always visited directly.
+			Map<String, JvmClassInfo> classes = new HashMap<>();
+			List<JvmClassInfo> uncovered = new ArrayList<>();
 			for (WorkspaceResource resource : workspace.getAllResources(false)) {
-				Stream.concat(resource.jvmClassBundleStream(),
-						resource.getVersionedJvmClassBundles().values().stream()).forEach(bundle -> {
-					for (JvmClassInfo jvmClass : bundle.values()) {
-						visit(jvmClass);
-					}
+				resource.jvmClassBundleStream().forEach(bundle -> {
+					for (JvmClassInfo jvmClass : bundle.values())
+						if (classes.putIfAbsent(jvmClass.getName(), jvmClass) != null)
+							uncovered.add(jvmClass);
 				});
+				for (JvmClassBundle bundle : resource.getVersionedJvmClassBundles().values())
+					uncovered.addAll(bundle.values());
 			}
-		}, threadPool).whenComplete((unused, t) -> {
+
+			if (snapshots != null && config.getPersistSnapshots().getValue()) {
+				initializeWithSnapshot(classes);
+			} else {
+				for (JvmClassInfo jvmClass : classes.values())
+					visit(jvmClass);
+			}
+			for (JvmClassInfo jvmClass : uncovered)
+				visit(jvmClass);
+
+			// Fold the bulk of edges recorded above into compact rows.
+			callIndex.compact();
+		}, threadPool)).whenComplete((unused, t) -> {
 			if (t == null) {
 				isReady.setValue(true);
 			} else {
@@ -148,6 +202,219 @@ private void initialize(@Nonnull Workspace workspace) {
 		});
 	}
 
+	/**
+	 * Restores the graph from a prior snapshot of the same classes when one exists, visiting only classes
+	 * that changed since the snapshot. Writes a new snapshot when anything had to be visited.
+	 *
+	 * @param classes
+	 * 		Map of class names to classes to populate the graph with.
+	 */
+	private void initializeWithSnapshot(@Nonnull Map<String, JvmClassInfo> classes) {
+		Map<String, Long> hashes = new HashMap<>(classes.size());
+		classes.forEach((name, cls) -> hashes.put(name, SnapshotStorage.hash(cls.getBytecode())));
+		String key = SnapshotStorage.key(hashes.keySet());
+
+		// Restored and newly visited edges are recorded as they are added, so the next open of these classes
+		// can skip visiting them. Only written when anything had to be visited.
+		CallGraphSnapshot.Builder builder = new CallGraphSnapshot.Builder();
+		hashes.forEach(builder::addClass);
+		CallGraphSnapshot snapshot = snapshots.read(CallGraphSnapshot.KIND, CallGraphSnapshot.VERSION, key, CallGraphSnapshot::read);
+		Set<String> toVisit = snapshot == null ? classes.keySet() : restore(snapshot, classes, hashes, builder);
+		for (String name : toVisit)
+			visit(classes.get(name), builder);
+		if (toVisit.isEmpty())
+			return;
+		snapshots.write(CallGraphSnapshot.KIND, CallGraphSnapshot.VERSION, key, builder::write);
+	}
+
+	/**
+	 * Restores edges from the snapshot that are still valid for the given classes.
+	 * <p>
+	 * An edge is kept if its caller's class is unchanged, and every class on the resolution chain from the owner
+	 * referenced by the call up to the class declaring the resolved method is either unchanged or outside the
+	 * snapshot <i>(such as the runtime)</i>. Callers with any call depending on a changed or removed class are
+	 * visited again instead, so those calls are resolved against the current classes. Likewise, callers with an
+	 * unresolved call are visited again when the referenced owner, or any of its parent types, is new or changed,
+	 * as the call may resolve now.
+	 *
+	 * @param snapshot
+	 * 		Prior snapshot.
+	 * @param classes
+	 * 		Map of class names to current classes.
+	 * @param hashes
+	 * 		Map of class names to the hashes of the current classes.
+	 * @param builder
+	 * 		Builder of the next snapshot, to record restored edges in.
+	 *
+	 * @return Names of classes which must be visited.
+	 */
+	@Nonnull
+	private Set<String> restore(@Nonnull CallGraphSnapshot snapshot, @Nonnull Map<String, JvmClassInfo> classes,
+	                            @Nonnull Map<String, Long> hashes, @Nonnull CallGraphSnapshot.Builder builder) {
+		Map<String, Long> snapshotHashes = snapshot.getClassHashes();
+		Set<String> unchanged = new HashSet<>();
+		hashes.forEach((name, hash) -> {
+			if (hash.equals(snapshotHashes.get(name)))
+				unchanged.add(name);
+		});
+		Set<String> toVisit = new HashSet<>(classes.keySet());
+		toVisit.removeAll(unchanged);
+
+		// Classes outside the snapshot, like those in the runtime, are looked up once each.
+		Map<String, Optional<JvmClassInfo>> externalClasses = new HashMap<>();
+		Function<String, JvmClassInfo> classLookup = name -> {
+			JvmClassInfo cls = classes.get(name);
+			if (cls != null) return cls;
+			return externalClasses.computeIfAbsent(name, n -> Optional.ofNullable(lookup.apply(n))).orElse(null);
+		};
+
+		// Find callers that need re-visiting due to changes in the classes their calls resolve through.
+		// Results are cached per referenced and resolved owner pair, as many calls share them.
+		Map<String, Boolean> chainResults = new HashMap<>();
+		int edgeCount = snapshot.getEdgeCount();
+		for (int i = 0; i < edgeCount; i++) {
+			String callerOwner = snapshot.getCaller(i).owner();
+			if (!unchanged.contains(callerOwner) || toVisit.contains(callerOwner))
+				continue;
+			String referencedOwner = snapshot.getReferencedOwner(i);
+			String calleeOwner = snapshot.getCallee(i).owner();
+			boolean chainUnchanged = chainResults.computeIfAbsent(referencedOwner + ' ' + calleeOwner,
+					k -> isResolutionChainUnchanged(referencedOwner, calleeOwner, hashes.keySet(), unchanged, classLookup));
+			if (!chainUnchanged)
+				toVisit.add(callerOwner);
+		}
+
+		// Find callers with unresolved calls which may now be resolved, due to new or changed classes.
+		// This must be done before restoring edges, so that the edges of callers to visit are not restored.
+		Map<String, Boolean> hierarchyResults = new HashMap<>();
+		List<CallGraphSnapshot.UnresolvedCall> stillUnresolved = new ArrayList<>();
+		for (CallGraphSnapshot.UnresolvedCall call : snapshot.getUnresolved()) {
+			String callerOwner = call.callerOwner();
+			if (!unchanged.contains(callerOwner) || toVisit.contains(callerOwner))
+				continue;
+			String owner = call.ref().owner();
+			boolean hierarchyChanged = hierarchyResults.computeIfAbsent(owner,
+					k -> isHierarchyChanged(owner, hashes.keySet(), unchanged, classLookup));
+			if (hierarchyChanged)
+				toVisit.add(callerOwner);
+			else
+				stillUnresolved.add(call);
+		}
+
+		// Restore edges of the remaining callers.
+		for (int i = 0; i < edgeCount; i++) {
+			MethodRef caller = snapshot.getCaller(i);
+			if (toVisit.contains(caller.owner()) || !unchanged.contains(caller.owner()))
+				continue;
+			MethodRef callee = snapshot.getCallee(i);
+			IndexedMethodVertex callerVertex = restoredVertex(classes.get(caller.owner()), caller);
+			IndexedMethodVertex calleeVertex = restoredVertex(classLookup.apply(callee.owner()), callee);
+			if (callerVertex != null && calleeVertex != null) {
+				callIndex.addEdge(callerVertex.id, calleeVertex.id);
+				builder.addEdge(caller, snapshot.getReferencedOwner(i), callee);
+			} else
+				logger.debugging(l -> l.warn("Cannot restore call {} -> {}", caller, callee));
+		}
+
+		// Restore calls that are still unresolvable.
+		for (CallGraphSnapshot.UnresolvedCall call : stillUnresolved) {
+			if (toVisit.contains(call.callerOwner()))
+				continue;
+			MethodRef ref = call.ref();
+			unresolvedCalls.put(ref.owner(), ref);
+			builder.addUnresolved(call.callerOwner(), ref);
+		}
+
+		logger.debugging(l -> l.info("Restored call graph snapshot, visiting {} of {} classes",
+				toVisit.size(), classes.size()));
+		return toVisit;
+	}
+
+	/**
+	 * @param referencedOwner
+	 * 		Owner referenced by a call instruction.
+	 * @param resolvedOwner
+	 * 		Class declaring the method the call resolved to.
+	 * @param covered
+	 * 		Names of classes covered by the snapshot.
+	 * @param unchanged
+	 * 		Names of covered classes which are unchanged since the snapshot.
+	 * @param classLookup
+	 * 		Lookup for current classes.
+	 *
+	 * @return {@code true} when no class between the referenced owner and the resolved owner <i>(inclusive)</i>,
+	 * through both super-classes and interfaces, has changed. {@code false} if any has changed or cannot be found.
+	 */
+	private static boolean isResolutionChainUnchanged(@Nonnull String referencedOwner, @Nonnull String resolvedOwner,
+	                                                  @Nonnull Set<String> covered, @Nonnull Set<String> unchanged,
+	                                                  @Nonnull Function<String, JvmClassInfo> classLookup) {
+		// Walking the current hierarchy is enough. If every class walked is unchanged, so are their parent types,
+		// which means the hierarchy walked is the same as when the snapshot was made.
+		Deque<String> queue = new ArrayDeque<>();
+		Set<String> visited = new HashSet<>();
+		queue.add(referencedOwner);
+		while (!queue.isEmpty()) {
+			String name = queue.poll();
+			if (!visited.add(name))
+				continue;
+			if (covered.contains(name) && !unchanged.contains(name))
+				return false;
+			JvmClassInfo cls = classLookup.apply(name);
+			if (cls == null)
+				return false;
+
+			// Types above the resolved owner cannot affect resolution, as the method was found before reaching them.
+			if (name.equals(resolvedOwner))
+				continue;
+			if (cls.getSuperName() != null)
+				queue.add(cls.getSuperName());
+			queue.addAll(cls.getInterfaces());
+		}
+		return visited.contains(resolvedOwner);
+	}
+
+	/**
+	 * @param owner
+	 * 		Owner referenced by an unresolved call.
+	 * @param covered
+	 * 		Names of classes covered by the snapshot.
+	 * @param unchanged
+	 * 		Names of covered classes which are unchanged since the snapshot.
+	 * @param classLookup
+	 * 		Lookup for current classes.
+	 *
+	 * @return {@code true} when the owner, or any of its parent types, is new or has changed since the snapshot.
+	 * {@code false} when the hierarchy is the same as when the call could not be resolved.
+	 */
+	private static boolean isHierarchyChanged(@Nonnull String owner, @Nonnull Set<String> covered,
+	                                          @Nonnull Set<String> unchanged,
+	                                          @Nonnull Function<String, JvmClassInfo> classLookup) {
+		Deque<String> queue = new ArrayDeque<>();
+		Set<String> visited = new HashSet<>();
+		queue.add(owner);
+		while (!queue.isEmpty()) {
+			String name = queue.poll();
+			if (!visited.add(name))
+				continue;
+			if (covered.contains(name) && !unchanged.contains(name))
+				return true;
+			JvmClassInfo cls = classLookup.apply(name);
+			if (cls == null)
+				continue;
+			if (cls.getSuperName() != null)
+				queue.add(cls.getSuperName());
+			queue.addAll(cls.getInterfaces());
+		}
+		return false;
+	}
+
+	@Nullable
+	private IndexedMethodVertex restoredVertex(@Nullable JvmClassInfo owner, @Nonnull MethodRef ref) {
+		if (owner == null)
+			return null;
+		return (IndexedMethodVertex) getClassMethodsContainer(owner).getVertex(ref.name(), ref.desc());
+	}
+
 	/**
 	 * Populate {@link MethodVertex} for all methods in {@link JvmClassInfo#getMethods()}.
 	 *
@@ -155,11 +422,23 @@ private void initialize(@Nonnull Workspace workspace) {
 	 * 		Class to visit.
 	 */
 	private void visit(@Nonnull JvmClassInfo jvmClass) {
+		visit(jvmClass, null);
+	}
+
+	/**
+	 * Populate {@link MethodVertex} for all methods in {@link JvmClassInfo#getMethods()}.
+	 *
+	 * @param jvmClass
+	 * 		Class to visit.
+	 * @param snapshot
+	 * 		Builder of a snapshot to record resolved calls in. May be {@code null} to not record.
+	 */
+	private void visit(@Nonnull JvmClassInfo jvmClass, @Nullable CallGraphSnapshot.Builder snapshot) {
 		ClassMethodsContainer classMethodsContainer = getClassMethodsContainer(jvmClass);
 		jvmClass.getClassReader().accept(new ClassVisitor(RecafConstants.getAsmVersion()) {
 			@Override
 			public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
-				MutableMethodVertex methodVertex = (MutableMethodVertex) classMethodsContainer.getVertex(name, descriptor);
+				IndexedMethodVertex methodVertex = (IndexedMethodVertex) classMethodsContainer.getVertex(name, descriptor);
 				if (methodVertex == null) {
 					logger.error("Method {}{} was visited, but not present in info for declaring class {}",
 							name, descriptor, jvmClass.getName());
@@ -169,7 +448,7 @@ public MethodVisitor visitMethod(int access, String name, String descriptor, Str
 				return new MethodVisitor(RecafConstants.getAsmVersion()) {
 					@Override
 					public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
-						onMethodCalled(methodVertex, opcode, owner, name, descriptor, isInterface);
+						onMethodCalled(methodVertex, opcode, owner, name, descriptor, isInterface, snapshot);
 					}
 
 					@Override
@@ -216,9 +495,12 @@ public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootst
 	 * 		Method call descriptor.
 	 * @param isInterface
 	 * 		Method interface flag.
+	 * @param snapshot
+	 * 		Builder of a snapshot to record the resolved call in. May be {@code null} to not record.
 	 */
-	private void onMethodCalled(@Nonnull MutableMethodVertex methodVertex, int opcode, @Nonnull String owner,
-	                            @Nonnull String name, @Nonnull String descriptor, boolean isInterface) {
+	private void onMethodCalled(@Nonnull IndexedMethodVertex methodVertex, int opcode, @Nonnull String owner,
+	                            @Nonnull String name, @Nonnull String descriptor, boolean isInterface,
+	                            @Nullable CallGraphSnapshot.Builder snapshot) {
 		MethodRef ref = new MethodRef(owner, name, descriptor);
 
 		// Resolve the method
@@ -229,11 +511,12 @@ private void onMethodCalled(@Nonnull MutableMethodVertex methodVertex, int opcod
 			// Extract vertex from resolution
 			Resolution<JvmClassInfo, MethodMember> resolution = resolutionResult.value();
 			ClassMethodsContainer resolvedClass = getClassMethodsContainer(resolution.owner().innerValue());
-			MutableMethodVertex resolvedMethodCallVertex = (MutableMethodVertex) resolvedClass.getVertex(resolution.member().innerValue());
+			IndexedMethodVertex resolvedMethodCallVertex = (IndexedMethodVertex) resolvedClass.getVertex(resolution.member().innerValue());
 
 			// Link the vertices
-			methodVertex.getCalls().add(resolvedMethodCallVertex);
-			resolvedMethodCallVertex.getCallers().add(methodVertex);
+			callIndex.addEdge(methodVertex.id, resolvedMethodCallVertex.id);
+			if (snapshot != null)
+				snapshot.addEdge(methodVertex.getMethod(), owner, resolvedMethodCallVertex.getMethod());
 
 			// Remove tracked unresolved call if any exist
 			Set<MethodRef> unresolvedWithinOwner = unresolvedCalls.get(owner);
@@ -242,6 +525,8 @@ private void onMethodCalled(@Nonnull MutableMethodVertex methodVertex, int opcod
 			}
 		} else {
 			unresolvedCalls.put(owner, ref);
+			if (snapshot != null)
+				snapshot.addUnresolved(methodVertex.getMethod().owner(), ref);
 
 			// The result is null when the class cannot be found.
 			if (resolutionResult == null)
@@ -347,8 +632,8 @@ public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClass
 		Set<MethodRef> unresolvedWithinOwner = unresolvedCalls.get(cls.getName());
 		for (MethodVertex vertex : container.getVertices()) {
 			MethodRef ref = vertex.getMethod();
-			if (vertex instanceof MutableMethodVertex) {
-				((MutableMethodVertex) vertex).prune();
+			if (vertex instanceof IndexedMethodVertex indexedVertex) {
+				callIndex.remove(indexedVertex.id);
 				unresolvedWithinOwner.add(ref);
 			} else {
 				logger.warn("Could not prune reference: {}", ref);
@@ -373,38 +658,22 @@ public CallGraphConfig getServiceConfig() {
 	}
 
 	/**
-	 * Mutable impl of {@link MethodVertex}.
+	 * Impl of {@link MethodVertex} as a view over a {@link MethodCallIndex}.
 	 */
-	static class MutableMethodVertex implements MethodVertex {
-		private final Set<MethodVertex> callers = Collections.synchronizedSet(new HashSet<>());
-		private final Set<MethodVertex> calls = Collections.synchronizedSet(new HashSet<>());
+	static class IndexedMethodVertex implements MethodVertex {
+		private final MethodCallIndex index;
+		private final int id;
 		private final MethodRef method;
 		private final MethodMember resolvedMethod;
 
-		MutableMethodVertex(@Nonnull MethodRef method, @Nonnull MethodMember resolvedMethod) {
+		IndexedMethodVertex(@Nonnull MethodCallIndex index, int id,
+		                    @Nonnull MethodRef method, @Nonnull MethodMember resolvedMethod) {
+			this.index = index;
+			this.id = id;
 			this.method = method;
 			this.resolvedMethod = resolvedMethod;
 		}
 
-		/**
-		 * Removes this method vertex from connected vertices.
-		 */
-		private void prune() {
-			// Remove this vertex as a caller from the methods we call
-			for (MethodVertex out : getCalls()) {
-				if (out instanceof MutableMethodVertex) {
-					out.getCallers().remove(this);
-				}
-			}
-
-			// Remove this vertex as a destination from methods that call us
-			for (MethodVertex in : getCallers()) {
-				if (in instanceof MutableMethodVertex) {
-					in.getCalls().remove(this);
-				}
-			}
-		}
-
 		@Nonnull
 		@Override
 		public MethodRef getMethod() {
@@ -417,16 +686,23 @@ public MethodMember getResolvedMethod() {
 			return resolvedMethod;
 		}
 
+		/**
+		 * @return Id of the vertex in its index.
+		 */
+		int id() {
+			return id;
+		}
+
 		@Nonnull
 		@Override
 		public Collection<MethodVertex> getCallers() {
-			return callers;
+			return index.callers(id, this);
 		}
 
 		@Nonnull
 		@Override
 		public Collection<MethodVertex> getCalls() {
-			return calls;
+			return index.calls(id, this);
 		}
 
 		@Override
@@ -438,7 +714,7 @@ public String toString() {
 		public boolean equals(Object o) {
 			if (this == o) return true;
 			if (o == null || getClass() != o.getClass()) return false;
-			MutableMethodVertex vertex = (MutableMethodVertex) o;
+			IndexedMethodVertex vertex = (IndexedMethodVertex) o;
 			return method.equals(vertex.method);
 		}
 
@@ -17,12 +17,14 @@
 @ApplicationScoped
 public class CallGraphConfig extends BasicConfigContainer implements ServiceConfig {
 	private final ObservableBoolean active = new ObservableBoolean(true);
+	private final ObservableBoolean persistSnapshots = new ObservableBoolean(true);
 
 	@Inject
 	public CallGraphConfig() {
 		super(ConfigGroups.SERVICE_ANALYSIS, CallGraph.SERVICE_ID + CONFIG_SUFFIX);
 		// Add values
 		addValue(new BasicConfigValue<>("active", boolean.class, active));
+		addValue(new BasicConfigValue<>("persist-snapshots", boolean.class, persistSnapshots));
 	}
 
 	/**
@@ -32,4 +34,12 @@ public CallGraphConfig() {
 	public ObservableBoolean getActive() {
 		return active;
 	}
+
+	/**
+	 * @return {@code true} to save call graphs to disk, and restore them when the same inputs are opened again.
+	 */
+	@Nonnull
+	public ObservableBoolean getPersistSnapshots() {
+		return persistSnapshots;
+	}
 }
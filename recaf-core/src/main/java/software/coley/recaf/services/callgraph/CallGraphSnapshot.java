@@ -0,0 +1,289 @@
+package software.coley.recaf.services.callgraph;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persisted form of a {@link CallGraph}.
+ * <p>
+ * Records the content hash of each class covered by the graph, the methods participating in calls, and
+ * the call edges between them. Each edge also records the owner referenced by the call instruction, which may differ
+ * from the class declaring the resolved method. Calls which could not be resolved are recorded along with the class
+ * doing the call, so that the caller can be visited again once the call may resolve. Strings are written once to
+ * a shared table and referenced by index.
+ *
+ * @author Matt Coley
+ */
+class CallGraphSnapshot {
+	static final String KIND = "call-graph";
+	static final int VERSION = 3;
+	private final Map<String, Long> classHashes;
+	private final List<MethodRef> methods;
+	private final int[] edgeCallers;
+	private final int[] edgeCallees;
+	private final String[] edgeReferencedOwners;
+	private final List<UnresolvedCall> unresolved;
+
+	private CallGraphSnapshot(@Nonnull Map<String, Long> classHashes, @Nonnull List<MethodRef> methods,
+	                          @Nonnull int[] edgeCallers, @Nonnull int[] edgeCallees,
+	                          @Nonnull String[] edgeReferencedOwners, @Nonnull List<UnresolvedCall> unresolved) {
+		this.classHashes = classHashes;
+		this.methods = methods;
+		this.edgeCallers = edgeCallers;
+		this.edgeCallees = edgeCallees;
+		this.edgeReferencedOwners = edgeReferencedOwners;
+		this.unresolved = unresolved;
+	}
+
+	/**
+	 * @return Map of class names to the hash of their bytecode at the time of the snapshot.
+	 */
+	@Nonnull
+	Map<String, Long> getClassHashes() {
+		return classHashes;
+	}
+
+	/**
+	 * @return Number of call edges.
+	 */
+	int getEdgeCount() {
+		return edgeCallers.length;
+	}
+
+	/**
+	 * @param edge
+	 * 		Edge index.
+	 *
+	 * @return Method doing the call.
+	 */
+	@Nonnull
+	MethodRef getCaller(int edge) {
+		return methods.get(edgeCallers[edge]);
+	}
+
+	/**
+	 * @param edge
+	 * 		Edge index.
+	 *
+	 * @return Method being called.
+	 */
+	@Nonnull
+	MethodRef getCallee(int edge) {
+		return methods.get(edgeCallees[edge]);
+	}
+
+	/**
+	 * @param edge
+	 * 		Edge index.
+	 *
+	 * @return Owner referenced by the call instruction, which resolution of the call started from.
+	 */
+	@Nonnull
+	String getReferencedOwner(int edge) {
+		return edgeReferencedOwners[edge];
+	}
+
+	/**
+	 * @return Calls that could not be resolved at the time of the snapshot.
+	 */
+	@Nonnull
+	List<UnresolvedCall> getUnresolved() {
+		return unresolved;
+	}
+
+	/**
+	 * @param in
+	 * 		Input to read from.
+	 *
+	 * @return Snapshot read from the input.
+	 *
+	 * @throws IOException
+	 * 		When the input cannot be read.
+	 */
+	@Nonnull
+	static CallGraphSnapshot read(@Nonnull DataInputStream in) throws IOException {
+		String[] strings = new String[in.readInt()];
+		for (int i = 0; i < strings.length; i++)
+			strings[i] = in.readUTF();
+
+		int classCount = in.readInt();
+		Map<String, Long> classHashes = new HashMap<>(classCount);
+		for (int i = 0; i < classCount; i++)
+			classHashes.put(strings[in.readInt()], in.readLong());
+
+		List<MethodRef> methods = readRefs(in, strings);
+
+		int edgeCount = in.readInt();
+		int[] edgeCallers = new int[edgeCount];
+		int[] edgeCallees = new int[edgeCount];
+		String[] edgeReferencedOwners = new String[edgeCount];
+		for (int i = 0; i < edgeCount; i++) {
+			edgeCallers[i] = in.readInt();
+			edgeReferencedOwners[i] = strings[in.readInt()];
+			edgeCallees[i] = in.readInt();
+		}
+
+		int unresolvedCount = in.readInt();
+		List<UnresolvedCall> unresolved = new ArrayList<>(unresolvedCount);
+		for (int i = 0; i < unresolvedCount; i++)
+			unresolved.add(new UnresolvedCall(strings[in.readInt()], readRef(in, strings)));
+		return new CallGraphSnapshot(classHashes, methods, edgeCallers, edgeCallees, edgeReferencedOwners, unresolved);
+	}
+
+	@Nonnull
+	private static List<MethodRef> readRefs(@Nonnull DataInputStream in, @Nonnull String[] strings) throws IOException {
+		int count = in.readInt();
+		List<MethodRef> refs = new ArrayList<>(count);
+		for (int i = 0; i < count; i++)
+			refs.add(readRef(in, strings));
+		return refs;
+	}
+
+	@Nonnull
+	private static MethodRef readRef(@Nonnull DataInputStream in, @Nonnull String[] strings) throws IOException {
+		return new MethodRef(strings[in.readInt()], strings[in.readInt()], strings[in.readInt()]);
+	}
+
+	/**
+	 * @param callerOwner
+	 * 		Name of the class doing the call.
+	 * @param ref
+	 * 		Call which could not be resolved.
+	 */
+	record UnresolvedCall(@Nonnull String callerOwner, @Nonnull MethodRef ref) {}
+
+	/**
+	 * Collects graph contents for writing a snapshot.
+	 */
+	static class Builder {
+		private final Map<String, Integer> stringIndices = new HashMap<>();
+		private final List<String> strings = new ArrayList<>();
+		private final Map<MethodRef, Integer> methodIndices = new HashMap<>();
+		private final List<MethodRef> methods = new ArrayList<>();
+		private final Map<String, Long> classHashes = new HashMap<>();
+		private final Set<UnresolvedCall> unresolved = new LinkedHashSet<>();
+		private final Set<Edge> edgeSet = new HashSet<>();
+		private int[] edges = new int[384];
+		private int edgeCount;
+
+		/**
+		 * @param name
+		 * 		Class name.
+		 * @param hash
+		 * 		Hash of the class bytecode.
+		 */
+		void addClass(@Nonnull String name, long hash) {
+			string(name);
+			classHashes.put(name, hash);
+		}
+
+		/**
+		 * @param caller
+		 * 		Method doing the call.
+		 * @param referencedOwner
+		 * 		Owner referenced by the call instruction.
+		 * @param callee
+		 * 		Method the call resolved to.
+		 */
+		void addEdge(@Nonnull MethodRef caller, @Nonnull String referencedOwner, @Nonnull MethodRef callee) {
+			Edge edge = new Edge(method(caller), string(referencedOwner), method(callee));
+			if (!edgeSet.add(edge))
+				return;
+			if (edgeCount * 3 == edges.length)
+				edges = Arrays.copyOf(edges, edges.length * 2);
+			edges[edgeCount * 3] = edge.caller();
+			edges[edgeCount * 3 + 1] = edge.referencedOwner();
+			edges[edgeCount * 3 + 2] = edge.callee();
+			edgeCount++;
+		}
+
+		/**
+		 * @param callerOwner
+		 * 		Name of the class doing the call.
+		 * @param ref
+		 * 		Call which could not be resolved.
+		 */
+		void addUnresolved(@Nonnull String callerOwner, @Nonnull MethodRef ref) {
+			string(callerOwner);
+			ref(ref);
+			unresolved.add(new UnresolvedCall(callerOwner, ref));
+		}
+
+		/**
+		 * @param out
+		 * 		Output to write to.
+		 *
+		 * @throws IOException
+		 * 		When the output cannot be written to.
+		 */
+		void write(@Nonnull DataOutputStream out) throws IOException {
+			out.writeInt(strings.size());
+			for (String string : strings)
+				out.writeUTF(string);
+
+			out.writeInt(classHashes.size());
+			for (Map.Entry<String, Long> entry : classHashes.entrySet()) {
+				out.writeInt(stringIndices.get(entry.getKey()));
+				out.writeLong(entry.getValue());
+			}
+
+			writeRefs(out, methods);
+
+			out.writeInt(edgeCount);
+			for (int i = 0; i < edgeCount * 3; i++)
+				out.writeInt(edges[i]);
+
+			out.writeInt(unresolved.size());
+			for (UnresolvedCall call : unresolved) {
+				out.writeInt(stringIndices.get(call.callerOwner()));
+				writeRef(out, call.ref());
+			}
+		}
+
+		private void writeRefs(@Nonnull DataOutputStream out, @Nonnull List<MethodRef> refs) throws IOException {
+			out.writeInt(refs.size());
+			for (MethodRef ref : refs)
+				writeRef(out, ref);
+		}
+
+		private void writeRef(@Nonnull DataOutputStream out, @Nonnull MethodRef ref) throws IOException {
+			out.writeInt(stringIndices.get(ref.owner()));
+			out.writeInt(stringIndices.get(ref.name()));
+			out.writeInt(stringIndices.get(ref.desc()));
+		}
+
+		private int method(@Nonnull MethodRef ref) {
+			return methodIndices.computeIfAbsent(ref, r -> {
+				ref(r);
+				methods.add(r);
+				return methods.size() - 1;
+			});
+		}
+
+		private void ref(@Nonnull MethodRef ref) {
+			string(ref.owner());
+			string(ref.name());
+			string(ref.desc());
+		}
+
+		private int string(@Nonnull String string) {
+			return stringIndices.computeIfAbsent(string, s -> {
+				strings.add(s);
+				return strings.size() - 1;
+			});
+		}
+
+		private record Edge(int caller, int referencedOwner, int callee) {}
+	}
+}
@@ -19,6 +19,7 @@
  */
 public class ClassMethodsContainer {
 	private final Map<MethodMember, MethodVertex> methodVertices = Collections.synchronizedMap(new IdentityHashMap<>());
+	private final MethodCallIndex callIndex;
 	private final JvmClassInfo jvmClass;
 
 	/**
@@ -26,7 +27,18 @@ public class ClassMethodsContainer {
 	 * 		Class to wrap.
 	 */
 	public ClassMethodsContainer(@Nonnull JvmClassInfo jvmClass) {
+		this(jvmClass, new MethodCallIndex());
+	}
+
+	/**
+	 * @param jvmClass
+	 * 		Class to wrap.
+	 * @param callIndex
+	 * 		Index to register method vertices in.
+	 */
+	ClassMethodsContainer(@Nonnull JvmClassInfo jvmClass, @Nonnull MethodCallIndex callIndex) {
 		this.jvmClass = jvmClass;
+		this.callIndex = callIndex;
 	}
 
 	/**
@@ -74,9 +86,9 @@ public MethodVertex getVertex(@Nonnull String name, @Nonnull String descriptor)
 	public MethodVertex getVertex(@Nonnull MethodMember member) throws IllegalArgumentException {
 		if (member.getDeclaringClass() != jvmClass)
 			throw new IllegalArgumentException("Member does not belong to class from this vertex");
-		return methodVertices.computeIfAbsent(member, m -> new CallGraph.MutableMethodVertex(
-				new MethodRef(jvmClass.getName(), member.getName(), member.getDescriptor()),
-				member)
+		return methodVertices.computeIfAbsent(member, m -> callIndex.register(id -> new CallGraph.IndexedMethodVertex(
+				callIndex, id, new MethodRef(jvmClass.getName(), member.getName(), member.getDescriptor()),
+				member))
 		);
 	}
 }
@@ -0,0 +1,337 @@
+package software.coley.recaf.services.callgraph;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Compact storage of {@link CallGraph} edges.
+ * <p>
+ * Each {@link MethodVertex} is assigned an int id. Call edges are kept in compressed sparse row form: one array of
+ * offsets per vertex, and one array of edge endpoints, for both the outgoing <i>(calls)</i> and incoming
+ * <i>(callers)</i> directions. Rows are sorted and contain no duplicates.
+ * <p>
+ * Edges added after the last compaction are held in a pending edge list, and removed vertices are tracked in a
+ * bit-set. Both are folded into the row arrays when they grow too large, or when explicitly {@link #compact()
+ * compacted} after bulk population. Once compacted, the ids of removed vertices no longer appear in any row, and
+ * are handed out again to newly registered vertices.
+ *
+ * @author Matt Coley
+ */
+class MethodCallIndex {
+	private static final int[] EMPTY = new int[0];
+	private static final int MIN_COMPACT_THRESHOLD = 4096;
+	private static final int PENDING_READ_LIMIT = 1024;
+	private final List<MethodVertex> vertices = new ArrayList<>();
+	private final BitSet removed = new BitSet();
+	private int[] callOffsets = {0};
+	private int[] callTargets = EMPTY;
+	private int[] callerOffsets = {0};
+	private int[] callerSources = EMPTY;
+	private int[] pendingSources = new int[64];
+	private int[] pendingTargets = new int[64];
+	private int[] freeIds = EMPTY;
+	private int freeCount;
+	private int pendingCount;
+	private int removedSinceCompact;
+
+	/**
+	 * @param factory
+	 * 		Function to create a vertex with the given id. The id may have belonged to a previously removed vertex.
+	 * @param <V>
+	 * 		Vertex type.
+	 *
+	 * @return Newly created vertex.
+	 */
+	@Nonnull
+	synchronized <V extends MethodVertex> V register(@Nonnull IntFunction<V> factory) {
+		if (freeCount > 0) {
+			int id = freeIds[--freeCount];
+			V vertex = factory.apply(id);
+			vertices.set(id, vertex);
+			return vertex;
+		}
+		V vertex = factory.apply(vertices.size());
+		vertices.add(vertex);
+		return vertex;
+	}
+
+	/**
+	 * @param id
+	 * 		Vertex id.
+	 *
+	 * @return Vertex with the given id, or {@code null} if it has been removed.
+	 */
+	@Nullable
+	synchronized MethodVertex vertex(int id) {
+		if (id < 0 || id >= vertices.size())
+			return null;
+		return vertices.get(id);
+	}
+
+	/**
+	 * Records a call from one vertex to another. Duplicate edges are ignored.
+	 *
+	 * @param caller
+	 * 		Id of the calling vertex.
+	 * @param callee
+	 * 		Id of the called vertex.
+	 */
+	synchronized void addEdge(int caller, int callee) {
+		if (vertices.get(caller) == null || vertices.get(callee) == null)
+			return;
+		if (pendingCount == pendingSources.length) {
+			int newLength = pendingCount + (pendingCount >> 1);
+			pendingSources = Arrays.copyOf(pendingSources, newLength);
+			pendingTargets = Arrays.copyOf(pendingTargets, newLength);
+		}
+		pendingSources[pendingCount] = caller;
+		pendingTargets[pendingCount] = callee;
+		pendingCount++;
+		if (pendingCount > compactThreshold())
+			compact();
+	}
+
+	/**
+	 * Removes a vertex and all of its edges.
+	 *
+	 * @param id
+	 * 		Id of the vertex to remove.
+	 */
+	synchronized void remove(int id) {
+		if (id < 0 || id >= vertices.size() || removed.get(id))
+			return;
+		removed.set(id);
+		vertices.set(id, null);
+		if (++removedSinceCompact > compactThreshold())
+			compact();
+	}
+
+	/**
+	 * @param id
+	 * 		Vertex id.
+	 * @param vertex
+	 * 		Vertex registered with the id.
+	 *
+	 * @return Vertices called by the given vertex.
+	 * Empty if the vertex has been removed, even if its id has since been given to another vertex.
+	 */
+	@Nonnull
+	synchronized Set<MethodVertex> calls(int id, @Nonnull MethodVertex vertex) {
+		return collect(id, vertex, true);
+	}
+
+	/**
+	 * @param id
+	 * 		Vertex id.
+	 * @param vertex
+	 * 		Vertex registered with the id.
+	 *
+	 * @return Vertices calling the given vertex.
+	 * Empty if the vertex has been removed, even if its id has since been given to another vertex.
+	 */
+	@Nonnull
+	synchronized Set<MethodVertex> callers(int id, @Nonnull MethodVertex vertex) {
+		return collect(id, vertex, false);
+	}
+
+	/**
+	 * @return Number of ids assigned to vertices, including ids of removed vertices waiting to be reused.
+	 */
+	synchronized int idCount() {
+		return vertices.size();
+	}
+
+	/**
+	 * @return Number of distinct edges in the compacted rows. Does not include pending edges.
+	 */
+	synchronized int compactedEdgeCount() {
+		return callTargets.length;
+	}
+
+	/**
+	 * Folds all pending edges and vertex removals into the compressed row arrays.
+	 */
+	synchronized void compact() {
+		int vertexCount = vertices.size();
+
+		// Count outgoing edges per vertex, from both existing rows and pending edges.
+		int[] outCounts = new int[vertexCount + 1];
+		int existingRows = callOffsets.length - 1;
+		for (int src = 0; src < existingRows; src++) {
+			if (removed.get(src))
+				continue;
+			for (int i = callOffsets[src]; i < callOffsets[src + 1]; i++)
+				if (!removed.get(callTargets[i]))
+					outCounts[src]++;
+		}
+		for (int i = 0; i < pendingCount; i++)
+			if (!removed.get(pendingSources[i]) && !removed.get(pendingTargets[i]))
+				outCounts[pendingSources[i]]++;
+
+		// Fill rows, then sort and de-duplicate each row in place.
+		int[] offsets = new int[vertexCount + 1];
+		for (int v = 0; v < vertexCount; v++)
+			offsets[v + 1] = offsets[v] + outCounts[v];
+		int[] targets = new int[offsets[vertexCount]];
+		int[] fill = Arrays.copyOf(offsets, vertexCount);
+		for (int src = 0; src < existingRows; src++) {
+			if (removed.get(src))
+				continue;
+			for (int i = callOffsets[src]; i < callOffsets[src + 1]; i++) {
+				int dst = callTargets[i];
+				if (!removed.get(dst))
+					targets[fill[src]++] = dst;
+			}
+		}
+		for (int i = 0; i < pendingCount; i++) {
+			int src = pendingSources[i];
+			int dst = pendingTargets[i];
+			if (!removed.get(src) && !removed.get(dst))
+				targets[fill[src]++] = dst;
+		}
+		int write = 0;
+		int[] uniqueOffsets = new int[vertexCount + 1];
+		for (int v = 0; v < vertexCount; v++) {
+			int start = offsets[v];
+			int end = offsets[v + 1];
+			Arrays.sort(targets, start, end);
+			for (int i = start; i < end; i++)
+				if (i == start || targets[i] != targets[i - 1])
+					targets[write++] = targets[i];
+			uniqueOffsets[v + 1] = write;
+		}
+		callOffsets = uniqueOffsets;
+		callTargets = write == targets.length ? targets : Arrays.copyOf(targets, write);
+
+		// Transpose for the incoming direction. Sources are visited in order, so rows come out sorted.
+		int[] inOffsets = new int[vertexCount + 1];
+		for (int dst : callTargets)
+			inOffsets[dst + 1]++;
+		for (int v = 0; v < vertexCount; v++)
+			inOffsets[v + 1] += inOffsets[v];
+		int[] sources = new int[callTargets.length];
+		int[] inFill = Arrays.copyOf(inOffsets, vertexCount);
+		for (int src = 0; src < vertexCount; src++)
+			for (int i = callOffsets[src]; i < callOffsets[src + 1]; i++)
+				sources[inFill[callTargets[i]]++] = src;
+		callerOffsets = inOffsets;
+		callerSources = sources;
+
+		// Removed vertices no longer appear in any row, so their ids can be reused.
+		if (freeIds.length < freeCount + removed.cardinality())
+			freeIds = Arrays.copyOf(freeIds, freeCount + removed.cardinality());
+		for (int id = removed.nextSetBit(0); id >= 0; id = removed.nextSetBit(id + 1))
+			freeIds[freeCount++] = id;
+		removed.clear();
+
+		pendingCount = 0;
+		removedSinceCompact = 0;
+	}
+
+	private int compactThreshold() {
+		return Math.max(MIN_COMPACT_THRESHOLD, callTargets.length >> 2);
+	}
+
+	@Nonnull
+	private Set<MethodVertex> collect(int id, @Nonnull MethodVertex vertex, boolean outgoing) {
+		if (id < 0 || id >= vertices.size() || vertices.get(id) != vertex)
+			return Collections.emptySet();
+		if (pendingCount > PENDING_READ_LIMIT)
+			compact();
+
+		int[] offsets = outgoing ? callOffsets : callerOffsets;
+		int[] adjacent = outgoing ? callTargets : callerSources;
+		int start = id < offsets.length - 1 ? offsets[id] : 0;
+		int end = id < offsets.length - 1 ? offsets[id + 1] : 0;
+
+		// Include pending edges, which may duplicate compacted ones.
+		int[] ids = null;
+		int count = 0;
+		if (pendingCount > 0) {
+			int[] match = outgoing ? pendingSources : pendingTargets;
+			int[] other = outgoing ? pendingTargets : pendingSources;
+			for (int i = 0; i < pendingCount; i++) {
+				if (match[i] == id) {
+					if (ids == null) {
+						ids = new int[end - start + 4];
+						System.arraycopy(adjacent, start, ids, 0, end - start);
+						count = end - start;
+					} else if (count == ids.length) {
+						ids = Arrays.copyOf(ids, count * 2);
+					}
+					ids[count++] = other[i];
+				}
+			}
+		}
+		if (ids != null) {
+			Arrays.sort(ids, 0, count);
+			int write = 0;
+			for (int i = 0; i < count; i++)
+				if (i == 0 || ids[i] != ids[i - 1])
+					ids[write++] = ids[i];
+			count = write;
+			start = 0;
+		} else {
+			ids = adjacent;
+			count = end;
+		}
+
+		int[] resultIds = new int[count - start];
+		MethodVertex[] resultVertices = new MethodVertex[count - start];
+		int size = 0;
+		for (int i = start; i < count; i++) {
+			int other = ids[i];
+			if (!removed.get(other)) {
+				resultIds[size] = other;
+				resultVertices[size++] = vertices.get(other);
+			}
+		}
+		return size == 0 ? Collections.emptySet() : new VertexSet(resultIds, resultVertices, size);
+	}
+
+	/**
+	 * Unmodifiable snapshot of the vertices in a row. Ids are sorted, so membership of
+	 * {@link CallGraph.IndexedMethodVertex indexed vertices} is checked with a binary search.
+	 */
+	private static class VertexSet extends AbstractSet<MethodVertex> {
+		private final int[] ids;
+		private final MethodVertex[] vertices;
+		private final int size;
+
+		private VertexSet(@Nonnull int[] ids, @Nonnull MethodVertex[] vertices, int size) {
+			this.ids = ids;
+			this.vertices = vertices;
+			this.size = size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (o instanceof CallGraph.IndexedMethodVertex vertex) {
+				int i = Arrays.binarySearch(ids, 0, size, vertex.id());
+				return i >= 0 && vertices[i].equals(vertex);
+			}
+			return super.contains(o);
+		}
+
+		@Nonnull
+		@Override
+		public Iterator<MethodVertex> iterator() {
+			return Arrays.asList(vertices).subList(0, size).iterator();
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
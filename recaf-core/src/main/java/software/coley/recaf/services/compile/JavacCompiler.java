@@ -7,8 +7,12 @@
 import software.coley.collections.Lists;
 import software.coley.recaf.analytics.logging.DebuggingLogger;
 import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.cdi.AutoRegisterWorkspaceListeners;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.services.Service;
+import software.coley.recaf.services.metrics.MetricsService;
+import software.coley.recaf.services.metrics.Timer;
+import software.coley.recaf.services.workspace.WorkspaceCloseListener;
 import software.coley.recaf.util.LookupUtil;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
@@ -17,7 +21,9 @@
 import javax.tools.JavaCompiler;
 import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
+import java.io.IOException;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
@@ -25,6 +31,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
@@ -37,17 +44,26 @@
  * @author Matt Coley
  */
 @ApplicationScoped
-public class JavacCompiler implements Service {
+@AutoRegisterWorkspaceListeners
+public class JavacCompiler implements Service, WorkspaceCloseListener {
 	public static final String SERVICE_ID = "java-compiler";
 	public static final int MIN_DOWNSAMPLE_VER = 8;
 	private static final DebuggingLogger logger = Logging.get(JavacCompiler.class);
 	private static final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
 	private static int minTargetVersion = 7;
+	private final ReentrantLock sharedFileManagerLock = new ReentrantLock();
 	private final JavacCompilerConfig config;
+	private final Timer compileTimer;
+	private StandardJavaFileManager sharedFileManager;
 
-	@Inject
 	public JavacCompiler(JavacCompilerConfig config) {
+		this(config, null);
+	}
+
+	@Inject
+	public JavacCompiler(JavacCompilerConfig config, @Nullable MetricsService metrics) {
 		this.config = config;
+		compileTimer = metrics == null ? new Timer() : metrics.timer("compile.javac");
 	}
 
 	/**
@@ -102,14 +118,26 @@ public CompilerResult compile(@Nonnull JavacArguments arguments,
 			virtualClassPath = Lists.combine(virtualClassPath, supplementaryResources);
 		List<CompilerDiagnostic> diagnostics = new ArrayList<>();
 		JavacListener listenerWrapper = createRecordingListener(listener, diagnostics);
-		JavaFileManager fmFallback = compiler.getStandardFileManager(listenerWrapper, Locale.getDefault(), UTF_8);
+
+		// The standard file manager caches the contents of the platform classpath it has opened, so we keep one
+		// around to make subsequent compilations cheaper. Since file managers retain options such as the classpath,
+		// the shared one is only used for compilations without a classpath, and when no other compilation uses it.
+		String cp = arguments.getClassPath();
+		boolean useShared = cp == null && sharedFileManagerLock.tryLock();
+		StandardJavaFileManager fmFallback;
+		if (useShared) {
+			if (sharedFileManager == null)
+				sharedFileManager = compiler.getStandardFileManager(null, Locale.getDefault(), UTF_8);
+			fmFallback = sharedFileManager;
+		} else {
+			fmFallback = compiler.getStandardFileManager(listenerWrapper, Locale.getDefault(), UTF_8);
+		}
 		JavaFileManager fm = new VirtualFileManager(unitMap, virtualClassPath, fmFallback);
 
 		// Populate arguments
 		List<String> args = new ArrayList<>();
 
 		// Classpath
-		String cp = arguments.getClassPath();
 		if (cp != null) {
 			args.add("-classpath");
 			args.add(cp);
@@ -128,6 +156,7 @@ public CompilerResult compile(@Nonnull JavacArguments arguments,
 		logger.debugging(l -> l.info("Compiler debug: {}", debugArg));
 
 		// Invoke compiler
+		Timer.Sample sample = compileTimer.start();
 		try {
 			JavaCompiler.CompilationTask task =
 					compiler.getTask(null, fm, listenerWrapper, args, null, unitMap.getFiles());
@@ -145,7 +174,36 @@ else if (downsampleTarget >= 0)
 			return new CompilerResult(compilations, diagnostics);
 		} catch (RuntimeException ex) {
 			logger.debugging(l -> l.error("Compilation of '{}' crashed: {}", className, ex));
+			sample.fail();
 			return new CompilerResult(ex);
+		} finally {
+			sample.close();
+			if (useShared) {
+				sharedFileManagerLock.unlock();
+			} else {
+				try {
+					fmFallback.close();
+				} catch (IOException ex) {
+					logger.debugging(l -> l.warn("Failed to close file manager", ex));
+				}
+			}
+		}
+	}
+
+	@Override
+	public void onWorkspaceClosed(@Nonnull Workspace workspace) {
+		// Release the platform classpath held open by the shared file manager. It is re-created on the next compilation.
+		sharedFileManagerLock.lock();
+		try {
+			if (sharedFileManager != null) {
+				sharedFileManager.close();
+				sharedFileManager = null;
+			}
+		} catch (IOException ex) {
+			logger.debugging(l -> l.warn("Failed to close shared file manager", ex));
+			sharedFileManager = null;
+		} finally {
+			sharedFileManagerLock.unlock();
 		}
 	}
 
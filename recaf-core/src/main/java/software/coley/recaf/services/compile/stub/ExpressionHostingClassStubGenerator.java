@@ -9,8 +9,6 @@
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import org.slf4j.Logger;
-import regexodus.Matcher;
-import regexodus.Pattern;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.InnerClassInfo;
 import software.coley.recaf.info.member.BasicLocalVariable;
@@ -20,7 +18,6 @@
 import software.coley.recaf.services.assembler.ExpressionCompileException;
 import software.coley.recaf.services.assembler.ExpressionCompiler;
 import software.coley.recaf.util.AccessFlag;
-import software.coley.recaf.util.RegexUtil;
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.util.HashSet;
@@ -35,7 +32,6 @@
  */
 public class ExpressionHostingClassStubGenerator extends ClassStubGenerator {
 	private static final Logger logger = Logging.get(ExpressionHostingClassStubGenerator.class);
-	private static final Pattern IMPORT_EXTRACT_PATTERN = RegexUtil.pattern("^\\s*(import \\w.+;)");
 	private final int methodFlags;
 	private final String methodName;
 	private final MethodType methodType;
@@ -103,20 +99,36 @@ else if (!isSafeName(methodName))
 
 	@Override
 	public String generate() throws ExpressionCompileException {
-		String localExpression = expression;
+		return generateTemplate().complete(expression);
+	}
+
+	/**
+	 * Generates the hosting class without any expression, so that it can be completed with any expression
+	 * without being generated again.
+	 *
+	 * @return Template of the expression hosting class.
+	 *
+	 * @throws ExpressionCompileException
+	 * 		When the expression hosting class could not be fully generated.
+	 */
+	@Nonnull
+	public ExpressionHostingTemplate generateTemplate() throws ExpressionCompileException {
+		StringBuilder header = new StringBuilder();
+		appendPackage(header);
 
 		StringBuilder code = new StringBuilder();
-		appendPackage(code);
-		localExpression = appendExpressionImports(code, localExpression);
 		appendClassStructure(code);
 		appendEnumConsts(code);
-		appendExpressionMethod(code, localExpression);
+		appendExpressionMethodDeclaration(code);
+		int expressionOffset = code.length();
+		code.append("}\n");
 		appendFields(code);
 		appendMethods(code);
 		appendInnerClasses(code);
 		appendClassEnd(code);
 
-		return code.toString();
+		return new ExpressionHostingTemplate(header.toString(), code.substring(0, expressionOffset),
+				code.substring(expressionOffset), getAdaptedMethodName(), methodDescriptorWithVariables());
 	}
 
 	@Override
@@ -133,45 +145,14 @@ public String getAdaptedMethodName() {
 		return methodName;
 	}
 
-	/**
-	 * Expressions can contain imports at the top so that the end-user can work without needing fully qualified names.
-	 * We want to take those out and append them to the class we're generating, and update the expression to remove
-	 * the imports so that we can slap it into the method body later without syntax issues coming from imports being
-	 * used in a method body.
-	 *
-	 * @param code
-	 * 		Class code to append imports to.
-	 * @param expression
-	 * 		Expression to extract imports from.
-	 *
-	 * @return Modified expression <i>(without imports)</i>
-	 */
-	@Nonnull
-	private String appendExpressionImports(@Nonnull StringBuilder code, @Nonnull String expression) {
-		// Add imports from the user defined expression.
-		// Remove the imports from the expression once copied to the output code.
-		StringBuilder expressionBuffer = new StringBuilder();
-		expression.lines().forEach(l -> {
-			Matcher matcher = IMPORT_EXTRACT_PATTERN.matcher(l);
-			if (matcher.find()) {
-				code.append(matcher.group(1)).append('\n');
-			} else {
-				expressionBuffer.append(l).append('\n');
-			}
-		});
-		return expressionBuffer.toString();
-	}
-
 	/**
 	 * @param code
-	 * 		Class code to append method definition to.
-	 * @param expression
-	 * 		User-defined expression.
+	 * 		Class code to append method definition to, up until the start of the expression.
 	 *
 	 * @throws ExpressionCompileException
 	 * 		When the expression hosting method could not be fully generated.
 	 */
-	private void appendExpressionMethod(@Nonnull StringBuilder code, @Nonnull String expression) throws ExpressionCompileException {
+	private void appendExpressionMethodDeclaration(@Nonnull StringBuilder code) throws ExpressionCompileException {
 		// Need to build the method structure to house the expression.
 		// We'll start off with the access level.
 		int parameterVarIndex = 0;
@@ -262,12 +243,10 @@ else if (AccessFlag.isPrivate(methodFlags))
 
 		// Close off declaration and add a throws so the user doesn't need to specify try-catch.
 		code.append(") throws Throwable { " + ExpressionCompiler.EXPR_MARKER + " \n");
-		code.append(expression);
-		code.append("}\n");
 	}
 
 	/**
-	 * <b>Note</b>: The logic for appending parameters to the desc within this method must align with {@link #generate()}.
+	 * <b>Note</b>: The logic for appending parameters to the desc within this method must align with {@link #generateTemplate()}.
 	 *
 	 * @return The method descriptor with additional parameters from the {@link #methodVariables} appended at the end.
 	 *
@@ -0,0 +1,60 @@
+package software.coley.recaf.services.compile.stub;
+
+import jakarta.annotation.Nonnull;
+import regexodus.Matcher;
+import regexodus.Pattern;
+import software.coley.recaf.util.RegexUtil;
+
+/**
+ * Generated source of a class hosting an expression, split around the location of the expression.
+ * The same template can be completed with any number of expressions within the same class and method context.
+ *
+ * @param header
+ * 		Code before the imports of the expression.
+ * @param declaration
+ * 		Code after the imports of the expression, up until the start of the expression.
+ * @param footer
+ * 		Code after the expression.
+ * @param methodName
+ * 		Name of the method hosting the expression.
+ * @param methodDescriptor
+ * 		Descriptor of the method hosting the expression.
+ *
+ * @author Matt Coley
+ * @see ExpressionHostingClassStubGenerator#generateTemplate()
+ */
+public record ExpressionHostingTemplate(@Nonnull String header, @Nonnull String declaration, @Nonnull String footer,
+                                        @Nonnull String methodName, @Nonnull String methodDescriptor) {
+	private static final Pattern IMPORT_EXTRACT_PATTERN = RegexUtil.pattern("^\\s*(import \\w.+;)");
+
+	/**
+	 * Expressions can contain imports at the top so that the end-user can work without needing fully qualified names.
+	 * We want to take those out and append them to the class we're generating, and update the expression to remove
+	 * the imports so that we can slap it into the method body later without syntax issues coming from imports being
+	 * used in a method body.
+	 *
+	 * @param expression
+	 * 		The expression to insert into the hosting method.
+	 *
+	 * @return Complete class source hosting the expression.
+	 */
+	@Nonnull
+	public String complete(@Nonnull String expression) {
+		StringBuilder code = new StringBuilder(header.length() + declaration.length() + expression.length() + footer.length());
+		code.append(header);
+
+		// Add imports from the user defined expression.
+		// Remove the imports from the expression once copied to the output code.
+		StringBuilder expressionBuffer = new StringBuilder();
+		expression.lines().forEach(l -> {
+			Matcher matcher = IMPORT_EXTRACT_PATTERN.matcher(l);
+			if (matcher.find()) {
+				code.append(matcher.group(1)).append('\n');
+			} else {
+				expressionBuffer.append(l).append('\n');
+			}
+		});
+		code.append(declaration).append(expressionBuffer).append(footer);
+		return code.toString();
+	}
+}
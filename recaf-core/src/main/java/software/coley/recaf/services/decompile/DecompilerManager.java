@@ -19,14 +19,22 @@
 import software.coley.recaf.services.Service;
 import software.coley.recaf.services.decompile.filter.JvmBytecodeFilter;
 import software.coley.recaf.services.decompile.filter.OutputTextFilter;
+import software.coley.recaf.services.metrics.Counter;
+import software.coley.recaf.services.metrics.MetricsService;
+import software.coley.recaf.services.metrics.Timer;
 import software.coley.recaf.util.threading.ThreadPoolFactory;
+import software.coley.recaf.util.threading.WorkPriority;
 import software.coley.recaf.util.visitors.*;
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Manager of multiple {@link Decompiler} instances.
@@ -39,12 +47,19 @@ public class DecompilerManager implements Service {
 	private static final DebuggingLogger logger = Logging.get(DecompilerManager.class);
 	private static final NoopJvmDecompiler NO_OP_JVM = NoopJvmDecompiler.getInstance();
 	private static final NoopAndroidDecompiler NO_OP_ANDROID = NoopAndroidDecompiler.getInstance();
-	private final ExecutorService decompileThreadPool = ThreadPoolFactory.newFixedThreadPool(SERVICE_ID);
+	private static final int BULK_DECOMPILE_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+	// Decompilers can hang on malformed input and ignore interrupts, so they get their own threads rather than
+	// running on the shared scheduler. A hang then only holds up other decompilations.
+	private final ExecutorService decompileThreadPool = ThreadPoolFactory.newDedicatedThreadPool(SERVICE_ID, 2);
+	private final ExecutorService bulkDecompileThreadPool = ThreadPoolFactory.newDedicatedThreadPool(SERVICE_ID + "-bulk", BULK_DECOMPILE_THREADS);
 	private final List<JvmBytecodeFilter> bytecodeFilters = new CopyOnWriteArrayList<>();
 	private final List<OutputTextFilter> outputTextFilters = new CopyOnWriteArrayList<>();
 	private final Map<String, JvmDecompiler> jvmDecompilers = new TreeMap<>();
 	private final Map<String, AndroidDecompiler> androidDecompilers = new TreeMap<>();
 	private final DecompilerManagerConfig config;
+	private final Map<String, Timer> decompileTimers = new ConcurrentHashMap<>();
+	private final MetricsService metrics;
+	private final Counter cacheHits;
 	private final ObservableObject<JvmDecompiler> targetJvmDecompiler;
 	private final ObservableObject<AndroidDecompiler> targetAndroidDecompiler;
 
@@ -54,10 +69,26 @@ public class DecompilerManager implements Service {
 	 * @param implementations
 	 * 		CDI provider of decompiler implementations.
 	 */
-	@Inject
 	public DecompilerManager(@Nonnull DecompilerManagerConfig config,
 	                         @Nonnull Instance<Decompiler> implementations) {
+		this(config, implementations, null);
+	}
+
+	/**
+	 * @param config
+	 * 		Config to pull values from.
+	 * @param implementations
+	 * 		CDI provider of decompiler implementations.
+	 * @param metrics
+	 * 		Metrics to record decompilation times in. May be {@code null} to not record metrics.
+	 */
+	@Inject
+	public DecompilerManager(@Nonnull DecompilerManagerConfig config,
+	                         @Nonnull Instance<Decompiler> implementations,
+	                         @Nullable MetricsService metrics) {
 		this.config = config;
+		this.metrics = metrics;
+		cacheHits = metrics == null ? new Counter() : metrics.counter("decompile.cache-hits");
 
 		// Register implementations
 		for (Decompiler implementation : implementations) {
@@ -106,7 +137,8 @@ public CompletableFuture<DecompileResult> decompile(@Nonnull Workspace workspace
 	}
 
 	/**
-	 * Uses the built-in thread-pool to schedule the decompilation.
+	 * Uses the built-in thread-pool to schedule the decompilation, with {@link WorkPriority#INTERACTIVE interactive}
+	 * priority.
 	 *
 	 * @param decompiler
 	 * 		Decompiler implementation to use.
@@ -119,15 +151,46 @@ public CompletableFuture<DecompileResult> decompile(@Nonnull Workspace workspace
 	 */
 	@Nonnull
 	public CompletableFuture<DecompileResult> decompile(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace, @Nonnull JvmClassInfo classInfo) {
-		return CompletableFuture.supplyAsync(() -> {
+		return decompile(decompiler, workspace, classInfo, WorkPriority.INTERACTIVE);
+	}
+
+	/**
+	 * Uses the built-in thread-pool to schedule the decompilation.
+	 * <p>
+	 * Decompiling a single class the user is waiting on should use {@link WorkPriority#INTERACTIVE}.
+	 * Decompiling many classes at once should use {@link WorkPriority#BACKGROUND}, so that it does not hold up
+	 * other work.
+	 * <p>
+	 * If the returned future is completed before the decompilation is done, such as by
+	 * {@link CompletableFuture#orTimeout(long, TimeUnit)}, the decompilation is cancelled if it has not yet started,
+	 * or its thread is interrupted if it has.
+	 *
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param classInfo
+	 * 		Class to decompile.
+	 * @param priority
+	 * 		Priority of the decompilation. Only {@link WorkPriority#INTERACTIVE} and {@link WorkPriority#BACKGROUND}
+	 * 		are distinguished, with any other priority being treated as background work.
+	 *
+	 * @return Future of decompilation result.
+	 */
+	@Nonnull
+	public CompletableFuture<DecompileResult> decompile(@Nonnull JvmDecompiler decompiler, @Nonnull Workspace workspace,
+	                                                    @Nonnull JvmClassInfo classInfo, @Nonnull WorkPriority priority) {
+		return submit(priority, () -> {
 			boolean doCache = config.getCacheDecompilations().getValue();
 			if (doCache) {
 				// Check for cached result, returning the cached result if found
 				// and only if the current config matches the one that yielded the cached result.
 				DecompileResult cachedResult = CachedDecompileProperty.get(classInfo, decompiler);
 				if (cachedResult != null) {
-					if (cachedResult.getConfigHash() == decompiler.getConfig().getHash())
+					if (cachedResult.getConfigHash() == decompiler.getConfig().getHash()) {
+						cacheHits.increment();
 						return cachedResult;
+					}
 
 					// Config changed, void the cache.
 					CachedDecompileProperty.remove(classInfo);
@@ -140,7 +203,8 @@ public CompletableFuture<DecompileResult> decompile(@Nonnull JvmDecompiler decom
 			JvmClassInfo filteredClass = JvmBytecodeFilter.applyFilters(workspace, classInfo, Collections.singletonList(getLayeredJvmBytecodeFilter()));
 
 			// Decompile and cache the results.
-			DecompileResult result = decompiler.decompile(workspace, filteredClass);
+			DecompileResult result = decompileTimer(decompiler)
+					.time(() -> decompiler.decompile(workspace, filteredClass));
 			String decompilation = result.getText();
 			if (decompilation != null && !outputTextFilters.isEmpty()) {
 				// Apply output filters and re-wrap the result with the new output text.
@@ -151,7 +215,7 @@ public CompletableFuture<DecompileResult> decompile(@Nonnull JvmDecompiler decom
 			if (doCache)
 				CachedDecompileProperty.set(classInfo, decompiler, result);
 			return result;
-		}, decompileThreadPool);
+		});
 	}
 
 	/**
@@ -170,7 +234,8 @@ public CompletableFuture<DecompileResult> decompile(@Nonnull Workspace workspace
 	}
 
 	/**
-	 * Uses the built-in thread-pool to schedule the decompilation.
+	 * Uses the built-in thread-pool to schedule the decompilation, with {@link WorkPriority#INTERACTIVE interactive}
+	 * priority.
 	 *
 	 * @param decompiler
 	 * 		Decompiler implementation to use.
@@ -183,7 +248,96 @@ public CompletableFuture<DecompileResult> decompile(@Nonnull Workspace workspace
 	 */
 	@Nonnull
 	public CompletableFuture<DecompileResult> decompile(@Nonnull AndroidDecompiler decompiler, @Nonnull Workspace workspace, @Nonnull AndroidClassInfo classInfo) {
-		return CompletableFuture.supplyAsync(() -> decompiler.decompile(workspace, classInfo), decompileThreadPool);
+		return decompile(decompiler, workspace, classInfo, WorkPriority.INTERACTIVE);
+	}
+
+	/**
+	 * Uses the built-in thread-pool to schedule the decompilation.
+	 *
+	 * @param decompiler
+	 * 		Decompiler implementation to use.
+	 * @param workspace
+	 * 		Workspace to pull additional information from.
+	 * @param classInfo
+	 * 		Class to decompile.
+	 * @param priority
+	 * 		Priority of the decompilation.
+	 *
+	 * @return Future of decompilation result.
+	 *
+	 * @see #decompile(JvmDecompiler, Workspace, JvmClassInfo, WorkPriority)
+	 */
+	@Nonnull
+	public CompletableFuture<DecompileResult> decompile(@Nonnull AndroidDecompiler decompiler, @Nonnull Workspace workspace,
+	                                                    @Nonnull AndroidClassInfo classInfo, @Nonnull WorkPriority priority) {
+		return submit(priority, () -> decompileTimer(decompiler)
+				.time(() -> decompiler.decompile(workspace, classInfo)));
+	}
+
+	/**
+	 * @param decompiler
+	 * 		Decompiler to get the timer of.
+	 *
+	 * @return Timer recording decompilation times of the given decompiler.
+	 */
+	@Nonnull
+	private Timer decompileTimer(@Nonnull Decompiler decompiler) {
+		return decompileTimers.computeIfAbsent(decompiler.getName(),
+				name -> metrics == null ? new Timer() : metrics.timer("decompile." + name));
+	}
+
+	/**
+	 * Runs the given decompilation in the pool for the given priority.
+	 * <p>
+	 * Decompilers can hang on malformed input, and callers cap their wait with a timeout on the returned future.
+	 * Abandoned tasks should not keep holding one of the few decompilation threads. When the future is completed by
+	 * anything other than the task, the task is cancelled if it has not started, and interrupted if it is running.
+	 *
+	 * @param priority
+	 * 		Priority of the decompilation.
+	 * @param decompilation
+	 * 		Decompilation to run.
+	 *
+	 * @return Future of decompilation result.
+	 */
+	@Nonnull
+	private CompletableFuture<DecompileResult> submit(@Nonnull WorkPriority priority,
+	                                                  @Nonnull Supplier<DecompileResult> decompilation) {
+		CompletableFuture<DecompileResult> future = new CompletableFuture<>();
+		Thread[] runner = new Thread[1];
+		ExecutorService pool = priority == WorkPriority.INTERACTIVE ? decompileThreadPool : bulkDecompileThreadPool;
+		Future<?> task = pool.submit(() -> {
+			synchronized (runner) {
+				if (future.isDone())
+					return;
+				runner[0] = Thread.currentThread();
+			}
+			DecompileResult result = null;
+			Throwable error = null;
+			try {
+				result = decompilation.get();
+			} catch (Throwable t) {
+				error = t;
+			} finally {
+				// Clear any interrupt from an abandoned future, so it does not leak into the next task on this worker.
+				synchronized (runner) {
+					runner[0] = null;
+					Thread.interrupted();
+				}
+			}
+			if (error == null)
+				future.complete(result);
+			else
+				future.completeExceptionally(error);
+		});
+		future.whenComplete((result, error) -> {
+			synchronized (runner) {
+				if (runner[0] != null)
+					runner[0].interrupt();
+			}
+			task.cancel(false);
+		});
+		return future;
 	}
 
 	/**
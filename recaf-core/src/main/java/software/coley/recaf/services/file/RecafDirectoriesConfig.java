@@ -29,6 +29,7 @@ public class RecafDirectoriesConfig extends BasicConfigContainer implements Conf
 	private static final Logger logger = Logging.get(RecafDirectoriesConfig.class);
 	private final Path baseDirectory = createBaseDirectory();
 	private final Path agentDirectory = resolveDirectory("agent");
+	private final Path cacheDirectory = resolveDirectory("cache");
 	private final Path configDirectory = resolveDirectory("config");
 	private final Path logsDirectory = resolveDirectory("logs");
 	private final Path pluginDirectory = resolveDirectory("plugins");
@@ -77,6 +78,14 @@ public Path getAgentDirectory() {
 		return agentDirectory;
 	}
 
+	/**
+	 * @return Directory where cached analysis data is stored.
+	 */
+	@Nonnull
+	public Path getCacheDirectory() {
+		return cacheDirectory;
+	}
+
 	/**
 	 * @return Directory where configuration is stored.
 	 */
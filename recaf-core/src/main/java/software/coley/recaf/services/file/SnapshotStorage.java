@@ -0,0 +1,252 @@
+package software.coley.recaf.services.file;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32C;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Storage of binary analysis snapshots in the {@link RecafDirectoriesConfig#getCacheDirectory() cache directory}.
+ * <p>
+ * Snapshots are grouped by kind, such as {@code "call-graph"}, and identified within a kind by a content key.
+ * Each file records the format version of its kind, so that snapshots from older formats are ignored rather than
+ * misread. Only the most recently used snapshots of each kind are kept.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class SnapshotStorage {
+	private static final Logger logger = Logging.get(SnapshotStorage.class);
+	private static final int MAGIC = 0x52435350; // RCSP
+	private static final int MAX_SNAPSHOTS_PER_KIND = 8;
+	private static final String EXTENSION = ".snapshot";
+	private final ExecutorService writeService = ThreadPoolFactory.newSingleThreadExecutor("snapshot-io");
+	private final Path directory;
+
+	@Inject
+	public SnapshotStorage(@Nonnull RecafDirectoriesConfig directories) {
+		this(directories.getCacheDirectory().resolve("snapshots"));
+	}
+
+	/**
+	 * @param directory
+	 * 		Root directory to store snapshots in.
+	 */
+	public SnapshotStorage(@Nonnull Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * @param kind
+	 * 		Kind of snapshot.
+	 * @param version
+	 * 		Expected format version of the snapshot kind.
+	 * @param key
+	 * 		Content key of the snapshot.
+	 * @param reader
+	 * 		Reader to parse the snapshot contents.
+	 * @param <T>
+	 * 		Snapshot model type.
+	 *
+	 * @return Parsed snapshot, or {@code null} if no snapshot of the given version exists for the key,
+	 * or if the snapshot could not be read.
+	 */
+	@Nullable
+	public <T> T read(@Nonnull String kind, int version, @Nonnull String key, @Nonnull SnapshotReader<T> reader) {
+		Path path = path(kind, key);
+		if (!Files.isRegularFile(path))
+			return null;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+				new InflaterInputStream(Files.newInputStream(path))))) {
+			if (in.readInt() != MAGIC || in.readInt() != version)
+				return null;
+			T snapshot = reader.read(in);
+
+			// Mark as recently used so it survives pruning.
+			Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+			return snapshot;
+		} catch (IOException | RuntimeException ex) {
+			logger.warn("Discarding unreadable '{}' snapshot: {}", kind, key, ex);
+			try {
+				Files.deleteIfExists(path);
+			} catch (IOException ignored) {
+				// Will be replaced on the next write anyways
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Writes a snapshot in the background. The snapshot is written to a temporary file first,
+	 * so readers never observe a partially written snapshot.
+	 *
+	 * @param kind
+	 * 		Kind of snapshot.
+	 * @param version
+	 * 		Format version of the snapshot kind.
+	 * @param key
+	 * 		Content key of the snapshot.
+	 * @param writer
+	 * 		Writer to emit the snapshot contents.
+	 *
+	 * @return Future of the write completion.
+	 */
+	@Nonnull
+	public CompletableFuture<Void> write(@Nonnull String kind, int version, @Nonnull String key, @Nonnull SnapshotWriter writer) {
+		return CompletableFuture.runAsync(() -> {
+			Path path = path(kind, key);
+			Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+			try {
+				Files.createDirectories(path.getParent());
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+						new DeflaterOutputStream(Files.newOutputStream(temp))))) {
+					out.writeInt(MAGIC);
+					out.writeInt(version);
+					writer.write(out);
+				}
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				prune(path.getParent());
+			} catch (IOException ex) {
+				logger.warn("Failed to write '{}' snapshot: {}", kind, key, ex);
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException ignored) {
+					// Nothing else to do
+				}
+			}
+		}, writeService);
+	}
+
+	@Nonnull
+	private Path path(@Nonnull String kind, @Nonnull String key) {
+		return directory.resolve(kind).resolve(key + EXTENSION);
+	}
+
+	private static void prune(@Nonnull Path kindDirectory) throws IOException {
+		List<Path> snapshots;
+		try (Stream<Path> stream = Files.list(kindDirectory)) {
+			snapshots = new ArrayList<>(stream.filter(p -> p.getFileName().toString().endsWith(EXTENSION)).toList());
+		}
+		if (snapshots.size() <= MAX_SNAPSHOTS_PER_KIND)
+			return;
+		snapshots.sort(Comparator.comparing(SnapshotStorage::lastModified).reversed());
+		for (Path old : snapshots.subList(MAX_SNAPSHOTS_PER_KIND, snapshots.size()))
+			Files.deleteIfExists(old);
+	}
+
+	@Nonnull
+	private static FileTime lastModified(@Nonnull Path path) {
+		try {
+			return Files.getLastModifiedTime(path);
+		} catch (IOException ex) {
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	/**
+	 * @param data
+	 * 		Content to hash.
+	 *
+	 * @return 64-bit content hash, for detecting changes between snapshots.
+	 */
+	public static long hash(@Nonnull byte[] data) {
+		CRC32C crc = new CRC32C();
+		crc.update(data);
+		Adler32 adler = new Adler32();
+		adler.update(data);
+		return (crc.getValue() << 32) | adler.getValue();
+	}
+
+	/**
+	 * @param text
+	 * 		Content to hash.
+	 *
+	 * @return 64-bit content hash, for detecting changes between snapshots.
+	 */
+	public static long hash(@Nonnull String text) {
+		return hash(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param names
+	 * 		Names of items covered by a snapshot. Order does not matter.
+	 *
+	 * @return Key identifying snapshots of the given items.
+	 */
+	@Nonnull
+	public static String key(@Nonnull Collection<String> names) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			names.stream().sorted().forEach(name -> {
+				digest.update(name.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+			});
+			return HexFormat.of().formatHex(digest.digest(), 0, 16);
+		} catch (NoSuchAlgorithmException ex) {
+			// All JVMs must support SHA-256
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Reader of snapshot contents.
+	 *
+	 * @param <T>
+	 * 		Snapshot model type.
+	 */
+	public interface SnapshotReader<T> {
+		/**
+		 * @param in
+		 * 		Input to read from, positioned after the snapshot header.
+		 *
+		 * @return Parsed snapshot.
+		 *
+		 * @throws IOException
+		 * 		When the snapshot cannot be read.
+		 */
+		@Nonnull
+		T read(@Nonnull DataInputStream in) throws IOException;
+	}
+
+	/**
+	 * Writer of snapshot contents.
+	 */
+	public interface SnapshotWriter {
+		/**
+		 * @param out
+		 * 		Output to write to, positioned after the snapshot header.
+		 *
+		 * @throws IOException
+		 * 		When the snapshot cannot be written.
+		 */
+		void write(@Nonnull DataOutputStream out) throws IOException;
+	}
+}
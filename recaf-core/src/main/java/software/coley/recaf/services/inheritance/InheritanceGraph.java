@@ -15,9 +15,12 @@
 import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.path.ResourcePathNode;
 import software.coley.recaf.services.Service;
+import software.coley.recaf.services.file.SnapshotStorage;
 import software.coley.recaf.services.mapping.MappingApplicationListener;
 import software.coley.recaf.services.mapping.MappingListeners;
 import software.coley.recaf.services.mapping.MappingResults;
+import software.coley.recaf.services.metrics.MetricsService;
+import software.coley.recaf.services.metrics.Timer;
 import software.coley.recaf.services.workspace.WorkspaceCloseListener;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.WorkspaceModificationListener;
@@ -28,11 +31,14 @@
 import software.coley.recaf.workspace.model.resource.RuntimeWorkspaceResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
@@ -59,6 +65,7 @@ public class InheritanceGraph implements Service, WorkspaceModificationListener,
 	private final Map<String, InheritanceVertex> vertices = new ConcurrentHashMap<>();
 	private final Set<String> stubs = ConcurrentHashMap.newKeySet();
 	private final Function<String, InheritanceVertex> vertexProvider = createVertexProvider();
+	private final SnapshotStorage snapshots;
 	private final InheritanceGraphConfig config;
 	private final Workspace workspace;
 
@@ -67,12 +74,52 @@ public class InheritanceGraph implements Service, WorkspaceModificationListener,
 	 *
 	 * @param config
 	 * 		Config instance.
+	 * @param mappingListeners
+	 * 		Mapping listeners to register with, to update the graph when mappings are applied.
 	 * @param workspace
 	 * 		Workspace to pull classes from.
 	 */
-	@Inject
 	public InheritanceGraph(@Nonnull InheritanceGraphConfig config, @Nonnull MappingListeners mappingListeners, @Nonnull Workspace workspace) {
+		this(config, null, mappingListeners, workspace);
+	}
+
+	/**
+	 * Create an inheritance graph.
+	 *
+	 * @param config
+	 * 		Config instance.
+	 * @param snapshots
+	 * 		Storage to persist graph snapshots in. May be {@code null} to disable persistence.
+	 * @param mappingListeners
+	 * 		Mapping listeners to register with, to update the graph when mappings are applied.
+	 * @param workspace
+	 * 		Workspace to pull classes from.
+	 */
+	public InheritanceGraph(@Nonnull InheritanceGraphConfig config, @Nullable SnapshotStorage snapshots,
+	                        @Nonnull MappingListeners mappingListeners, @Nonnull Workspace workspace) {
+		this(config, snapshots, null, mappingListeners, workspace);
+	}
+
+	/**
+	 * Create an inheritance graph.
+	 *
+	 * @param config
+	 * 		Config instance.
+	 * @param snapshots
+	 * 		Storage to persist graph snapshots in. May be {@code null} to disable persistence.
+	 * @param metrics
+	 * 		Metrics to record the time taken to build the graph in. May be {@code null} to not record.
+	 * @param mappingListeners
+	 * 		Mapping listeners to register with, to update the graph when mappings are applied.
+	 * @param workspace
+	 * 		Workspace to pull classes from.
+	 */
+	@Inject
+	public InheritanceGraph(@Nonnull InheritanceGraphConfig config, @Nullable SnapshotStorage snapshots,
+	                        @Nullable MetricsService metrics, @Nonnull MappingListeners mappingListeners,
+	                        @Nonnull Workspace workspace) {
 		this.config = config;
+		this.snapshots = snapshots;
 		this.workspace = workspace;
 
 		// Add listeners to primary resource so when classes update we keep our graph up to date.
@@ -84,7 +131,76 @@ public InheritanceGraph(@Nonnull InheritanceGraphConfig config, @Nonnull Mapping
 		mappingListeners.addMappingApplicationListener(this);
 
 		// Populate downwards (parent --> child) lookup
-		refreshChildLookup();
+		Timer buildTimer = metrics == null ? new Timer() : metrics.timer("graph.inheritance.build");
+		try (Timer.Sample ignored = buildTimer.start()) {
+			if (snapshots != null && config.getPersistSnapshots().getValue())
+				initializeChildLookupWithSnapshot();
+			else
+				refreshChildLookup();
+		}
+	}
+
+	/**
+	 * Populate parent-to-child lookup, restoring from a prior snapshot of the same classes when one exists.
+	 * Only classes with a changed hierarchy declaration since the snapshot are populated directly.
+	 */
+	private void initializeChildLookupWithSnapshot() {
+		// Classes are tracked in snapshots by name, so only the first class of a given name is covered.
+		Map<String, ClassInfo> classes = new HashMap<>();
+		List<ClassInfo> uncovered = new ArrayList<>();
+		for (WorkspaceResource resource : Lists.add(workspace.getSupportingResources(), workspace.getPrimaryResource())) {
+			Stream.<ClassInfo>concat(resource.getJvmClassBundle().values().stream(),
+					resource.androidClassBundleStream().flatMap(bundle -> bundle.values().stream())).forEach(cls -> {
+				if (classes.putIfAbsent(cls.getName(), cls) != null)
+					uncovered.add(cls);
+			});
+		}
+		Map<String, Long> hashes = new HashMap<>(classes.size());
+		classes.forEach((name, cls) -> hashes.put(name, declarationHash(cls)));
+		String key = SnapshotStorage.key(hashes.keySet());
+
+		InheritanceGraphSnapshot snapshot = snapshots.read(InheritanceGraphSnapshot.KIND,
+				InheritanceGraphSnapshot.VERSION, key, InheritanceGraphSnapshot::read);
+		List<ClassInfo> toPopulate = new ArrayList<>();
+		if (snapshot == null) {
+			toPopulate.addAll(classes.values());
+		} else {
+			Map<String, Long> snapshotHashes = snapshot.getClassHashes();
+			classes.forEach((name, cls) -> {
+				if (!hashes.get(name).equals(snapshotHashes.get(name)))
+					toPopulate.add(cls);
+			});
+
+			// Restore edges of children that are unchanged, or outside the workspace (such as the runtime).
+			for (int i = 0; i < snapshot.getEdgeCount(); i++) {
+				String child = snapshot.getChild(i);
+				Long hash = hashes.get(child);
+				if (hash != null ? hash.equals(snapshotHashes.get(child)) : !snapshotHashes.containsKey(child))
+					populateParentToChildLookup(child, snapshot.getParent(i));
+			}
+		}
+		toPopulate.forEach(this::populateParentToChildLookup);
+		uncovered.forEach(this::populateParentToChildLookup);
+
+		// Record the current state so the next open of these classes can skip population.
+		if (snapshot == null || !toPopulate.isEmpty()) {
+			InheritanceGraphSnapshot updated = new InheritanceGraphSnapshot(hashes, parentToChild);
+			snapshots.write(InheritanceGraphSnapshot.KIND, InheritanceGraphSnapshot.VERSION, key, updated::write);
+		}
+	}
+
+	/**
+	 * @param info
+	 * 		Class to hash.
+	 *
+	 * @return Hash of the parts of the class that contribute to the graph.
+	 */
+	private static long declarationHash(@Nonnull ClassInfo info) {
+		StringBuilder sb = new StringBuilder(info.getName());
+		sb.append(info.hasModuleModifier() ? '#' : ':').append(info.getSuperName());
+		for (String itf : info.getInterfaces())
+			sb.append(',').append(itf);
+		return SnapshotStorage.hash(sb.toString());
 	}
 
 	/**
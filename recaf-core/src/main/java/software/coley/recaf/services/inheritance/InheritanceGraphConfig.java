@@ -1,8 +1,11 @@
 package software.coley.recaf.services.inheritance;
 
+import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import software.coley.observables.ObservableBoolean;
 import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
 import software.coley.recaf.config.ConfigGroups;
 import software.coley.recaf.services.ServiceConfig;
 
@@ -13,8 +16,19 @@
  */
 @ApplicationScoped
 public class InheritanceGraphConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableBoolean persistSnapshots = new ObservableBoolean(true);
+
 	@Inject
 	public InheritanceGraphConfig() {
 		super(ConfigGroups.SERVICE_ANALYSIS, InheritanceGraph.SERVICE_ID + CONFIG_SUFFIX);
+		addValue(new BasicConfigValue<>("persist-snapshots", boolean.class, persistSnapshots));
+	}
+
+	/**
+	 * @return {@code true} to save inheritance graphs to disk, and restore them when the same inputs are opened again.
+	 */
+	@Nonnull
+	public ObservableBoolean getPersistSnapshots() {
+		return persistSnapshots;
 	}
 }
@@ -0,0 +1,161 @@
+package software.coley.recaf.services.inheritance;
+
+import jakarta.annotation.Nonnull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persisted form of the parent-to-child lookup of an {@link InheritanceGraph}.
+ * <p>
+ * Records a hash of the hierarchy declaration <i>(super-type and interfaces)</i> of each class covered by the graph,
+ * along with all child-to-parent edges. Strings are written once to a shared table and referenced by index.
+ *
+ * @author Matt Coley
+ */
+class InheritanceGraphSnapshot {
+	static final String KIND = "inheritance-graph";
+	static final int VERSION = 1;
+	private final Map<String, Long> classHashes;
+	private final String[] parents;
+	private final String[] children;
+
+	/**
+	 * @param classHashes
+	 * 		Map of class names to hashes of their hierarchy declaration.
+	 * @param parentToChild
+	 * 		Map of parent names to the names of their direct children.
+	 */
+	InheritanceGraphSnapshot(@Nonnull Map<String, Long> classHashes, @Nonnull Map<String, Set<String>> parentToChild) {
+		this.classHashes = classHashes;
+		List<String> parentList = new ArrayList<>();
+		List<String> childList = new ArrayList<>();
+		parentToChild.forEach((parent, children) -> {
+			for (String child : children) {
+				parentList.add(parent);
+				childList.add(child);
+			}
+		});
+		parents = parentList.toArray(String[]::new);
+		children = childList.toArray(String[]::new);
+	}
+
+	private InheritanceGraphSnapshot(@Nonnull Map<String, Long> classHashes,
+	                                 @Nonnull String[] parents, @Nonnull String[] children) {
+		this.classHashes = classHashes;
+		this.parents = parents;
+		this.children = children;
+	}
+
+	/**
+	 * @return Map of class names to hashes of their hierarchy declaration at the time of the snapshot.
+	 */
+	@Nonnull
+	Map<String, Long> getClassHashes() {
+		return classHashes;
+	}
+
+	/**
+	 * @return Number of child-to-parent edges.
+	 */
+	int getEdgeCount() {
+		return parents.length;
+	}
+
+	/**
+	 * @param edge
+	 * 		Edge index.
+	 *
+	 * @return Parent name of the edge.
+	 */
+	@Nonnull
+	String getParent(int edge) {
+		return parents[edge];
+	}
+
+	/**
+	 * @param edge
+	 * 		Edge index.
+	 *
+	 * @return Child name of the edge.
+	 */
+	@Nonnull
+	String getChild(int edge) {
+		return children[edge];
+	}
+
+	/**
+	 * @param in
+	 * 		Input to read from.
+	 *
+	 * @return Snapshot read from the input.
+	 *
+	 * @throws IOException
+	 * 		When the input cannot be read.
+	 */
+	@Nonnull
+	static InheritanceGraphSnapshot read(@Nonnull DataInputStream in) throws IOException {
+		String[] strings = new String[in.readInt()];
+		for (int i = 0; i < strings.length; i++)
+			strings[i] = in.readUTF();
+
+		int classCount = in.readInt();
+		Map<String, Long> classHashes = new HashMap<>(classCount);
+		for (int i = 0; i < classCount; i++)
+			classHashes.put(strings[in.readInt()], in.readLong());
+
+		int edgeCount = in.readInt();
+		String[] parents = new String[edgeCount];
+		String[] children = new String[edgeCount];
+		for (int i = 0; i < edgeCount; i++) {
+			parents[i] = strings[in.readInt()];
+			children[i] = strings[in.readInt()];
+		}
+		return new InheritanceGraphSnapshot(classHashes, parents, children);
+	}
+
+	/**
+	 * @param out
+	 * 		Output to write to.
+	 *
+	 * @throws IOException
+	 * 		When the output cannot be written to.
+	 */
+	void write(@Nonnull DataOutputStream out) throws IOException {
+		Map<String, Integer> stringIndices = new HashMap<>();
+		List<String> strings = new ArrayList<>();
+		for (String name : classHashes.keySet())
+			stringIndices.computeIfAbsent(name, s -> add(strings, s));
+		for (int i = 0; i < parents.length; i++) {
+			stringIndices.computeIfAbsent(parents[i], s -> add(strings, s));
+			stringIndices.computeIfAbsent(children[i], s -> add(strings, s));
+		}
+
+		out.writeInt(strings.size());
+		for (String string : strings)
+			out.writeUTF(string);
+
+		out.writeInt(classHashes.size());
+		for (Map.Entry<String, Long> entry : classHashes.entrySet()) {
+			out.writeInt(stringIndices.get(entry.getKey()));
+			out.writeLong(entry.getValue());
+		}
+
+		out.writeInt(parents.length);
+		for (int i = 0; i < parents.length; i++) {
+			out.writeInt(stringIndices.get(parents[i]));
+			out.writeInt(stringIndices.get(children[i]));
+		}
+	}
+
+	private static int add(@Nonnull List<String> strings, @Nonnull String string) {
+		strings.add(string);
+		return strings.size() - 1;
+	}
+}
@@ -27,6 +27,8 @@ public class IntermediateMappings implements Mappings {
 	protected final Map<String, List<FieldMapping>> fields = new HashMap<>();
 	protected final Map<String, List<MethodMapping>> methods = new HashMap<>();
 	protected final Map<String, List<VariableMapping>> variables = new HashMap<>();
+	protected final MemberMappingIndex<FieldMapping> fieldIndex = new MemberMappingIndex<>();
+	protected final MemberMappingIndex<MethodMapping> methodIndex = new MemberMappingIndex<>();
 
 	/**
 	 * @param oldName
@@ -51,8 +53,9 @@ public void addClass(String oldName, String newName) {
 	 */
 	public void addField(String ownerName, String desc, String oldName, String newName) {
 		if (Objects.equals(oldName, newName)) return; // Skip identity mappings
-		fields.computeIfAbsent(ownerName, n -> new ArrayList<>())
-				.add(new FieldMapping(ownerName, oldName, desc, newName));
+		FieldMapping mapping = new FieldMapping(ownerName, oldName, desc, newName);
+		fields.computeIfAbsent(ownerName, n -> new ArrayList<>()).add(mapping);
+		fieldIndex.add(mapping);
 	}
 
 	/**
@@ -67,8 +70,29 @@ public void addField(String ownerName, String desc, String oldName, String newNa
 	 */
 	public void addMethod(String ownerName, String desc, String oldName, String newName) {
 		if (Objects.equals(oldName, newName)) return; // Skip identity mappings
-		methods.computeIfAbsent(ownerName, n -> new ArrayList<>())
-				.add(new MethodMapping(ownerName, oldName, desc, newName));
+		MethodMapping mapping = new MethodMapping(ownerName, oldName, desc, newName);
+		methods.computeIfAbsent(ownerName, n -> new ArrayList<>()).add(mapping);
+		methodIndex.add(mapping);
+	}
+
+	/**
+	 * @param mapping
+	 * 		Field mapping to remove.
+	 */
+	protected void removeField(@Nonnull FieldMapping mapping) {
+		List<FieldMapping> owned = fields.get(mapping.getOwnerName());
+		if (owned != null && owned.remove(mapping))
+			fieldIndex.remove(mapping, owned);
+	}
+
+	/**
+	 * @param mapping
+	 * 		Method mapping to remove.
+	 */
+	protected void removeMethod(@Nonnull MethodMapping mapping) {
+		List<MethodMapping> owned = methods.get(mapping.getOwnerName());
+		if (owned != null && owned.remove(mapping))
+			methodIndex.remove(mapping, owned);
 	}
 
 	/**
@@ -117,6 +141,9 @@ public Map<String, ClassMapping> getClasses() {
 	}
 
 	/**
+	 * Lookups such as {@link #getMappedFieldName(String, String, String)} are served from a hash index,
+	 * so the lists of this map should not be modified directly.
+	 *
 	 * @return Field mappings by owner type.
 	 */
 	@Nonnull
@@ -125,6 +152,9 @@ public Map<String, List<FieldMapping>> getFields() {
 	}
 
 	/**
+	 * Lookups such as {@link #getMappedMethodName(String, String, String)} are served from a hash index,
+	 * so the lists of this map should not be modified directly.
+	 *
 	 * @return Method mappings by owner type.
 	 */
 	@Nonnull
@@ -200,22 +230,16 @@ public String getMappedClassName(@Nonnull String internalName) {
 	@Nullable
 	@Override
 	public String getMappedFieldName(@Nonnull String ownerName, @Nonnull String fieldName, @Nonnull String fieldDesc) {
-		List<FieldMapping> fieldInClass = getClassFieldMappings(ownerName);
-		for (FieldMapping field : fieldInClass)
-			// Some mapping formats exclude descriptors (which sucks) so we bypass the desc check if that is the case.
-			if ((field.getDesc() == null || Objects.equals(fieldDesc, field.getDesc())) && field.getOldName().equals(fieldName))
-				return field.getNewName();
-		return null;
+		// Some mapping formats exclude descriptors (which sucks) so we allow matching mappings without them.
+		FieldMapping field = fieldIndex.getByOldName(ownerName, fieldName, fieldDesc, true);
+		return field == null ? null : field.getNewName();
 	}
 
 	@Nullable
 	@Override
 	public String getMappedMethodName(@Nonnull String ownerName, @Nonnull String methodName, @Nonnull String methodDesc) {
-		List<MethodMapping> methodsInClass = getClassMethodMappings(ownerName);
-		for (MethodMapping method : methodsInClass)
-			if (methodDesc.equals(method.getDesc()) && method.getOldName().equals(methodName))
-				return method.getNewName();
-		return null;
+		MethodMapping method = methodIndex.getByOldName(ownerName, methodName, methodDesc, false);
+		return method == null ? null : method.getNewName();
 	}
 
 	@Nullable
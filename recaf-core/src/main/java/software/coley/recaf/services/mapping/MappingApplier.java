@@ -1,6 +1,7 @@
 package software.coley.recaf.services.mapping;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
@@ -13,6 +14,8 @@
 import software.coley.recaf.services.Service;
 import software.coley.recaf.services.inheritance.InheritanceGraph;
 import software.coley.recaf.services.mapping.aggregate.AggregateMappingManager;
+import software.coley.recaf.services.metrics.MetricsService;
+import software.coley.recaf.services.metrics.Timer;
 import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.util.threading.ThreadUtil;
 import software.coley.recaf.util.visitors.IllegalSignatureRemovingVisitor;
@@ -40,18 +43,29 @@ public class MappingApplier implements Service {
 	private final MappingListeners listeners;
 	private final Workspace workspace;
 	private final MappingApplierConfig config;
+	private final Timer applyTimer;
 
-	@Inject
 	public MappingApplier(@Nonnull MappingApplierConfig config,
 	                      @Nonnull InheritanceGraph inheritanceGraph,
 	                      @Nonnull AggregateMappingManager aggregateMappingManager,
 	                      @Nonnull MappingListeners listeners,
 	                      @Nonnull Workspace workspace) {
+		this(config, inheritanceGraph, aggregateMappingManager, listeners, workspace, null);
+	}
+
+	@Inject
+	public MappingApplier(@Nonnull MappingApplierConfig config,
+	                      @Nonnull InheritanceGraph inheritanceGraph,
+	                      @Nonnull AggregateMappingManager aggregateMappingManager,
+	                      @Nonnull MappingListeners listeners,
+	                      @Nonnull Workspace workspace,
+	                      @Nullable MetricsService metrics) {
 		this.inheritanceGraph = inheritanceGraph;
 		this.aggregateMappingManager = aggregateMappingManager;
 		this.listeners = listeners;
 		this.workspace = workspace;
 		this.config = config;
+		applyTimer = metrics == null ? new Timer() : metrics.timer("mapping.apply");
 	}
 
 	/**
@@ -73,19 +87,21 @@ public MappingResults applyToClasses(@Nonnull Mappings mappings,
 	                                     @Nonnull WorkspaceResource resource,
 	                                     @Nonnull JvmClassBundle bundle,
 	                                     @Nonnull Collection<JvmClassInfo> classes) {
-		mappings = enrich(mappings);
-		MappingResults results = new MappingResults(mappings, listeners.createBundledMappingApplicationListener())
-				.withAggregateManager(aggregateMappingManager);
-
-		// Apply mappings to the provided classes, collecting into the results model.
-		Mappings finalMappings = mappings;
-		ExecutorService service = ThreadUtil.phasingService(applierThreadPool);
-		for (JvmClassInfo classInfo : classes)
-			service.execute(() -> dumpIntoResults(results, workspace, resource, bundle, classInfo, finalMappings));
-		ThreadUtil.blockUntilComplete(service);
-
-		// Yield results
-		return results;
+		try (Timer.Sample ignored = applyTimer.start()) {
+			mappings = enrich(mappings);
+			MappingResults results = new MappingResults(mappings, listeners.createBundledMappingApplicationListener())
+					.withAggregateManager(aggregateMappingManager);
+
+			// Apply mappings to the provided classes, collecting into the results model.
+			Mappings finalMappings = mappings;
+			ExecutorService service = ThreadUtil.phasingService(applierThreadPool);
+			for (JvmClassInfo classInfo : classes)
+				service.execute(() -> dumpIntoResults(results, workspace, resource, bundle, classInfo, finalMappings));
+			ThreadUtil.blockUntilComplete(service);
+
+			// Yield results
+			return results;
+		}
 	}
 
 	/**
@@ -98,24 +114,26 @@ public MappingResults applyToClasses(@Nonnull Mappings mappings,
 	 */
 	@Nonnull
 	public MappingResults applyToPrimaryResource(@Nonnull Mappings mappings) {
-		mappings = enrich(mappings);
-		WorkspaceResource resource = workspace.getPrimaryResource();
-
-		MappingResults results = new MappingResults(mappings, listeners.createBundledMappingApplicationListener())
-				.withAggregateManager(aggregateMappingManager);
-
-		// Apply mappings to all classes in the primary resource, collecting into the results model.
-		Mappings finalMappings = mappings;
-		ExecutorService service = ThreadUtil.phasingService(applierThreadPool);
-		Stream.concat(resource.jvmClassBundleStream(), resource.versionedJvmClassBundleStream()).forEach(bundle -> {
-			bundle.forEach(classInfo -> {
-				service.execute(() -> dumpIntoResults(results, workspace, resource, bundle, classInfo, finalMappings));
+		try (Timer.Sample ignored = applyTimer.start()) {
+			mappings = enrich(mappings);
+			WorkspaceResource resource = workspace.getPrimaryResource();
+
+			MappingResults results = new MappingResults(mappings, listeners.createBundledMappingApplicationListener())
+					.withAggregateManager(aggregateMappingManager);
+
+			// Apply mappings to all classes in the primary resource, collecting into the results model.
+			Mappings finalMappings = mappings;
+			ExecutorService service = ThreadUtil.phasingService(applierThreadPool);
+			Stream.concat(resource.jvmClassBundleStream(), resource.versionedJvmClassBundleStream()).forEach(bundle -> {
+				bundle.forEach(classInfo -> {
+					service.execute(() -> dumpIntoResults(results, workspace, resource, bundle, classInfo, finalMappings));
+				});
 			});
-		});
-		ThreadUtil.blockUntilComplete(service);
+			ThreadUtil.blockUntilComplete(service);
 
-		// Yield results
-		return results;
+			// Yield results
+			return results;
+		}
 	}
 
 	@Nonnull
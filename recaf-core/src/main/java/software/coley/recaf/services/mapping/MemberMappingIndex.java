@@ -0,0 +1,114 @@
+package software.coley.recaf.services.mapping;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.services.mapping.data.MemberMapping;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash index of member mappings, by both their pre-mapping and post-mapping identities.
+ * <p>
+ * Where multiple mappings share an identity, the earliest added one is indexed, matching the order of the
+ * per-owner mapping lists in {@link IntermediateMappings}.
+ *
+ * @param <M>
+ * 		Member mapping type.
+ *
+ * @author Matt Coley
+ */
+public class MemberMappingIndex<M extends MemberMapping> {
+	private final Map<Key, M> byOldName = new HashMap<>();
+	private final Map<Key, M> byNewName = new HashMap<>();
+
+	/**
+	 * @param mapping
+	 * 		Mapping to index.
+	 */
+	public void add(@Nonnull M mapping) {
+		byOldName.putIfAbsent(oldKey(mapping), mapping);
+		byNewName.putIfAbsent(newKey(mapping), mapping);
+	}
+
+	/**
+	 * @param mapping
+	 * 		Mapping to remove from the index.
+	 * @param remaining
+	 * 		Mappings still present in the owner of the removed mapping.
+	 * 		Used to find a replacement entry when another mapping shares the removed identity.
+	 */
+	public void remove(@Nonnull M mapping, @Nonnull List<M> remaining) {
+		Key oldKey = oldKey(mapping);
+		if (byOldName.remove(oldKey, mapping))
+			for (M other : remaining)
+				if (oldKey.equals(oldKey(other))) {
+					byOldName.put(oldKey, other);
+					break;
+				}
+		Key newKey = newKey(mapping);
+		if (byNewName.remove(newKey, mapping))
+			for (M other : remaining)
+				if (newKey.equals(newKey(other))) {
+					byNewName.put(newKey, other);
+					break;
+				}
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		byOldName.clear();
+		byNewName.clear();
+	}
+
+	/**
+	 * @param owner
+	 * 		Pre-mapping owner name.
+	 * @param oldName
+	 * 		Pre-mapping member name.
+	 * @param desc
+	 * 		Pre-mapping member descriptor.
+	 * @param allowMissingDesc
+	 * 		When no mapping matches the descriptor exactly, allow a mapping which has no descriptor.
+	 * 		Some formats do not record descriptors for fields.
+	 *
+	 * @return Mapping matching the given pre-mapping identity, or {@code null} if none exists.
+	 */
+	@Nullable
+	public M getByOldName(@Nonnull String owner, @Nonnull String oldName, @Nullable String desc, boolean allowMissingDesc) {
+		M mapping = byOldName.get(new Key(owner, oldName, desc));
+		if (mapping == null && allowMissingDesc && desc != null)
+			mapping = byOldName.get(new Key(owner, oldName, null));
+		return mapping;
+	}
+
+	/**
+	 * @param owner
+	 * 		Pre-mapping owner name.
+	 * @param newName
+	 * 		Post-mapping member name.
+	 * @param desc
+	 * 		Pre-mapping member descriptor.
+	 *
+	 * @return Mapping which yields the given post-mapping name, or {@code null} if none exists.
+	 */
+	@Nullable
+	public M getByNewName(@Nonnull String owner, @Nonnull String newName, @Nullable String desc) {
+		return byNewName.get(new Key(owner, newName, desc));
+	}
+
+	@Nonnull
+	private static Key oldKey(@Nonnull MemberMapping mapping) {
+		return new Key(mapping.getOwnerName(), mapping.getOldName(), mapping.getDesc());
+	}
+
+	@Nonnull
+	private static Key newKey(@Nonnull MemberMapping mapping) {
+		return new Key(mapping.getOwnerName(), mapping.getNewName(), mapping.getDesc());
+	}
+
+	private record Key(@Nonnull String owner, @Nonnull String name, @Nullable String desc) {}
+}
@@ -16,7 +16,6 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
 /**
  * Mappings implementation for internal tracking of aggregated mappings.
@@ -34,6 +33,7 @@
  */
 public class AggregatedMappings extends IntermediateMappings {
 	private final Map<String, String> reverseOrderClassMapping = new HashMap<>();
+	private final Map<String, String> reverseDescCache = new HashMap<>();
 	private final WorkspaceBackedRemapper reverseMapper;
 
 	/**
@@ -85,23 +85,13 @@ public String getReverseFieldMapping(@Nonnull String owner, @Nonnull String fiel
 		if (originalOwnerName == null)
 			originalOwnerName = owner;
 
-		// Get fields in the original class
-		List<FieldMapping> fieldMappings = fields.get(originalOwnerName);
-		if (fieldMappings == null || fieldMappings.isEmpty())
+		// Skip mapping the descriptor when the class has no field mappings at all
+		if (!fields.containsKey(originalOwnerName))
 			return null;
 
-		// Find a matching field
-		String originalDesc = reverseMapper.mapDesc(fieldDesc);
-		for (FieldMapping fieldMapping : fieldMappings) {
-			// The current name must match the mappings "new" name
-			if (!fieldName.equals(fieldMapping.getNewName()))
-				continue;
-
-			// The original field descriptor must match the mapping key's
-			if (originalDesc.equals(fieldMapping.getDesc()))
-				return fieldMapping.getOldName();
-		}
-		return null;
+		// The current name must match the mapping's "new" name, and the original descriptor must match the mapping's
+		FieldMapping fieldMapping = fieldIndex.getByNewName(originalOwnerName, fieldName, reverseDesc(fieldDesc));
+		return fieldMapping == null ? null : fieldMapping.getOldName();
 	}
 
 	/**
@@ -121,23 +111,13 @@ public String getReverseMethodMapping(@Nonnull String owner, @Nonnull String met
 		if (originalOwnerName == null)
 			originalOwnerName = owner;
 
-		// Get methods in the original class
-		List<MethodMapping> methodMappings = methods.get(originalOwnerName);
-		if (methodMappings == null || methodMappings.isEmpty())
+		// Skip mapping the descriptor when the class has no method mappings at all
+		if (!methods.containsKey(originalOwnerName))
 			return null;
 
-		// Find a matching method
-		String originalDesc = reverseMapper.mapDesc(methodDesc);
-		for (MethodMapping methodMapping : methodMappings) {
-			// The current name must match the mappings "new" name
-			if (!methodName.equals(methodMapping.getNewName()))
-				continue;
-
-			// The original method descriptor must match the mapping key's
-			if (originalDesc.equals(methodMapping.getDesc()))
-				return methodMapping.getOldName();
-		}
-		return null;
+		// The current name must match the mapping's "new" name, and the original descriptor must match the mapping's
+		MethodMapping methodMapping = methodIndex.getByNewName(originalOwnerName, methodName, reverseDesc(methodDesc));
+		return methodMapping == null ? null : methodMapping.getOldName();
 	}
 
 	/**
@@ -164,29 +144,26 @@ public String getReverseVariableMapping(@Nonnull String owner, @Nonnull String m
 		if (originalOwnerName == null)
 			originalOwnerName = owner;
 
-		// Get methods in the original class
-		List<MethodMapping> methodMappings = methods.get(originalOwnerName);
-		if (methodMappings == null || methodMappings.isEmpty())
+		// Skip mapping the descriptor when the class has no method mappings at all
+		if (!methods.containsKey(originalOwnerName))
 			return null;
 
-		String originalMethodDesc = reverseMapper.mapDesc(methodDesc);
-		String originalVarDesc = reverseMapper.mapDesc(varDesc);
-		for (MethodMapping methodMapping : methodMappings) {
-			// The current name must match the mappings "new" name
-			if (!methodName.equals(methodMapping.getNewName()))
-				continue;
+		// The current name must match the mapping's "new" name, and the original descriptor must match the mapping's
+		String originalMethodDesc = reverseDesc(methodDesc);
+		MethodMapping methodMapping = methodIndex.getByNewName(originalOwnerName, methodName, originalMethodDesc);
+		if (methodMapping == null)
+			return null;
 
-			// The original method descriptor must match the mapping key's
-			if (originalMethodDesc.equals(methodMapping.getDesc())) {
-				// Get the variables that were mapped under the original name
-				List<VariableMapping> variableMappings = variables.get(varKey(originalOwnerName, methodMapping.getOldName(), originalMethodDesc));
-				for (VariableMapping variableMapping : variableMappings) {
-					// If the variable index, name, and descriptor match, yield the variable mapping's original name
-					if (variableMapping.getIndex() == varIndex && variableMapping.getNewName().equals(varName)) {
-						if (varDesc.equals(originalVarDesc)) {
-							return variableMapping.getOldName();
-						}
-					}
+		// Get the variables that were mapped under the original name
+		List<VariableMapping> variableMappings = variables.get(varKey(originalOwnerName, methodMapping.getOldName(), originalMethodDesc));
+		if (variableMappings == null)
+			return null;
+		String originalVarDesc = reverseDesc(varDesc);
+		for (VariableMapping variableMapping : variableMappings) {
+			// If the variable index, name, and descriptor match, yield the variable mapping's original name
+			if (variableMapping.getIndex() == varIndex && variableMapping.getNewName().equals(varName)) {
+				if (varDesc.equals(originalVarDesc)) {
+					return variableMapping.getOldName();
 				}
 			}
 		}
@@ -197,6 +174,9 @@ public String getReverseVariableMapping(@Nonnull String owner, @Nonnull String m
 	public void addClass(@Nonnull String oldName, @Nonnull String newName) {
 		super.addClass(oldName, newName);
 		reverseOrderClassMapping.put(newName, oldName);
+
+		// Reversed descriptors may include the class, so they must be computed again.
+		reverseDescCache.clear();
 	}
 
 	/**
@@ -207,6 +187,25 @@ public void clear() {
 		fields.clear();
 		methods.clear();
 		variables.clear();
+		fieldIndex.clear();
+		methodIndex.clear();
+		reverseDescCache.clear();
+	}
+
+	/**
+	 * @param desc
+	 * 		Current field or method descriptor.
+	 *
+	 * @return Original descriptor, with all mapped class names reverted to their original names.
+	 */
+	@Nonnull
+	private String reverseDesc(@Nonnull String desc) {
+		String reversed = reverseDescCache.get(desc);
+		if (reversed == null) {
+			reversed = reverseMapper.mapDesc(desc);
+			reverseDescCache.put(desc, reversed);
+		}
+		return reversed;
 	}
 
 	/**
@@ -325,30 +324,27 @@ else if (desc.charAt(0) == '(')
 	}
 
 	private String findPriorMemberName(String oldClassName, MemberMapping memberMapping) {
+		// The old name must be the new mapping's base name.
+		// The descriptor types must also match.
+		String unmappedDesc = applyReverseMappings(memberMapping.getDesc());
+		String baseName = memberMapping.getOldName();
 		if (memberMapping.isField()) {
-			return findPriorName(memberMapping, getClassFieldMappings(oldClassName));
+			FieldMapping prior = fieldIndex.getByNewName(oldClassName, baseName, unmappedDesc);
+			if (prior != null) {
+				// Remove old mapping entry
+				removeField(prior);
+				return prior.getOldName();
+			}
 		} else {
-			return findPriorName(memberMapping, getClassMethodMappings(oldClassName));
-		}
-	}
-
-	private String findPriorName(MemberMapping newMethodMapping, List<? extends MemberMapping> members) {
-		// If the old name not previously mapped, then it's the same as what the new mapping has given.
-		// So the passed new mapping is a safe default.
-		MemberMapping target = newMethodMapping;
-		String unmappedDesc = applyReverseMappings(newMethodMapping.getDesc());
-		for (MemberMapping oldMethodMapping : members) {
-			// The old name must be the new mapping's base name.
-			// The descriptor types must also match.
-			if (oldMethodMapping.getNewName().equals(newMethodMapping.getOldName()) &&
-					Objects.equals(oldMethodMapping.getDesc(), unmappedDesc)) {
-				target = oldMethodMapping;
-				break;
+			MethodMapping prior = methodIndex.getByNewName(oldClassName, baseName, unmappedDesc);
+			if (prior != null) {
+				// Remove old mapping entry
+				removeMethod(prior);
+				return prior.getOldName();
 			}
 		}
 
-		// Remove old mapping entry
-		members.remove(target);
-		return target.getOldName();
+		// If the old name not previously mapped, then it's the same as what the new mapping has given.
+		return baseName;
 	}
 }
@@ -1,9 +1,24 @@
 package software.coley.recaf.services.mapping.format;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.services.mapping.IntermediateMappings;
+import software.coley.recaf.services.mapping.Mappings;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
 
 /**
  * Common base for mapping file format values.
+ * <br>
+ * Implementations should {@link #parse(Reader) parse from a reader} and {@link #write(Mappings, Writer) write
+ * to a writer}, in which case parsing and exporting of complete mapping text is handled by this base.
+ * Implementations which instead only provide {@link #parse(String)} and {@link #exportText(Mappings)} keep working,
+ * as the reader and writer variants fall back to those. At least one of each pair must be overridden.
  *
  * @author Matt Coley
  */
@@ -35,4 +50,91 @@ public boolean doesSupportFieldTypeDifferentiation() {
 	public boolean doesSupportVariableTypeDifferentiation() {
 		return supportVariableTypeDifferentiation;
 	}
+
+	@Nonnull
+	@Override
+	public IntermediateMappings parse(@Nonnull String mappingsText) throws InvalidMappingException {
+		return parse(new StringReader(mappingsText));
+	}
+
+	@Nonnull
+	@Override
+	public IntermediateMappings parse(@Nonnull Reader reader) throws InvalidMappingException {
+		return MappingFileFormat.super.parse(reader);
+	}
+
+	@Nullable
+	@Override
+	public String exportText(@Nonnull Mappings mappings) throws InvalidMappingException {
+		if (!supportsExportText())
+			return null;
+		StringWriter writer = new StringWriter();
+		exportText(mappings, writer);
+		return writer.toString();
+	}
+
+	@Override
+	public void exportText(@Nonnull Mappings mappings, @Nonnull Writer writer) throws InvalidMappingException {
+		if (!supportsExportText())
+			throw new InvalidMappingException(new UnsupportedOperationException("Export not supported: " + implementationName()));
+		try {
+			write(mappings, writer);
+		} catch (IOException ex) {
+			throw new InvalidMappingException(ex);
+		}
+	}
+
+	/**
+	 * Writes mappings in the current format. Only called when {@link #supportsExportText() exporting is supported}.
+	 * <br>
+	 * The default implementation is only a fallback for formats which override {@link #exportText(Mappings)}
+	 * instead. It writes the complete exported text as a whole.
+	 *
+	 * @param mappings
+	 * 		Mappings to write.
+	 * @param writer
+	 * 		Writer to write mapping text to. Not closed by this method.
+	 *
+	 * @throws IOException
+	 * 		When the writer cannot be written to.
+	 * @throws InvalidMappingException
+	 * 		When the mappings cannot be represented in the current format.
+	 */
+	protected void write(@Nonnull Mappings mappings, @Nonnull Writer writer) throws IOException, InvalidMappingException {
+		String text = exportText(mappings);
+		if (text != null)
+			writer.write(text);
+	}
+
+	/**
+	 * Exports mapping text for formats where {@link #write(Mappings, Writer)} can only fail on I/O errors,
+	 * which never occur when writing to a string. Such formats can then declare {@link #exportText(Mappings)}
+	 * without any checked exceptions.
+	 *
+	 * @param mappings
+	 * 		Mappings to write.
+	 *
+	 * @return Exported mapping text in the current format.
+	 */
+	@Nonnull
+	protected String writeText(@Nonnull Mappings mappings) {
+		StringWriter writer = new StringWriter();
+		try {
+			write(mappings, writer);
+		} catch (IOException | InvalidMappingException ex) {
+			throw new IllegalStateException("Failed writing mappings: " + implementationName(), ex);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * @param reader
+	 * 		Some reader of mapping text.
+	 *
+	 * @return Buffered reader, for reading the mapping text line by line.
+	 */
+	@Nonnull
+	protected static BufferedReader buffered(@Nonnull Reader reader) {
+		return reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+	}
 }
@@ -9,9 +9,13 @@
 import software.coley.recaf.services.mapping.data.ClassMapping;
 import software.coley.recaf.services.mapping.data.FieldMapping;
 import software.coley.recaf.services.mapping.data.MethodMapping;
-import software.coley.recaf.util.StringUtil;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.Stack;
+import java.util.regex.Pattern;
 
 /**
  * Enigma mappings file implementation.
@@ -22,6 +26,8 @@
 public class EnigmaMappings extends AbstractMappingFileFormat {
 	public static final String NAME = "Enigma";
 	private static final String FAIL = "Invalid Enigma mappings, ";
+	private static final Pattern INDENTED = Pattern.compile("\\s+.+");
+	private static final Pattern NONE_PACKAGE = Pattern.compile("(?:^|(?<=L))none/");
 	private final Logger logger = Logging.get(EnigmaMappings.class);
 
 	/**
@@ -33,9 +39,17 @@ public EnigmaMappings() {
 
 	@Nonnull
 	@Override
-	public IntermediateMappings parse(@Nonnull String mappingText) {
+	public IntermediateMappings parse(@Nonnull Reader reader) throws InvalidMappingException {
+		try {
+			return read(buffered(reader));
+		} catch (IOException ex) {
+			throw new InvalidMappingException(ex);
+		}
+	}
+
+	@Nonnull
+	private IntermediateMappings read(@Nonnull BufferedReader reader) throws IOException {
 		IntermediateMappings mappings = new IntermediateMappings();
-		String[] lines = StringUtil.splitNewline(mappingText);
 		// COMMENT comment
 		// CLASS BaseClass TargetClass
 		//     FIELD baseField targetField baseDesc
@@ -43,7 +57,8 @@ public IntermediateMappings parse(@Nonnull String mappingText) {
 		//         ARG baseArg targetArg
 		int line = 0;
 		Stack<String> currentClass = new Stack<>();
-		for (String lineStr : lines) {
+		String lineStr;
+		while ((lineStr = reader.readLine()) != null) {
 			line++;
 			String lineStrTrim = lineStr.trim();
 			int strIndent = lineStr.indexOf(lineStrTrim) + 1;
@@ -52,7 +67,7 @@ public IntermediateMappings parse(@Nonnull String mappingText) {
 			try {
 				switch (type) {
 					case "CLASS":
-						if (lineStr.matches("\\s+.+")) {
+						if (INDENTED.matcher(lineStr).matches()) {
 							// Check for indentation, implies the class is an inner
 							currentClass.add(removeNonePackage(args[1]));
 						} else {
@@ -112,21 +127,26 @@ public IntermediateMappings parse(@Nonnull String mappingText) {
 		return mappings;
 	}
 
+	@Nonnull
 	@Override
 	public String exportText(@Nonnull Mappings mappings) {
-		StringBuilder sb = new StringBuilder();
+		return writeText(mappings);
+	}
+
+	@Override
+	protected void write(@Nonnull Mappings mappings, @Nonnull Writer out) throws IOException {
 		IntermediateMappings intermediate = mappings.exportIntermediate();
 		for (String oldClassName : intermediate.getClassesWithMappings()) {
 			ClassMapping classMapping = intermediate.getClassMapping(oldClassName);
 			if (classMapping != null) {
 				String newClassName = classMapping.getNewName();
 				// CLASS BaseClass TargetClass
-				sb.append("CLASS ")
+				out.append("CLASS ")
 						.append(oldClassName).append(' ')
 						.append(newClassName).append("\n");
 			} else {
 				// Not mapped, but need to include for context for following members
-				sb.append("CLASS ")
+				out.append("CLASS ")
 						.append(oldClassName).append("\n");
 			}
 			for (FieldMapping fieldMapping : intermediate.getClassFieldMappings(oldClassName)) {
@@ -134,7 +154,7 @@ public String exportText(@Nonnull Mappings mappings) {
 				String newFieldName = fieldMapping.getNewName();
 				String fieldDesc = fieldMapping.getDesc();
 				// FIELD baseField targetField baseDesc
-				sb.append("\tFIELD ")
+				out.append("\tFIELD ")
 						.append(oldFieldName).append(' ')
 						.append(newFieldName).append(' ')
 						.append(fieldDesc).append("\n");
@@ -144,16 +164,15 @@ public String exportText(@Nonnull Mappings mappings) {
 				String newMethodName = methodMapping.getNewName();
 				String methodDesc = methodMapping.getDesc();
 				// METHOD baseMethod targetMethod baseMethodDesc
-				sb.append("\tMETHOD ")
+				out.append("\tMETHOD ")
 						.append(oldMethodName).append(' ')
 						.append(newMethodName).append(' ')
 						.append(methodDesc).append("\n");
 			}
 		}
-		return sb.toString();
 	}
 
 	private static String removeNonePackage(String text) {
-		return text.replaceAll("(?:^|(?<=L))none/", "");
+		return NONE_PACKAGE.matcher(text).replaceAll("");
 	}
 }
@@ -0,0 +1,208 @@
+package software.coley.recaf.services.mapping.format;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingVisitor;
+import org.objectweb.asm.commons.Remapper;
+import org.objectweb.asm.commons.SimpleRemapper;
+import software.coley.recaf.services.mapping.IntermediateMappings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapping-io visitor which records mappings directly into {@link IntermediateMappings} as a reader visits them.
+ * Unlike populating a {@link net.fabricmc.mappingio.tree.MemoryMappingTree} first, only the element currently
+ * being visited is held aside.
+ * <p>
+ * Mapping-io supports multiple namespaces for outputs. This is only really used in the 'tiny' format.
+ * Generally speaking the input columns look like:
+ * <ul>
+ *     <li>obfuscated, intermediate, clean</li>
+ *     <li>intermediate, clean</li>
+ * </ul>
+ * We want everything to map to the final column, rather than their notion of the first column mapping to one of
+ * the following columns. Members of the non-final output columns need their owners and descriptors in terms of
+ * that column's class names, which may not have been visited yet. These are recorded once all classes are known.
+ *
+ * @author Matt Coley
+ */
+class IntermediateMappingsVisitor implements MappingVisitor {
+	private final IntermediateMappings mappings = new IntermediateMappings();
+	private final List<DeferredMember> deferredMembers = new ArrayList<>();
+	private final List<Map<String, String>> namespaceClassNames = new ArrayList<>();
+	private int finalNamespace;
+	private String[] dstNames = new String[1];
+	private String[] dstDescs = new String[1];
+	private MappedElementKind currentKind;
+	private String currentClass;
+	private String currentName;
+	private String currentDesc;
+	private boolean complete;
+
+	/**
+	 * @return Mappings recorded from the visited content.
+	 */
+	@Nonnull
+	IntermediateMappings getMappings() {
+		complete();
+		return mappings;
+	}
+
+	@Override
+	public void visitNamespaces(@Nonnull String srcNamespace, @Nonnull List<String> dstNamespaces) {
+		int namespaceCount = dstNamespaces.size();
+		finalNamespace = namespaceCount - 1;
+		dstNames = new String[namespaceCount];
+		dstDescs = new String[namespaceCount];
+		namespaceClassNames.clear();
+		for (int i = 0; i < finalNamespace; i++)
+			namespaceClassNames.add(new HashMap<>());
+	}
+
+	@Override
+	public boolean visitClass(@Nonnull String srcName) {
+		flush();
+		currentClass = srcName;
+		begin(MappedElementKind.CLASS, srcName, null);
+		return true;
+	}
+
+	@Override
+	public boolean visitField(@Nonnull String srcName, @Nullable String srcDesc) {
+		flush();
+		begin(MappedElementKind.FIELD, srcName, srcDesc);
+		return true;
+	}
+
+	@Override
+	public boolean visitMethod(@Nonnull String srcName, @Nullable String srcDesc) {
+		flush();
+		begin(MappedElementKind.METHOD, srcName, srcDesc);
+		return true;
+	}
+
+	@Override
+	public boolean visitMethodArg(int argPosition, int lvIndex, @Nullable String srcName) {
+		// Not represented in intermediate mappings
+		flush();
+		return false;
+	}
+
+	@Override
+	public boolean visitMethodVar(int lvtRowIndex, int lvIndex, int startOpIdx, int endOpIdx, @Nullable String srcName) {
+		// Not represented in intermediate mappings
+		flush();
+		return false;
+	}
+
+	@Override
+	public void visitDstName(@Nonnull MappedElementKind targetKind, int namespace, @Nonnull String name) {
+		if (targetKind == currentKind)
+			dstNames[namespace] = name;
+	}
+
+	@Override
+	public void visitDstDesc(@Nonnull MappedElementKind targetKind, int namespace, @Nonnull String desc) {
+		if (targetKind == currentKind)
+			dstDescs[namespace] = desc;
+	}
+
+	@Override
+	public boolean visitElementContent(@Nonnull MappedElementKind targetKind) {
+		flush();
+		return true;
+	}
+
+	@Override
+	public void visitComment(@Nonnull MappedElementKind targetKind, @Nonnull String comment) {
+		// Not represented in intermediate mappings
+	}
+
+	@Override
+	public boolean visitEnd() {
+		complete();
+		return true;
+	}
+
+	private void begin(@Nonnull MappedElementKind kind, @Nonnull String name, @Nullable String desc) {
+		currentKind = kind;
+		currentName = name;
+		currentDesc = desc;
+	}
+
+	/**
+	 * Records the element currently being visited, now that all of its destination names are known.
+	 */
+	private void flush() {
+		MappedElementKind kind = currentKind;
+		if (kind == null)
+			return;
+		currentKind = null;
+
+		// Elements may be visited only to provide context for their children, such as classes in Tiny-V1,
+		// in which case they have no final name and there is nothing to record.
+		String finalName = dstNames[finalNamespace];
+		if (kind == MappedElementKind.CLASS) {
+			for (int i = 0; i < finalNamespace; i++)
+				if (dstNames[i] != null)
+					namespaceClassNames.get(i).put(currentName, dstNames[i]);
+			if (finalName != null) {
+				// Add the base case: input --> final output name
+				mappings.addClass(currentName, finalName);
+
+				// Add destination[n] --> final output name, where n < destinations.length - 1.
+				// This is how we handle cases like 'intermediate --> clean' despite both of those
+				// being "output" columns.
+				for (int i = 0; i < finalNamespace; i++)
+					if (dstNames[i] != null)
+						mappings.addClass(dstNames[i], finalName);
+			}
+		} else if (finalName != null && currentClass != null) {
+			boolean field = kind == MappedElementKind.FIELD;
+			if (field)
+				mappings.addField(currentClass, currentDesc, currentName, finalName);
+			else
+				mappings.addMethod(currentClass, currentDesc, currentName, finalName);
+			for (int i = 0; i < finalNamespace; i++)
+				if (dstNames[i] != null)
+					deferredMembers.add(new DeferredMember(field, i, currentClass, currentDesc, dstDescs[i], dstNames[i], finalName));
+		}
+		Arrays.fill(dstNames, null);
+		Arrays.fill(dstDescs, null);
+	}
+
+	/**
+	 * Records members of non-final output namespaces, now that all class names are known.
+	 */
+	private void complete() {
+		flush();
+		if (complete)
+			return;
+		complete = true;
+		Remapper[] remappers = new Remapper[finalNamespace];
+		for (int i = 0; i < finalNamespace; i++)
+			remappers[i] = new SimpleRemapper(namespaceClassNames.get(i));
+		for (DeferredMember member : deferredMembers) {
+			Map<String, String> classNames = namespaceClassNames.get(member.namespace());
+			String owner = classNames.getOrDefault(member.srcOwner(), member.srcOwner());
+			String desc = member.dstDesc();
+			if (desc == null && member.srcDesc() != null) {
+				Remapper remapper = remappers[member.namespace()];
+				desc = member.field() ? remapper.mapDesc(member.srcDesc()) : remapper.mapMethodDesc(member.srcDesc());
+			}
+			if (member.field())
+				mappings.addField(owner, desc, member.dstName(), member.finalName());
+			else
+				mappings.addMethod(owner, desc, member.dstName(), member.finalName());
+		}
+		deferredMembers.clear();
+	}
+
+	private record DeferredMember(boolean field, int namespace, @Nonnull String srcOwner, @Nullable String srcDesc,
+	                              @Nullable String dstDesc, @Nonnull String dstName, @Nonnull String finalName) {}
+}
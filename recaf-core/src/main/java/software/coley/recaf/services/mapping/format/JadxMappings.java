@@ -7,7 +7,11 @@
 import software.coley.recaf.services.mapping.data.ClassMapping;
 import software.coley.recaf.services.mapping.data.FieldMapping;
 import software.coley.recaf.services.mapping.data.MethodMapping;
-import software.coley.recaf.util.StringUtil;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 
 /**
  * Jadx mappings file implementation.
@@ -30,15 +34,24 @@ public JadxMappings() {
 
 	@Nonnull
 	@Override
-	public IntermediateMappings parse(@Nonnull String mappingText) {
+	public IntermediateMappings parse(@Nonnull Reader reader) throws InvalidMappingException {
+		try {
+			return read(buffered(reader));
+		} catch (IOException ex) {
+			throw new InvalidMappingException(ex);
+		}
+	}
+
+	@Nonnull
+	private static IntermediateMappings read(@Nonnull BufferedReader reader) throws IOException {
 		IntermediateMappings mappings = new IntermediateMappings();
-		String[] lines = StringUtil.splitNewline(mappingText);
 		// Example:
 		// c android.support.a.b.a = C0005a
 		// f android.support.a.b.a.a:Ljava/lang/Object; = f3a
 		// m android.support.a.a.a.a(Landroid/app/Activity;[Ljava/lang/String;I)V = m0a
 		int line = 0;
-		for (String lineStr : lines) {
+		String lineStr;
+		while ((lineStr = reader.readLine()) != null) {
 			line++;
 			String[] args = lineStr.trim().split("[\\s=:]+");
 			String type = args[0];
@@ -88,16 +101,21 @@ public IntermediateMappings parse(@Nonnull String mappingText) {
 		return mappings;
 	}
 
+	@Nonnull
 	@Override
 	public String exportText(@Nonnull Mappings mappings) {
-		StringBuilder sb = new StringBuilder();
+		return writeText(mappings);
+	}
+
+	@Override
+	protected void write(@Nonnull Mappings mappings, @Nonnull Writer out) throws IOException {
 		IntermediateMappings intermediate = mappings.exportIntermediate();
 		for (String oldClassName : intermediate.getClassesWithMappings()) {
 			ClassMapping classMapping = intermediate.getClassMapping(oldClassName);
 			if (classMapping != null) {
 				String newClassName = classMapping.getNewName();
 				// c android.support.a.b.a = C0005a
-				sb.append("c ")
+				out.append("c ")
 						.append(oldClassName.replace('/', '.')).append(" = ")
 						.append(newClassName.substring(newClassName.lastIndexOf('/') + 1)).append("\n");
 			}
@@ -106,7 +124,7 @@ public String exportText(@Nonnull Mappings mappings) {
 				String newFieldName = fieldMapping.getNewName();
 				String fieldDesc = fieldMapping.getDesc();
 				// f android.support.a.b.a.a:Ljava/lang/Object; = f3a
-				sb.append("f ")
+				out.append("f ")
 						.append(oldClassName.replace('/', '.')).append('.')
 						.append(oldFieldName).append(':').append(fieldDesc).append(" = ")
 						.append(newFieldName).append("\n");
@@ -117,13 +135,12 @@ public String exportText(@Nonnull Mappings mappings) {
 				String newMethodName = methodMapping.getNewName();
 				String methodDesc = methodMapping.getDesc();
 				// m android.support.a.a.a.a(Landroid/app/Activity;[Ljava/lang/String;I)V = m0a
-				sb.append("m ")
+				out.append("m ")
 						.append(oldClassName.replace('/', '.')).append('.')
 						.append(oldMethodName)
 						.append(methodDesc).append(" = ")
 						.append(newMethodName).append("\n");
 			}
 		}
-		return sb.toString();
 	}
 }
@@ -4,7 +4,6 @@
 import jakarta.annotation.Nullable;
 import net.fabricmc.mappingio.MappedElementKind;
 import net.fabricmc.mappingio.MappingVisitor;
-import net.fabricmc.mappingio.tree.MappingTree;
 import net.fabricmc.mappingio.tree.MemoryMappingTree;
 import net.fabricmc.mappingio.tree.VisitOrder;
 import software.coley.recaf.services.mapping.IntermediateMappings;
@@ -14,8 +13,10 @@
 import software.coley.recaf.services.mapping.data.MethodMapping;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.List;
 import java.util.function.Function;
 
@@ -53,6 +54,33 @@ public interface MappingFileFormat {
 	@Nonnull
 	IntermediateMappings parse(@Nonnull String mappingsText) throws InvalidMappingException;
 
+	/**
+	 * Parses mappings incrementally from the given reader, so that the complete mapping text does not need to be held
+	 * in memory.
+	 * <br>
+	 * The default implementation is only a fallback for formats which cannot parse incrementally. It reads the
+	 * <i>entire</i> reader into a string, and then {@link #parse(String) parses it} as a whole. Formats extending
+	 * {@link AbstractMappingFileFormat} parse incrementally when they override this method.
+	 *
+	 * @param reader
+	 * 		Reader of the mapping text to parse. Not closed by this method.
+	 *
+	 * @return Intermediate mappings from parsed text.
+	 *
+	 * @throws InvalidMappingException
+	 * 		When reading the mappings encounters any failure.
+	 */
+	@Nonnull
+	default IntermediateMappings parse(@Nonnull Reader reader) throws InvalidMappingException {
+		StringWriter text = new StringWriter();
+		try {
+			reader.transferTo(text);
+		} catch (IOException ex) {
+			throw new InvalidMappingException(ex);
+		}
+		return parse(text.toString());
+	}
+
 	/**
 	 * Some mapping formats do not include field types since name overloading is illegal at the source level of Java.
 	 * It's valid in the bytecode but the mapping omits this info since it isn't necessary information for mapping
@@ -94,6 +122,30 @@ default String exportText(@Nonnull Mappings mappings) throws InvalidMappingExcep
 		return null;
 	}
 
+	/**
+	 * Writes mappings incrementally to the given writer, so that the complete mapping text does not need to be held
+	 * in memory. Formats which do not support incremental writing {@link #exportText(Mappings) export the full text},
+	 * and then write it as a whole.
+	 *
+	 * @param mappings
+	 * 		Mappings to write with the current format.
+	 * @param writer
+	 * 		Writer to write mapping text to. Not closed by this method.
+	 *
+	 * @throws InvalidMappingException
+	 * 		When writing the mappings encounters any failure, or when exporting to the format is unsupported.
+	 */
+	default void exportText(@Nonnull Mappings mappings, @Nonnull Writer writer) throws InvalidMappingException {
+		String text = exportText(mappings);
+		if (text == null)
+			throw new InvalidMappingException(new UnsupportedOperationException("Export not supported: " + implementationName()));
+		try {
+			writer.write(text);
+		} catch (IOException ex) {
+			throw new InvalidMappingException(ex);
+		}
+	}
+
 	/**
 	 * A utility for utilizing mapping-io to parse mapping text formats.
 	 *
@@ -109,61 +161,33 @@ default String exportText(@Nonnull Mappings mappings) throws InvalidMappingExcep
 	 */
 	@Nonnull
 	static IntermediateMappings parse(@Nonnull String mappingText, @Nonnull MappingTreeReader visitor) throws InvalidMappingException {
-		// Populate the mapping-io model
-		MemoryMappingTree tree = new MemoryMappingTree();
-		StringReader reader = new StringReader(mappingText);
+		return parse(new StringReader(mappingText), visitor);
+	}
+
+	/**
+	 * A utility for utilizing mapping-io to parse mapping text formats.
+	 * Mappings are recorded as the reader visits them, without building an intermediate mapping-io tree.
+	 *
+	 * @param reader
+	 * 		Reader of the mapping text to parse.
+	 * @param visitor
+	 * 		Visitor pointing to a mapping-io format reader.
+	 *
+	 * @return Intermediate mapping representation of the parsed text.
+	 *
+	 * @throws InvalidMappingException
+	 * 		When reading the mappings encounters any failure.
+	 * @see IntermediateMappingsVisitor
+	 */
+	@Nonnull
+	static IntermediateMappings parse(@Nonnull Reader reader, @Nonnull MappingTreeReader visitor) throws InvalidMappingException {
+		IntermediateMappingsVisitor mappingsVisitor = new IntermediateMappingsVisitor();
 		try {
-			visitor.read(reader, tree);
+			visitor.read(reader, mappingsVisitor);
 		} catch (IOException ex) {
 			throw new InvalidMappingException(ex);
 		}
-
-		// Create our mapping model.
-		IntermediateMappings mappings = new IntermediateMappings();
-
-		// Mapping IO supports multiple namespaces for outputs.
-		// This is only really used in the 'tiny' format. Generally speaking the input columns look like:
-		//   obfuscated, intermediate, clean
-		// or:
-		//   intermediate, clean
-		// We want everything to map to the final column, rather than their notion of the first
-		// column mapping to one of the following columns.
-		int namespaceCount = tree.getDstNamespaces().size();
-		int finalNamespace = namespaceCount - 1;
-		for (MappingTree.ClassMapping cm : tree.getClasses()) {
-			String finalClassName = cm.getDstName(finalNamespace);
-
-			// Add the base case: input --> final output name
-			mappings.addClass(cm.getSrcName(), finalClassName);
-
-			// Add destination[n] --> final output name, where n < destinations.length - 1.
-			// This is how we handle cases like 'intermediate --> clean' despite both of those
-			// being "output" columns.
-			if (namespaceCount > 1)
-				for (int i = 0; i < finalNamespace; i++)
-					mappings.addClass(cm.getDstName(i), finalClassName);
-			for (MappingTree.FieldMapping fm : cm.getFields()) {
-				String finalFieldName = fm.getDstName(finalNamespace);
-
-				// Base case, like before.
-				mappings.addField(cm.getSrcName(), fm.getSrcDesc(), fm.getSrcName(), finalFieldName);
-
-				// Support extra namespaces, like before.
-				if (namespaceCount > 1)
-					for (int i = 0; i < finalNamespace; i++)
-						mappings.addField(cm.getDstName(i), fm.getDesc(i), fm.getDstName(i), finalFieldName);
-			}
-			for (MappingTree.MethodMapping mm : cm.getMethods()) {
-				String finalMethodName = mm.getDstName(finalNamespace);
-
-				// Same idea as field handling.
-				mappings.addMethod(cm.getSrcName(), mm.getSrcDesc(), mm.getSrcName(), finalMethodName);
-				if (namespaceCount > 1)
-					for (int i = 0; i < finalNamespace; i++)
-						mappings.addMethod(cm.getDstName(i), mm.getDstDesc(i), mm.getDstName(i), finalMethodName);
-			}
-		}
-		return mappings;
+		return mappingsVisitor.getMappings();
 	}
 
 	/**
@@ -204,6 +228,34 @@ static String export(@Nonnull Mappings mappings, @Nonnull Function<StringWriter,
 	@Nonnull
 	static String export(@Nonnull Mappings mappings, @Nonnull String inputNamespace,
 						 @Nonnull List<String> outputNamespaces, @Nonnull Function<StringWriter, MappingVisitor> writerFactory) throws InvalidMappingException {
+		StringWriter sw = new StringWriter();
+		export(mappings, inputNamespace, outputNamespaces, w -> writerFactory.apply(sw), sw);
+		return sw.toString();
+	}
+
+	/**
+	 * A utility for utilizing mapping-io to write mapping text formats.
+	 * <br>
+	 * Some mapping-io writers require destination descriptors, which are derived from a complete mapping-io tree.
+	 * So the tree is still populated before writing, but the text is written directly to the given output.
+	 *
+	 * @param mappings
+	 * 		Mappings to export to text.
+	 * @param inputNamespace
+	 * 		Input column name.
+	 * @param outputNamespaces
+	 * 		Output column names.
+	 * @param writerFactory
+	 * 		Factory to create a mapping-io format writer.
+	 * @param output
+	 * 		Writer to write mapping text to. Not closed by this method.
+	 *
+	 * @throws InvalidMappingException
+	 * 		When writing the mappings encounters any failure.
+	 */
+	static void export(@Nonnull Mappings mappings, @Nonnull String inputNamespace,
+					   @Nonnull List<String> outputNamespaces, @Nonnull Function<Writer, MappingVisitor> writerFactory,
+					   @Nonnull Writer output) throws InvalidMappingException {
 		MemoryMappingTree tree = new MemoryMappingTree();
 		IntermediateMappings intermediate = mappings.exportIntermediate();
 		try {
@@ -226,10 +278,9 @@ static String export(@Nonnull Mappings mappings, @Nonnull String inputNamespace,
 				}
 			}
 
-			StringWriter sw = new StringWriter();
-			MappingVisitor writer = writerFactory.apply(sw);
+			MappingVisitor writer = writerFactory.apply(output);
 			tree.accept(writer, VisitOrder.createByInputOrder());
-			return sw.toString();
+			output.flush();
 		} catch (Throwable t) {
 			throw new InvalidMappingException(t);
 		}
@@ -13,7 +13,7 @@
  * For instance: {@link Tiny1FileReader#read(Reader, MappingVisitor)}.
  *
  * @author Matt Coley
- * @see MappingFileFormat#parse(String, MappingTreeReader)
+ * @see MappingFileFormat#parse(Reader, MappingTreeReader)
  */
 public interface MappingTreeReader {
 	/**
@@ -1,15 +1,19 @@
 package software.coley.recaf.services.mapping.format;
 
 import jakarta.annotation.Nonnull;
-import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.Dependent;
 import net.fabricmc.mappingio.format.proguard.ProGuardFileWriter;
 import net.fabricmc.mappingio.format.tiny.Tiny2FileWriter;
+import org.objectweb.asm.commons.Remapper;
+import org.objectweb.asm.commons.SimpleRemapper;
 import software.coley.recaf.services.mapping.IntermediateMappings;
 import software.coley.recaf.services.mapping.Mappings;
-import software.coley.recaf.util.StringUtil;
 
-import java.util.Arrays;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,107 +37,109 @@ public ProguardMappings() {
 
 	@Nonnull
 	@Override
-	public IntermediateMappings parse(@Nonnull String mappingsText) {
+	public IntermediateMappings parse(@Nonnull Reader reader) throws InvalidMappingException {
+		try {
+			return read(buffered(reader));
+		} catch (IOException ex) {
+			throw new InvalidMappingException(ex);
+		}
+	}
+
+	@Nonnull
+	private static IntermediateMappings read(@Nonnull BufferedReader reader) throws IOException {
 		IntermediateMappings mappings = new IntermediateMappings();
-		List<String> lines = Arrays.asList(StringUtil.splitNewline(mappingsText));
-		Map<String, ProguardClassInfo> classMap = new HashMap<>(16384);
+		Map<String, String> classMap = new HashMap<>(16384);
+		List<ProguardMemberInfo> members = new ArrayList<>();
 		StringBuilder firstCache = new StringBuilder();
 		StringBuilder secondCache = new StringBuilder();
-		{
-			// Collect class mappings
-			ProguardClassInfo classInfo = null;
-			int definitionStart = -1;
-			for (int i = 0, j = lines.size(); i < j; i++) {
-				String line = lines.get(i);
-				if (line.isEmpty() || line.trim().charAt(0) == '#') {
-					continue;
-				}
-				int index = line.indexOf(SPLITTER);
-				String left = line.substring(0, index);
-				String right = line.substring(index + SPLITTER.length());
-				// Class mapping lines end with ':'
-				if (right.charAt(right.length() - 1) == ':') {
-					String originalClassName = left.replace('.', '/');
-					String obfuscatedName = right.substring(0, right.length() - 1).replace('.', '/');
-					mappings.addClass(obfuscatedName, originalClassName);
-					if (classInfo != null) {
-						// Record the lines that need to be processed for the prior classInfo entry
-						//  - These lines should include field/method mappings
-						classInfo.toProcess = lines.subList(definitionStart + 1, i);
-					}
-					classInfo = new ProguardClassInfo(obfuscatedName);
-					classMap.put(originalClassName, classInfo);
-					definitionStart = i;
-				}
+		String currentClass = null;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.isBlank() || line.trim().charAt(0) == '#') {
+				continue;
 			}
-			// Handle case for recording lines for the last class in the mappings file
-			if (classInfo != null)
-				classInfo.toProcess = lines.subList(definitionStart + 1, lines.size());
-		}
-		// Second pass for recording fields and methods
-		for (ProguardClassInfo info : classMap.values()) {
-			List<String> toProcess = info.toProcess;
-			for (String line : toProcess) {
-				if (line.isEmpty() || line.trim().charAt(0) == '#') {
-					continue;
+			int index = line.indexOf(SPLITTER);
+			String left = line.substring(0, index);
+			String right = line.substring(index + SPLITTER.length());
+			// Class mapping lines end with ':'
+			if (right.charAt(right.length() - 1) == ':') {
+				String originalClassName = left.replace('.', '/');
+				String obfuscatedName = right.substring(0, right.length() - 1).replace('.', '/');
+				mappings.addClass(obfuscatedName, originalClassName);
+				classMap.put(originalClassName, obfuscatedName);
+				currentClass = obfuscatedName;
+				continue;
+			}
+			if (currentClass == null) {
+				continue;
+			}
+			// Member types are written with original class names, which may belong to classes
+			// declared later in the file. They are recorded as-is and mapped once all classes are known.
+			if (left.charAt(left.length() - 1) == ')') {
+				int idx = left.indexOf(':');
+				if (idx != -1) {
+					idx = left.indexOf(':', idx + 1);
 				}
-				int index = line.indexOf(SPLITTER);
-				String left = line.substring(0, index);
-				String right = line.substring(index + SPLITTER.length());
-				if (left.charAt(left.length() - 1) == ')') {
-					int idx = left.indexOf(':');
-					if (idx != -1) {
-						idx = left.indexOf(':', idx + 1);
-					}
-					String methodInfo = idx == -1 ? left : left.substring(idx + 1);
-					int offset = 0;
-					while (methodInfo.charAt(offset) == ' ') {
-						offset++;
-					}
-					String returnType = denormalizeType(methodInfo.substring(offset, offset = methodInfo.indexOf(' ', offset)), firstCache, classMap);
-					firstCache.setLength(0);
-					firstCache.append('(');
-					String methodName = methodInfo.substring(offset + 1, offset = methodInfo.indexOf('('));
-					int endOffset = methodInfo.indexOf(')', offset);
-					parseDescriptor:
-					{
-						int typeStartOffset = methodInfo.indexOf(',', offset);
-						if (typeStartOffset == -1) {
-							if (endOffset == offset + 1) {
-								break parseDescriptor;
-							}
+				String methodInfo = idx == -1 ? left : left.substring(idx + 1);
+				int offset = 0;
+				while (methodInfo.charAt(offset) == ' ') {
+					offset++;
+				}
+				String returnType = denormalizeType(methodInfo.substring(offset, offset = methodInfo.indexOf(' ', offset)), firstCache);
+				firstCache.setLength(0);
+				firstCache.append('(');
+				String methodName = methodInfo.substring(offset + 1, offset = methodInfo.indexOf('('));
+				int endOffset = methodInfo.indexOf(')', offset);
+				parseDescriptor:
+				{
+					int typeStartOffset = methodInfo.indexOf(',', offset);
+					if (typeStartOffset == -1) {
+						if (endOffset == offset + 1) {
+							break parseDescriptor;
 						}
-						typeStartOffset = offset + 1;
-						boolean anyLeft = true;
-						do {
-							int typeEndOfsset = methodInfo.indexOf(',', typeStartOffset);
-							if (typeEndOfsset == -1) {
-								anyLeft = false;
-								typeEndOfsset = endOffset;
-							}
-							String type = denormalizeType(methodInfo.substring(typeStartOffset, typeEndOfsset), secondCache, classMap);
-							firstCache.append(type);
-							typeStartOffset = anyLeft ? methodInfo.indexOf(',', typeEndOfsset) + 1 : -1;
-						} while (anyLeft);
-					}
-					firstCache.append(')').append(returnType);
-					mappings.addMethod(info.mappedName, firstCache.toString(), right, methodName);
-				} else {
-					String fieldInfo = left;
-					int offset = 0;
-					while (fieldInfo.charAt(offset) == ' ') {
-						offset++;
 					}
-					String fieldType = denormalizeType(fieldInfo.substring(offset, offset = fieldInfo.indexOf(' ', offset)), firstCache, classMap);
-					String fieldName = fieldInfo.substring(offset + 1);
-					mappings.addField(info.mappedName, fieldType, right, fieldName);
+					typeStartOffset = offset + 1;
+					boolean anyLeft = true;
+					do {
+						int typeEndOfsset = methodInfo.indexOf(',', typeStartOffset);
+						if (typeEndOfsset == -1) {
+							anyLeft = false;
+							typeEndOfsset = endOffset;
+						}
+						String type = denormalizeType(methodInfo.substring(typeStartOffset, typeEndOfsset), secondCache);
+						firstCache.append(type);
+						typeStartOffset = anyLeft ? methodInfo.indexOf(',', typeEndOfsset) + 1 : -1;
+					} while (anyLeft);
 				}
+				firstCache.append(')').append(returnType);
+				members.add(new ProguardMemberInfo(currentClass, firstCache.toString(), right, methodName));
+			} else {
+				String fieldInfo = left;
+				int offset = 0;
+				while (fieldInfo.charAt(offset) == ' ') {
+					offset++;
+				}
+				String fieldType = denormalizeType(fieldInfo.substring(offset, offset = fieldInfo.indexOf(' ', offset)), firstCache);
+				String fieldName = fieldInfo.substring(offset + 1);
+				members.add(new ProguardMemberInfo(currentClass, fieldType, right, fieldName));
 			}
 		}
+
+		// Map member descriptors to obfuscated class names. Descriptors repeat often, so each is only mapped once.
+		Remapper remapper = new SimpleRemapper(classMap);
+		Map<String, String> mappedDescriptors = new HashMap<>();
+		for (ProguardMemberInfo member : members) {
+			String desc = mappedDescriptors.computeIfAbsent(member.desc(), d -> d.charAt(0) == '(' ?
+					remapper.mapMethodDesc(d) : remapper.mapDesc(d));
+			if (desc.charAt(0) == '(')
+				mappings.addMethod(member.owner(), desc, member.obfuscatedName(), member.originalName());
+			else
+				mappings.addField(member.owner(), desc, member.obfuscatedName(), member.originalName());
+		}
 		return mappings;
 	}
 
-	private static String denormalizeType(String type, StringBuilder stringCache, Map<String, ProguardClassInfo> map) {
+	private static String denormalizeType(String type, StringBuilder stringCache) {
 		int dimensions = 0;
 		int offset = 1;
 		int idx;
@@ -155,10 +161,6 @@ private static String denormalizeType(String type, StringBuilder stringCache, Ma
 			case "boolean" -> type = "Z";
 			default -> {
 				type = type.replace('.', '/');
-				ProguardClassInfo classInfo = map.get(type);
-				if (classInfo != null) {
-					type = classInfo.mappedName;
-				}
 				stringCache.append('L').append(type).append(';');
 			}
 		}
@@ -174,18 +176,20 @@ private static String denormalizeType(String type, StringBuilder stringCache, Ma
 		return type;
 	}
 
-	@Nullable
 	@Override
-	public String exportText(@Nonnull Mappings mappings) throws InvalidMappingException {
-		return MappingFileFormat.export(mappings, ProGuardFileWriter::new);
+	protected void write(@Nonnull Mappings mappings, @Nonnull Writer writer) throws InvalidMappingException {
+		MappingFileFormat.export(mappings, "in", List.of("out"), ProGuardFileWriter::new, writer);
 	}
 
-	private static final class ProguardClassInfo {
-		private List<String> toProcess = List.of();
-		private final String mappedName;
-
-		ProguardClassInfo(String mappedName) {
-			this.mappedName = mappedName;
-		}
-	}
+	/**
+	 * @param owner
+	 * 		Obfuscated name of the declaring class.
+	 * @param desc
+	 * 		Member descriptor, in terms of original class names.
+	 * @param obfuscatedName
+	 * 		Obfuscated member name.
+	 * @param originalName
+	 * 		Original member name.
+	 */
+	private record ProguardMemberInfo(String owner, String desc, String obfuscatedName, String originalName) {}
 }
@@ -7,8 +7,11 @@
 import software.coley.recaf.services.mapping.data.ClassMapping;
 import software.coley.recaf.services.mapping.data.FieldMapping;
 import software.coley.recaf.services.mapping.data.MethodMapping;
-import software.coley.recaf.util.StringUtil;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.Map;
 
 import static software.coley.recaf.util.EscapeUtil.escapeAll;
@@ -42,15 +45,24 @@ public SimpleMappings() {
 
 	@Nonnull
 	@Override
-	public IntermediateMappings parse(@Nonnull String mappingText) {
+	public IntermediateMappings parse(@Nonnull Reader reader) throws InvalidMappingException {
+		try {
+			return read(buffered(reader));
+		} catch (IOException ex) {
+			throw new InvalidMappingException(ex);
+		}
+	}
+
+	@Nonnull
+	private static IntermediateMappings read(@Nonnull BufferedReader reader) throws IOException {
 		IntermediateMappings mappings = new IntermediateMappings();
-		String[] lines = StringUtil.splitNewline(mappingText);
 		// # Comment
 		// BaseClass TargetClass
 		// BaseClass.baseField targetField
 		// BaseClass.baseField baseDesc targetField
 		// BaseClass.baseMethod(BaseMethodDesc) targetMethod
-		for (String line : lines) {
+		String line;
+		while ((line = reader.readLine()) != null) {
 			// Skip comments and empty lines
 			if (line.trim().startsWith("#") || line.trim().isEmpty())
 				continue;
@@ -89,9 +101,14 @@ public IntermediateMappings parse(@Nonnull String mappingText) {
 		return mappings;
 	}
 
+	@Nonnull
 	@Override
 	public String exportText(@Nonnull Mappings mappings) {
-		StringBuilder sb = new StringBuilder();
+		return writeText(mappings);
+	}
+
+	@Override
+	protected void write(@Nonnull Mappings mappings, @Nonnull Writer out) throws IOException {
 		IntermediateMappings intermediate = mappings.exportIntermediate();
 		for (String oldClassName : intermediate.getClassesWithMappings()) {
 			ClassMapping classMapping = intermediate.getClassMapping(oldClassName);
@@ -99,7 +116,7 @@ public String exportText(@Nonnull Mappings mappings) {
 			if (classMapping != null) {
 				String newClassName = classMapping.getNewName();
 				// BaseClass TargetClass
-				sb.append(escapedOldClassName).append(' ').append(newClassName).append("\n");
+				out.append(escapedOldClassName).append(' ').append(newClassName).append("\n");
 			}
 			for (FieldMapping fieldMapping : intermediate.getClassFieldMappings(oldClassName)) {
 				String oldFieldName = escapeAll(fieldMapping.getOldName());
@@ -107,12 +124,12 @@ public String exportText(@Nonnull Mappings mappings) {
 				String fieldDesc = escapeAll(fieldMapping.getDesc());
 				if (fieldDesc != null) {
 					// BaseClass.baseField baseDesc targetField
-					sb.append(escapedOldClassName).append('.').append(oldFieldName)
+					out.append(escapedOldClassName).append('.').append(oldFieldName)
 							.append(' ').append(fieldDesc)
 							.append(' ').append(newFieldName).append("\n");
 				} else {
 					// BaseClass.baseField targetField
-					sb.append(escapedOldClassName).append('.').append(oldFieldName)
+					out.append(escapedOldClassName).append('.').append(oldFieldName)
 							.append(' ').append(newFieldName).append("\n");
 				}
 			}
@@ -121,11 +138,10 @@ public String exportText(@Nonnull Mappings mappings) {
 				String newMethodName = escapeAll(methodMapping.getNewName());
 				String methodDesc = escapeAll(methodMapping.getDesc());
 				// BaseClass.baseMethod(BaseMethodDesc) targetMethod
-				sb.append(escapedOldClassName).append('.').append(oldMethodName)
+				out.append(escapedOldClassName).append('.').append(oldMethodName)
 						.append(methodDesc)
 						.append(' ').append(newMethodName).append("\n");
 			}
 		}
-		return sb.toString();
 	}
 }
@@ -13,8 +13,11 @@
 import software.coley.recaf.services.mapping.data.ClassMapping;
 import software.coley.recaf.services.mapping.data.FieldMapping;
 import software.coley.recaf.services.mapping.data.MethodMapping;
-import software.coley.recaf.util.StringUtil;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -37,12 +40,21 @@ public SrgMappings() {
 
 	@Nonnull
 	@Override
-	public IntermediateMappings parse(@Nonnull String mappingText) {
+	public IntermediateMappings parse(@Nonnull Reader reader) throws InvalidMappingException {
+		try {
+			return read(buffered(reader));
+		} catch (IOException ex) {
+			throw new InvalidMappingException(ex);
+		}
+	}
+
+	@Nonnull
+	private IntermediateMappings read(@Nonnull BufferedReader reader) throws IOException {
 		List<Pair<String, String>> packages = new ArrayList<>();
 		IntermediateMappings mappings = new SrgIntermediateMappings(packages);
-		String[] lines = StringUtil.splitNewline(mappingText);
 		int line = 0;
-		for (String lineStr : lines) {
+		String lineStr;
+		while ((lineStr = reader.readLine()) != null) {
 			line++;
 			String[] args = lineStr.trim().split(" ");
 			String type = args[0];
@@ -124,9 +136,14 @@ public IntermediateMappings parse(@Nonnull String mappingText) {
 		return mappings;
 	}
 
+	@Nonnull
 	@Override
 	public String exportText(@Nonnull Mappings mappings) {
-		StringBuilder sb = new StringBuilder();
+		return writeText(mappings);
+	}
+
+	@Override
+	protected void write(@Nonnull Mappings mappings, @Nonnull Writer out) throws IOException {
 		Remapper remapper = new BasicMappingsRemapper(mappings);
 		IntermediateMappings intermediate = mappings.exportIntermediate();
 		for (String oldClassName : intermediate.getClassesWithMappings()) {
@@ -134,7 +151,7 @@ public String exportText(@Nonnull Mappings mappings) {
 			if (classMapping != null) {
 				String newClassName = classMapping.getNewName();
 				// CL: BaseClass TargetClass
-				sb.append("CL: ").append(oldClassName).append(' ')
+				out.append("CL: ").append(oldClassName).append(' ')
 						.append(newClassName).append("\n");
 			}
 			String newClassName = classMapping == null ? oldClassName : classMapping.getNewName();
@@ -142,7 +159,7 @@ public String exportText(@Nonnull Mappings mappings) {
 				String oldFieldName = fieldMapping.getOldName();
 				String newFieldName = fieldMapping.getNewName();
 				// FD: BaseClass/baseField TargetClass/targetField
-				sb.append("FD: ")
+				out.append("FD: ")
 						.append(oldClassName).append('/').append(oldFieldName)
 						.append(' ')
 						.append(newClassName).append('/').append(newFieldName).append("\n");
@@ -153,7 +170,7 @@ public String exportText(@Nonnull Mappings mappings) {
 				String methodDesc = methodMapping.getDesc();
 				String mappedDesc = remapper.mapDesc(methodDesc);
 				// MD: BaseClass/baseMethod baseDesc TargetClass/targetMethod targetDesc
-				sb.append("MD: ")
+				out.append("MD: ")
 						.append(oldClassName).append('/').append(oldMethodName)
 						.append(' ')
 						.append(methodDesc)
@@ -163,7 +180,6 @@ public String exportText(@Nonnull Mappings mappings) {
 						.append(mappedDesc).append('\n');
 			}
 		}
-		return sb.toString();
 	}
 
 	/**
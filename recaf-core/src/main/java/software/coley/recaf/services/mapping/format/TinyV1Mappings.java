@@ -7,6 +7,8 @@
 import software.coley.recaf.services.mapping.IntermediateMappings;
 import software.coley.recaf.services.mapping.Mappings;
 
+import java.io.Reader;
+import java.io.Writer;
 import java.util.List;
 
 /**
@@ -28,12 +30,12 @@ public TinyV1Mappings() {
 
 	@Nonnull
 	@Override
-	public IntermediateMappings parse(@Nonnull String mappingText) throws InvalidMappingException {
-		return MappingFileFormat.parse(mappingText, Tiny1FileReader::read);
+	public IntermediateMappings parse(@Nonnull Reader reader) throws InvalidMappingException {
+		return MappingFileFormat.parse(reader, Tiny1FileReader::read);
 	}
 
 	@Override
-	public String exportText(@Nonnull Mappings mappings) throws InvalidMappingException {
-		return MappingFileFormat.export(mappings, "intermediary", List.of("named"), Tiny1FileWriter::new);
+	protected void write(@Nonnull Mappings mappings, @Nonnull Writer writer) throws InvalidMappingException {
+		MappingFileFormat.export(mappings, "intermediary", List.of("named"), Tiny1FileWriter::new, writer);
 	}
 }
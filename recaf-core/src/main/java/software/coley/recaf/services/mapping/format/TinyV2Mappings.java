@@ -7,6 +7,8 @@
 import software.coley.recaf.services.mapping.IntermediateMappings;
 import software.coley.recaf.services.mapping.Mappings;
 
+import java.io.Reader;
+import java.io.Writer;
 import java.util.List;
 
 /**
@@ -27,12 +29,12 @@ public TinyV2Mappings() {
 
 	@Nonnull
 	@Override
-	public IntermediateMappings parse(@Nonnull String mappingText) throws InvalidMappingException {
-		return MappingFileFormat.parse(mappingText, Tiny2FileReader::read);
+	public IntermediateMappings parse(@Nonnull Reader reader) throws InvalidMappingException {
+		return MappingFileFormat.parse(reader, Tiny2FileReader::read);
 	}
 
 	@Override
-	public String exportText(@Nonnull Mappings mappings) throws InvalidMappingException {
-		return MappingFileFormat.export(mappings, "intermediary", List.of("named"), writer -> new Tiny2FileWriter(writer, true));
+	protected void write(@Nonnull Mappings mappings, @Nonnull Writer writer) throws InvalidMappingException {
+		MappingFileFormat.export(mappings, "intermediary", List.of("named"), w -> new Tiny2FileWriter(w, true), writer);
 	}
 }
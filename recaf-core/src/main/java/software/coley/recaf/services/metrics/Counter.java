@@ -0,0 +1,35 @@
+package software.coley.recaf.services.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metric counting occurrences of an event.
+ *
+ * @author Matt Coley
+ * @see MetricsService#counter(String)
+ */
+public class Counter {
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * Increments the count by one.
+	 */
+	public void increment() {
+		count.increment();
+	}
+
+	/**
+	 * @param amount
+	 * 		Amount to increment the count by.
+	 */
+	public void add(long amount) {
+		count.add(amount);
+	}
+
+	/**
+	 * @return Current count.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+}
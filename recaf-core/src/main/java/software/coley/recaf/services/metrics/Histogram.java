@@ -0,0 +1,106 @@
+package software.coley.recaf.services.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metric recording the distribution of non-negative values, such as sizes or durations.
+ * <p>
+ * Values are counted in buckets by their highest set bit, so percentiles are approximate to within a factor of two,
+ * while recording a value takes constant time and space regardless of how many values are recorded.
+ *
+ * @author Matt Coley
+ * @see MetricsService#histogram(String)
+ */
+public class Histogram {
+	private static final int BUCKETS = 64;
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 * @param value
+	 * 		Value to record. Negative values are recorded as zero.
+	 */
+	public void record(long value) {
+		if (value < 0) value = 0;
+		buckets.incrementAndGet(bucket(value));
+		count.increment();
+		sum.add(value);
+		min.accumulateAndGet(value, Math::min);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * @return Number of recorded values.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return Sum of recorded values.
+	 */
+	public long getSum() {
+		return sum.sum();
+	}
+
+	/**
+	 * @return Smallest recorded value, or {@code 0} if no values were recorded.
+	 */
+	public long getMin() {
+		long value = min.get();
+		return value == Long.MAX_VALUE ? 0 : value;
+	}
+
+	/**
+	 * @return Largest recorded value, or {@code 0} if no values were recorded.
+	 */
+	public long getMax() {
+		long value = max.get();
+		return value == Long.MIN_VALUE ? 0 : value;
+	}
+
+	/**
+	 * @return Average of recorded values, or {@code 0} if no values were recorded.
+	 */
+	public double getMean() {
+		long count = getCount();
+		return count == 0 ? 0 : getSum() / (double) count;
+	}
+
+	/**
+	 * @param percentile
+	 * 		Percentile to get, from {@code 0} to {@code 1}.
+	 *
+	 * @return Approximate value at the given percentile, or {@code 0} if no values were recorded.
+	 */
+	public long getPercentile(double percentile) {
+		long total = 0;
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++)
+			total += counts[i] = buckets.get(i);
+		if (total == 0)
+			return 0;
+
+		// Report the upper bound of the bucket containing the percentile, clamped to the recorded range.
+		long rank = (long) Math.ceil(Math.min(1, Math.max(0, percentile)) * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank && counts[i] > 0) {
+				long upper = i == 0 ? 0 : i >= 63 ? Long.MAX_VALUE : (1L << i) - 1;
+				return Math.max(getMin(), Math.min(getMax(), upper));
+			}
+		}
+		return getMax();
+	}
+
+	private static int bucket(long value) {
+		// Bucket 0 holds zero, bucket N holds values in [2^(N-1), 2^N)
+		return 64 - Long.numberOfLeadingZeros(value);
+	}
+}
@@ -0,0 +1,35 @@
+package software.coley.recaf.services.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link MetricsService}, registered as {@value MetricsService#OBJECT_NAME}.
+ *
+ * @author Matt Coley
+ */
+public interface MetricsMXBean {
+	/**
+	 * @return Map of counter and gauge names to their values.
+	 */
+	Map<String, Long> getValues();
+
+	/**
+	 * @return Map of timer names to their number of recorded operations.
+	 */
+	Map<String, Long> getTimerCounts();
+
+	/**
+	 * @return Map of timer names to the average duration of their operations, in milliseconds.
+	 */
+	Map<String, Double> getTimerMeanMillis();
+
+	/**
+	 * @return JSON of a snapshot of all metrics.
+	 */
+	String getSnapshotJson();
+
+	/**
+	 * Writes a snapshot of all metrics to the metrics directory.
+	 */
+	void dump();
+}
@@ -0,0 +1,260 @@
+package software.coley.recaf.services.metrics;
+
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import software.coley.recaf.RecafBuildConfig;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.cdi.EagerInitialization;
+import software.coley.recaf.services.Service;
+import software.coley.recaf.services.file.RecafDirectoriesConfig;
+import software.coley.recaf.util.threading.ThreadUtil;
+import software.coley.recaf.util.threading.WorkPriority;
+import software.coley.recaf.util.threading.WorkScheduler;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of counters, timers, histograms, and gauges recording the activity of Recaf's services.
+ * <p>
+ * Metrics are created on first use by name, with names being dot separated such as {@code "search.duration"}.
+ * All metrics are visible over JMX as {@value #OBJECT_NAME}, and can be periodically written to the
+ * {@code metrics} folder of the {@link RecafDirectoriesConfig#getBaseDirectory() data directory} for comparing
+ * performance across versions and inputs. See {@link MetricsServiceConfig} for controlling the output.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+@EagerInitialization
+public class MetricsService implements Service {
+	public static final String SERVICE_ID = "metrics";
+	public static final String OBJECT_NAME = "software.coley.recaf:type=Metrics";
+	private static final Logger logger = Logging.get(MetricsService.class);
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+	private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+	private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+	private final MetricsServiceConfig config;
+	private final Path directory;
+	private ScheduledFuture<?> dumpTask;
+
+	@Inject
+	public MetricsService(@Nonnull MetricsServiceConfig config, @Nonnull RecafDirectoriesConfig directories) {
+		this.config = config;
+		this.directory = directories.getBaseDirectory().resolve("metrics");
+
+		// Include the activity of the shared scheduler, which all pooled service work runs on.
+		for (WorkPriority priority : WorkPriority.values()) {
+			String prefix = "scheduler." + priority.name().toLowerCase(Locale.ROOT) + '.';
+			gauge(prefix + "queued", () -> WorkScheduler.getStatistics(priority).queued());
+			gauge(prefix + "active", () -> WorkScheduler.getStatistics(priority).active());
+			gauge(prefix + "completed", () -> WorkScheduler.getStatistics(priority).completed());
+			gauge(prefix + "wait-nanos", () -> WorkScheduler.getStatistics(priority).totalWaitNanos());
+		}
+
+		registerMBean();
+		config.getDumpEnabled().addChangeListener((ob, old, cur) -> scheduleDump());
+		config.getDumpIntervalSeconds().addChangeListener((ob, old, cur) -> scheduleDump());
+		scheduleDump();
+	}
+
+	/**
+	 * @param name
+	 * 		Metric name.
+	 *
+	 * @return Counter of the given name.
+	 */
+	@Nonnull
+	public Counter counter(@Nonnull String name) {
+		return counters.computeIfAbsent(name, n -> new Counter());
+	}
+
+	/**
+	 * @param name
+	 * 		Metric name.
+	 *
+	 * @return Timer of the given name.
+	 */
+	@Nonnull
+	public Timer timer(@Nonnull String name) {
+		return timers.computeIfAbsent(name, n -> new Timer());
+	}
+
+	/**
+	 * @param name
+	 * 		Metric name.
+	 *
+	 * @return Histogram of the given name.
+	 */
+	@Nonnull
+	public Histogram histogram(@Nonnull String name) {
+		return histograms.computeIfAbsent(name, n -> new Histogram());
+	}
+
+	/**
+	 * Registers a value which is read when metrics are reported, such as the size of a queue.
+	 *
+	 * @param name
+	 * 		Metric name.
+	 * @param supplier
+	 * 		Supplier of the current value. Replaces any prior supplier of the same name.
+	 */
+	public void gauge(@Nonnull String name, @Nonnull LongSupplier supplier) {
+		gauges.put(name, supplier);
+	}
+
+	/**
+	 * @return Current values of all metrics.
+	 */
+	@Nonnull
+	public MetricsSnapshot snapshot() {
+		Map<String, MetricsSnapshot.Entry> entries = new TreeMap<>();
+		counters.forEach((name, counter) ->
+				entries.put(name, MetricsSnapshot.Entry.ofValue(name, MetricsSnapshot.Type.COUNTER, counter.getCount())));
+		gauges.forEach((name, gauge) ->
+				entries.put(name, MetricsSnapshot.Entry.ofValue(name, MetricsSnapshot.Type.GAUGE, gauge.getAsLong())));
+		histograms.forEach((name, histogram) ->
+				entries.put(name, MetricsSnapshot.Entry.ofHistogram(name, MetricsSnapshot.Type.HISTOGRAM, histogram)));
+		timers.forEach((name, timer) -> {
+			entries.put(name, MetricsSnapshot.Entry.ofHistogram(name, MetricsSnapshot.Type.TIMER, timer.getDurations()));
+			if (timer.getFailureCount() > 0)
+				entries.put(name + ".failures", MetricsSnapshot.Entry.ofValue(name + ".failures",
+						MetricsSnapshot.Type.COUNTER, timer.getFailureCount()));
+		});
+		return new MetricsSnapshot(System.currentTimeMillis(), RecafBuildConfig.VERSION, new ArrayList<>(entries.values()));
+	}
+
+	/**
+	 * Appends a snapshot of all metrics to the file of the {@link MetricsServiceConfig#getDumpFormat() configured format}.
+	 *
+	 * @return Path of the file written to.
+	 *
+	 * @throws IOException
+	 * 		When the file cannot be written to.
+	 */
+	@Nonnull
+	public Path dump() throws IOException {
+		MetricsSnapshot snapshot = snapshot();
+		Files.createDirectories(directory);
+		Path path;
+		String content;
+		if (config.getDumpFormat().getValue() == MetricsServiceConfig.DumpFormat.JSON) {
+			path = directory.resolve("metrics.jsonl");
+			content = snapshot.toJson() + System.lineSeparator();
+		} else {
+			path = directory.resolve("metrics.csv");
+			content = snapshot.toCsv();
+			if (!Files.exists(path))
+				content = MetricsSnapshot.CSV_HEADER + System.lineSeparator() + content;
+		}
+		Files.writeString(path, content, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		return path;
+	}
+
+	private synchronized void scheduleDump() {
+		if (dumpTask != null) {
+			dumpTask.cancel(false);
+			dumpTask = null;
+		}
+		if (!config.getDumpEnabled().getValue())
+			return;
+		long interval = Math.max(1, config.getDumpIntervalSeconds().getValue());
+		dumpTask = ThreadUtil.scheduleAtFixedRate(() -> {
+			try {
+				dump();
+			} catch (IOException ex) {
+				logger.warn("Failed to write metrics to '{}'", directory, ex);
+			}
+		}, interval, interval, TimeUnit.SECONDS);
+	}
+
+	private void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			try {
+				server.registerMBean(new MetricsBean(), name);
+			} catch (InstanceAlreadyExistsException ex) {
+				// Left over from a prior container, such as in tests.
+				server.unregisterMBean(name);
+				server.registerMBean(new MetricsBean(), name);
+			}
+		} catch (Exception ex) {
+			logger.warn("Failed to register metrics MBean", ex);
+		}
+	}
+
+	@Nonnull
+	@Override
+	public String getServiceId() {
+		return SERVICE_ID;
+	}
+
+	@Nonnull
+	@Override
+	public MetricsServiceConfig getServiceConfig() {
+		return config;
+	}
+
+	/**
+	 * JMX view of the service.
+	 */
+	private class MetricsBean implements MetricsMXBean {
+		@Override
+		public Map<String, Long> getValues() {
+			Map<String, Long> values = new TreeMap<>();
+			counters.forEach((name, counter) -> values.put(name, counter.getCount()));
+			gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+			return values;
+		}
+
+		@Override
+		public Map<String, Long> getTimerCounts() {
+			return mapTimers(Timer::getCount);
+		}
+
+		@Override
+		public Map<String, Double> getTimerMeanMillis() {
+			return mapTimers(Timer::getMeanMillis);
+		}
+
+		@Override
+		public String getSnapshotJson() {
+			return snapshot().toJson();
+		}
+
+		@Override
+		public void dump() {
+			try {
+				MetricsService.this.dump();
+			} catch (IOException ex) {
+				throw new IllegalStateException("Failed to write metrics", ex);
+			}
+		}
+
+		@Nonnull
+		private <T> Map<String, T> mapTimers(@Nonnull Function<Timer, T> mapper) {
+			Map<String, T> values = new TreeMap<>();
+			timers.forEach((name, timer) -> values.put(name, mapper.apply(timer)));
+			return values;
+		}
+	}
+}
@@ -0,0 +1,71 @@
+package software.coley.recaf.services.metrics;
+
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import software.coley.observables.ObservableBoolean;
+import software.coley.observables.ObservableInteger;
+import software.coley.observables.ObservableObject;
+import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
+import software.coley.recaf.config.ConfigGroups;
+import software.coley.recaf.services.ServiceConfig;
+
+/**
+ * Config for {@link MetricsService}.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class MetricsServiceConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableBoolean dumpEnabled = new ObservableBoolean(false);
+	private final ObservableInteger dumpIntervalSeconds = new ObservableInteger(300);
+	private final ObservableObject<DumpFormat> dumpFormat = new ObservableObject<>(DumpFormat.CSV);
+
+	@Inject
+	public MetricsServiceConfig() {
+		super(ConfigGroups.SERVICE_DEBUG, MetricsService.SERVICE_ID + CONFIG_SUFFIX);
+		// Add values
+		addValue(new BasicConfigValue<>("dump-enabled", boolean.class, dumpEnabled));
+		addValue(new BasicConfigValue<>("dump-interval-seconds", int.class, dumpIntervalSeconds));
+		addValue(new BasicConfigValue<>("dump-format", DumpFormat.class, dumpFormat));
+	}
+
+	/**
+	 * @return {@code true} to periodically write metrics to the metrics directory.
+	 */
+	@Nonnull
+	public ObservableBoolean getDumpEnabled() {
+		return dumpEnabled;
+	}
+
+	/**
+	 * @return Seconds between writing metrics.
+	 */
+	@Nonnull
+	public ObservableInteger getDumpIntervalSeconds() {
+		return dumpIntervalSeconds;
+	}
+
+	/**
+	 * @return Format to write metrics in.
+	 */
+	@Nonnull
+	public ObservableObject<DumpFormat> getDumpFormat() {
+		return dumpFormat;
+	}
+
+	/**
+	 * Formats for writing metrics.
+	 */
+	public enum DumpFormat {
+		/**
+		 * Appends one row per metric to {@code metrics.csv}.
+		 */
+		CSV,
+		/**
+		 * Appends one line of JSON per snapshot to {@code metrics.jsonl}.
+		 */
+		JSON
+	}
+}
@@ -0,0 +1,99 @@
+package software.coley.recaf.services.metrics;
+
+import com.google.gson.Gson;
+import jakarta.annotation.Nonnull;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Point in time copy of all metric values of a {@link MetricsService}.
+ *
+ * @param timestamp
+ * 		Time the snapshot was taken, in milliseconds since the epoch.
+ * @param version
+ * 		Recaf version the snapshot was taken in.
+ * @param entries
+ * 		Values of each metric, sorted by name.
+ *
+ * @author Matt Coley
+ */
+public record MetricsSnapshot(long timestamp, @Nonnull String version, @Nonnull List<Entry> entries) {
+	private static final Gson GSON = new Gson();
+	/**
+	 * Header line for {@link #toCsv()}.
+	 */
+	public static final String CSV_HEADER = "timestamp,version,name,type,count,sum,min,max,mean,p50,p95,p99";
+
+	/**
+	 * @return Snapshot as a single line of JSON.
+	 */
+	@Nonnull
+	public String toJson() {
+		return GSON.toJson(this);
+	}
+
+	/**
+	 * @return Snapshot as CSV lines, one per metric, without the {@link #CSV_HEADER header}.
+	 */
+	@Nonnull
+	public String toCsv() {
+		StringBuilder sb = new StringBuilder();
+		for (Entry entry : entries)
+			sb.append(String.format(Locale.ROOT, "%d,%s,%s,%s,%d,%d,%d,%d,%.3f,%d,%d,%d%n",
+					timestamp, version, entry.name(), entry.type().name().toLowerCase(Locale.ROOT),
+					entry.count(), entry.sum(), entry.min(), entry.max(), entry.mean(),
+					entry.p50(), entry.p95(), entry.p99()));
+		return sb.toString();
+	}
+
+	/**
+	 * Values of a single metric. For counters and gauges only the {@link #count()} is used.
+	 * Timer values other than the count are in nanoseconds.
+	 *
+	 * @param name
+	 * 		Metric name.
+	 * @param type
+	 * 		Metric type.
+	 * @param count
+	 * 		Counter or gauge value, or number of recorded values.
+	 * @param sum
+	 * 		Sum of recorded values.
+	 * @param min
+	 * 		Smallest recorded value.
+	 * @param max
+	 * 		Largest recorded value.
+	 * @param mean
+	 * 		Average recorded value.
+	 * @param p50
+	 * 		Approximate median recorded value.
+	 * @param p95
+	 * 		Approximate 95th percentile recorded value.
+	 * @param p99
+	 * 		Approximate 99th percentile recorded value.
+	 */
+	public record Entry(@Nonnull String name, @Nonnull Type type, long count, long sum, long min, long max,
+	                    double mean, long p50, long p95, long p99) {
+		@Nonnull
+		static Entry ofValue(@Nonnull String name, @Nonnull Type type, long value) {
+			return new Entry(name, type, value, 0, 0, 0, 0, 0, 0, 0);
+		}
+
+		@Nonnull
+		static Entry ofHistogram(@Nonnull String name, @Nonnull Type type, @Nonnull Histogram histogram) {
+			return new Entry(name, type, histogram.getCount(), histogram.getSum(), histogram.getMin(),
+					histogram.getMax(), histogram.getMean(), histogram.getPercentile(0.5),
+					histogram.getPercentile(0.95), histogram.getPercentile(0.99));
+		}
+	}
+
+	/**
+	 * Metric types.
+	 */
+	public enum Type {
+		COUNTER,
+		GAUGE,
+		HISTOGRAM,
+		TIMER
+	}
+}
@@ -0,0 +1,154 @@
+package software.coley.recaf.services.metrics;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metric recording the durations of an operation, in nanoseconds, along with how many of them failed.
+ *
+ * @author Matt Coley
+ * @see MetricsService#timer(String)
+ */
+public class Timer {
+	private final Histogram durations = new Histogram();
+	private final Counter failures = new Counter();
+
+	/**
+	 * @return Sample to {@link Sample#close() close} when the timed operation completes.
+	 */
+	@Nonnull
+	public Sample start() {
+		return new Sample(System.nanoTime());
+	}
+
+	/**
+	 * @param action
+	 * 		Operation to run and time.
+	 * @param <T>
+	 * 		Operation result type.
+	 * @param <X>
+	 * 		Operation exception type.
+	 *
+	 * @return Result of the operation.
+	 *
+	 * @throws X
+	 * 		When the operation fails, in which case it is recorded as a failure.
+	 */
+	public <T, X extends Exception> T time(@Nonnull Action<T, X> action) throws X {
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			T value = action.run();
+			failed = false;
+			return value;
+		} finally {
+			record(System.nanoTime() - start, failed);
+		}
+	}
+
+	/**
+	 * @param future
+	 * 		Future of an operation started just prior to this call.
+	 * @param <T>
+	 * 		Operation result type.
+	 *
+	 * @return The same future, which will have its duration recorded when it completes.
+	 */
+	@Nonnull
+	public <T> CompletableFuture<T> timeAsync(@Nonnull CompletableFuture<T> future) {
+		long start = System.nanoTime();
+		future.whenComplete((value, error) -> record(System.nanoTime() - start, error != null));
+		return future;
+	}
+
+	/**
+	 * @param nanos
+	 * 		Duration to record, in nanoseconds.
+	 * @param failed
+	 * 		Whether the operation failed.
+	 */
+	public void record(long nanos, boolean failed) {
+		durations.record(nanos);
+		if (failed) failures.increment();
+	}
+
+	/**
+	 * @return Distribution of recorded durations, in nanoseconds.
+	 */
+	@Nonnull
+	public Histogram getDurations() {
+		return durations;
+	}
+
+	/**
+	 * @return Number of recorded operations.
+	 */
+	public long getCount() {
+		return durations.getCount();
+	}
+
+	/**
+	 * @return Number of recorded operations which failed.
+	 */
+	public long getFailureCount() {
+		return failures.getCount();
+	}
+
+	/**
+	 * @return Average duration of recorded operations, in milliseconds.
+	 */
+	public double getMeanMillis() {
+		return durations.getMean() / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	/**
+	 * Operation to time.
+	 *
+	 * @param <T>
+	 * 		Operation result type.
+	 * @param <X>
+	 * 		Operation exception type.
+	 */
+	public interface Action<T, X extends Exception> {
+		/**
+		 * @return Result of the operation.
+		 *
+		 * @throws X
+		 * 		When the operation fails.
+		 */
+		T run() throws X;
+	}
+
+	/**
+	 * An in-progress timing of an operation.
+	 */
+	public class Sample implements AutoCloseable {
+		private final long start;
+		private boolean failed;
+		private boolean closed;
+
+		private Sample(long start) {
+			this.start = start;
+		}
+
+		/**
+		 * Marks the operation as failed, to be recorded as such when closed.
+		 */
+		public void fail() {
+			failed = true;
+		}
+
+		/**
+		 * Records the duration since the sample was started. Subsequent calls do nothing.
+		 */
+		@Override
+		public void close() {
+			if (closed)
+				return;
+			closed = true;
+			record(System.nanoTime() - start, failed);
+		}
+	}
+}
@@ -9,6 +9,9 @@
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.path.*;
 import software.coley.recaf.services.Service;
+import software.coley.recaf.services.metrics.Histogram;
+import software.coley.recaf.services.metrics.MetricsService;
+import software.coley.recaf.services.metrics.Timer;
 import software.coley.recaf.services.search.query.*;
 import software.coley.recaf.services.search.result.*;
 import software.coley.recaf.util.threading.ThreadPoolFactory;
@@ -34,10 +37,18 @@
 public class SearchService implements Service {
 	public static final String SERVICE_ID = "search";
 	private final SearchServiceConfig config;
+	private final Timer searchTimer;
+	private final Histogram resultCounts;
+
+	public SearchService(@Nonnull SearchServiceConfig config) {
+		this(config, null);
+	}
 
 	@Inject
-	public SearchService(SearchServiceConfig config) {
+	public SearchService(@Nonnull SearchServiceConfig config, @Nullable MetricsService metrics) {
 		this.config = config;
+		searchTimer = metrics == null ? new Timer() : metrics.timer("search");
+		resultCounts = metrics == null ? new Histogram() : metrics.histogram("search.results");
 	}
 
 	/**
@@ -93,6 +104,13 @@ public Results search(@Nonnull Workspace workspace, @Nonnull List<Query> queries
 	 */
 	@Nonnull
 	public Results search(@Nonnull Workspace workspace, @Nonnull List<Query> queries, @Nonnull SearchFeedback feedback) {
+		Results results = searchTimer.time(() -> searchInternal(workspace, queries, feedback));
+		resultCounts.record(results.size());
+		return results;
+	}
+
+	@Nonnull
+	private Results searchInternal(@Nonnull Workspace workspace, @Nonnull List<Query> queries, @Nonnull SearchFeedback feedback) {
 		Results results = new Results();
 
 		// Build visitors
@@ -0,0 +1,218 @@
+package software.coley.recaf.services.source;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.marker.Range;
+import software.coley.recaf.analytics.logging.DebuggingLogger;
+import software.coley.recaf.analytics.logging.Logging;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+
+/**
+ * Wrapper of a {@link JavaParser} which re-parses only the changed member of a class when possible.
+ * <p>
+ * When all changes between the last successfully parsed text and the new text fall within the declaration of a
+ * single member of a top-level class, a reduced copy of the source is parsed instead of the full source.
+ * In the reduced copy, the bodies of all other methods are emptied. This retains the declarations of all members,
+ * so references to them still resolve. The newly parsed member is then spliced into the existing unit.
+ * <p>
+ * When the change cannot be attributed to a single member, or the spliced unit does not reproduce the new text,
+ * the full source is parsed instead.
+ *
+ * @author Matt Coley
+ */
+public class AstIncrementalParser {
+	private static final DebuggingLogger logger = Logging.get(AstIncrementalParser.class);
+	private final JavaParser parser;
+	private List<MemberSpan> members;
+	private J.CompilationUnit unit;
+	private String text;
+
+	/**
+	 * @param parser
+	 * 		Parser to delegate to.
+	 */
+	public AstIncrementalParser(@Nonnull JavaParser parser) {
+		this.parser = parser;
+	}
+
+	/**
+	 * @param source
+	 * 		Source text to parse.
+	 *
+	 * @return Parsed source, or {@code null} if the parser yielded no result.
+	 * Failed parses yield a {@link org.openrewrite.tree.ParseError}.
+	 */
+	@Nullable
+	public SourceFile parse(@Nonnull String source) {
+		J.CompilationUnit incremental = parseIncremental(source);
+		if (incremental != null) {
+			update(incremental, source);
+			return incremental;
+		}
+
+		parser.reset();
+		List<SourceFile> results = parser.parse(source).toList();
+		if (results.isEmpty())
+			return null;
+		SourceFile result = results.getFirst();
+		if (result instanceof J.CompilationUnit parsedUnit)
+			update(parsedUnit, source);
+		return result;
+	}
+
+	/**
+	 * Drops the last parsed unit, so that the next parse covers the full source, and flushes the parser's caches.
+	 */
+	public void reset() {
+		parser.reset();
+		unit = null;
+		text = null;
+		members = null;
+	}
+
+	private void update(@Nonnull J.CompilationUnit unit, @Nonnull String text) {
+		this.unit = unit;
+		this.text = text;
+		members = null;
+	}
+
+	@Nullable
+	private J.CompilationUnit parseIncremental(@Nonnull String source) {
+		J.CompilationUnit lastUnit = unit;
+		String lastText = text;
+		if (lastUnit == null || lastText == null)
+			return null;
+
+		// Determine the changed region.
+		int lastLength = lastText.length();
+		int length = source.length();
+		int maxCommon = Math.min(lastLength, length);
+		int prefix = 0;
+		while (prefix < maxCommon && lastText.charAt(prefix) == source.charAt(prefix))
+			prefix++;
+		if (prefix == lastLength && prefix == length)
+			return lastUnit;
+		int suffix = 0;
+		while (suffix < maxCommon - prefix && lastText.charAt(lastLength - 1 - suffix) == source.charAt(length - 1 - suffix))
+			suffix++;
+		int changeStart = prefix;
+		int changeEnd = lastLength - suffix;
+
+		// Find the member containing the changed region.
+		List<MemberSpan> spans = getMembers(lastUnit, lastText);
+		MemberSpan changed = null;
+		for (MemberSpan span : spans) {
+			if (span.start() < changeStart && changeEnd < span.end()) {
+				changed = span;
+				break;
+			}
+		}
+		if (changed == null)
+			return null;
+
+		// Build a reduced source where all other method bodies are empty.
+		// Members following the changed one are shifted by the length difference of the change.
+		int delta = length - lastLength;
+		StringBuilder reduced = new StringBuilder(length);
+		int copied = 0;
+		for (MemberSpan span : spans) {
+			if (span == changed || span.bodyStart() < 0)
+				continue;
+			int shift = span.start() > changed.start() ? delta : 0;
+			int bodyStart = span.bodyStart() + shift;
+			int bodyEnd = span.bodyEnd() + shift;
+			reduced.append(source, copied, bodyStart).append("{}");
+			copied = bodyEnd;
+		}
+		reduced.append(source, copied, length);
+
+		parser.reset();
+		List<SourceFile> results = parser.parse(reduced.toString()).toList();
+		if (results.isEmpty() || !(results.getFirst() instanceof J.CompilationUnit reducedUnit))
+			return null;
+
+		// Splice the re-parsed member into the existing unit.
+		List<J.ClassDeclaration> reducedClasses = reducedUnit.getClasses();
+		if (reducedClasses.size() != lastUnit.getClasses().size())
+			return null;
+		List<Statement> reducedStatements = reducedClasses.get(changed.classIndex()).getBody().getStatements();
+		J.ClassDeclaration declaration = lastUnit.getClasses().get(changed.classIndex());
+		List<Statement> statements = new ArrayList<>(declaration.getBody().getStatements());
+		if (reducedStatements.size() != statements.size())
+			return null;
+		statements.set(changed.statementIndex(), reducedStatements.get(changed.statementIndex()));
+		List<J.ClassDeclaration> classes = new ArrayList<>(lastUnit.getClasses());
+		classes.set(changed.classIndex(), declaration.withBody(declaration.getBody().withStatements(statements)));
+		J.CompilationUnit splicedUnit = lastUnit.withClasses(classes);
+		splicedUnit = splicedUnit.withMarkers(splicedUnit.getMarkers().removeByType(AstRangeMapper.AstRangeMappingMarker.class));
+
+		// The parser drops tokens it cannot model, so verify the result matches the new text.
+		if (!source.equals(splicedUnit.printAll())) {
+			logger.debugging(l -> l.info("Spliced AST did not match source, falling back to full parse"));
+			return null;
+		}
+		logger.debugging(l -> l.info("Re-parsed single member at offset {}", changed.start()));
+		return splicedUnit;
+	}
+
+	@Nonnull
+	private List<MemberSpan> getMembers(@Nonnull J.CompilationUnit unit, @Nonnull String text) {
+		if (members != null)
+			return members;
+
+		Map<UUID, Range> ranges = new HashMap<>();
+		SortedMap<Range, Tree> rangeMap = AstRangeMapper.computeRangeToTreeMapping(unit, text);
+		rangeMap.forEach((range, tree) -> ranges.putIfAbsent(tree.getId(), range));
+
+		List<MemberSpan> spans = new ArrayList<>();
+		List<J.ClassDeclaration> classes = unit.getClasses();
+		for (int c = 0; c < classes.size(); c++) {
+			List<Statement> statements = classes.get(c).getBody().getStatements();
+			for (int s = 0; s < statements.size(); s++) {
+				Statement statement = statements.get(s);
+				Range range = ranges.get(statement.getId());
+				if (range == null)
+					continue;
+				int bodyStart = -1;
+				int bodyEnd = -1;
+				if (statement instanceof J.MethodDeclaration method && method.getBody() != null) {
+					Range bodyRange = ranges.get(method.getBody().getId());
+					if (bodyRange != null) {
+						bodyStart = bodyRange.getStart().getOffset();
+						bodyEnd = bodyRange.getEnd().getOffset();
+					}
+				}
+				spans.add(new MemberSpan(c, s, range.getStart().getOffset(), range.getEnd().getOffset(), bodyStart, bodyEnd));
+			}
+		}
+		members = spans;
+		return spans;
+	}
+
+	/**
+	 * @param classIndex
+	 * 		Index of the declaring top-level class in the unit.
+	 * @param statementIndex
+	 * 		Index of the member in the class body.
+	 * @param start
+	 * 		Start offset of the member in the parsed text.
+	 * @param end
+	 * 		End offset of the member in the parsed text.
+	 * @param bodyStart
+	 * 		Start offset of the method body in the parsed text, or {@code -1} for members without a method body.
+	 * @param bodyEnd
+	 * 		End offset of the method body in the parsed text, or {@code -1} for members without a method body.
+	 */
+	private record MemberSpan(int classIndex, int statementIndex, int start, int end, int bodyStart, int bodyEnd) {}
+}
@@ -112,7 +112,7 @@ protected void visitModifier(@Nonnull J.Modifier modifier, PrintOutputCapture<Ex
 		return rangeMap;
 	}
 
-	private record AstRangeMappingMarker(@Nonnull UUID uuid,
+	record AstRangeMappingMarker(@Nonnull UUID uuid,
 										 @Nonnull SortedMap<Range, Tree> rangeMap) implements Marker {
 		@Nonnull
 		@Override
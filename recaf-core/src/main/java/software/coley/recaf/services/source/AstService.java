@@ -2,19 +2,13 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.inject.Inject;
-import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.internal.JavaTypeCache;
-import software.coley.collections.Unchecked;
 import software.coley.recaf.cdi.WorkspaceScoped;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.services.Service;
-import software.coley.recaf.util.ReflectUtil;
 import software.coley.recaf.workspace.model.Workspace;
 
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
+import java.util.Collection;
 
 /**
  * Service for tracking shared data for AST parsing.
@@ -25,14 +19,17 @@
 public class AstService implements Service {
 	public static final String ID = "ast";
 	private final AstServiceConfig config;
-	private final JavaTypeCache javaTypeCache = new JavaTypeCacheExt();
-	private final Workspace workspace;
+	private final BoundedJavaTypeCache javaTypeCache;
+	private final WorkspaceClasspath classpath;
 
 	@Inject
 	public AstService(@Nonnull AstServiceConfig config,
 					  @Nonnull Workspace workspace) {
 		this.config = config;
-		this.workspace = workspace;
+		javaTypeCache = new BoundedJavaTypeCache(config.getTypeCacheSize()::getValue);
+		// Types of changed classes are cached by their signature, which does not change with the class contents.
+		// So when a class changes we drop its entries, otherwise new parsers would still see the prior types.
+		classpath = new WorkspaceClasspath(workspace, javaTypeCache::invalidate);
 	}
 
 	// TODO: Expose code-formatting system, which we can use to post-process code in decompilers
@@ -49,23 +46,47 @@ public AstService(@Nonnull AstServiceConfig config,
 	 */
 	@Nonnull
 	public JavaParser newParser(@Nonnull JvmClassInfo target) {
-		// Collect names of classes referenced.
-		Set<String> classNames = target.getReferencedClasses();
-
 		// Collect bytes of all referenced classes.
-		// For android classes, it is assumed 'asJvmClass()' will lazily convert to JVM classes.
-		byte[][] classpath = classNames.stream()
-				.map(workspace::findClass)
-				.filter(Objects::nonNull)
-				.map(path -> path.getValue().asJvmClass().getBytecode())
-				.toArray(byte[][]::new);
 		JavaParser parser = JavaParser.fromJavaVersion()
-				.classpath(classpath)
+				.classpath(classpath.getClasspath(target))
 				.typeCache(javaTypeCache)
 				.build();
 		return new DelegatingJavaParser(parser);
 	}
 
+	/**
+	 * @return Stamp of the current state of the classpath given to new parsers.
+	 * Pass to {@link #hasClasspathChanged(Collection, long)} to check if a parser made now later becomes outdated.
+	 */
+	public long getClasspathStamp() {
+		return classpath.getStamp();
+	}
+
+	/**
+	 * Parsers keep the bytecode of their classpath from when they were made. When any of those classes change,
+	 * a parser's type attribution is outdated and a new parser should be made.
+	 *
+	 * @param classNames
+	 * 		Names of classes on a parser's classpath, such as {@link JvmClassInfo#getReferencedClasses()} of the
+	 * 		class given to {@link #newParser(JvmClassInfo)}.
+	 * @param stamp
+	 * 		{@link #getClasspathStamp() Stamp} from before the parser was made.
+	 *
+	 * @return {@code true} when any of the classes have changed in the workspace since the stamp.
+	 */
+	public boolean hasClasspathChanged(@Nonnull Collection<String> classNames, long stamp) {
+		return classpath.hasChanged(classNames, stamp);
+	}
+
+	/**
+	 * @return Type cache shared between all parsers of this service.
+	 * Can be used to check hit, miss, and eviction counts.
+	 */
+	@Nonnull
+	public BoundedJavaTypeCache getTypeCache() {
+		return javaTypeCache;
+	}
+
 	@Nonnull
 	@Override
 	public String getServiceId() {
@@ -77,29 +98,4 @@ public String getServiceId() {
 	public AstServiceConfig getServiceConfig() {
 		return config;
 	}
-
-	/**
-	 * Modified cache impl that does not compress keys.
-	 * For more memory cost, we get some additional performance.
-	 */
-	private static class JavaTypeCacheExt extends JavaTypeCache {
-		private final Map<Object, Object> internalCache;
-
-		@SuppressWarnings("unchecked")
-		private JavaTypeCacheExt() {
-			internalCache = (Map<Object, Object>) Unchecked.get(() -> ReflectUtil.getDeclaredField(JavaTypeCache.class, "typeCache").get(this));
-		}
-
-		@Override
-		@Nullable
-		@SuppressWarnings("unchecked")
-		public <T> T get(@Nonnull String signature) {
-			return (T) internalCache.get(signature);
-		}
-
-		@Override
-		public void put(@Nonnull String signature, @Nonnull Object o) {
-			internalCache.put(signature, o);
-		}
-	}
 }
@@ -1,8 +1,11 @@
 package software.coley.recaf.services.source;
 
+import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import software.coley.observables.ObservableInteger;
 import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
 import software.coley.recaf.config.ConfigGroups;
 import software.coley.recaf.services.ServiceConfig;
 
@@ -13,8 +16,19 @@
  */
 @ApplicationScoped
 public class AstServiceConfig extends BasicConfigContainer implements ServiceConfig {
+	private final ObservableInteger typeCacheSize = new ObservableInteger(50_000);
+
 	@Inject
 	public AstServiceConfig() {
 		super(ConfigGroups.SERVICE_ANALYSIS, AstService.ID + CONFIG_SUFFIX);
+		addValue(new BasicConfigValue<>("type-cache-size", int.class, typeCacheSize));
+	}
+
+	/**
+	 * @return Maximum number of entries in the type cache shared between parsers.
+	 */
+	@Nonnull
+	public ObservableInteger getTypeCacheSize() {
+		return typeCacheSize;
 	}
 }
@@ -0,0 +1,164 @@
+package software.coley.recaf.services.source;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.openrewrite.java.internal.JavaTypeCache;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Type cache shared between parsers of {@link AstService}, bounded to a maximum number of entries.
+ * The least recently used entries are evicted first.
+ * <p>
+ * Unlike the base implementation, keys are not compressed. For more memory cost per entry, we get some additional
+ * performance, which is offset by bounding the number of entries.
+ * <p>
+ * Entries are keyed by type signature, which does not change with the contents of a class. So when a class changes
+ * it is passed to {@link #invalidate(String)}, which drops entries that mention the class. Invalidated classes are
+ * collected and flushed together on the next cache access, so that bulk changes only need a single pass over the cache.
+ *
+ * @author Matt Coley
+ */
+public class BoundedJavaTypeCache extends JavaTypeCache {
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final Set<String> invalidated = ConcurrentHashMap.newKeySet();
+	private final IntSupplier maximumSize;
+	private final Map<String, Object> cache = new LinkedHashMap<>(1024, 0.75F, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+			if (size() > maximumSize.getAsInt()) {
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	};
+
+	/**
+	 * @param maximumSize
+	 * 		Supplier of the maximum number of entries to hold.
+	 */
+	BoundedJavaTypeCache(@Nonnull IntSupplier maximumSize) {
+		this.maximumSize = maximumSize;
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T get(@Nonnull String signature) {
+		Object value;
+		synchronized (cache) {
+			flushInvalidated();
+			value = cache.get(signature);
+		}
+		if (value == null) misses.increment();
+		else hits.increment();
+		return (T) value;
+	}
+
+	@Override
+	public void put(@Nonnull String signature, @Nonnull Object o) {
+		synchronized (cache) {
+			flushInvalidated();
+			cache.put(signature, o);
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (cache) {
+			invalidated.clear();
+			cache.clear();
+		}
+	}
+
+	/**
+	 * Marks entries mentioning the given class as stale. They are removed on the next access of the cache.
+	 *
+	 * @param className
+	 * 		Internal name of a class that has changed.
+	 */
+	public void invalidate(@Nonnull String className) {
+		invalidated.add(className.replace('/', '.'));
+	}
+
+	/**
+	 * Removes entries whose signature mentions any {@link #invalidate(String) invalidated} class.
+	 * Must be called while holding the lock on {@link #cache}.
+	 */
+	private void flushInvalidated() {
+		if (invalidated.isEmpty())
+			return;
+		Set<String> names = new HashSet<>(invalidated);
+		invalidated.removeAll(names);
+		cache.keySet().removeIf(signature -> mentionsAny(signature, names));
+	}
+
+	/**
+	 * @param signature
+	 * 		Type signature, such as {@code com.example.Foo}, {@code java.util.List<com.example.Foo>},
+	 * 		or {@code com.example.Foo{name=bar,...}}.
+	 * @param names
+	 * 		Qualified class names.
+	 *
+	 * @return {@code true} when any qualified name within the signature is one of the given names.
+	 */
+	private static boolean mentionsAny(@Nonnull String signature, @Nonnull Set<String> names) {
+		int length = signature.length();
+		int start = -1;
+		for (int i = 0; i <= length; i++) {
+			boolean namePart = i < length && isNamePart(signature.charAt(i));
+			if (namePart && start < 0) {
+				start = i;
+			} else if (!namePart && start >= 0) {
+				if (names.contains(signature.substring(start, i)))
+					return true;
+				start = -1;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isNamePart(char c) {
+		return c == '.' || Character.isJavaIdentifierPart(c);
+	}
+
+	/**
+	 * @return Current number of cached entries.
+	 */
+	public int getSize() {
+		synchronized (cache) {
+			flushInvalidated();
+			return cache.size();
+		}
+	}
+
+	/**
+	 * @return Number of lookups which found a cached entry.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return Number of lookups which did not find a cached entry.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return Number of entries evicted to stay within the maximum size.
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+}
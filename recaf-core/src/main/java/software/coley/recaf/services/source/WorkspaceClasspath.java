@@ -0,0 +1,168 @@
+package software.coley.recaf.services.source;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.info.AndroidClassInfo;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.WorkspaceModificationListener;
+import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.ResourceAndroidClassListener;
+import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Classpath provider for parsers of {@link AstService}, shared between all parsers of a workspace.
+ * <p>
+ * The bytecode of each class is resolved from the workspace once, and reused until the class is updated or removed.
+ * For android classes this also means conversion to JVM classes only happens once per class.
+ * <p>
+ * Each invalidation is stamped, so that holders of a parser can check if any class on its classpath has changed
+ * since the parser was made. See {@link #getStamp()} and {@link #hasChanged(Collection, long)}.
+ *
+ * @author Matt Coley
+ */
+class WorkspaceClasspath implements WorkspaceModificationListener, ResourceJvmClassListener, ResourceAndroidClassListener {
+	private static final byte[] MISSING = new byte[0];
+	private final Map<String, byte[]> bytecode = new ConcurrentHashMap<>();
+	private final Map<String, Long> changeStamps = new ConcurrentHashMap<>();
+	private final AtomicLong stamp = new AtomicLong();
+	private final Workspace workspace;
+	private final Consumer<String> changeListener;
+	private volatile long libraryChangeStamp;
+
+	/**
+	 * @param workspace
+	 * 		Workspace to pull classes from.
+	 * @param changeListener
+	 * 		Action to run with the name of each changed class, to flush any type information derived from its prior state.
+	 */
+	WorkspaceClasspath(@Nonnull Workspace workspace, @Nonnull Consumer<String> changeListener) {
+		this.workspace = workspace;
+		this.changeListener = changeListener;
+
+		// Only the primary resource has classes that may change.
+		WorkspaceResource primaryResource = workspace.getPrimaryResource();
+		primaryResource.addResourceJvmClassListener(this);
+		primaryResource.addResourceAndroidClassListener(this);
+		workspace.addWorkspaceModificationListener(this);
+	}
+
+	/**
+	 * @param target
+	 * 		Class to target.
+	 *
+	 * @return Bytecode of classes referenced by the given class, which exist in the workspace.
+	 */
+	@Nonnull
+	byte[][] getClasspath(@Nonnull JvmClassInfo target) {
+		List<byte[]> classpath = new ArrayList<>();
+		for (String name : target.getReferencedClasses()) {
+			byte[] classBytecode = bytecode.computeIfAbsent(name, this::resolve);
+			if (classBytecode != MISSING)
+				classpath.add(classBytecode);
+		}
+		return classpath.toArray(byte[][]::new);
+	}
+
+	/**
+	 * @return Current stamp, to later pass to {@link #hasChanged(Collection, long)}.
+	 */
+	long getStamp() {
+		return stamp.get();
+	}
+
+	/**
+	 * @param names
+	 * 		Names of classes on a classpath.
+	 * @param since
+	 * 		Stamp from when the classpath was made.
+	 *
+	 * @return {@code true} when any of the classes have been added, updated, or removed since the given stamp,
+	 * or when libraries were added or removed since then.
+	 */
+	boolean hasChanged(@Nonnull Collection<String> names, long since) {
+		if (libraryChangeStamp > since)
+			return true;
+		for (String name : names) {
+			Long changed = changeStamps.get(name);
+			if (changed != null && changed > since)
+				return true;
+		}
+		return false;
+	}
+
+	@Nonnull
+	private byte[] resolve(@Nonnull String name) {
+		// For android classes, it is assumed 'asJvmClass()' will lazily convert to JVM classes.
+		ClassPathNode path = workspace.findClass(name);
+		return path == null ? MISSING : path.getValue().asJvmClass().getBytecode();
+	}
+
+	private void invalidate(@Nullable String name) {
+		if (name != null) {
+			bytecode.remove(name);
+			changeStamps.put(name, stamp.incrementAndGet());
+			changeListener.accept(name);
+		}
+	}
+
+	@Override
+	public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+		// Classes previously missing may now be provided by the library.
+		bytecode.values().removeIf(b -> b == MISSING);
+		libraryChangeStamp = stamp.incrementAndGet();
+		library.classBundleStreamRecursive().forEach(bundle -> bundle.keySet().forEach(changeListener));
+	}
+
+	@Override
+	public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+		bytecode.clear();
+		libraryChangeStamp = stamp.incrementAndGet();
+		library.classBundleStreamRecursive().forEach(bundle -> bundle.keySet().forEach(changeListener));
+	}
+
+	@Override
+	public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+		invalidate(cls.getName());
+	}
+
+	@Override
+	public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+	                          @Nonnull JvmClassInfo oldCls, @Nonnull JvmClassInfo newCls) {
+		invalidate(oldCls.getName());
+		invalidate(newCls.getName());
+	}
+
+	@Override
+	public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+		invalidate(cls.getName());
+	}
+
+	@Override
+	public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
+		invalidate(cls.getName());
+	}
+
+	@Override
+	public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle,
+	                          @Nonnull AndroidClassInfo oldCls, @Nonnull AndroidClassInfo newCls) {
+		invalidate(oldCls.getName());
+		invalidate(newCls.getName());
+	}
+
+	@Override
+	public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
+		invalidate(cls.getName());
+	}
+}
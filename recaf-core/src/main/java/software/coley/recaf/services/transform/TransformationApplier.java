@@ -15,6 +15,8 @@
 import software.coley.recaf.path.ResourcePathNode;
 import software.coley.recaf.services.Service;
 import software.coley.recaf.services.inheritance.InheritanceGraph;
+import software.coley.recaf.services.metrics.MetricsService;
+import software.coley.recaf.services.metrics.Timer;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
@@ -39,13 +41,20 @@ public class TransformationApplier implements Service {
 	private final TransformationManager manager;
 	private final InheritanceGraph graph;
 	private final TransformationApplierConfig config;
+	private final Timer transformTimer;
 
-	@Inject
 	public TransformationApplier(@Nonnull TransformationManager manager, @Nonnull InheritanceGraph graph,
 	                             @Nonnull TransformationApplierConfig config) {
+		this(manager, graph, config, null);
+	}
+
+	@Inject
+	public TransformationApplier(@Nonnull TransformationManager manager, @Nonnull InheritanceGraph graph,
+	                             @Nonnull TransformationApplierConfig config, @Nullable MetricsService metrics) {
 		this.manager = manager;
 		this.graph = graph;
 		this.config = config;
+		transformTimer = metrics == null ? new Timer() : metrics.timer("transform.jvm");
 	}
 
 	/**
@@ -83,6 +92,12 @@ public TransformResult transformJvm(@Nonnull Workspace workspace, @Nonnull List<
 	@Nonnull
 	public TransformResult transformJvm(@Nonnull Workspace workspace, @Nonnull List<Class<? extends JvmClassTransformer>> transformerClasses,
 	                                    @Nullable JvmClassTransformerPredicate predicate) throws TransformationException {
+		return transformTimer.time(() -> transformJvmInternal(workspace, transformerClasses, predicate));
+	}
+
+	@Nonnull
+	private TransformResult transformJvmInternal(@Nonnull Workspace workspace, @Nonnull List<Class<? extends JvmClassTransformer>> transformerClasses,
+	                                             @Nullable JvmClassTransformerPredicate predicate) throws TransformationException {
 		// Build transformer visitation order
 		TransformerQueue queue = buildQueue(transformerClasses);
 
@@ -2,6 +2,7 @@
 
 import com.google.common.annotations.VisibleForTesting;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.enterprise.inject.spi.Bean;
@@ -51,6 +52,7 @@ public TransformationManager(@Nonnull TransformationManagerConfig config, @Nonnu
 				// here then even @Dependent scoped beans will yield the same instance again and again.
 				return Bootstrap.get().get(transformerClass);
 			});
+			registerName(transformerClass);
 		}
 	}
 
@@ -63,9 +65,26 @@ public TransformationManager(@Nonnull TransformationManagerConfig config, @Nonnu
 	@VisibleForTesting
 	public TransformationManager(@Nonnull Map<Class<? extends JvmClassTransformer>, Supplier<JvmClassTransformer>> jvmTransformerSuppliers) {
 		this.jvmTransformerSuppliers.putAll(jvmTransformerSuppliers);
+		this.jvmTransformerSuppliers.keySet().forEach(this::registerName);
 		this.config = new TransformationManagerConfig();
 	}
 
+	/**
+	 * @param name
+	 * 		Fully qualified or simple name of a transformer class.
+	 *
+	 * @return Registered transformer class of the given name, or {@code null} when no such transformer is registered.
+	 */
+	@Nullable
+	public Class<? extends JvmClassTransformer> getJvmTransformerClass(@Nonnull String name) {
+		return nameToJvmTransformerClass.get(name);
+	}
+
+	private void registerName(@Nonnull Class<? extends JvmClassTransformer> transformerClass) {
+		nameToJvmTransformerClass.put(transformerClass.getName(), transformerClass);
+		nameToJvmTransformerClass.putIfAbsent(transformerClass.getSimpleName(), transformerClass);
+	}
+
 	@Nonnull
 	@SuppressWarnings("unchecked")
 	public <T extends JvmClassTransformer> T newJvmTransformer(@Nonnull Class<T> type) throws TransformationException {
@@ -1,6 +1,7 @@
 package software.coley.recaf.services.workspace.io;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.objectweb.asm.ClassReader;
@@ -8,10 +9,14 @@
 import software.coley.cafedude.classfile.VersionConstants;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.Info;
+import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.builder.*;
+import software.coley.recaf.info.properties.builtin.ClassValidationStatusProperty;
 import software.coley.recaf.info.properties.builtin.IllegalClassSuspectProperty;
 import software.coley.recaf.util.ByteHeaderUtil;
+import software.coley.recaf.util.ClassStructureValidator;
 import software.coley.recaf.util.IOUtil;
+import software.coley.recaf.util.StringPool;
 import software.coley.recaf.util.android.AndroidXmlUtil;
 import software.coley.recaf.util.io.ByteSource;
 
@@ -37,6 +42,12 @@ public BasicInfoImporter(@Nonnull InfoImporterConfig config, @Nonnull ClassPatch
 	@Nonnull
 	@Override
 	public Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IOException {
+		return readInfo(name, source, null);
+	}
+
+	@Nonnull
+	@Override
+	public Info readInfo(@Nonnull String name, @Nonnull ByteSource source, @Nullable StringPool stringPool) throws IOException {
 		byte[] data = source.readAll();
 
 		// Check for Java classes
@@ -45,12 +56,41 @@ public Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IO
 				// If we're skipping validation, any ASM parse failures will result in the class
 				// being treated as a file instead (see catch block)
 				if (config.doSkipAsmValidation())
-					return new JvmClassInfoBuilder(data).build();
+					return new JvmClassInfoBuilder()
+							.withStringPool(stringPool)
+							.adaptFrom(data)
+							.build();
+
+				// If we are deferring validation, the class is read without checks and validated later once
+				// its workspace is opened. Classes ASM cannot read at all fall through to be patched here,
+				// since we cannot model them otherwise.
+				if (config.doDeferValidation()) {
+					try {
+						JvmClassInfo info = new JvmClassInfoBuilder()
+								.withStringPool(stringPool)
+								.adaptFrom(data)
+								.build();
+						ClassValidationStatusProperty.set(info, ClassValidationStatusProperty.Status.PENDING);
+						return info;
+					} catch (Throwable t) {
+						logger.debug("Could not defer validation of class '{}', reading failed", name);
+					}
+				}
 
 				// If we are doing validation, disable skipping ASM checks.
+				// With structural validation only the classes flagged by the structural check are given the
+				// more expensive ASM checks. Any ASM parse failure for the others is still handled below.
 				try {
+					boolean fullValidation = true;
+					if (config.doStructuralValidation()) {
+						String problem = ClassStructureValidator.validate(data);
+						fullValidation = problem != null;
+						if (fullValidation)
+							logger.debug("Structural check flagged class '{}': {}", name, problem);
+					}
 					return new JvmClassInfoBuilder()
-							.skipValidationChecks(false)
+							.withStringPool(stringPool)
+							.skipValidationChecks(!fullValidation)
 							.adaptFrom(data)
 							.build();
 				} catch (Throwable t) {
@@ -58,8 +98,9 @@ public Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IO
 					byte[] patched = classPatcher.patch(name, data);
 					logger.debug("CafeDude patched class: {}", name);
 					try {
-						return new JvmClassInfoBuilder(patched)
-							.skipValidationChecks(false)
+						return new JvmClassInfoBuilder()
+							.withStringPool(stringPool)
+							.adaptFrom(patched)
 							.build();
 					} catch (Throwable t1) {
 						logger.error("CafeDude patching output is still non-compliant with ASM for file: {}", name);
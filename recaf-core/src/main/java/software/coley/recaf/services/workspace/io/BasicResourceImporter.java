@@ -15,8 +15,12 @@
 import software.coley.recaf.info.builder.FileInfoBuilder;
 import software.coley.recaf.info.properties.builtin.*;
 import software.coley.recaf.services.Service;
+import software.coley.recaf.services.metrics.Histogram;
+import software.coley.recaf.services.metrics.MetricsService;
+import software.coley.recaf.services.metrics.Timer;
 import software.coley.recaf.util.IOUtil;
 import software.coley.recaf.util.ModulesIOUtil;
+import software.coley.recaf.util.StringPool;
 import software.coley.recaf.util.StringUtil;
 import software.coley.recaf.util.android.DexIOUtil;
 import software.coley.recaf.util.io.ByteSource;
@@ -45,12 +49,36 @@ public class BasicResourceImporter implements ResourceImporter, Service {
 	private static final Logger logger = Logging.get(BasicResourceImporter.class);
 	private final InfoImporter infoImporter;
 	private final ResourceImporterConfig config;
+	private final Timer importTimer;
+	private final Histogram importedClasses;
 
-	@Inject
+	/**
+	 * @param infoImporter
+	 * 		Importer to read individual items with.
+	 * @param config
+	 * 		Config instance.
+	 */
 	public BasicResourceImporter(@Nonnull InfoImporter infoImporter,
 	                             @Nonnull ResourceImporterConfig config) {
+		this(infoImporter, config, null);
+	}
+
+	/**
+	 * @param infoImporter
+	 * 		Importer to read individual items with.
+	 * @param config
+	 * 		Config instance.
+	 * @param metrics
+	 * 		Metrics to record imports in. May be {@code null} to not record metrics.
+	 */
+	@Inject
+	public BasicResourceImporter(@Nonnull InfoImporter infoImporter,
+	                             @Nonnull ResourceImporterConfig config,
+	                             @Nullable MetricsService metrics) {
 		this.infoImporter = infoImporter;
 		this.config = config;
+		importTimer = metrics == null ? new Timer() : metrics.timer("import.resource");
+		importedClasses = metrics == null ? new Histogram() : metrics.histogram("import.resource.classes");
 	}
 
 	/**
@@ -62,16 +90,19 @@ public BasicResourceImporter(@Nonnull InfoImporter infoImporter,
 	 * 		Name of input file / content.
 	 * @param source
 	 * 		Access to content / data.
+	 * @param pool
+	 * 		Pool to share strings of read classes through, or {@code null} to not pool strings.
 	 *
 	 * @return Read resource.
 	 */
 	private WorkspaceResource handleSingle(@Nonnull WorkspaceFileResourceBuilder builder,
-	                                       @Nonnull String pathName, @Nonnull ByteSource source) throws IOException {
+	                                       @Nonnull String pathName, @Nonnull ByteSource source,
+	                                       @Nullable StringPool pool) throws IOException {
 		// Read input as raw info in order to determine file-type.
 		PathAndName pathAndName = PathAndName.fromString(pathName);
 		String name = pathAndName.name;
 		Path localPath = pathAndName.path;
-		Info readInfo = infoImporter.readInfo(name, source);
+		Info readInfo = infoImporter.readInfo(name, source, pool);
 
 		// Check if it is a single class.
 		if (readInfo.isClass()) {
@@ -104,20 +135,20 @@ private WorkspaceResource handleSingle(@Nonnull WorkspaceFileResourceBuilder bui
 		// Check for general ZIP container format (ZIP/JAR/WAR/APK/JMod)
 		if (readInfoAsFile.isZipFile()) {
 			ZipFileInfo readInfoAsZip = readInfoAsFile.asZipFile();
-			return handleZip(builder, readInfoAsZip, source);
+			return handleZip(builder, readInfoAsZip, source, pool);
 		}
 
 		// Check for DEX file format.
 		if (readInfoAsFile instanceof DexFileInfo) {
 			String dexName = readInfoAsFile.getName();
-			AndroidClassBundle dexBundle = DexIOUtil.read(readInfoAsFile.getRawContent());
+			AndroidClassBundle dexBundle = DexIOUtil.read(readInfoAsFile.getRawContent(), pool);
 			return builder.withAndroidClassBundles(Map.of(dexName, dexBundle))
 					.build();
 		}
 
 		// Must be some edge case type: Modules, or an unknown file type
 		if (readInfoAsFile instanceof ModulesFileInfo) {
-			return handleModules(builder, (ModulesFileInfo) readInfoAsFile);
+			return handleModules(builder, (ModulesFileInfo) readInfoAsFile, pool);
 		}
 
 		// Unknown file type
@@ -128,7 +159,8 @@ private WorkspaceResource handleSingle(@Nonnull WorkspaceFileResourceBuilder bui
 				.build();
 	}
 
-	private WorkspaceFileResource handleZip(WorkspaceFileResourceBuilder builder, ZipFileInfo zipInfo, ByteSource source) throws IOException {
+	private WorkspaceFileResource handleZip(WorkspaceFileResourceBuilder builder, ZipFileInfo zipInfo, ByteSource source,
+	                                        StringPool pool) throws IOException {
 		logger.info("Reading input from ZIP container '{}'", zipInfo.getName());
 		builder.withFileInfo(zipInfo);
 		BasicJvmClassBundle classes = new BasicJvmClassBundle();
@@ -167,7 +199,7 @@ private WorkspaceFileResource handleZip(WorkspaceFileResourceBuilder builder, Zi
 			// Read the value of the entry to figure out how to handle adding it to the resource builder.
 			Info info;
 			try {
-				info = infoImporter.readInfo(entryName, headerSource);
+				info = infoImporter.readInfo(entryName, headerSource, pool);
 			} catch (IOException ex) {
 				logger.error("IO error reading ZIP entry '{}' - skipping", entryName, ex);
 				return;
@@ -205,7 +237,7 @@ private WorkspaceFileResource handleZip(WorkspaceFileResourceBuilder builder, Zi
 
 			// Add the info to the appropriate bundle
 			addInfo(classes, files, androidClassBundles, versionedJvmClassBundles, embeddedResources,
-					headerSource, entryName, info);
+					headerSource, entryName, info, pool);
 		});
 		return builder
 				.withJvmClassBundle(classes)
@@ -217,7 +249,8 @@ private WorkspaceFileResource handleZip(WorkspaceFileResourceBuilder builder, Zi
 				.build();
 	}
 
-	private WorkspaceDirectoryResource handleDirectory(WorkspaceResourceBuilder builder, Path directoryPath) throws IOException {
+	private WorkspaceDirectoryResource handleDirectory(WorkspaceResourceBuilder builder, Path directoryPath,
+	                                                   StringPool pool) throws IOException {
 		logger.info("Reading input from directory '{}'", directoryPath);
 		BasicJvmClassBundle classes = new BasicJvmClassBundle();
 		BasicFileBundle files = new BasicFileBundle();
@@ -235,11 +268,11 @@ public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IO
 					String fileName = directoryPath.relativize(file).toString();
 					if (File.separator.equals("\\"))
 						fileName = fileName.replace('\\', '/');
-					Info info = infoImporter.readInfo(fileName, source);
+					Info info = infoImporter.readInfo(fileName, source, pool);
 
 					// Add the info to the appropriate bundle
 					addInfo(classes, files, androidClassBundles, versionedJvmClassBundles, embeddedResources,
-							source, fileName, info);
+							source, fileName, info, pool);
 				} catch (IOException ex) {
 					logger.error("IO error reading ZIP entry '{}' - skipping", file, ex);
 				}
@@ -264,7 +297,8 @@ private void addInfo(BasicJvmClassBundle classes,
 	                     Map<String, WorkspaceFileResource> embeddedResources,
 	                     ByteSource infoSource,
 	                     String pathName,
-	                     Info info) {
+	                     Info info,
+	                     StringPool pool) {
 		if (info.isClass()) {
 			// Must be a JVM class since Android classes do not exist in single-file form.
 			JvmClassInfo classInfo = info.asClass().asJvmClass();
@@ -373,7 +407,7 @@ private void addInfo(BasicJvmClassBundle classes,
 			// Check for special file cases (Currently just DEX)
 			if (fileInfo instanceof DexFileInfo) {
 				try {
-					AndroidClassBundle dexBundle = DexIOUtil.read(infoSource);
+					AndroidClassBundle dexBundle = DexIOUtil.read(infoSource, pool);
 					androidClassBundles.put(pathName, dexBundle);
 					return;
 				} catch (IOException ex) {
@@ -387,7 +421,7 @@ private void addInfo(BasicJvmClassBundle classes,
 					WorkspaceFileResourceBuilder embeddedResourceBuilder = new WorkspaceFileResourceBuilder()
 							.withFileInfo(fileInfo);
 					WorkspaceFileResource embeddedResource = handleZip(embeddedResourceBuilder,
-							fileInfo.asZipFile(), infoSource);
+							fileInfo.asZipFile(), infoSource, pool);
 					embeddedResources.put(pathName, embeddedResource);
 				} catch (IOException ex) {
 					logger.error("Failed to read embedded ZIP '{}'", pathName, ex);
@@ -401,7 +435,7 @@ private void addInfo(BasicJvmClassBundle classes,
 					WorkspaceResourceBuilder embeddedResourceBuilder = new WorkspaceResourceBuilder()
 							.withFileInfo(fileInfo);
 					WorkspaceFileResource embeddedResource =
-							(WorkspaceFileResource) handleModules(embeddedResourceBuilder, (ModulesFileInfo) fileInfo);
+							(WorkspaceFileResource) handleModules(embeddedResourceBuilder, (ModulesFileInfo) fileInfo, pool);
 					embeddedResources.put(pathName, embeddedResource);
 				} catch (IOException ex) {
 					logger.error("Failed to read embedded ZIP '{}'", pathName, ex);
@@ -533,7 +567,8 @@ private void deduplicateClass(JvmClassInfo existingClass, JvmClassInfo currentCl
 		}
 	}
 
-	private WorkspaceResource handleModules(WorkspaceResourceBuilder builder, ModulesFileInfo moduleInfo) throws IOException {
+	private WorkspaceResource handleModules(WorkspaceResourceBuilder builder, ModulesFileInfo moduleInfo,
+	                                        StringPool pool) throws IOException {
 		BasicJvmClassBundle classes = new BasicJvmClassBundle();
 		BasicFileBundle files = new BasicFileBundle();
 
@@ -549,7 +584,7 @@ private WorkspaceResource handleModules(WorkspaceResourceBuilder builder, Module
 					ByteSource moduleFileSource = entry.getByteSource();
 					Info info;
 					try {
-						info = infoImporter.readInfo(moduleEntry.getFileName(), moduleFileSource);
+						info = infoImporter.readInfo(moduleEntry.getFileName(), moduleFileSource, pool);
 					} catch (IOException ex) {
 						logger.error("IO error reading modules entry '{}' - skipping", moduleEntry.getOriginalPath());
 						return;
@@ -577,7 +612,7 @@ private WorkspaceResource handleModules(WorkspaceResourceBuilder builder, Module
 	@Nonnull
 	@Override
 	public WorkspaceResource importResource(@Nonnull ByteSource source) throws IOException {
-		return handleSingle(new WorkspaceFileResourceBuilder(), "unknown.dat", source);
+		return timed(pool -> handleSingle(new WorkspaceFileResourceBuilder(), "unknown.dat", source, pool));
 	}
 
 	@Nonnull
@@ -586,10 +621,10 @@ public WorkspaceResource importResource(@Nonnull Path path) throws IOException {
 		// Load name/data from path, parse into resource.
 		String absolutePath = StringUtil.pathToAbsoluteString(path);
 		if (Files.isDirectory(path)) {
-			return handleDirectory(new WorkspaceFileResourceBuilder(), path);
+			return timed(pool -> handleDirectory(new WorkspaceFileResourceBuilder(), path, pool));
 		} else {
 			ByteSource byteSource = ByteSources.forPath(path);
-			return handleSingle(new WorkspaceFileResourceBuilder(), absolutePath, byteSource);
+			return timed(pool -> handleSingle(new WorkspaceFileResourceBuilder(), absolutePath, byteSource, pool));
 		}
 	}
 
@@ -609,9 +644,31 @@ public WorkspaceResource importResource(@Nonnull URL url) throws IOException {
 		}
 
 		// Load content, parse into resource.
-		byte[] bytes = IOUtil.toByteArray(url.openStream());
-		ByteSource byteSource = ByteSources.wrap(bytes);
-		return handleSingle(new WorkspaceFileResourceBuilder(), path, byteSource);
+		String name = path;
+		return timed(pool -> {
+			byte[] bytes = IOUtil.toByteArray(url.openStream());
+			ByteSource byteSource = ByteSources.wrap(bytes);
+			return handleSingle(new WorkspaceFileResourceBuilder(), name, byteSource, pool);
+		});
+	}
+
+	/**
+	 * Runs an import with a new string pool, shared by all classes of the imported resource and its
+	 * embedded resources.
+	 *
+	 * @param action
+	 * 		Import to run.
+	 *
+	 * @return Imported resource.
+	 */
+	@Nonnull
+	private WorkspaceResource timed(@Nonnull ImportAction action) throws IOException {
+		StringPool pool = config.getInternStrings().getValue() ? new StringPool() : null;
+		WorkspaceResource resource = importTimer.time(() -> action.run(pool));
+		importedClasses.record(resource.classBundleStreamRecursive().mapToLong(Bundle::size).sum());
+		if (pool != null)
+			logger.debug("Pooled strings of imported resource: {}", pool);
+		return resource;
 	}
 
 	@Nonnull
@@ -626,6 +683,11 @@ public ResourceImporterConfig getServiceConfig() {
 		return config;
 	}
 
+	private interface ImportAction {
+		@Nonnull
+		WorkspaceResource run(@Nullable StringPool pool) throws IOException;
+	}
+
 	private record PathAndName(@Nullable Path path, @Nonnull String name) {
 		@Nonnull
 		private static PathAndName fromString(@Nonnull String pathName) {
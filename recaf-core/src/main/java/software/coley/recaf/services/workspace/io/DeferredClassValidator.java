@@ -0,0 +1,328 @@
+package software.coley.recaf.services.workspace.io;
+
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.cdi.EagerInitialization;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.info.properties.BasicPropertyContainer;
+import software.coley.recaf.info.properties.builtin.ClassValidationStatusProperty;
+import software.coley.recaf.info.properties.builtin.ClassValidationStatusProperty.Status;
+import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.util.ClassStructureValidator;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+import software.coley.recaf.util.threading.WorkPriority;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.WorkspaceModificationListener;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Validates and patches classes imported with {@link InfoImporterConfig#doDeferValidation() deferred validation}
+ * in the background once their workspace is opened.
+ * <p>
+ * Classes of the primary resource are handled before those of supporting resources. Classes passed to
+ * {@link #prioritize(JvmClassBundle, JvmClassInfo)}, such as those being opened by the user, are handled ahead of both.
+ * Classes needing to be patched are swapped into their bundle as their initial state, so listeners are notified of
+ * the update but the class is not considered modified. The progress of each class is recorded with
+ * {@link ClassValidationStatusProperty}.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+@EagerInitialization
+public class DeferredClassValidator {
+	private static final Logger logger = Logging.get(DeferredClassValidator.class);
+	private static final int WORKER_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+	private final ExecutorService backgroundPool = ThreadPoolFactory.newFixedThreadPool("deferred-class-validation", WORKER_COUNT, WorkPriority.BACKGROUND);
+	private final ExecutorService priorityPool = ThreadPoolFactory.newFixedThreadPool("deferred-class-validation-priority", 2, WorkPriority.INTERACTIVE);
+	private final Queue<PendingClass> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger workers = new AtomicInteger();
+	private final InfoImporterConfig config;
+	private final ClassPatcher classPatcher;
+	private volatile Workspace workspace;
+
+	@Inject
+	public DeferredClassValidator(@Nonnull InfoImporterConfig config,
+	                              @Nonnull ClassPatcher classPatcher,
+	                              @Nonnull WorkspaceManager workspaceManager) {
+		this.config = config;
+		this.classPatcher = classPatcher;
+
+		// Pending classes are only validated while their workspace is open.
+		WorkspaceModificationListener libraryListener = new WorkspaceModificationListener() {
+			@Override
+			public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+				enqueue(workspace, library);
+			}
+
+			@Override
+			public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+				// Queued classes of the removed library no longer in its bundles are skipped when polled.
+			}
+		};
+		workspaceManager.addWorkspaceOpenListener(workspace -> {
+			this.workspace = workspace;
+			workspace.addWorkspaceModificationListener(libraryListener);
+			for (WorkspaceResource resource : workspace.getAllResources(false))
+				enqueue(workspace, resource);
+		});
+		workspaceManager.addWorkspaceCloseListener(workspace -> {
+			workspace.removeWorkspaceModificationListener(libraryListener);
+			if (this.workspace == workspace) {
+				this.workspace = null;
+				queue.clear();
+			}
+		});
+	}
+
+	/**
+	 * Validates the given class ahead of any queued classes, if it is still pending validation.
+	 *
+	 * @param bundle
+	 * 		Bundle containing the class.
+	 * @param cls
+	 * 		Class to validate.
+	 */
+	public void prioritize(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+		Workspace current = workspace;
+		if (current == null || !claim(cls))
+			return;
+		priorityPool.submit(() -> {
+			if (current != workspace) {
+				release(cls);
+				return;
+			}
+			validateClaimed(bundle, cls);
+		});
+	}
+
+	/**
+	 * Validates the given class, patching it if necessary. A patched copy replaces the class in the bundle.
+	 *
+	 * @param bundle
+	 * 		Bundle containing the class.
+	 * @param cls
+	 * 		Class to validate.
+	 *
+	 * @return Resulting status of the class. If the class is not pending validation, such as when it is already being
+	 * validated by another thread, its current status is returned without validating it again.
+	 */
+	@Nonnull
+	public Status validate(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+		if (!claim(cls)) {
+			Status status = ClassValidationStatusProperty.get(cls);
+			return status == null ? Status.VALID : status;
+		}
+		return checkAndPatch(bundle, cls);
+	}
+
+	/**
+	 * @param bundle
+	 * 		Bundle containing the class.
+	 * @param cls
+	 * 		Class to validate, already {@link #claim(JvmClassInfo) claimed} by the caller.
+	 *
+	 * @return Resulting status of the class.
+	 */
+	@Nonnull
+	private Status checkAndPatch(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+		String name = cls.getName();
+		byte[] code = cls.getBytecode();
+
+		// Same checks as done when importing without deferral.
+		// Only classes flagged by the structural check are given the more expensive ASM checks.
+		if (config.doStructuralValidation()) {
+			String problem = ClassStructureValidator.validate(code);
+			if (problem == null)
+				return mark(cls, Status.VALID);
+			logger.debug("Structural check flagged class '{}': {}", name, problem);
+		}
+		try {
+			new JvmClassInfoBuilder()
+					.skipValidationChecks(false)
+					.adaptFrom(code)
+					.build();
+			return mark(cls, Status.VALID);
+		} catch (Throwable t) {
+			logger.debug("Deferred validation failed for class '{}', patching", name);
+		}
+
+		// Patch if not compatible with ASM, keeping any properties recorded when the class was imported.
+		JvmClassInfo patched;
+		try {
+			byte[] patchedCode = classPatcher.patch(name, code);
+			patched = new JvmClassInfoBuilder()
+					.withPropertyContainer(new BasicPropertyContainer(cls.getPersistentProperties()))
+					.adaptFrom(patchedCode)
+					.build();
+		} catch (Throwable t) {
+			logger.error("CafeDude patching output is still non-compliant with ASM for class: {}", name);
+			return mark(cls, Status.FAILED);
+		}
+		ClassValidationStatusProperty.set(patched, Status.PATCHED);
+		logger.debug("CafeDude patched class: {}", name);
+
+		// Only basic bundles can take the patched class as its initial state. Putting it into other bundles
+		// would mark the class as modified, so the patched copy is discarded for those. The bundle keeps the
+		// invalid class, so it is recorded as failed.
+		if (!(bundle instanceof BasicJvmClassBundle basicBundle)) {
+			logger.warn("Class '{}' is in a bundle which cannot swap in its patched copy", name);
+			return mark(cls, Status.FAILED);
+		}
+
+		// Swap in the patched class, unless the class has been changed in the meantime.
+		if (!basicBundle.replaceInitial(cls, patched))
+			logger.debug("Class '{}' changed before its patched copy could be swapped in", name);
+		return mark(cls, Status.PATCHED);
+	}
+
+	/**
+	 * Validates all pending classes of the given resource on the calling thread, including those of its embedded
+	 * resources. Use this for resources of workspaces which are not opened through the {@link WorkspaceManager},
+	 * as only those have their classes validated in the background.
+	 *
+	 * @param resource
+	 * 		Resource to validate classes of.
+	 */
+	public void validatePending(@Nonnull WorkspaceResource resource) {
+		for (JvmClassBundle bundle : Stream.concat(resource.jvmClassBundleStreamRecursive(),
+				resource.versionedJvmClassBundleStreamRecursive()).toList()) {
+			// Patched classes are swapped into the bundle, so the classes to validate are collected up front.
+			List<JvmClassInfo> pending = bundle.values().stream()
+					.filter(ClassValidationStatusProperty::isPending)
+					.toList();
+			for (JvmClassInfo cls : pending)
+				validate(bundle, cls);
+		}
+	}
+
+	/**
+	 * Queues the pending classes of the given resource, including its embedded resources.
+	 *
+	 * @param workspace
+	 * 		Workspace containing the resource.
+	 * @param resource
+	 * 		Resource to queue classes of.
+	 */
+	private void enqueue(@Nonnull Workspace workspace, @Nonnull WorkspaceResource resource) {
+		int count = 0;
+		for (JvmClassBundle bundle : Stream.concat(resource.jvmClassBundleStreamRecursive(),
+				resource.versionedJvmClassBundleStreamRecursive()).toList()) {
+			for (JvmClassInfo cls : bundle) {
+				if (ClassValidationStatusProperty.isPending(cls)) {
+					queue.add(new PendingClass(workspace, bundle, cls.getName()));
+					count++;
+				}
+			}
+		}
+		if (count > 0) {
+			logger.debug("Queued {} classes for deferred validation", count);
+			startWorkers();
+		}
+	}
+
+	/**
+	 * Validates the class of the given entry, if it is still pending and belongs to the current workspace.
+	 *
+	 * @param pending
+	 * 		Queued class.
+	 */
+	private void validate(@Nonnull PendingClass pending) {
+		if (pending.workspace() != workspace)
+			return;
+		JvmClassInfo cls = pending.bundle().get(pending.name());
+		if (cls == null || !claim(cls))
+			return;
+		validateClaimed(pending.bundle(), cls);
+	}
+
+	/**
+	 * Validates a claimed class, recording it as failed if validation ends with an unhandled error.
+	 *
+	 * @param bundle
+	 * 		Bundle containing the class.
+	 * @param cls
+	 * 		Class to validate, already {@link #claim(JvmClassInfo) claimed} by the caller.
+	 */
+	private void validateClaimed(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+		try {
+			checkAndPatch(bundle, cls);
+		} catch (Throwable t) {
+			logger.error("Unhandled error in deferred validation of class: {}", cls.getName(), t);
+			mark(cls, Status.FAILED);
+		}
+	}
+
+	/**
+	 * Claims a pending class for validation, so that it is not validated by multiple threads at once.
+	 *
+	 * @param cls
+	 * 		Class to claim.
+	 *
+	 * @return {@code true} when the class was pending and is now claimed by the caller.
+	 * {@code false} when the class is not pending, or has already been claimed.
+	 */
+	private synchronized boolean claim(@Nonnull JvmClassInfo cls) {
+		if (!ClassValidationStatusProperty.isPending(cls))
+			return false;
+		ClassValidationStatusProperty.set(cls, Status.VALIDATING);
+		return true;
+	}
+
+	/**
+	 * Returns a claimed class to the pending state, without validating it.
+	 *
+	 * @param cls
+	 * 		Class to release.
+	 */
+	private synchronized void release(@Nonnull JvmClassInfo cls) {
+		if (ClassValidationStatusProperty.get(cls) == Status.VALIDATING)
+			ClassValidationStatusProperty.set(cls, Status.PENDING);
+	}
+
+	@Nonnull
+	private static Status mark(@Nonnull JvmClassInfo cls, @Nonnull Status status) {
+		ClassValidationStatusProperty.set(cls, status);
+		return status;
+	}
+
+	private void startWorkers() {
+		while (!queue.isEmpty() && claimWorker())
+			backgroundPool.submit(this::drain);
+	}
+
+	private void drain() {
+		do {
+			PendingClass pending;
+			while ((pending = queue.poll()) != null)
+				validate(pending);
+			workers.decrementAndGet();
+
+			// Classes may have been queued after the last poll, but before this worker was released.
+		} while (!queue.isEmpty() && claimWorker());
+	}
+
+	private boolean claimWorker() {
+		int current;
+		do {
+			current = workers.get();
+			if (current >= WORKER_COUNT)
+				return false;
+		} while (!workers.compareAndSet(current, current + 1));
+		return true;
+	}
+
+	private record PendingClass(@Nonnull Workspace workspace, @Nonnull JvmClassBundle bundle, @Nonnull String name) {}
+}
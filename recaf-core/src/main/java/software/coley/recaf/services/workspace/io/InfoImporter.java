@@ -1,8 +1,10 @@
 package software.coley.recaf.services.workspace.io;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import software.coley.recaf.info.Info;
 import software.coley.recaf.services.Service;
+import software.coley.recaf.util.StringPool;
 import software.coley.recaf.util.io.ByteSource;
 
 import java.io.IOException;
@@ -28,4 +30,22 @@ public interface InfoImporter extends Service {
 	 */
 	@Nonnull
 	Info readInfo(@Nonnull String name, @Nonnull ByteSource source) throws IOException;
+
+	/**
+	 * @param name
+	 * 		Name to pass for {@link Info#getName()} if it cannot be inferred from the content source.
+	 * @param source
+	 * 		Source of content to read data from.
+	 * @param stringPool
+	 * 		Pool to share names and descriptors of read classes through, or {@code null} to not pool strings.
+	 *
+	 * @return Info instance.
+	 *
+	 * @throws IOException
+	 * 		When the content cannot be read.
+	 */
+	@Nonnull
+	default Info readInfo(@Nonnull String name, @Nonnull ByteSource source, @Nullable StringPool stringPool) throws IOException {
+		return readInfo(name, source);
+	}
 }
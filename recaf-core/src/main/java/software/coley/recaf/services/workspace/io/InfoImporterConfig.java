@@ -1,11 +1,13 @@
 package software.coley.recaf.services.workspace.io;
 
+import jakarta.annotation.Nonnull;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import software.coley.observables.ObservableBoolean;
 import software.coley.recaf.config.BasicConfigContainer;
 import software.coley.recaf.config.BasicConfigValue;
 import software.coley.recaf.config.ConfigGroups;
+import software.coley.recaf.info.properties.builtin.ClassValidationStatusProperty;
 import software.coley.recaf.services.ServiceConfig;
 
 /**
@@ -16,11 +18,15 @@
 @ApplicationScoped
 public class InfoImporterConfig extends BasicConfigContainer implements ServiceConfig {
 	private final ObservableBoolean skipClassAsmValidation = new ObservableBoolean(false);
+	private final ObservableBoolean structuralClassValidation = new ObservableBoolean(true);
+	private final ObservableBoolean deferClassValidation = new ObservableBoolean(false);
 
 	@Inject
 	public InfoImporterConfig() {
 		super(ConfigGroups.SERVICE_IO, InfoImporter.SERVICE_ID + CONFIG_SUFFIX);
 		addValue(new BasicConfigValue<>("skip-class-asm-validation", boolean.class, skipClassAsmValidation));
+		addValue(new BasicConfigValue<>("structural-class-validation", boolean.class, structuralClassValidation));
+		addValue(new BasicConfigValue<>("defer-class-validation", boolean.class, deferClassValidation));
 	}
 
 	/**
@@ -32,4 +38,47 @@ public InfoImporterConfig() {
 	public boolean doSkipAsmValidation() {
 		return skipClassAsmValidation.getValue();
 	}
+
+	/**
+	 * Validating classes with ASM has it copy the whole constant pool of every class, which is a large part of the cost
+	 * of importing. A structural check of the class file covers what that copy relies on for far less, so when enabled
+	 * only classes flagged by that check are validated by ASM.
+	 * The default is {@code true}. Has no effect when {@link #doSkipAsmValidation() validation is skipped}.
+	 *
+	 * @return {@code true} to validate classes with a structural check first, only validating flagged classes with ASM.
+	 */
+	public boolean doStructuralValidation() {
+		return structuralClassValidation.getValue();
+	}
+
+	/**
+	 * @return Observable of {@link #doStructuralValidation()}.
+	 */
+	@Nonnull
+	public ObservableBoolean getStructuralClassValidation() {
+		return structuralClassValidation;
+	}
+
+	/**
+	 * Validating and patching every class before an import completes means nothing can be shown until the whole input
+	 * has been checked. When enabled, classes are imported without validation and marked as
+	 * {@link ClassValidationStatusProperty.Status#PENDING pending}. They are then validated in the background once
+	 * their workspace is opened, with any classes needing patching being swapped in afterward.
+	 * The default is {@code false}. Has no effect when {@link #doSkipAsmValidation() validation is skipped}.
+	 *
+	 * @return {@code true} to defer validation and patching of classes until after the workspace is opened.
+	 *
+	 * @see DeferredClassValidator
+	 */
+	public boolean doDeferValidation() {
+		return deferClassValidation.getValue();
+	}
+
+	/**
+	 * @return Observable of {@link #doDeferValidation()}.
+	 */
+	@Nonnull
+	public ObservableBoolean getDeferClassValidation() {
+		return deferClassValidation;
+	}
 }
\ No newline at end of file
@@ -25,6 +25,7 @@
 public class ResourceImporterConfig extends BasicConfigContainer implements ServiceConfig {
 	private final ObservableObject<ZipStrategy> zipStrategy = new ObservableObject<>(ZipStrategy.JVM);
 	private final ObservableBoolean skipRevisitedCenToLocalLinks = new ObservableBoolean(true);
+	private final ObservableBoolean internStrings = new ObservableBoolean(true);
 
 	@Inject
 	public ResourceImporterConfig() {
@@ -32,6 +33,7 @@ public ResourceImporterConfig() {
 
 		addValue(new BasicConfigValue<>("zip-strategy", ZipStrategy.class, zipStrategy));
 		addValue(new BasicConfigValue<>("skip-revisited-cen-to-local-links", boolean.class, skipRevisitedCenToLocalLinks));
+		addValue(new BasicConfigValue<>("intern-strings", boolean.class, internStrings));
 	}
 
 	/**
@@ -55,6 +57,18 @@ public ObservableBoolean getSkipRevisitedCenToLocalLinks() {
 		return skipRevisitedCenToLocalLinks;
 	}
 
+	/**
+	 * Large inputs repeat the same names and descriptors across many classes, so sharing a single instance of each
+	 * between the classes of an imported resource considerably reduces the memory used by the class model.
+	 * Pooling is {@code true} by default.
+	 *
+	 * @return {@code true} when names and descriptors of imported classes are pooled.
+	 */
+	@Nonnull
+	public ObservableBoolean getInternStrings() {
+		return internStrings;
+	}
+
 	/**
 	 * @return Mapping of input bytes to a ZIP archive model.
 	 */
@@ -0,0 +1,276 @@
+package software.coley.recaf.util;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * Single pass structural check of class files, covering the parts of the format that ASM trusts when copying a class.
+ * This includes the bounds and types of constant pool entries and the references between them, attribute bounds,
+ * and the layout of {@code Code} and {@code BootstrapMethods} attributes.
+ * <p>
+ * This is much cheaper than having ASM write a class to see if it crashes. No strings or ASM structures are created,
+ * the only allocations per class are two small tables holding the offset and tag of each constant pool entry.
+ * A class passing the check is not guaranteed to be valid, and a class failing it may still be handled by ASM,
+ * so flagged classes should still be given a full check.
+ *
+ * @author Matt Coley
+ */
+public class ClassStructureValidator {
+	private static final int MAGIC = 0xCAFEBABE;
+	private static final int UTF8 = 1;
+	private static final int INTEGER = 3;
+	private static final int FLOAT = 4;
+	private static final int LONG = 5;
+	private static final int DOUBLE = 6;
+	private static final int CLASS = 7;
+	private static final int STRING = 8;
+	private static final int FIELD_REF = 9;
+	private static final int METHOD_REF = 10;
+	private static final int INTERFACE_METHOD_REF = 11;
+	private static final int NAME_AND_TYPE = 12;
+	private static final int METHOD_HANDLE = 15;
+	private static final int METHOD_TYPE = 16;
+	private static final int DYNAMIC = 17;
+	private static final int INVOKE_DYNAMIC = 18;
+	private static final int MODULE = 19;
+	private static final int PACKAGE = 20;
+	private final byte[] code;
+	private int[] offsets;
+	private byte[] tags;
+	private int bootstrapMethodCount = -1;
+	private int maxBootstrapMethodIndex = -1;
+
+	private ClassStructureValidator(@Nonnull byte[] code) {
+		this.code = code;
+	}
+
+	/**
+	 * @param code
+	 * 		Class file bytes.
+	 *
+	 * @return Description of the first structural problem found, or {@code null} when none were found.
+	 */
+	@Nullable
+	public static String validate(@Nonnull byte[] code) {
+		try {
+			return new ClassStructureValidator(code).validate();
+		} catch (IndexOutOfBoundsException ex) {
+			return "Unexpected end of class file";
+		}
+	}
+
+	/**
+	 * @param code
+	 * 		Class file bytes.
+	 *
+	 * @return {@code true} when no structural problems were found.
+	 */
+	public static boolean isValid(@Nonnull byte[] code) {
+		return validate(code) == null;
+	}
+
+	@Nullable
+	private String validate() {
+		if (code.length < 10 || readInt(0) != MAGIC)
+			return "Invalid magic";
+
+		// Constant pool entries, recording where each starts so references can be checked afterward.
+		int poolCount = readShort(8);
+		if (poolCount == 0)
+			return "Empty constant pool";
+		offsets = new int[poolCount];
+		tags = new byte[poolCount];
+		int offset = 10;
+		for (int i = 1; i < poolCount; i++) {
+			int tag = readByte(offset);
+			offsets[i] = offset + 1;
+			tags[i] = (byte) tag;
+			switch (tag) {
+				case UTF8 -> offset += 3 + readShort(offset + 1);
+				case INTEGER, FLOAT, FIELD_REF, METHOD_REF, INTERFACE_METHOD_REF, NAME_AND_TYPE, DYNAMIC,
+				     INVOKE_DYNAMIC -> offset += 5;
+				case LONG, DOUBLE -> {
+					offset += 9;
+					i++; // Takes up two slots
+				}
+				case CLASS, STRING, METHOD_TYPE, MODULE, PACKAGE -> offset += 3;
+				case METHOD_HANDLE -> offset += 4;
+				default -> {
+					return "Unknown constant pool tag " + tag + " at index " + i;
+				}
+			}
+		}
+		if (offset > code.length)
+			return "Constant pool exceeds class file";
+		String problem = validatePoolReferences();
+		if (problem != null)
+			return problem;
+
+		// Class header
+		int thisClass = readShort(offset + 2);
+		if (!isEntry(thisClass, CLASS))
+			return "Invalid this-class index";
+		int superClass = readShort(offset + 4);
+		if (superClass != 0 && !isEntry(superClass, CLASS))
+			return "Invalid super-class index";
+		int interfaceCount = readShort(offset + 6);
+		offset += 8;
+		for (int i = 0; i < interfaceCount; i++, offset += 2)
+			if (!isEntry(readShort(offset), CLASS))
+				return "Invalid interface index";
+
+		// Fields and methods
+		for (int kind = 0; kind < 2; kind++) {
+			int memberCount = readShort(offset);
+			offset += 2;
+			for (int i = 0; i < memberCount; i++) {
+				if (!isEntry(readShort(offset + 2), UTF8) || !isEntry(readShort(offset + 4), UTF8))
+					return "Invalid member name or descriptor index";
+				offset = validateAttributes(offset + 6, code.length);
+				if (offset < 0)
+					return "Invalid attribute in " + (kind == 0 ? "field " : "method ") + i;
+			}
+		}
+
+		// Class attributes
+		offset = validateAttributes(offset, code.length);
+		if (offset < 0)
+			return "Invalid class attribute";
+		if (maxBootstrapMethodIndex >= 0 && maxBootstrapMethodIndex >= bootstrapMethodCount)
+			return "Invalid bootstrap method index";
+		return null;
+	}
+
+	@Nullable
+	private String validatePoolReferences() {
+		for (int i = 1; i < tags.length; i++) {
+			int offset = offsets[i];
+			boolean valid = switch (tags[i]) {
+				case CLASS, STRING, METHOD_TYPE, MODULE, PACKAGE -> isEntry(readShort(offset), UTF8);
+				case FIELD_REF, METHOD_REF, INTERFACE_METHOD_REF ->
+						isEntry(readShort(offset), CLASS) && isEntry(readShort(offset + 2), NAME_AND_TYPE);
+				case NAME_AND_TYPE -> isEntry(readShort(offset), UTF8) && isEntry(readShort(offset + 2), UTF8);
+				case DYNAMIC, INVOKE_DYNAMIC -> {
+					maxBootstrapMethodIndex = Math.max(maxBootstrapMethodIndex, readShort(offset));
+					yield isEntry(readShort(offset + 2), NAME_AND_TYPE);
+				}
+				case METHOD_HANDLE -> {
+					int kind = readByte(offset);
+					int reference = readShort(offset + 1);
+					yield switch (kind) {
+						case 1, 2, 3, 4 -> isEntry(reference, FIELD_REF);
+						case 5, 8 -> isEntry(reference, METHOD_REF);
+						case 6, 7 -> isEntry(reference, METHOD_REF) || isEntry(reference, INTERFACE_METHOD_REF);
+						case 9 -> isEntry(reference, INTERFACE_METHOD_REF);
+						default -> false;
+					};
+				}
+				default -> true;
+			};
+			if (!valid)
+				return "Invalid reference in constant pool entry " + i;
+		}
+		return null;
+	}
+
+	/**
+	 * @param offset
+	 * 		Offset of the attribute count.
+	 * @param limit
+	 * 		Offset the attributes must end by.
+	 *
+	 * @return Offset after the attributes, or {@code -1} if they are invalid.
+	 */
+	private int validateAttributes(int offset, int limit) {
+		int attributeCount = readShort(offset);
+		offset += 2;
+		for (int i = 0; i < attributeCount; i++) {
+			int nameIndex = readShort(offset);
+			if (!isEntry(nameIndex, UTF8))
+				return -1;
+			long length = readInt(offset + 2) & 0xFFFFFFFFL;
+			int start = offset + 6;
+			if (start + length > limit)
+				return -1;
+			int end = (int) (start + length);
+			if (utf8Equals(nameIndex, "Code") && !validateCode(start, end))
+				return -1;
+			if (utf8Equals(nameIndex, "BootstrapMethods") && !validateBootstrapMethods(start, end))
+				return -1;
+			offset = end;
+		}
+		return offset;
+	}
+
+	private boolean validateCode(int offset, int end) {
+		if (offset + 8 > end)
+			return false;
+		long codeLength = readInt(offset + 4) & 0xFFFFFFFFL;
+		if (codeLength == 0 || codeLength >= 65536)
+			return false;
+		offset += 8 + (int) codeLength;
+		if (offset + 2 > end)
+			return false;
+		int handlerCount = readShort(offset);
+		offset += 2;
+		if (offset + handlerCount * 8 > end)
+			return false;
+		for (int i = 0; i < handlerCount; i++, offset += 8) {
+			int startPc = readShort(offset);
+			int endPc = readShort(offset + 2);
+			int handlerPc = readShort(offset + 4);
+			int catchType = readShort(offset + 6);
+			if (startPc >= endPc || endPc > codeLength || handlerPc >= codeLength)
+				return false;
+			if (catchType != 0 && !isEntry(catchType, CLASS))
+				return false;
+		}
+		return validateAttributes(offset, end) == end;
+	}
+
+	private boolean validateBootstrapMethods(int offset, int end) {
+		int methodCount = readShort(offset);
+		offset += 2;
+		for (int i = 0; i < methodCount; i++) {
+			if (!isEntry(readShort(offset), METHOD_HANDLE))
+				return false;
+			int argumentCount = readShort(offset + 2);
+			offset += 4;
+			for (int j = 0; j < argumentCount; j++, offset += 2) {
+				int argument = readShort(offset);
+				if (argument == 0 || argument >= tags.length || tags[argument] == 0 || tags[argument] == UTF8)
+					return false;
+			}
+		}
+		bootstrapMethodCount = methodCount;
+		return offset == end;
+	}
+
+	private boolean isEntry(int index, int tag) {
+		return index > 0 && index < tags.length && tags[index] == tag;
+	}
+
+	private boolean utf8Equals(int index, @Nonnull String value) {
+		int offset = offsets[index];
+		int length = readShort(offset);
+		if (length != value.length())
+			return false;
+		for (int i = 0; i < length; i++)
+			if (code[offset + 2 + i] != value.charAt(i))
+				return false;
+		return true;
+	}
+
+	private int readByte(int offset) {
+		return code[offset] & 0xFF;
+	}
+
+	private int readShort(int offset) {
+		return ((code[offset] & 0xFF) << 8) | (code[offset + 1] & 0xFF);
+	}
+
+	private int readInt(int offset) {
+		return ((code[offset] & 0xFF) << 24) | ((code[offset + 1] & 0xFF) << 16) |
+				((code[offset + 2] & 0xFF) << 8) | (code[offset + 3] & 0xFF);
+	}
+}
@@ -0,0 +1,93 @@
+package software.coley.recaf.util;
+
+import jakarta.annotation.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of canonical string instances, used to share equal names and descriptors between the classes of a resource.
+ * <p>
+ * Unlike {@link String#intern()} the pool is not global. Pooled strings are held only as long as the pool itself,
+ * so a pool created for the import of a resource does not keep anything alive once the classes it was used for are
+ * no longer referenced.
+ *
+ * @author Matt Coley
+ */
+public class StringPool {
+	// Approximate overhead of a string instance and its backing array, on a 64-bit JVM with compressed oops.
+	private static final int STRING_OVERHEAD = 24 + 16;
+	private final Map<String, String> pool = new ConcurrentHashMap<>();
+	private final LongAdder lookups = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder savedBytes = new LongAdder();
+
+	/**
+	 * @param value
+	 * 		Some value.
+	 *
+	 * @return Pooled instance equal to the given value, or {@code null} if the value was {@code null}.
+	 */
+	public String intern(@Nullable String value) {
+		if (value == null)
+			return null;
+		lookups.increment();
+		String existing = pool.putIfAbsent(value, value);
+		if (existing == null)
+			return value;
+		if (existing != value) {
+			hits.increment();
+			savedBytes.add(STRING_OVERHEAD + value.length());
+		}
+		return existing;
+	}
+
+	/**
+	 * @param values
+	 * 		Some values. Modified in place.
+	 *
+	 * @return The same array, with each value replaced by its pooled instance.
+	 */
+	@Nullable
+	public String[] internAll(@Nullable String[] values) {
+		if (values != null)
+			for (int i = 0; i < values.length; i++)
+				values[i] = intern(values[i]);
+		return values;
+	}
+
+	/**
+	 * @return Number of unique strings in the pool.
+	 */
+	public int size() {
+		return pool.size();
+	}
+
+	/**
+	 * @return Number of times a value was looked up in the pool.
+	 */
+	public long getLookupCount() {
+		return lookups.sum();
+	}
+
+	/**
+	 * @return Number of times a value was replaced by an equal instance already in the pool.
+	 */
+	public long getDuplicateCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return Approximate number of bytes no longer held by duplicate strings.
+	 */
+	public long getSavedBytes() {
+		return savedBytes.sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d unique strings, %d of %d lookups deduplicated, ~%d KiB saved",
+				size(), getDuplicateCount(), getLookupCount(), getSavedBytes() / 1024);
+	}
+}
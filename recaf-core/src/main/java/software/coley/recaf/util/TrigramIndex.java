@@ -0,0 +1,423 @@
+package software.coley.recaf.util;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Text index supporting fast containment lookups and ranked fuzzy matching.
+ * <p>
+ * Values are indexed by some associated text. Each distinct text is stored once, and a posting list of
+ * distinct text ids is kept for every lowercase trigram. Containment queries of three or more characters
+ * only verify the texts in the smallest posting list of the query's trigrams instead of scanning all texts.
+ * <p>
+ * Values are added under an owner key, so that all values derived from a single item <i>(Such as all lines
+ * of a text file, or all members of a class)</i> can be replaced or removed together. Texts no longer associated
+ * with any value are freed, and once enough texts have been freed the remaining texts are compacted into new ids.
+ *
+ * @param <T>
+ * 		Indexed value type.
+ *
+ * @author Matt Coley
+ */
+public class TrigramIndex<T> {
+	private static final int SCORE_NO_MATCH = -1;
+	private static final int SCORE_FUZZY = 10;
+	static final int MIN_FREED_TEXTS_TO_COMPACT = 1024;
+	private final Map<String, Integer> textIds = new HashMap<>();
+	private final Map<Long, IntList> postings = new HashMap<>();
+	private final Map<Object, List<Entry<T>>> ownerEntries = new HashMap<>();
+	private final List<String> texts = new ArrayList<>();
+	private final List<String> lowerTexts = new ArrayList<>();
+	private final List<List<T>> textValues = new ArrayList<>();
+	private final boolean fuzzy;
+	private int freedTexts;
+	private int size;
+
+	/**
+	 * @param fuzzy
+	 *        {@code true} to include fuzzy <i>(subsequence)</i> matches in {@link #search(String, boolean, int)} results.
+	 *        Fuzzy matches require a scan of all distinct texts, so this should be disabled for very large indices.
+	 */
+	public TrigramIndex(boolean fuzzy) {
+		this.fuzzy = fuzzy;
+	}
+
+	/**
+	 * @param owner
+	 * 		Key of the item the value belongs to.
+	 * @param value
+	 * 		Value to add.
+	 * @param text
+	 * 		Text to index the value by.
+	 */
+	public synchronized void add(@Nonnull Object owner, @Nonnull T value, @Nonnull String text) {
+		int textId = textId(text);
+		textValues.get(textId).add(value);
+		ownerEntries.computeIfAbsent(owner, k -> new ArrayList<>(1)).add(new Entry<>(textId, value));
+		size++;
+	}
+
+	/**
+	 * @param owner
+	 * 		Key of the item to remove all values of.
+	 *
+	 * @return {@code true} when any values were removed.
+	 */
+	public synchronized boolean remove(@Nonnull Object owner) {
+		List<Entry<T>> entries = ownerEntries.remove(owner);
+		if (entries == null)
+			return false;
+		for (Entry<T> entry : entries) {
+			// Values are commonly removed shortly after being added, so search from the end.
+			List<T> values = textValues.get(entry.textId());
+			for (int i = values.size() - 1; i >= 0; i--) {
+				if (values.get(i) == entry.value()) {
+					values.remove(i);
+					break;
+				}
+			}
+			if (values.isEmpty())
+				freeText(entry.textId());
+		}
+		size -= entries.size();
+
+		// Freed texts are still in the posting lists and are skipped over by searches.
+		// Once they make up most of the index, we compact them out.
+		if (freedTexts >= MIN_FREED_TEXTS_TO_COMPACT && freedTexts > texts.size() / 2)
+			compact();
+		return true;
+	}
+
+	/**
+	 * Removes all content from the index.
+	 */
+	public synchronized void clear() {
+		textIds.clear();
+		postings.clear();
+		ownerEntries.clear();
+		texts.clear();
+		lowerTexts.clear();
+		textValues.clear();
+		freedTexts = 0;
+		size = 0;
+	}
+
+	/**
+	 * @return Number of distinct texts held by the index, including freed texts not yet compacted.
+	 */
+	synchronized int textCount() {
+		return texts.size();
+	}
+
+	/**
+	 * @return Number of values in the index.
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * @param query
+	 * 		Text to search for.
+	 * @param caseSensitive
+	 * 		Case sensitivity of the query.
+	 * @param limit
+	 * 		Max number of values to yield.
+	 *
+	 * @return Values whose text contains the query, or fuzzily matches it <i>(If enabled)</i>.
+	 * Values are ordered by match quality, with exact and name-prefix matches first.
+	 */
+	@Nonnull
+	public synchronized List<T> search(@Nonnull String query, boolean caseSensitive, int limit) {
+		if (query.isEmpty() || limit <= 0)
+			return Collections.emptyList();
+		String lowerQuery = query.toLowerCase();
+
+		// Collect texts containing the query, narrowing candidates with trigram postings where possible.
+		List<ScoredText> scored = new ArrayList<>();
+		boolean fuzzySearch = fuzzy && !caseSensitive && lowerQuery.length() > 1;
+		boolean[] visited = fuzzySearch ? new boolean[texts.size()] : null;
+		IntList candidates = lowerQuery.length() >= 3 ? smallestPostings(lowerQuery) : null;
+		if (candidates != null || lowerQuery.length() < 3) {
+			int count = candidates == null ? texts.size() : candidates.size();
+			for (int i = 0; i < count; i++) {
+				int textId = candidates == null ? i : candidates.get(i);
+				if (textValues.get(textId).isEmpty())
+					continue;
+				String lowerText = lowerTexts.get(textId);
+				if (caseSensitive && !texts.get(textId).contains(query))
+					continue;
+				int score = score(lowerText, lowerQuery);
+				if (score >= 0 && score < SCORE_FUZZY) {
+					scored.add(new ScoredText(textId, score, lowerText.length()));
+					if (visited != null)
+						visited[textId] = true;
+				}
+			}
+		}
+
+		// Fill in remaining space with fuzzy matches.
+		if (fuzzySearch && countValues(scored) < limit) {
+			for (int textId = 0; textId < texts.size(); textId++) {
+				if (visited[textId] || textValues.get(textId).isEmpty())
+					continue;
+				String lowerText = lowerTexts.get(textId);
+				int score = fuzzyScore(lowerText, lowerQuery);
+				if (score >= 0)
+					scored.add(new ScoredText(textId, score, lowerText.length()));
+			}
+		}
+
+		scored.sort((a, b) -> {
+			int cmp = Integer.compare(a.score(), b.score());
+			if (cmp == 0) cmp = Integer.compare(a.length(), b.length());
+			if (cmp == 0) cmp = texts.get(a.textId()).compareTo(texts.get(b.textId()));
+			return cmp;
+		});
+		List<T> results = new ArrayList<>(Math.min(limit, size));
+		for (ScoredText text : scored) {
+			for (T value : textValues.get(text.textId())) {
+				results.add(value);
+				if (results.size() >= limit)
+					return results;
+			}
+		}
+		return results;
+	}
+
+	/**
+	 * @param textFilter
+	 * 		Filter to match against the original indexed text.
+	 * @param limit
+	 * 		Max number of values to yield.
+	 *
+	 * @return Values whose text matches the given filter.
+	 */
+	@Nonnull
+	public synchronized List<T> filter(@Nonnull Predicate<String> textFilter, int limit) {
+		List<T> results = new ArrayList<>();
+		for (int textId = 0; textId < texts.size(); textId++) {
+			List<T> values = textValues.get(textId);
+			if (values.isEmpty() || !textFilter.test(texts.get(textId)))
+				continue;
+			for (T value : values) {
+				results.add(value);
+				if (results.size() >= limit)
+					return results;
+			}
+		}
+		return results;
+	}
+
+	private int countValues(@Nonnull List<ScoredText> scored) {
+		int count = 0;
+		for (ScoredText text : scored)
+			count += textValues.get(text.textId()).size();
+		return count;
+	}
+
+	private int textId(@Nonnull String text) {
+		Integer existing = textIds.get(text);
+		if (existing != null)
+			return existing;
+
+		int id = texts.size();
+		String lowerText = text.toLowerCase();
+		texts.add(text);
+		lowerTexts.add(lowerText);
+		textValues.add(new ArrayList<>(1));
+		textIds.put(text, id);
+		for (int i = 0; i + 3 <= lowerText.length(); i++) {
+			IntList list = postings.computeIfAbsent(trigram(lowerText, i), k -> new IntList());
+			if (list.isEmpty() || list.last() != id)
+				list.add(id);
+		}
+		return id;
+	}
+
+	/**
+	 * Frees a text no longer associated with any values. The id is not reused until the index is {@link #compact()
+	 * compacted}, since it is still present in posting lists.
+	 *
+	 * @param textId
+	 * 		Id of text to free.
+	 */
+	private void freeText(int textId) {
+		textIds.remove(texts.get(textId));
+		texts.set(textId, null);
+		lowerTexts.set(textId, null);
+		textValues.set(textId, Collections.emptyList());
+		freedTexts++;
+	}
+
+	/**
+	 * Drops all freed texts, re-assigning ids of the remaining texts.
+	 * Relative order of ids is kept, so posting lists remain sorted.
+	 */
+	private void compact() {
+		int[] remap = new int[texts.size()];
+		int next = 0;
+		for (int textId = 0; textId < remap.length; textId++) {
+			if (texts.get(textId) == null) {
+				remap[textId] = -1;
+			} else {
+				texts.set(next, texts.get(textId));
+				lowerTexts.set(next, lowerTexts.get(textId));
+				textValues.set(next, textValues.get(textId));
+				remap[textId] = next++;
+			}
+		}
+		texts.subList(next, texts.size()).clear();
+		lowerTexts.subList(next, lowerTexts.size()).clear();
+		textValues.subList(next, textValues.size()).clear();
+		textIds.replaceAll((text, textId) -> remap[textId]);
+		postings.values().removeIf(list -> {
+			list.remap(remap);
+			return list.isEmpty();
+		});
+		for (List<Entry<T>> entries : ownerEntries.values())
+			entries.replaceAll(entry -> new Entry<>(remap[entry.textId()], entry.value()));
+		freedTexts = 0;
+	}
+
+	/**
+	 * @param lowerQuery
+	 * 		Lowercase query of at least three characters.
+	 *
+	 * @return Smallest posting list of the query's trigrams.
+	 * {@code null} if any trigram has no postings, meaning no text can contain the query.
+	 */
+	@Nullable
+	private IntList smallestPostings(@Nonnull String lowerQuery) {
+		IntList smallest = null;
+		for (int i = 0; i + 3 <= lowerQuery.length(); i++) {
+			IntList list = postings.get(trigram(lowerQuery, i));
+			if (list == null)
+				return null;
+			if (smallest == null || list.size() < smallest.size())
+				smallest = list;
+		}
+		return smallest;
+	}
+
+	/**
+	 * @param lowerText
+	 * 		Lowercase text to match against.
+	 * @param lowerQuery
+	 * 		Lowercase query.
+	 *
+	 * @return Containment score, where lower is better. Negative if the query is not contained in the text.
+	 */
+	static int score(@Nonnull String lowerText, @Nonnull String lowerQuery) {
+		int index = lowerText.indexOf(lowerQuery);
+		if (index < 0)
+			return SCORE_NO_MATCH;
+		if (lowerText.length() == lowerQuery.length())
+			return 0;
+		if (index == simpleNameStart(lowerText))
+			return 1;
+		if (index == 0)
+			return 2;
+		if (!Character.isLetterOrDigit(lowerText.charAt(index - 1)))
+			return 3;
+		return 4;
+	}
+
+	/**
+	 * @param lowerText
+	 * 		Lowercase text to match against.
+	 * @param lowerQuery
+	 * 		Lowercase query.
+	 *
+	 * @return Fuzzy score, where lower is better. Negative if the query characters do not appear in order in the text.
+	 */
+	static int fuzzyScore(@Nonnull String lowerText, @Nonnull String lowerQuery) {
+		int queryIndex = 0;
+		int gaps = 0;
+		int lastMatch = -1;
+		int start = simpleNameStart(lowerText);
+		for (int i = start; i < lowerText.length() && queryIndex < lowerQuery.length(); i++) {
+			if (lowerText.charAt(i) == lowerQuery.charAt(queryIndex)) {
+				if (lastMatch >= 0 && i != lastMatch + 1)
+					gaps++;
+				lastMatch = i;
+				queryIndex++;
+			}
+		}
+		if (queryIndex < lowerQuery.length())
+			return SCORE_NO_MATCH;
+		return SCORE_FUZZY + gaps;
+	}
+
+	private static int simpleNameStart(@Nonnull String text) {
+		int start = 0;
+		for (int i = text.length() - 1; i >= 0; i--) {
+			char c = text.charAt(i);
+			if (c == '/' || c == '.' || c == '$') {
+				start = i + 1;
+				break;
+			}
+		}
+		return start;
+	}
+
+	private static long trigram(@Nonnull String text, int offset) {
+		return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+	}
+
+	private record Entry<T>(int textId, @Nonnull T value) {}
+
+	private record ScoredText(int textId, int score, int length) {}
+
+	/**
+	 * Minimal growable int array for posting lists.
+	 */
+	private static class IntList {
+		private int[] data = new int[4];
+		private int size;
+
+		private void add(int value) {
+			if (size == data.length)
+				data = Arrays.copyOf(data, size + (size >> 1) + 1);
+			data[size++] = value;
+		}
+
+		private int get(int index) {
+			return data[index];
+		}
+
+		private int last() {
+			return data[size - 1];
+		}
+
+		private int size() {
+			return size;
+		}
+
+		private boolean isEmpty() {
+			return size == 0;
+		}
+
+		/**
+		 * @param remap
+		 * 		Mapping of old values to new values. Values mapped to {@code -1} are removed.
+		 */
+		private void remap(@Nonnull int[] remap) {
+			int kept = 0;
+			for (int i = 0; i < size; i++) {
+				int mapped = remap[data[i]];
+				if (mapped >= 0)
+					data[kept++] = mapped;
+			}
+			size = kept;
+		}
+	}
+}
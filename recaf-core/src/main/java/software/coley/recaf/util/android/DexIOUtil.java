@@ -2,9 +2,11 @@
 
 import com.android.tools.r8.graph.DexProgramClass;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import software.coley.dextranslator.model.ApplicationData;
 import software.coley.recaf.info.AndroidClassInfo;
 import software.coley.recaf.info.builder.AndroidClassInfoBuilder;
+import software.coley.recaf.util.StringPool;
 import software.coley.recaf.util.io.ByteSource;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
 import software.coley.recaf.workspace.model.bundle.BasicAndroidClassBundle;
@@ -31,6 +33,22 @@ public static AndroidClassBundle read(@Nonnull ByteSource source) throws IOExcep
 		return read(source.readAll());
 	}
 
+	/**
+	 * @param source
+	 * 		Content source to read from. Must be wrapping a dex file.
+	 * @param stringPool
+	 * 		Pool to share names and descriptors of the read classes through. May be {@code null} to not pool strings.
+	 *
+	 * @return Bundle of classes from the dex file.
+	 *
+	 * @throws IOException
+	 * 		When the dex file cannot be read from.
+	 */
+	@Nonnull
+	public static AndroidClassBundle read(@Nonnull ByteSource source, @Nullable StringPool stringPool) throws IOException {
+		return read(source.readAll(), stringPool);
+	}
+
 	/**
 	 * @param dex
 	 * 		Raw bytes of a dex file.
@@ -42,6 +60,22 @@ public static AndroidClassBundle read(@Nonnull ByteSource source) throws IOExcep
 	 */
 	@Nonnull
 	public static AndroidClassBundle read(@Nonnull byte[] dex) throws IOException {
+		return read(dex, null);
+	}
+
+	/**
+	 * @param dex
+	 * 		Raw bytes of a dex file.
+	 * @param stringPool
+	 * 		Pool to share names and descriptors of the read classes through. May be {@code null} to not pool strings.
+	 *
+	 * @return Bundle of classes from the dex file.
+	 *
+	 * @throws IOException
+	 * 		When the dex file cannot be read from.
+	 */
+	@Nonnull
+	public static AndroidClassBundle read(@Nonnull byte[] dex, @Nullable StringPool stringPool) throws IOException {
 		// Read dex file content
 		ApplicationData data = ApplicationData.fromDex(dex);
 
@@ -49,6 +83,7 @@ public static AndroidClassBundle read(@Nonnull byte[] dex) throws IOException {
 		BasicAndroidClassBundle classBundle = new BasicAndroidClassBundle();
 		for (DexProgramClass dexClass : data.getApplication().classes()) {
 			AndroidClassInfo classInfo = new AndroidClassInfoBuilder()
+					.withStringPool(stringPool)
 					.adaptFrom(dexClass)
 					.build();
 			classBundle.initialPut(classInfo);
@@ -0,0 +1,37 @@
+package software.coley.recaf.util.threading;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot of the activity of a single {@link WorkScheduler} lane.
+ *
+ * @param priority
+ * 		Priority of the lane.
+ * @param queued
+ * 		Number of tasks waiting to be started.
+ * @param active
+ * 		Number of tasks currently running.
+ * @param submitted
+ * 		Total number of tasks submitted.
+ * @param completed
+ * 		Total number of tasks completed.
+ * @param totalWaitNanos
+ * 		Total time completed and running tasks spent queued before starting, in nanoseconds.
+ *
+ * @author Matt Coley
+ * @see WorkScheduler#getStatistics(WorkPriority)
+ */
+public record LaneStatistics(@Nonnull WorkPriority priority, int queued, int active,
+                            long submitted, long completed, long totalWaitNanos) {
+	/**
+	 * @return Average time tasks spent queued before starting, in milliseconds.
+	 */
+	public double averageWaitMillis() {
+		long started = completed + active;
+		if (started <= 0)
+			return 0;
+		return totalWaitNanos / (double) started / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
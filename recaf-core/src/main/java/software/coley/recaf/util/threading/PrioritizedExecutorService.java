@@ -0,0 +1,148 @@
+package software.coley.recaf.util.threading;
+
+import jakarta.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor which runs its tasks on the {@link WorkScheduler} in a given priority lane.
+ * <p>
+ * Like a fixed thread pool, at most a given number of its tasks run at once, and they are started in the order
+ * they were submitted. Shutting down only affects this executor, not the shared scheduler.
+ *
+ * @author Matt Coley
+ */
+class PrioritizedExecutorService extends AbstractExecutorService {
+	private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger dispatched = new AtomicInteger();
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private final Object terminationLock = new Object();
+	private final String name;
+	private final WorkPriority priority;
+	private final int maxConcurrency;
+	private volatile boolean shutdown;
+
+	/**
+	 * @param name
+	 * 		Executor name.
+	 * @param priority
+	 * 		Lane to run tasks in.
+	 * @param maxConcurrency
+	 * 		Maximum number of tasks to run at once.
+	 */
+	PrioritizedExecutorService(@Nonnull String name, @Nonnull WorkPriority priority, int maxConcurrency) {
+		this.name = name;
+		this.priority = priority;
+		this.maxConcurrency = Math.max(1, maxConcurrency);
+	}
+
+	@Override
+	public void execute(@Nonnull Runnable command) {
+		if (shutdown)
+			throw new RejectedExecutionException("Executor '" + name + "' has been shut down");
+		outstanding.incrementAndGet();
+		pending.add(command);
+		dispatch();
+	}
+
+	/**
+	 * Passes tasks to the scheduler while under the concurrency limit.
+	 */
+	private void dispatch() {
+		while (!pending.isEmpty()) {
+			int current = dispatched.get();
+			if (current >= maxConcurrency)
+				return;
+			if (dispatched.compareAndSet(current, current + 1))
+				WorkScheduler.execute(priority, this::runPending);
+		}
+	}
+
+	private void runPending() {
+		Runnable task = pending.poll();
+		try {
+			if (task != null)
+				task.run();
+		} finally {
+			if (task != null && outstanding.decrementAndGet() == 0 && shutdown)
+				signalTermination();
+
+			// Tasks may have been added while this one ran, or after another dispatched task found nothing.
+			dispatched.decrementAndGet();
+			dispatch();
+		}
+	}
+
+	private void signalTermination() {
+		synchronized (terminationLock) {
+			terminationLock.notifyAll();
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		shutdown = true;
+		if (outstanding.get() == 0)
+			signalTermination();
+	}
+
+	@Nonnull
+	@Override
+	public List<Runnable> shutdownNow() {
+		shutdown = true;
+		List<Runnable> drained = new ArrayList<>();
+		Runnable task;
+		while ((task = pending.poll()) != null) {
+			drained.add(task);
+			outstanding.decrementAndGet();
+		}
+		if (outstanding.get() == 0)
+			signalTermination();
+		return drained;
+	}
+
+	@Override
+	public boolean isShutdown() {
+		return shutdown;
+	}
+
+	@Override
+	public boolean isTerminated() {
+		return shutdown && outstanding.get() == 0;
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, @Nonnull TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+		// When waiting from a scheduler worker, let the pool compensate for the blocked worker.
+		// Otherwise, waiting on our own tasks could starve them of workers.
+		ForkJoinPool.ManagedBlocker blocker = new ForkJoinPool.ManagedBlocker() {
+			@Override
+			public boolean block() throws InterruptedException {
+				synchronized (terminationLock) {
+					long remaining = deadline - System.nanoTime();
+					if (!isTerminated() && remaining > 0)
+						TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+				}
+				return isReleasable();
+			}
+
+			@Override
+			public boolean isReleasable() {
+				return isTerminated() || deadline - System.nanoTime() <= 0;
+			}
+		};
+		while (!blocker.isReleasable())
+			ForkJoinPool.managedBlock(blocker);
+		return isTerminated();
+	}
+}
@@ -4,25 +4,59 @@
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Wrapper for {@link ExecutorService} with easier inline configuration.
+ * <p>
+ * Fixed thread pools do not create their own threads, and instead run on the shared {@link WorkScheduler}
+ * in the lane of their {@link WorkPriority}. {@link #newDedicatedThreadPool(String, int) Dedicated pools} are the
+ * exception, for tasks which may hang.
  *
  * @author Matt Coley
  */
 public class ThreadPoolFactory {
-	private static final int MAX = Math.max(2, Runtime.getRuntime().availableProcessors() - 2);
+	/** Maximum concurrency of pools, and the number of {@link WorkScheduler} workers. */
+	static final int MAX = Math.max(2, Runtime.getRuntime().availableProcessors() - 2);
 
 	/**
 	 * @param name
 	 * 		Thread pool name.
 	 *
-	 * @return {@link Executors#newFixedThreadPool(int)}.
+	 * @return Pool running on the {@link WorkScheduler} with {@link WorkPriority#NORMAL normal} priority.
 	 */
 	public static ExecutorService newFixedThreadPool(String name) {
-		return newFixedThreadPool(name, true);
+		return newFixedThreadPool(name, WorkPriority.NORMAL);
+	}
+
+	/**
+	 * @param name
+	 * 		Thread pool name.
+	 * @param priority
+	 * 		Priority of tasks in the pool.
+	 *
+	 * @return Pool running on the {@link WorkScheduler} with the given priority.
+	 */
+	public static ExecutorService newFixedThreadPool(String name, WorkPriority priority) {
+		return newFixedThreadPool(name, MAX, priority);
+	}
+
+	/**
+	 * @param name
+	 * 		Thread pool name.
+	 * @param size
+	 * 		Maximum number of tasks to run at once.
+	 * @param priority
+	 * 		Priority of tasks in the pool.
+	 *
+	 * @return Pool running on the {@link WorkScheduler} with the given priority.
+	 */
+	public static ExecutorService newFixedThreadPool(String name, int size, WorkPriority priority) {
+		return new ExecutorServiceDelegate(new PrioritizedExecutorService(name, priority, Math.min(MAX, size)));
 	}
 
 	/**
@@ -31,7 +65,8 @@ public static ExecutorService newFixedThreadPool(String name) {
 	 * @param daemon
 	 * 		Flag to set created threads as daemon threads.
 	 *
-	 * @return {@link Executors#newFixedThreadPool(int)}.
+	 * @return Pool running on the {@link WorkScheduler} with {@link WorkPriority#NORMAL normal} priority
+	 * when daemon threads are requested, otherwise {@link Executors#newFixedThreadPool(int)}.
 	 */
 	public static ExecutorService newFixedThreadPool(String name, boolean daemon) {
 		return newFixedThreadPool(name, MAX, daemon);
@@ -45,10 +80,56 @@ public static ExecutorService newFixedThreadPool(String name, boolean daemon) {
 	 * @param daemon
 	 * 		Flag to set created threads as daemon threads.
 	 *
-	 * @return {@link Executors#newFixedThreadPool(int)}.
+	 * @return Pool running on the {@link WorkScheduler} with {@link WorkPriority#NORMAL normal} priority
+	 * when daemon threads are requested, otherwise {@link Executors#newFixedThreadPool(int)}.
 	 */
 	public static ExecutorService newFixedThreadPool(String name, int size, boolean daemon) {
-		return new ExecutorServiceDelegate(Executors.newFixedThreadPool(Math.min(MAX, size), new FactoryImpl(name, daemon)));
+		// Scheduler workers are daemon threads, so non-daemon pools must have their own threads.
+		if (daemon)
+			return newFixedThreadPool(name, size, WorkPriority.NORMAL);
+		return new ExecutorServiceDelegate(Executors.newFixedThreadPool(Math.min(MAX, size), new FactoryImpl(name, false)));
+	}
+
+	/**
+	 * Unlike {@link #newFixedThreadPool(String, int, WorkPriority)}, the returned pool has threads of its own rather
+	 * than running on the {@link WorkScheduler}. Use this for tasks which may block or hang for long periods, so that
+	 * they cannot hold scheduler workers needed by other work. Idle threads are released after a short delay.
+	 *
+	 * @param name
+	 * 		Thread pool name.
+	 * @param size
+	 * 		Thread pool size.
+	 *
+	 * @return Pool with its own daemon threads.
+	 */
+	public static ExecutorService newDedicatedThreadPool(String name, int size) {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), new FactoryImpl(name, true));
+		executor.allowCoreThreadTimeOut(true);
+		return new ExecutorServiceDelegate(executor);
+	}
+
+	/**
+	 * @param name
+	 * 		Thread name prefix.
+	 *
+	 * @return Executor running each task on a new virtual thread, for work which spends most of its time blocked on I/O.
+	 *
+	 * @see WorkScheduler#newVirtualThreadExecutor(String)
+	 */
+	public static ExecutorService newVirtualThreadExecutor(String name) {
+		return new ExecutorServiceDelegate(WorkScheduler.newVirtualThreadExecutor(name));
+	}
+
+	/**
+	 * @param name
+	 * 		Thread name prefix.
+	 *
+	 * @return Executor running one task at a time, in submission order, on a virtual thread.
+	 * For I/O bound work which must not overlap with other tasks of the same executor.
+	 */
+	public static ExecutorService newSingleVirtualThreadExecutor(String name) {
+		return new ExecutorServiceDelegate(Executors.newSingleThreadExecutor(Thread.ofVirtual().name(name + "-", 0).factory()));
 	}
 
 	/**
@@ -73,6 +154,21 @@ public static ExecutorService newCachedThreadPool(String name, boolean daemon) {
 		return new ExecutorServiceDelegate(Executors.newCachedThreadPool(new FactoryImpl(name, daemon)));
 	}
 
+	/**
+	 * Unlike {@link #newSingleThreadExecutor(String)}, the returned executor does not occupy a thread of its own,
+	 * so it must not be used for tasks which block for long periods.
+	 *
+	 * @param name
+	 * 		Executor name.
+	 * @param priority
+	 * 		Priority of tasks in the executor.
+	 *
+	 * @return Executor running one task at a time, in submission order, on the {@link WorkScheduler}.
+	 */
+	public static ExecutorService newSingleThreadExecutor(String name, WorkPriority priority) {
+		return newFixedThreadPool(name, 1, priority);
+	}
+
 	/**
 	 * @param name
 	 * 		Thread pool name.
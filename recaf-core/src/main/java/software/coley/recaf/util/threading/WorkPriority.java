@@ -0,0 +1,22 @@
+package software.coley.recaf.util.threading;
+
+/**
+ * Priority lanes of the {@link WorkScheduler}. Queued work of a higher priority is always started before queued
+ * work of a lower priority.
+ *
+ * @author Matt Coley
+ */
+public enum WorkPriority {
+	/**
+	 * Work the user is actively waiting on, such as decompiling the class they just opened.
+	 */
+	INTERACTIVE,
+	/**
+	 * Work the user requested, but is not expected to complete immediately, such as searching.
+	 */
+	NORMAL,
+	/**
+	 * Work the user did not directly request, such as building the call graph.
+	 */
+	BACKGROUND
+}
@@ -0,0 +1,152 @@
+package software.coley.recaf.util.threading;
+
+import jakarta.annotation.Nonnull;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Central scheduler for CPU bound work, shared by all pools created through
+ * {@link ThreadPoolFactory#newFixedThreadPool(String, WorkPriority)}.
+ * <p>
+ * Work is queued into one lane per {@link WorkPriority}, and run by a single work-stealing {@link ForkJoinPool}
+ * sized to the number of available cores. Whenever a worker is free, it starts the oldest task of the highest
+ * priority lane with queued work. Because all services share the same workers, concurrent activity does not
+ * oversubscribe the CPU, and interactive work does not wait behind queued background work.
+ * <p>
+ * Blocking I/O should not be run on the scheduler, and instead use {@link #newVirtualThreadExecutor(String)}.
+ *
+ * @author Matt Coley
+ */
+public class WorkScheduler {
+	private static final Logger logger = Logging.get(WorkScheduler.class);
+	private static final AtomicInteger workerId = new AtomicInteger();
+	private static final Lane[] lanes;
+	private static final ForkJoinPool pool;
+
+	static {
+		WorkPriority[] priorities = WorkPriority.values();
+		lanes = new Lane[priorities.length];
+		for (WorkPriority priority : priorities)
+			lanes[priority.ordinal()] = new Lane(priority);
+		pool = new ForkJoinPool(ThreadPoolFactory.MAX, p -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+			thread.setName("recaf-worker-" + workerId.getAndIncrement());
+			return thread;
+		}, (thread, t) -> logger.error("Unhandled exception on thread '{}'", thread.getName(), t), true);
+	}
+
+	private WorkScheduler() {}
+
+	/**
+	 * @param priority
+	 * 		Lane to queue the task in.
+	 * @param task
+	 * 		Task to run.
+	 */
+	public static void execute(@Nonnull WorkPriority priority, @Nonnull Runnable task) {
+		lanes[priority.ordinal()].enqueue(task);
+
+		// Each queued task is paired with one pool task, which runs whatever is the highest priority work
+		// at the time a worker becomes free.
+		pool.execute(WorkScheduler::runNext);
+	}
+
+	/**
+	 * @param priority
+	 * 		Lane to get statistics of.
+	 *
+	 * @return Snapshot of the lane's activity.
+	 */
+	@Nonnull
+	public static LaneStatistics getStatistics(@Nonnull WorkPriority priority) {
+		return lanes[priority.ordinal()].statistics();
+	}
+
+	/**
+	 * @return Number of workers running scheduled tasks.
+	 */
+	public static int getParallelism() {
+		return ThreadPoolFactory.MAX;
+	}
+
+	/**
+	 * @param name
+	 * 		Name prefix of threads.
+	 *
+	 * @return Executor running each task on a new virtual thread, for work which spends most of its time blocked.
+	 */
+	@Nonnull
+	public static ExecutorService newVirtualThreadExecutor(@Nonnull String name) {
+		return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+	}
+
+	private static void runNext() {
+		for (Lane lane : lanes)
+			if (lane.runNext())
+				return;
+	}
+
+	/**
+	 * Queue of tasks of a single priority, with activity counters.
+	 */
+	private static class Lane {
+		private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger queued = new AtomicInteger();
+		private final AtomicInteger active = new AtomicInteger();
+		private final LongAdder submitted = new LongAdder();
+		private final LongAdder completed = new LongAdder();
+		private final LongAdder waitNanos = new LongAdder();
+		private final WorkPriority priority;
+
+		private Lane(@Nonnull WorkPriority priority) {
+			this.priority = priority;
+		}
+
+		private void enqueue(@Nonnull Runnable task) {
+			submitted.increment();
+			queued.incrementAndGet();
+			queue.add(new Entry(task, System.nanoTime()));
+		}
+
+		private boolean runNext() {
+			Entry entry = queue.poll();
+			if (entry == null)
+				return false;
+			queued.decrementAndGet();
+			active.incrementAndGet();
+			waitNanos.add(System.nanoTime() - entry.queuedAt());
+			try {
+				entry.task().run();
+			} catch (Throwable t) {
+				logger.error("Unhandled exception in {} task", priority.name().toLowerCase(), t);
+			} finally {
+				active.decrementAndGet();
+				completed.increment();
+			}
+			return true;
+		}
+
+		@Nonnull
+		private LaneStatistics statistics() {
+			return new LaneStatistics(priority, queued.get(), active.get(),
+					submitted.sum(), completed.sum(), waitNanos.sum());
+		}
+	}
+
+	/**
+	 * @param task
+	 * 		Queued task.
+	 * @param queuedAt
+	 * 		Time the task was queued at, from {@link System#nanoTime()}.
+	 */
+	private record Entry(@Nonnull Runnable task, long queuedAt) {}
+}
@@ -27,6 +27,7 @@ public class BasicWorkspace implements Workspace {
 	private final WorkspaceResource primary;
 	private final List<WorkspaceResource> supporting = new ArrayList<>();
 	private final List<WorkspaceResource> internal;
+	private volatile WorkspaceStatistics statistics;
 
 	/**
 	 * @param primary
@@ -90,6 +91,21 @@ public boolean removeSupportingResource(@Nonnull WorkspaceResource resource) {
 		return remove;
 	}
 
+	@Nonnull
+	@Override
+	public WorkspaceStatistics getStatistics() {
+		// Created on demand, since most workspaces are never asked for statistics.
+		WorkspaceStatistics local = statistics;
+		if (local == null) {
+			synchronized (this) {
+				local = statistics;
+				if (local == null)
+					statistics = local = new WorkspaceStatistics(this);
+			}
+		}
+		return local;
+	}
+
 	@Nonnull
 	@Override
 	public List<WorkspaceModificationListener> getWorkspaceModificationListeners() {
@@ -104,6 +104,12 @@ default List<WorkspaceResource> getAllResources(boolean includeInternal) {
 		return allResourcesStream(includeInternal).toList();
 	}
 
+	/**
+	 * @return Statistics of the workspace contents, maintained as the contents change.
+	 */
+	@Nonnull
+	WorkspaceStatistics getStatistics();
+
 	/**
 	 * @return Listeners for when the current workspace has its supporting resources updated.
 	 */
@@ -0,0 +1,144 @@
+package software.coley.recaf.workspace.model;
+
+import jakarta.annotation.Nonnull;
+import software.coley.observables.ObservableInteger;
+import software.coley.observables.ObservableLong;
+import software.coley.recaf.workspace.model.bundle.BundleStatistics;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statistics of the contents of a {@link Workspace}, aggregated from the {@link BundleStatistics} of the primary
+ * and supporting resources <i>(including their embedded resources)</i>. Internal resources are not included.
+ * <p>
+ * Values are maintained as bundle contents change and as supporting resources are added and removed,
+ * so they can be read in constant time, and observed for changes.
+ *
+ * @author Matt Coley
+ * @see Workspace#getStatistics()
+ */
+public class WorkspaceStatistics implements WorkspaceModificationListener {
+	private final Set<BundleStatistics> tracked = ConcurrentHashMap.newKeySet();
+	private final ObservableInteger classCount = new ObservableInteger(0);
+	private final ObservableInteger fileCount = new ObservableInteger(0);
+	private final ObservableLong byteCount = new ObservableLong(0L);
+	private final ObservableInteger fieldCount = new ObservableInteger(0);
+	private final ObservableInteger methodCount = new ObservableInteger(0);
+
+	/**
+	 * @param workspace
+	 * 		Workspace to aggregate statistics of.
+	 */
+	public WorkspaceStatistics(@Nonnull Workspace workspace) {
+		workspace.allResourcesStream(false).forEach(this::track);
+		workspace.addWorkspaceModificationListener(this);
+	}
+
+	/**
+	 * @return Number of classes in the workspace.
+	 */
+	@Nonnull
+	public ObservableInteger getClassCount() {
+		return classCount;
+	}
+
+	/**
+	 * @return Number of files in the workspace.
+	 */
+	@Nonnull
+	public ObservableInteger getFileCount() {
+		return fileCount;
+	}
+
+	/**
+	 * @return Total size in bytes of the classes and files in the workspace.
+	 *
+	 * @see BundleStatistics#getByteCount()
+	 */
+	@Nonnull
+	public ObservableLong getByteCount() {
+		return byteCount;
+	}
+
+	/**
+	 * @return Total number of fields declared by classes in the workspace.
+	 */
+	@Nonnull
+	public ObservableInteger getFieldCount() {
+		return fieldCount;
+	}
+
+	/**
+	 * @return Total number of methods declared by classes in the workspace.
+	 */
+	@Nonnull
+	public ObservableInteger getMethodCount() {
+		return methodCount;
+	}
+
+	@Override
+	public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+		track(library);
+	}
+
+	@Override
+	public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+		library.classBundleStreamRecursive().forEach(bundle -> untrack(bundle.getStatistics(), classCount));
+		library.fileBundleStreamRecursive().forEach(bundle -> untrack(bundle.getStatistics(), fileCount));
+	}
+
+	private void track(@Nonnull WorkspaceResource resource) {
+		resource.classBundleStreamRecursive().forEach(bundle -> track(bundle.getStatistics(), classCount));
+		resource.fileBundleStreamRecursive().forEach(bundle -> track(bundle.getStatistics(), fileCount));
+	}
+
+	private void track(@Nonnull BundleStatistics statistics, @Nonnull ObservableInteger itemTarget) {
+		// Bundle statistics are only updated while holding their lock, so registering listeners and reading
+		// the current values under the same lock ensures no change is counted twice or missed.
+		synchronized (statistics) {
+			if (!tracked.add(statistics))
+				return;
+
+			// Removed resources cannot have their listeners removed, so they check if they are still tracked.
+			statistics.getItemCount().addChangeListener((ob, old, cur) -> {
+				if (tracked.contains(statistics)) add(itemTarget, cur - old);
+			});
+			statistics.getByteCount().addChangeListener((ob, old, cur) -> {
+				if (tracked.contains(statistics)) add(cur - old);
+			});
+			statistics.getFieldCount().addChangeListener((ob, old, cur) -> {
+				if (tracked.contains(statistics)) add(fieldCount, cur - old);
+			});
+			statistics.getMethodCount().addChangeListener((ob, old, cur) -> {
+				if (tracked.contains(statistics)) add(methodCount, cur - old);
+			});
+			apply(statistics, itemTarget, 1);
+		}
+	}
+
+	private void untrack(@Nonnull BundleStatistics statistics, @Nonnull ObservableInteger itemTarget) {
+		synchronized (statistics) {
+			if (tracked.remove(statistics))
+				apply(statistics, itemTarget, -1);
+		}
+	}
+
+	private void apply(@Nonnull BundleStatistics statistics, @Nonnull ObservableInteger itemTarget, int sign) {
+		add(itemTarget, sign * statistics.getItemCount().getValue());
+		add(sign * statistics.getByteCount().getValue());
+		add(fieldCount, sign * statistics.getFieldCount().getValue());
+		add(methodCount, sign * statistics.getMethodCount().getValue());
+	}
+
+	private synchronized void add(@Nonnull ObservableInteger target, int delta) {
+		if (delta != 0)
+			target.setValue(target.getValue() + delta);
+	}
+
+	private synchronized void add(long bytesDelta) {
+		if (bytesDelta != 0)
+			byteCount.setValue(byteCount.getValue() + bytesDelta);
+	}
+}
@@ -26,6 +26,7 @@
 	private final Map<String, I> backing = new ConcurrentHashMap<>();
 	private final Set<String> initialKeys = ConcurrentHashMap.newKeySet();
 	private final NavigableSet<String> removed = Collections.synchronizedNavigableSet(new TreeSet<>());
+	private final BundleStatistics statistics = new BundleStatistics();
 
 	/**
 	 * Create initial history item.
@@ -48,7 +49,11 @@ private void initHistory(@Nonnull I info) {
 	 * @see #markInitialState()
 	 */
 	public void initialPut(@Nonnull I info) {
-		backing.put(info.getName(), info);
+		I oldValue = backing.put(info.getName(), info);
+		if (oldValue == null)
+			statistics.onNewItem(info.getName(), info);
+		else
+			statistics.onUpdateItem(info.getName(), oldValue, info);
 		initHistory(info);
 	}
 
@@ -62,6 +67,41 @@ public void markInitialState() {
 		initialKeys.addAll(backing.keySet());
 	}
 
+	/**
+	 * Replaces an unmodified item, treating the replacement as the item's initial state rather than a modification.
+	 * Listeners are notified of the update as they would be for {@link #put(String, Info)}, but the history of the
+	 * item is not incremented, so the item is not considered dirty.
+	 * <p>
+	 * Used to swap in corrected copies of items that were imported without being fully checked.
+	 *
+	 * @param expected
+	 * 		Item expected to currently be in the bundle.
+	 * @param replacement
+	 * 		Item to replace it with. Must have the same name.
+	 *
+	 * @return {@code true} when the item was replaced. {@code false} when the bundle no longer holds the expected
+	 * item or the item has been modified since it was added.
+	 */
+	public boolean replaceInitial(@Nonnull I expected, @Nonnull I replacement) {
+		String key = expected.getName();
+		if (!key.equals(replacement.getName()))
+			throw new IllegalArgumentException("Replacement name does not match: " + key);
+		Stack<I> itemHistory = history.get(key);
+		if (itemHistory == null)
+			return false;
+		synchronized (itemHistory) {
+			if (itemHistory.size() != 1 || !backing.replace(key, expected, replacement))
+				return false;
+			itemHistory.set(0, replacement);
+		}
+		statistics.onUpdateItem(key, expected, replacement);
+
+		// Notify listeners
+		Unchecked.checkedForEach(listeners, listener -> listener.onUpdateItem(key, expected, replacement),
+				(listener, t) -> logger.error("Exception thrown when replacing bundle item", t));
+		return true;
+	}
+
 	/**
 	 * Utility call for {@link #put(String, Info)}
 	 *
@@ -143,12 +183,19 @@ public void decrementHistory(@Nonnull String key) {
 			priorItem = itemHistory.peek();
 		}
 		backing.put(key, priorItem);
+		statistics.onUpdateItem(key, currentItem, priorItem);
 
 		// Notify listeners
 		Unchecked.checkedForEach(listeners, listener -> listener.onUpdateItem(key, currentItem, priorItem),
 				(listener, t) -> logger.error("Exception thrown when decrementing bundle history", t));
 	}
 
+	@Nonnull
+	@Override
+	public BundleStatistics getStatistics() {
+		return statistics;
+	}
+
 	@Override
 	public void addBundleListener(@Nonnull BundleListener<I> listener) {
 		listeners.add(listener);
@@ -196,6 +243,12 @@ public I put(@Nonnull String key, @Nonnull I newValue) {
 		// Ensure we don't track entries by this name as 'removed'
 		removed.remove(key);
 
+		// Update statistics before listeners, so they observe consistent values
+		if (oldValue == null)
+			statistics.onNewItem(key, newValue);
+		else
+			statistics.onUpdateItem(key, oldValue, newValue);
+
 		// Notify listeners
 		Unchecked.checkedForEach(listeners, listener -> {
 			if (oldValue == null) {
@@ -224,6 +277,7 @@ public I remove(@Nonnull Object key) {
 			// Adding a file and removing it should not be tracked as a net-removal.
 			if (initialKeys.contains(keyStr))
 				removed.add(keyStr);
+			statistics.onRemoveItem(keyStr, info);
 
 			// Notify listeners
 			Unchecked.checkedForEach(listeners, listener -> listener.onRemoveItem(keyStr, info),
@@ -245,6 +299,7 @@ public void clear() {
 		removed.addAll(initialKeys);
 		backing.clear();
 		history.clear();
+		statistics.reset();
 	}
 
 	@Override
@@ -91,6 +91,12 @@ default Stream<I> stream() {
 	 */
 	void decrementHistory(String key);
 
+	/**
+	 * @return Statistics of the bundle contents, maintained as the contents change.
+	 */
+	@Nonnull
+	BundleStatistics getStatistics();
+
 	/**
 	 * @param listener
 	 * 		Listener to add.
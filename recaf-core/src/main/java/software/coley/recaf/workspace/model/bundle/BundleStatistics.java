@@ -0,0 +1,108 @@
+package software.coley.recaf.workspace.model.bundle;
+
+import jakarta.annotation.Nonnull;
+import software.coley.observables.ObservableInteger;
+import software.coley.observables.ObservableLong;
+import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.info.FileInfo;
+import software.coley.recaf.info.Info;
+import software.coley.recaf.info.JvmClassInfo;
+
+/**
+ * Statistics of the contents of a {@link Bundle}, maintained as items are added, updated, and removed.
+ * All values can be read in constant time, and observed for changes.
+ * <p>
+ * Updates to the values are made while holding the lock of this instance. Listeners registered while holding
+ * the same lock will not miss any change after reading the current values.
+ *
+ * @author Matt Coley
+ * @see Bundle#getStatistics()
+ */
+public class BundleStatistics implements BundleListener<Info> {
+	private final ObservableInteger itemCount = new ObservableInteger(0);
+	private final ObservableLong byteCount = new ObservableLong(0L);
+	private final ObservableInteger fieldCount = new ObservableInteger(0);
+	private final ObservableInteger methodCount = new ObservableInteger(0);
+
+	@Override
+	public synchronized void onNewItem(@Nonnull String key, @Nonnull Info value) {
+		update(1, sizeOf(value), fieldsOf(value), methodsOf(value));
+	}
+
+	@Override
+	public synchronized void onUpdateItem(@Nonnull String key, @Nonnull Info oldValue, @Nonnull Info newValue) {
+		update(0, sizeOf(newValue) - sizeOf(oldValue),
+				fieldsOf(newValue) - fieldsOf(oldValue),
+				methodsOf(newValue) - methodsOf(oldValue));
+	}
+
+	@Override
+	public synchronized void onRemoveItem(@Nonnull String key, @Nonnull Info value) {
+		update(-1, -sizeOf(value), -fieldsOf(value), -methodsOf(value));
+	}
+
+	/**
+	 * Resets all values to zero, for when the bundle is cleared.
+	 */
+	public synchronized void reset() {
+		update(-itemCount.getValue(), -byteCount.getValue(), -fieldCount.getValue(), -methodCount.getValue());
+	}
+
+	/**
+	 * @return Number of items in the bundle.
+	 */
+	@Nonnull
+	public ObservableInteger getItemCount() {
+		return itemCount;
+	}
+
+	/**
+	 * @return Total size in bytes of the items in the bundle.
+	 * For classes this is the size of their bytecode, and for files the size of their raw content.
+	 * Android classes do not contribute to this value.
+	 */
+	@Nonnull
+	public ObservableLong getByteCount() {
+		return byteCount;
+	}
+
+	/**
+	 * @return Total number of fields declared by classes in the bundle.
+	 */
+	@Nonnull
+	public ObservableInteger getFieldCount() {
+		return fieldCount;
+	}
+
+	/**
+	 * @return Total number of methods declared by classes in the bundle.
+	 */
+	@Nonnull
+	public ObservableInteger getMethodCount() {
+		return methodCount;
+	}
+
+	private void update(int items, long bytes, int fields, int methods) {
+		// Only set values which have changed, so listeners are not notified of no-op changes.
+		if (items != 0) itemCount.setValue(itemCount.getValue() + items);
+		if (bytes != 0) byteCount.setValue(byteCount.getValue() + bytes);
+		if (fields != 0) fieldCount.setValue(fieldCount.getValue() + fields);
+		if (methods != 0) methodCount.setValue(methodCount.getValue() + methods);
+	}
+
+	private static long sizeOf(@Nonnull Info info) {
+		if (info instanceof JvmClassInfo jvmClass)
+			return jvmClass.getBytecode().length;
+		if (info instanceof FileInfo file)
+			return file.getRawContent().length;
+		return 0;
+	}
+
+	private static int fieldsOf(@Nonnull Info info) {
+		return info instanceof ClassInfo cls ? cls.getFields().size() : 0;
+	}
+
+	private static int methodsOf(@Nonnull Info info) {
+		return info instanceof ClassInfo cls ? cls.getMethods().size() : 0;
+	}
+}
@@ -9,9 +9,11 @@
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.tree.FieldNode;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.builder.JvmClassInfoBuilder;
 import software.coley.recaf.services.compile.CompilerDiagnostic;
+import software.coley.recaf.services.compile.JavacCompiler;
 import software.coley.recaf.test.TestBase;
 import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.test.dummy.ClassWithFieldsAndMethods;
@@ -19,6 +21,7 @@
 import software.coley.recaf.test.dummy.ClassWithRequiredConstructor;
 import software.coley.recaf.test.dummy.DummyEnum;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
 
 import java.io.IOException;
 import java.util.List;
@@ -253,6 +256,52 @@ void errorLineIsOffsetToInputExpressionLineNumber() {
 		assertEquals(1, error.line());
 	}
 
+	@Test
+	void resultsCachedPerContext() {
+		ExpressionCompiler assembler = recaf.get(ExpressionCompiler.class);
+		assembler.setClassContext(targetClass);
+		ExpressionResult first = compile(assembler, "int local = finalInt;");
+		ExpressionResult second = compile(assembler, "int local = finalInt;");
+		assertSuccess(first);
+		assertSame(first, second, "Same expression in the same context should yield the cached result");
+
+		// Changing the context should invalidate prior results.
+		assembler.clearContext();
+		ExpressionResult third = assembler.compile("int local = finalInt;");
+		assertNotSame(first, third);
+		assertFalse(third.getDiagnostics().isEmpty(), "Field should not be accessible without class context");
+	}
+
+	@Test
+	void resultsInvalidatedWhenWorkspaceClassesChange() {
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		Workspace changingWorkspace = TestClassUtils.fromBundle(bundle);
+		ExpressionCompiler assembler = new ExpressionCompiler(changingWorkspace, recaf.get(JavacCompiler.class),
+				recaf.get(AssemblerPipelineGeneralConfig.class));
+		String expression = "int local = Dependency.VALUE;";
+
+		// The referenced class does not exist yet
+		ExpressionResult missing = assembler.compile(expression);
+		assertFalse(missing.getDiagnostics().isEmpty(), "Class should not be accessible before it is added");
+
+		// Adding the class should drop the cached failure
+		bundle.put(TestClassUtils.createClass("Dependency", node ->
+				node.fields.add(new FieldNode(ACC_PUBLIC | ACC_STATIC, "VALUE", "I", null, null))));
+		assertSuccess(assembler.compile(expression));
+	}
+
+	@Test
+	void closedCompilerStopsTrackingWorkspace() {
+		Workspace changingWorkspace = TestClassUtils.fromBundle(new BasicJvmClassBundle());
+		int listenerCount = changingWorkspace.getWorkspaceModificationListeners().size();
+		ExpressionCompiler assembler = new ExpressionCompiler(changingWorkspace, recaf.get(JavacCompiler.class),
+				recaf.get(AssemblerPipelineGeneralConfig.class));
+		assertEquals(listenerCount + 1, changingWorkspace.getWorkspaceModificationListeners().size());
+
+		assembler.close();
+		assertEquals(listenerCount, changingWorkspace.getWorkspaceModificationListeners().size());
+	}
+
 	@Nested
 	class ObfuscatedContexts {
 		@ParameterizedTest
@@ -0,0 +1,133 @@
+package software.coley.recaf.services.batch;
+
+import jakarta.annotation.Nonnull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.services.inheritance.InheritanceGraphConfig;
+import software.coley.recaf.services.json.GsonProvider;
+import software.coley.recaf.services.mapping.MappingApplierConfig;
+import software.coley.recaf.services.mapping.MappingListenersConfig;
+import software.coley.recaf.services.mapping.aggregate.AggregateMappingManagerConfig;
+import software.coley.recaf.services.mapping.format.MappingFormatManager;
+import software.coley.recaf.services.mapping.format.SimpleMappings;
+import software.coley.recaf.services.mapping.gen.MappingGenerator;
+import software.coley.recaf.services.mapping.gen.naming.NameGeneratorProviders;
+import software.coley.recaf.services.metrics.MetricsService;
+import software.coley.recaf.services.transform.JvmClassTransformer;
+import software.coley.recaf.services.transform.JvmTransformerContext;
+import software.coley.recaf.services.transform.TransformationApplierConfig;
+import software.coley.recaf.services.transform.TransformationException;
+import software.coley.recaf.services.transform.TransformationManager;
+import software.coley.recaf.services.workspace.io.DeferredClassValidator;
+import software.coley.recaf.services.workspace.io.ResourceImporter;
+import software.coley.recaf.test.TestBase;
+import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+
+/**
+ * Tests for {@link BatchJobRunner}
+ */
+class BatchJobRunnerTest extends TestBase {
+	@Test
+	void importTransformMapExport(@TempDir Path dir) throws IOException {
+		JvmClassInfo cls = TestClassUtils.createClass("Foo", null);
+		Path input = dir.resolve("app.jar");
+		try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(input))) {
+			zos.putNextEntry(new ZipEntry("Foo.class"));
+			zos.write(cls.getBytecode());
+			zos.closeEntry();
+		}
+		Files.writeString(dir.resolve("mappings.txt"), "Foo Renamed\n");
+		Path jobFile = Files.writeString(dir.resolve("job.json"), """
+				{
+				  "inputs": ["app.jar"],
+				  "output": "out",
+				  "transformers": ["AddFieldTransformer"],
+				  "mappings": { "file": "mappings.txt", "format": "%s" }
+				}
+				""".formatted(SimpleMappings.NAME));
+
+		BatchReport report = newRunner().run(jobFile);
+		assertTrue(report.isSuccess(), report::summarize);
+		assertEquals(1, report.inputs().size());
+
+		// All stages should have been run for the input
+		BatchReport.InputReport inputReport = report.inputs().getFirst();
+		Path output = dir.resolve("out").resolve("app.jar");
+		assertEquals(input, inputReport.input());
+		assertEquals(output, inputReport.output());
+		assertEquals(EnumSet.allOf(BatchReport.Stage.class), inputReport.stageNanos().keySet());
+		assertEquals(inputReport.stageNanos().keySet(), report.getStageTotals().keySet());
+
+		// The output should have the renamed class, with the field added by the transformer
+		try (ZipFile zip = new ZipFile(output.toFile())) {
+			assertNull(zip.getEntry("Foo.class"), "Class was not renamed");
+			ZipEntry entry = zip.getEntry("Renamed.class");
+			assertNotNull(entry, "Renamed class missing from output");
+			ClassNode node = new ClassNode();
+			new ClassReader(zip.getInputStream(entry).readAllBytes()).accept(node, 0);
+			assertEquals("Renamed", node.name);
+			assertTrue(node.fields.stream().anyMatch(f -> f.name.equals(AddFieldTransformer.FIELD)),
+					"Transformer was not applied");
+		}
+	}
+
+	@Nonnull
+	private static BatchJobRunner newRunner() {
+		TransformationManager transformationManager = new TransformationManager(
+				Map.of(AddFieldTransformer.class, AddFieldTransformer::new));
+		return new BatchJobRunner(
+				recaf.get(BatchJobRunnerConfig.class),
+				recaf.get(GsonProvider.class),
+				recaf.get(ResourceImporter.class),
+				recaf.get(DeferredClassValidator.class),
+				transformationManager,
+				recaf.get(TransformationApplierConfig.class),
+				recaf.get(MappingFormatManager.class),
+				recaf.get(MappingGenerator.class),
+				recaf.get(NameGeneratorProviders.class),
+				recaf.get(MappingApplierConfig.class),
+				recaf.get(MappingListenersConfig.class),
+				recaf.get(AggregateMappingManagerConfig.class),
+				recaf.get(InheritanceGraphConfig.class),
+				recaf.get(MetricsService.class)
+		);
+	}
+
+	static class AddFieldTransformer implements JvmClassTransformer {
+		static final String FIELD = "transformed";
+
+		@Override
+		public void transform(@Nonnull JvmTransformerContext context, @Nonnull Workspace workspace,
+		                      @Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle,
+		                      @Nonnull JvmClassInfo classInfo) throws TransformationException {
+			ClassNode node = context.getNode(bundle, classInfo);
+			node.fields.add(new FieldNode(ACC_PUBLIC, FIELD, "I", null, null));
+			context.setNode(bundle, classInfo, node);
+		}
+
+		@Nonnull
+		@Override
+		public String name() {
+			return "add-field";
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package software.coley.recaf.services.batch;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BatchJob}.
+ */
+class BatchJobTest {
+	private static final Gson gson = new Gson();
+
+	@Test
+	void inputsResolveRelativeToJobFile(@TempDir Path dir) throws IOException {
+		Path libs = Files.createDirectories(dir.resolve("libs"));
+		Files.writeString(libs.resolve("b.jar"), "");
+		Files.writeString(libs.resolve("a.jar"), "");
+		Path job = Files.writeString(dir.resolve("job.json"), """
+				{
+				  "inputs": ["libs", "app.jar"],
+				  "output": "out",
+				  "transformers": ["SomeTransformer"],
+				  "generateMappings": { "include": ["non-ascii"] }
+				}
+				""");
+
+		BatchJob parsed = BatchJob.read(gson, job);
+		assertEquals(List.of(libs.resolve("a.jar"), libs.resolve("b.jar"), dir.resolve("app.jar")),
+				parsed.resolveInputs());
+		assertEquals(dir.resolve("out"), parsed.getOutputDirectory());
+		assertEquals(List.of("SomeTransformer"), parsed.getTransformers());
+		assertNull(parsed.getMappings());
+		assertNotNull(parsed.getGenerateMappings());
+		assertNull(parsed.getGenerateMappings().getGenerator());
+		assertEquals(List.of("non-ascii"), parsed.getGenerateMappings().getInclude());
+	}
+
+	@Test
+	void invalidJobsAreRejected(@TempDir Path dir) throws IOException {
+		Path noInputs = Files.writeString(dir.resolve("no-inputs.json"), """
+				{ "output": "out" }
+				""");
+		Path noOutput = Files.writeString(dir.resolve("no-output.json"), """
+				{ "inputs": ["app.jar"] }
+				""");
+		Path partialMappings = Files.writeString(dir.resolve("partial-mappings.json"), """
+				{ "inputs": ["app.jar"], "output": "out", "mappings": { "file": "map.txt" } }
+				""");
+		Path malformed = Files.writeString(dir.resolve("malformed.json"), "{ inputs: [");
+		assertThrows(IOException.class, () -> BatchJob.read(gson, noInputs));
+		assertThrows(IOException.class, () -> BatchJob.read(gson, noOutput));
+		assertThrows(IOException.class, () -> BatchJob.read(gson, partialMappings));
+		assertThrows(IOException.class, () -> BatchJob.read(gson, malformed));
+	}
+
+	@Test
+	void inputsWithSameFileNameAreRejected(@TempDir Path dir) throws IOException {
+		Path first = Files.createDirectories(dir.resolve("first"));
+		Path second = Files.createDirectories(dir.resolve("second"));
+		Files.writeString(first.resolve("app.jar"), "");
+		Files.writeString(second.resolve("app.jar"), "");
+		Path job = Files.writeString(dir.resolve("job.json"), """
+				{ "inputs": ["first", "second"], "output": "out" }
+				""");
+
+		// Both would be exported to 'out/app.jar'
+		BatchJob parsed = BatchJob.read(gson, job);
+		assertThrows(IOException.class, parsed::resolveInputs);
+	}
+}
@@ -2,17 +2,28 @@
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
 import software.coley.observables.ObservableBoolean;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.services.file.SnapshotStorage;
 import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.test.dummy.StringConsumer;
 import software.coley.recaf.test.dummy.StringConsumerUser;
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.objectweb.asm.Opcodes.*;
 
 /**
  * Tests for {@link CallGraph}
@@ -62,6 +73,141 @@ void testCalleeCallerRelation() throws IOException {
 		assertTrue(newVertex.getCallers().contains(mainVertex));
 	}
 
+	@Test
+	@Timeout(10)
+	void testRestoreFromSnapshot(@TempDir Path dir) throws IOException {
+		Workspace workspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(
+				StringConsumer.class,
+				StringConsumerUser.class
+		));
+		JvmClassInfo mainClass = workspace.findJvmClass(StringConsumerUser.class.getName().replace('.', '/')).getValue().asJvmClass();
+		JvmClassInfo functionClass = workspace.findJvmClass(StringConsumer.class.getName().replace('.', '/')).getValue().asJvmClass();
+
+		// The first graph visits all classes, and records a snapshot in the background.
+		SnapshotStorage storage = new SnapshotStorage(dir);
+		awaitReady(new CallGraph(new CallGraphConfig(), storage, workspace));
+		awaitSnapshot(dir);
+
+		// The second graph restores from the snapshot, and should have the same calls.
+		CallGraph restored = new CallGraph(new CallGraphConfig(), storage, workspace);
+		awaitReady(restored);
+		MethodVertex mainVertex = restored.getClassMethodsContainer(mainClass).getVertex("main", "([Ljava/lang/String;)V");
+		assertNotNull(mainVertex, "Missing method vertex for 'main'");
+		assertEquals(2, mainVertex.getCalls().size());
+		MethodVertex acceptVertex = restored.getClassMethodsContainer(functionClass).getVertex("accept", "(Ljava/lang/String;)V");
+		assertNotNull(acceptVertex, "Missing method vertex for 'accept'");
+		assertTrue(acceptVertex.getCallers().contains(mainVertex));
+	}
+
+	@Test
+	@Timeout(10)
+	void testRestoreRevisitsCallWhenIntermediateClassGainsMethod(@TempDir Path dir) throws IOException {
+		// Caller calls 'B.foo()', which resolves to 'C.foo()' since 'B' does not declare it.
+		JvmClassInfo caller = TestClassUtils.createClass("Caller", node -> {
+			MethodNode method = new MethodNode(ACC_PUBLIC | ACC_STATIC, "run", "(LB;)V", null, null);
+			method.instructions.add(new VarInsnNode(ALOAD, 0));
+			method.instructions.add(new MethodInsnNode(INVOKEVIRTUAL, "B", "foo", "()V", false));
+			method.instructions.add(new InsnNode(RETURN));
+			method.maxStack = 1;
+			method.maxLocals = 1;
+			node.methods.add(method);
+		});
+		JvmClassInfo top = TestClassUtils.createClass("C", node -> node.methods.add(emptyMethod("foo")));
+		JvmClassInfo middle = TestClassUtils.createClass("B", node -> node.superName = "C");
+		Workspace workspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(caller, middle, top));
+
+		SnapshotStorage storage = new SnapshotStorage(dir);
+		CallGraph graph = new CallGraph(new CallGraphConfig(), storage, workspace);
+		awaitReady(graph);
+		awaitSnapshot(dir);
+		MethodVertex runVertex = graph.getClassMethodsContainer(caller).getVertex("run", "(LB;)V");
+		assertNotNull(runVertex);
+		assertEquals(List.of("C"), runVertex.getCalls().stream().map(v -> v.getMethod().owner()).toList());
+
+		// Now 'B' declares 'foo()'. The caller and 'C' are unchanged, but the call now resolves to 'B.foo()'.
+		JvmClassInfo middleWithFoo = TestClassUtils.createClass("B", node -> {
+			node.superName = "C";
+			node.methods.add(emptyMethod("foo"));
+		});
+		Workspace updated = TestClassUtils.fromBundle(TestClassUtils.fromClasses(caller, middleWithFoo, top));
+		CallGraph restored = new CallGraph(new CallGraphConfig(), storage, updated);
+		awaitReady(restored);
+		runVertex = restored.getClassMethodsContainer(caller).getVertex("run", "(LB;)V");
+		assertNotNull(runVertex);
+		assertEquals(List.of("B"), runVertex.getCalls().stream().map(v -> v.getMethod().owner()).toList(),
+				"Restored graph kept the stale call to 'C.foo()'");
+		MethodVertex fooVertex = restored.getClassMethodsContainer(middleWithFoo).getVertex("foo", "()V");
+		assertNotNull(fooVertex);
+		assertTrue(fooVertex.getCallers().contains(runVertex));
+	}
+
+	@Test
+	@Timeout(10)
+	void testRestoreRevisitsCallWhenItBecomesResolvable(@TempDir Path dir) throws IOException {
+		// Caller calls 'B.bar()', which cannot be resolved since 'B' does not declare it.
+		JvmClassInfo caller = TestClassUtils.createClass("Caller", node -> {
+			MethodNode method = new MethodNode(ACC_PUBLIC | ACC_STATIC, "run", "(LB;)V", null, null);
+			method.instructions.add(new VarInsnNode(ALOAD, 0));
+			method.instructions.add(new MethodInsnNode(INVOKEVIRTUAL, "B", "bar", "()V", false));
+			method.instructions.add(new InsnNode(RETURN));
+			method.maxStack = 1;
+			method.maxLocals = 1;
+			node.methods.add(method);
+		});
+		JvmClassInfo callee = TestClassUtils.createClass("B", node -> {});
+		Workspace workspace = TestClassUtils.fromBundle(TestClassUtils.fromClasses(caller, callee));
+
+		SnapshotStorage storage = new SnapshotStorage(dir);
+		CallGraph graph = new CallGraph(new CallGraphConfig(), storage, workspace);
+		awaitReady(graph);
+		awaitSnapshot(dir);
+		MethodVertex runVertex = graph.getClassMethodsContainer(caller).getVertex("run", "(LB;)V");
+		assertNotNull(runVertex);
+		assertTrue(runVertex.getCalls().isEmpty());
+
+		// Now 'B' declares 'bar()'. The caller is unchanged, but its call now resolves.
+		JvmClassInfo calleeWithBar = TestClassUtils.createClass("B", node -> node.methods.add(emptyMethod("bar")));
+		Workspace updated = TestClassUtils.fromBundle(TestClassUtils.fromClasses(caller, calleeWithBar));
+		CallGraph restored = new CallGraph(new CallGraphConfig(), storage, updated);
+		awaitReady(restored);
+		runVertex = restored.getClassMethodsContainer(caller).getVertex("run", "(LB;)V");
+		assertNotNull(runVertex);
+		assertEquals(List.of("B"), runVertex.getCalls().stream().map(v -> v.getMethod().owner()).toList(),
+				"Restored graph is missing the call to 'B.bar()'");
+		MethodVertex barVertex = restored.getClassMethodsContainer(calleeWithBar).getVertex("bar", "()V");
+		assertNotNull(barVertex);
+		assertTrue(barVertex.getCallers().contains(runVertex));
+	}
+
+	private static MethodNode emptyMethod(String name) {
+		MethodNode method = new MethodNode(ACC_PUBLIC, name, "()V", null, null);
+		method.instructions.add(new InsnNode(RETURN));
+		return method;
+	}
+
+	private static void awaitSnapshot(Path dir) {
+		assertDoesNotThrow(() -> {
+			Path snapshotDir = dir.resolve(CallGraphSnapshot.KIND);
+			while (true) {
+				if (Files.isDirectory(snapshotDir))
+					try (Stream<Path> stream = Files.list(snapshotDir)) {
+						if (stream.anyMatch(p -> p.toString().endsWith(".snapshot")))
+							break;
+					}
+				Thread.sleep(100);
+			}
+		});
+	}
+
+	private static void awaitReady(CallGraph graph) {
+		ObservableBoolean ready = graph.isReady();
+		assertDoesNotThrow(() -> {
+			while (!ready.getValue()) {
+				Thread.sleep(100);
+			}
+		});
+	}
+
 	// TODO: Test removing existing class from workspace makes calls to its methods unresolved
 
 	// TODO: Test adding missing class to workspace makes unresolved calls valid
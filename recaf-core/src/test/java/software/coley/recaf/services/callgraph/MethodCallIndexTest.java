@@ -0,0 +1,154 @@
+package software.coley.recaf.services.callgraph;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import software.coley.recaf.info.member.MethodMember;
+
+import java.util.Collection;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link MethodCallIndex}
+ */
+class MethodCallIndexTest {
+	@Test
+	void pendingAndCompactedEdgesAreEquivalent() {
+		MethodCallIndex index = new MethodCallIndex();
+		StubVertex a = index.register(id -> new StubVertex(index, id));
+		StubVertex b = index.register(id -> new StubVertex(index, id));
+		StubVertex c = index.register(id -> new StubVertex(index, id));
+
+		index.addEdge(a.id, b.id);
+		index.addEdge(a.id, c.id);
+		index.addEdge(a.id, b.id); // Duplicate
+		index.addEdge(c.id, b.id);
+
+		// Before compaction, edges are served from the pending list
+		assertEquals(Set.of(b, c), a.getCalls());
+		assertEquals(Set.of(a, c), b.getCallers());
+		assertEquals(0, index.compactedEdgeCount());
+
+		// After compaction, the same edges are served from the row arrays
+		index.compact();
+		assertEquals(3, index.compactedEdgeCount());
+		assertEquals(Set.of(b, c), a.getCalls());
+		assertEquals(Set.of(a, c), b.getCallers());
+		assertEquals(Set.of(a), c.getCallers());
+
+		// Duplicates of compacted edges are not reported twice
+		index.addEdge(a.id, b.id);
+		assertEquals(Set.of(b, c), a.getCalls());
+	}
+
+	@Test
+	void removedVerticesAreDropped() {
+		MethodCallIndex index = new MethodCallIndex();
+		StubVertex a = index.register(id -> new StubVertex(index, id));
+		StubVertex b = index.register(id -> new StubVertex(index, id));
+		StubVertex c = index.register(id -> new StubVertex(index, id));
+		index.addEdge(a.id, b.id);
+		index.addEdge(a.id, c.id);
+		index.addEdge(b.id, c.id);
+		index.compact();
+
+		index.remove(b.id);
+		assertNull(index.vertex(b.id));
+		assertEquals(Set.of(c), a.getCalls());
+		assertEquals(Set.of(a), c.getCallers());
+		assertTrue(b.getCalls().isEmpty());
+
+		// Edges to removed vertices are discarded
+		index.addEdge(a.id, b.id);
+		index.compact();
+		assertEquals(1, index.compactedEdgeCount());
+		assertEquals(Set.of(c), a.getCalls());
+	}
+
+	@Test
+	void removedIdsAreReused() {
+		MethodCallIndex index = new MethodCallIndex();
+		StubVertex a = index.register(id -> new StubVertex(index, id));
+		StubVertex b = index.register(id -> new StubVertex(index, id));
+		index.addEdge(a.id, b.id);
+		index.remove(b.id);
+		index.compact();
+
+		// The id of the removed vertex is given to the next vertex, without any of its prior edges
+		StubVertex c = index.register(id -> new StubVertex(index, id));
+		assertEquals(b.id, c.id);
+		assertEquals(2, index.idCount());
+		assertTrue(a.getCalls().isEmpty());
+		assertTrue(c.getCallers().isEmpty());
+
+		// The removed vertex does not see edges of the vertex now holding its id
+		index.addEdge(a.id, c.id);
+		assertEquals(Set.of(c), a.getCalls());
+		assertEquals(Set.of(a), c.getCallers());
+		assertTrue(b.getCallers().isEmpty());
+
+		// Repeatedly adding and removing vertices does not grow the number of ids
+		for (int i = 0; i < 1000; i++) {
+			StubVertex temp = index.register(id -> new StubVertex(index, id));
+			index.addEdge(a.id, temp.id);
+			index.remove(temp.id);
+			index.compact();
+		}
+		assertEquals(3, index.idCount());
+		assertEquals(Set.of(c), a.getCalls());
+	}
+
+	@Test
+	void rowsAreSets() {
+		MethodCallIndex index = new MethodCallIndex();
+		StubVertex a = index.register(id -> new StubVertex(index, id));
+		StubVertex b = index.register(id -> new StubVertex(index, id));
+		StubVertex c = index.register(id -> new StubVertex(index, id));
+		index.addEdge(a.id, b.id);
+		index.compact();
+		index.addEdge(a.id, c.id);
+
+		Collection<MethodVertex> calls = a.getCalls();
+		assertInstanceOf(Set.class, calls);
+		assertTrue(calls.contains(b));
+		assertTrue(calls.contains(c));
+		assertFalse(calls.contains(a));
+		assertThrows(UnsupportedOperationException.class, () -> calls.remove(b));
+	}
+
+	private static class StubVertex implements MethodVertex {
+		private final MethodCallIndex index;
+		private final int id;
+
+		private StubVertex(MethodCallIndex index, int id) {
+			this.index = index;
+			this.id = id;
+		}
+
+		@Nonnull
+		@Override
+		public MethodRef getMethod() {
+			return new MethodRef("Owner", "m" + id, "()V");
+		}
+
+		@Nullable
+		@Override
+		public MethodMember getResolvedMethod() {
+			return null;
+		}
+
+		@Nonnull
+		@Override
+		public Collection<MethodVertex> getCallers() {
+			return index.callers(id, this);
+		}
+
+		@Nonnull
+		@Override
+		public Collection<MethodVertex> getCalls() {
+			return index.calls(id, this);
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package software.coley.recaf.services.mapping;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IntermediateMappings} member lookups.
+ */
+class IntermediateMappingsTest {
+	@Test
+	void testFieldLookup() {
+		IntermediateMappings mappings = new IntermediateMappings();
+		mappings.addField("Foo", "I", "a", "count");
+		mappings.addField("Foo", "J", "a", "total");
+		mappings.addField("Foo", null, "b", "name");
+
+		// Descriptor distinguishes fields of the same name
+		assertEquals("count", mappings.getMappedFieldName("Foo", "a", "I"));
+		assertEquals("total", mappings.getMappedFieldName("Foo", "a", "J"));
+		assertNull(mappings.getMappedFieldName("Foo", "a", "Z"));
+
+		// Mappings without descriptors match any descriptor
+		assertEquals("name", mappings.getMappedFieldName("Foo", "b", "Ljava/lang/String;"));
+		assertNull(mappings.getMappedFieldName("Bar", "b", "Ljava/lang/String;"));
+	}
+
+	@Test
+	void testMethodLookup() {
+		IntermediateMappings mappings = new IntermediateMappings();
+		mappings.addMethod("Foo", "()V", "a", "run");
+		mappings.addMethod("Foo", "(I)V", "a", "runWith");
+		mappings.addMethod("Foo", "()V", "a", "ignored"); // Earlier mapping takes precedence
+
+		assertEquals("run", mappings.getMappedMethodName("Foo", "a", "()V"));
+		assertEquals("runWith", mappings.getMappedMethodName("Foo", "a", "(I)V"));
+		assertNull(mappings.getMappedMethodName("Foo", "a", "(J)V"));
+		assertNull(mappings.getMappedMethodName("Foo", "b", "()V"));
+	}
+}
@@ -4,6 +4,9 @@
 import software.coley.recaf.services.mapping.IntermediateMappings;
 import software.coley.recaf.services.mapping.Mappings;
 
+import java.io.StringReader;
+import java.io.StringWriter;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -119,6 +122,38 @@ void testProguard() {
 		assertInheritMap(mappings);
 	}
 
+	@Test
+	void testProguardForwardTypeReference() {
+		String mappingsText = """
+				rename.Hello -> test.Greetings:
+				    rename.World world -> a
+				    rename.World greet(rename.World,int) -> b
+				rename.World -> test.Planet:""";
+		MappingFileFormat format = new ProguardMappings();
+		IntermediateMappings mappings = assertDoesNotThrow(() -> format.parse(new StringReader(mappingsText)));
+
+		// Member types refer to a class declared after them, and must still be in terms of the obfuscated name
+		assertEquals("world", mappings.getMappedFieldName("test/Greetings", "a", "Ltest/Planet;"));
+		assertEquals("greet", mappings.getMappedMethodName("test/Greetings", "b", "(Ltest/Planet;I)Ltest/Planet;"));
+	}
+
+	@Test
+	void testTinyV2WithTwoOutputsFromReader() {
+		String mappingsText = """
+				tiny\t2\t0\tintermediary\tobfuscated\tnamed
+				c\ttest/Greetings\ta\trename/Hello
+				\tm\t(Ltest/Greetings;)V\tsay\tc\tspeak
+				c\ttest/Other\td\trename/Other
+				""";
+		MappingFileFormat format = new TinyV2Mappings();
+		IntermediateMappings mappings = assertDoesNotThrow(() -> format.parse(new StringReader(mappingsText)));
+		assertEquals("speak", mappings.getMappedMethodName("test/Greetings", "say", "(Ltest/Greetings;)V"));
+
+		// The intermediate 'obfuscated' column has its descriptors mapped to its own class names
+		assertEquals("rename/Hello", mappings.getMappedClassName("a"));
+		assertEquals("speak", mappings.getMappedMethodName("a", "c", "(La;)V"));
+	}
+
 	@Test
 	void testEnigma() {
 		String mappingsText = """
@@ -145,6 +180,33 @@ void testJadx() {
 		assertEquals("speak", mappings.getMappedMethodName("test/Greetings", "say", "()V"));
 	}
 
+	@Test
+	void testLegacyFormatWithoutReaderOrWriter() {
+		// Formats written before reader/writer support only implement the text based methods
+		EnigmaMappings enigma = new EnigmaMappings();
+		MappingFileFormat format = new AbstractMappingFileFormat("Legacy", true, false) {
+			@Override
+			public IntermediateMappings parse(String mappingText) throws InvalidMappingException {
+				return enigma.parse(mappingText);
+			}
+
+			@Override
+			public String exportText(Mappings mappings) {
+				return enigma.exportText(mappings);
+			}
+		};
+		String mappingsText = """
+				CLASS test/Greetings rename/Hello
+				\tFIELD oldField newField Ljava/lang/String;
+				\tMETHOD say speak ()V""";
+		IntermediateMappings mappings = assertDoesNotThrow(() -> format.parse(new StringReader(mappingsText)));
+		assertInheritMap(mappings);
+
+		StringWriter writer = new StringWriter();
+		assertDoesNotThrow(() -> format.exportText(mappings, writer));
+		assertEquals(enigma.exportText(mappings), writer.toString());
+	}
+
 	/**
 	 * @param mappings
 	 * 		Mappings to check.
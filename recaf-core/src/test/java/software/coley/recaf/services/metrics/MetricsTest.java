@@ -0,0 +1,43 @@
+package software.coley.recaf.services.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Histogram} and {@link Timer}.
+ */
+class MetricsTest {
+	@Test
+	void histogramStatistics() {
+		Histogram histogram = new Histogram();
+		assertEquals(0, histogram.getPercentile(0.5));
+		for (int i = 1; i <= 100; i++)
+			histogram.record(i);
+		assertEquals(100, histogram.getCount());
+		assertEquals(5050, histogram.getSum());
+		assertEquals(1, histogram.getMin());
+		assertEquals(100, histogram.getMax());
+		assertEquals(50.5, histogram.getMean(), 0.001);
+
+		// Percentiles report the upper bound of the power-of-two bucket holding the value, clamped to the max.
+		assertEquals(63, histogram.getPercentile(0.5));
+		assertEquals(100, histogram.getPercentile(0.99));
+	}
+
+	@Test
+	void timerCountsFailures() {
+		Timer timer = new Timer();
+		assertEquals("ok", timer.time(() -> "ok"));
+		assertThrows(IOException.class, () -> timer.time(() -> {
+			throw new IOException("fail");
+		}));
+		try (Timer.Sample sample = timer.start()) {
+			sample.fail();
+		}
+		assertEquals(3, timer.getCount());
+		assertEquals(2, timer.getFailureCount());
+	}
+}
@@ -3,11 +3,15 @@
 import jakarta.annotation.Nonnull;
 import org.junit.jupiter.api.*;
 import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.InsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
 import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Statement;
 import software.coley.collections.Unchecked;
 import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.JvmClassInfo;
@@ -30,6 +34,7 @@
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.objectweb.asm.Opcodes.*;
 
 /**
  * Tests for {@link AstService}
@@ -1048,6 +1053,104 @@ public static int add(int a, int b, int c) {
 		}
 	}
 
+	@Nested
+	class Incremental {
+		@Test
+		void testSingleMemberChange() {
+			String source = """
+					package software.coley.recaf.test.dummy;
+
+					class ClassWithMultipleMethods {
+						public static int add(int a, int b) {
+							return a + b;
+						}
+						public static int add(int a, int b, int c) {
+							return add(add(a, b), c);
+						}
+					}
+					""";
+			String modified = source.replace("return add(add(a, b), c);", "return add(a, add(b, c));");
+			AstIncrementalParser incrementalParser = new AstIncrementalParser(parser);
+			J.CompilationUnit unit = (J.CompilationUnit) incrementalParser.parse(source);
+			J.CompilationUnit modifiedUnit = (J.CompilationUnit) incrementalParser.parse(modified);
+			assertNotNull(unit);
+			assertNotNull(modifiedUnit);
+			assertEquals(modified, modifiedUnit.printAll());
+
+			// Only the changed method is replaced, the other is retained as-is
+			List<Statement> statements = unit.getClasses().getFirst().getBody().getStatements();
+			List<Statement> modifiedStatements = modifiedUnit.getClasses().getFirst().getBody().getStatements();
+			assertSame(statements.get(0), modifiedStatements.get(0));
+			assertNotSame(statements.get(1), modifiedStatements.get(1));
+
+			// References in the re-parsed method still resolve
+			int index = modified.indexOf("add(b, c)");
+			validateRange(modifiedUnit, index, index + 3, modified, ClassMemberPathNode.class, memberPath -> {
+				ClassMember member = memberPath.getValue();
+				assertEquals("add", member.getName());
+				assertEquals("(II)I", member.getDescriptor());
+			});
+		}
+	}
+
+	@Nested
+	class ClasspathChanges {
+		@Test
+		void testReferencedClassUpdate() {
+			JvmClassInfo dependency = TestClassUtils.createClass("Dependency", node -> node.methods.add(emptyMethod("foo")));
+			JvmClassInfo user = TestClassUtils.createClass("User", node -> {
+				MethodNode run = new MethodNode(ACC_PUBLIC | ACC_STATIC, "run", "()V", null, null);
+				run.instructions.add(new MethodInsnNode(INVOKESTATIC, "Dependency", "foo", "()V"));
+				run.instructions.add(new InsnNode(RETURN));
+				node.methods.add(run);
+			});
+			BasicJvmClassBundle bundle = TestClassUtils.fromClasses(dependency, user);
+			Workspace workspace = TestClassUtils.fromBundle(bundle);
+			AstService workspaceService = new AstService(recaf.get(AstServiceConfig.class), workspace);
+
+			// Parse a source calling a method not yet in the dependency class.
+			String source = """
+					public class User {
+						public static void run() {
+							Dependency.bar();
+						}
+					}
+					""";
+			long stamp = workspaceService.getClasspathStamp();
+			parseInvocation(workspaceService.newParser(user), source);
+			assertFalse(workspaceService.hasClasspathChanged(user.getReferencedClasses(), stamp));
+
+			// Updating the dependency class should mark the prior parser as outdated.
+			bundle.put(TestClassUtils.createClass("Dependency", node -> {
+				node.methods.add(emptyMethod("foo"));
+				node.methods.add(emptyMethod("bar"));
+			}));
+			assertTrue(workspaceService.hasClasspathChanged(user.getReferencedClasses(), stamp));
+			assertFalse(workspaceService.hasClasspathChanged(List.of("User"), stamp),
+					"Classes not depending on the change should not be considered outdated");
+
+			// A new parser sees the updated dependency.
+			J.MethodInvocation invocation = parseInvocation(workspaceService.newParser(user), source);
+			assertNotNull(invocation.getMethodType(), "Method added to dependency was not resolved");
+			assertEquals("bar", invocation.getMethodType().getName());
+		}
+
+		@Nonnull
+		private static J.MethodInvocation parseInvocation(@Nonnull JavaParser parser, @Nonnull String source) {
+			InMemoryExecutionContext context = new InMemoryExecutionContext(Throwable::printStackTrace);
+			J.CompilationUnit unit = (J.CompilationUnit) parser.parse(context, source).findFirst().orElseThrow();
+			J.MethodDeclaration method = (J.MethodDeclaration) unit.getClasses().getFirst().getBody().getStatements().getFirst();
+			return (J.MethodInvocation) method.getBody().getStatements().getFirst();
+		}
+
+		@Nonnull
+		private static MethodNode emptyMethod(@Nonnull String name) {
+			MethodNode method = new MethodNode(ACC_PUBLIC | ACC_STATIC, name, "()V", null, null);
+			method.instructions.add(new InsnNode(RETURN));
+			return method;
+		}
+	}
+
 	private static <T> void validateRange(@Nonnull J.CompilationUnit unit,
 										  @Nonnull String source, @Nonnull String match,
 										  @Nonnull Class<T> targetType,
@@ -0,0 +1,50 @@
+package software.coley.recaf.services.source;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BoundedJavaTypeCache}
+ */
+class BoundedJavaTypeCacheTest {
+	@Test
+	void testEvictsLeastRecentlyUsed() {
+		BoundedJavaTypeCache cache = new BoundedJavaTypeCache(() -> 2);
+		cache.put("a", "A");
+		cache.put("b", "B");
+
+		// Access 'a' so that 'b' is the least recently used entry
+		assertEquals("A", cache.get("a"));
+		cache.put("c", "C");
+
+		assertEquals(2, cache.getSize());
+		assertEquals(1, cache.getEvictionCount());
+		assertNull(cache.get("b"));
+		assertEquals("A", cache.get("a"));
+		assertEquals("C", cache.get("c"));
+		assertEquals(3, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	void testInvalidateOnlyDropsEntriesOfClass() {
+		BoundedJavaTypeCache cache = new BoundedJavaTypeCache(() -> 100);
+		cache.put("com.example.Foo", "Foo");
+		cache.put("com.example.Foo{name=bar,return=void,parameters=[]}", "Foo.bar()");
+		cache.put("java.util.List<com.example.Foo>", "List<Foo>");
+		cache.put("com.example.Foo$Inner", "Foo.Inner");
+		cache.put("com.example.FooBar", "FooBar");
+		cache.put("java.lang.String", "String");
+
+		cache.invalidate("com/example/Foo");
+
+		assertEquals(3, cache.getSize());
+		assertNull(cache.get("com.example.Foo"));
+		assertNull(cache.get("com.example.Foo{name=bar,return=void,parameters=[]}"));
+		assertNull(cache.get("java.util.List<com.example.Foo>"));
+		assertEquals("Foo.Inner", cache.get("com.example.Foo$Inner"));
+		assertEquals("FooBar", cache.get("com.example.FooBar"));
+		assertEquals("String", cache.get("java.lang.String"));
+	}
+}
@@ -0,0 +1,175 @@
+package software.coley.recaf.services.workspace.io;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.info.properties.builtin.ClassValidationStatusProperty;
+import software.coley.recaf.info.properties.builtin.ClassValidationStatusProperty.Status;
+import software.coley.recaf.info.properties.builtin.ZipCompressionProperty;
+import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.test.dummy.HelloWorld;
+import software.coley.recaf.util.io.ByteSources;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
+import software.coley.recaf.workspace.model.bundle.BundleListener;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for {@link DeferredClassValidator}
+ */
+class DeferredClassValidatorTest {
+	ClassPatcher patcher;
+	InfoImporterConfig config;
+	DeferredClassValidator validator;
+
+	@BeforeEach
+	void setup() {
+		patcher = mock(ClassPatcher.class);
+		config = new InfoImporterConfig();
+		config.getDeferClassValidation().setValue(true);
+		validator = new DeferredClassValidator(config, patcher, mock(WorkspaceManager.class));
+	}
+
+	@Test
+	void importerMarksClassesPending() throws IOException {
+		JvmClassInfo original = TestClassUtils.fromRuntimeClass(HelloWorld.class);
+		BasicInfoImporter importer = new BasicInfoImporter(config, patcher);
+		JvmClassInfo read = importer.readInfo(original.getName(), ByteSources.wrap(original.getBytecode()))
+				.asClass().asJvmClass();
+		assertTrue(ClassValidationStatusProperty.isPending(read));
+
+		// Without deferral, classes are validated on import and have no status.
+		config.getDeferClassValidation().setValue(false);
+		read = importer.readInfo(original.getName(), ByteSources.wrap(original.getBytecode())).asClass().asJvmClass();
+		assertNull(ClassValidationStatusProperty.get(read));
+	}
+
+	@Test
+	void validClassIsKept() throws IOException {
+		JvmClassInfo cls = pending(TestClassUtils.fromRuntimeClass(HelloWorld.class));
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		bundle.initialPut(cls);
+
+		assertEquals(Status.VALID, validator.validate(bundle, cls));
+		assertEquals(Status.VALID, ClassValidationStatusProperty.get(cls));
+		assertSame(cls, bundle.get(cls.getName()));
+		verifyNoInteractions(patcher);
+	}
+
+	@Test
+	void invalidClassIsPatchedAndSwappedIn() throws IOException {
+		JvmClassInfo original = TestClassUtils.fromRuntimeClass(HelloWorld.class);
+		JvmClassInfo cls = truncated(original);
+		ZipCompressionProperty.set(cls, 8);
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		bundle.initialPut(cls);
+		BundleListener<JvmClassInfo> listener = mock();
+		bundle.addBundleListener(listener);
+
+		// Mock the patcher so that it 'fixes' the bytecode by returning the original.
+		when(patcher.patch(anyString(), any())).thenReturn(original.getBytecode());
+		assertEquals(Status.PATCHED, validator.validate(bundle, cls));
+
+		// The patched class replaces the original as its initial state, keeping properties from the import.
+		JvmClassInfo patched = bundle.get(cls.getName());
+		assertNotSame(cls, patched);
+		assertArrayEquals(original.getBytecode(), patched.getBytecode());
+		assertEquals(Status.PATCHED, ClassValidationStatusProperty.get(patched));
+		assertEquals(8, ZipCompressionProperty.get(patched));
+		assertTrue(bundle.getDirtyKeys().isEmpty(), "Patched class should not be considered modified");
+		verify(listener).onUpdateItem(cls.getName(), cls, patched);
+	}
+
+	@Test
+	void modifiedClassIsNotReplaced() throws IOException {
+		JvmClassInfo original = TestClassUtils.fromRuntimeClass(HelloWorld.class);
+		JvmClassInfo cls = truncated(original);
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		bundle.initialPut(cls);
+		bundle.put(original);
+
+		// The class was changed by the user before it could be validated, so their change is kept.
+		when(patcher.patch(anyString(), any())).thenReturn(original.getBytecode());
+		validator.validate(bundle, cls);
+		assertSame(original, bundle.get(cls.getName()));
+	}
+
+	@Test
+	void unpatchableClassFails() throws IOException {
+		JvmClassInfo cls = truncated(TestClassUtils.fromRuntimeClass(HelloWorld.class));
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		bundle.initialPut(cls);
+
+		when(patcher.patch(anyString(), any())).thenThrow(new IOException("Cannot patch"));
+		assertEquals(Status.FAILED, validator.validate(bundle, cls));
+		assertSame(cls, bundle.get(cls.getName()));
+	}
+
+	@Test
+	void claimedClassIsNotValidatedAgain() throws IOException {
+		JvmClassInfo cls = truncated(TestClassUtils.fromRuntimeClass(HelloWorld.class));
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		bundle.initialPut(cls);
+
+		// Another thread is already validating the class, so it is left to that thread.
+		ClassValidationStatusProperty.set(cls, Status.VALIDATING);
+		assertEquals(Status.VALIDATING, validator.validate(bundle, cls));
+		assertSame(cls, bundle.get(cls.getName()));
+		verifyNoInteractions(patcher);
+	}
+
+	@Test
+	void patchedClassIsNotPutIntoOtherBundles() throws IOException {
+		JvmClassInfo original = TestClassUtils.fromRuntimeClass(HelloWorld.class);
+		JvmClassInfo cls = truncated(original);
+		JvmClassBundle bundle = mock(JvmClassBundle.class);
+		when(bundle.get(cls.getName())).thenReturn(cls);
+
+		// Putting the patched class would mark it as modified, so it is not swapped in.
+		// The bundle keeps the invalid class, so validation of it has failed.
+		when(patcher.patch(anyString(), any())).thenReturn(original.getBytecode());
+		assertEquals(Status.FAILED, validator.validate(bundle, cls));
+		assertEquals(Status.FAILED, ClassValidationStatusProperty.get(cls));
+		verify(bundle, never()).put(any(JvmClassInfo.class));
+		verify(bundle, never()).put(anyString(), any(JvmClassInfo.class));
+	}
+
+	@Test
+	void pendingClassesOfResourceAreValidated() throws IOException {
+		JvmClassInfo original = TestClassUtils.fromRuntimeClass(HelloWorld.class);
+		JvmClassInfo cls = truncated(original);
+		BasicJvmClassBundle bundle = new BasicJvmClassBundle();
+		bundle.initialPut(cls);
+		Workspace workspace = TestClassUtils.fromBundle(bundle);
+
+		// Workspaces not opened through the workspace manager have their classes validated on request.
+		when(patcher.patch(anyString(), any())).thenReturn(original.getBytecode());
+		validator.validatePending(workspace.getPrimaryResource());
+		JvmClassInfo patched = bundle.get(cls.getName());
+		assertArrayEquals(original.getBytecode(), patched.getBytecode());
+		assertEquals(Status.PATCHED, ClassValidationStatusProperty.get(patched));
+	}
+
+	private static JvmClassInfo pending(JvmClassInfo cls) {
+		ClassValidationStatusProperty.set(cls, Status.PENDING);
+		return cls;
+	}
+
+	/**
+	 * @return Pending copy of the class, with bytecode that cannot be read.
+	 */
+	private static JvmClassInfo truncated(JvmClassInfo cls) {
+		byte[] code = cls.getBytecode();
+		return pending(new JvmClassInfoBuilder(cls)
+				.withBytecode(Arrays.copyOf(code, code.length / 2))
+				.build());
+	}
+}
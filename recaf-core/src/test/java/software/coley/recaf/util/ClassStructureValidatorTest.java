@@ -0,0 +1,62 @@
+package software.coley.recaf.util;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import software.coley.recaf.test.TestClassUtils;
+import software.coley.recaf.test.dummy.ClassWithExceptions;
+import software.coley.recaf.test.dummy.ClassWithLambda;
+import software.coley.recaf.test.dummy.HelloWorld;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ClassStructureValidator}
+ */
+class ClassStructureValidatorTest {
+	@Test
+	void validClassesPass() throws IOException {
+		for (Class<?> type : List.of(ArrayList.class, String.class, HelloWorld.class,
+				ClassWithExceptions.class, ClassWithLambda.class)) {
+			byte[] code = TestClassUtils.fromRuntimeClass(type).getBytecode();
+			assertNull(ClassStructureValidator.validate(code), "Valid class was flagged: " + type.getName());
+		}
+	}
+
+	@Test
+	void truncatedClassesAreFlagged() throws IOException {
+		byte[] code = TestClassUtils.fromRuntimeClass(ClassWithLambda.class).getBytecode();
+		for (int length : new int[]{0, 9, 20, code.length / 2, code.length - 1})
+			assertFalse(ClassStructureValidator.isValid(Arrays.copyOf(code, length)), "Truncated class passed: " + length);
+	}
+
+	@Test
+	void invalidReferencesAreFlagged() throws IOException {
+		byte[] code = TestClassUtils.fromRuntimeClass(HelloWorld.class).getBytecode();
+
+		// Point 'this_class' outside the constant pool.
+		ClassReader reader = new ClassReader(code);
+		int header = reader.header;
+		byte[] badThis = code.clone();
+		badThis[header + 2] = (byte) 0xFF;
+		badThis[header + 3] = (byte) 0xFF;
+		assertFalse(ClassStructureValidator.isValid(badThis));
+
+		// Point 'this_class' at the constant pool entry it refers to, which is a UTF8 entry rather than a class entry.
+		int thisClass = ((code[header + 2] & 0xFF) << 8) | (code[header + 3] & 0xFF);
+		int nameIndex = reader.readUnsignedShort(reader.getItem(thisClass));
+		byte[] wrongType = code.clone();
+		wrongType[header + 2] = (byte) (nameIndex >> 8);
+		wrongType[header + 3] = (byte) nameIndex;
+		assertFalse(ClassStructureValidator.isValid(wrongType));
+
+		// Corrupt the magic.
+		byte[] badMagic = code.clone();
+		badMagic[0] = 0;
+		assertFalse(ClassStructureValidator.isValid(badMagic));
+	}
+}
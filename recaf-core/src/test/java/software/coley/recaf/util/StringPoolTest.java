@@ -0,0 +1,63 @@
+package software.coley.recaf.util;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.builder.JvmClassInfoBuilder;
+import software.coley.recaf.info.member.MethodMember;
+import software.coley.recaf.test.dummy.ClassWithConstructor;
+import software.coley.recaf.test.dummy.HelloWorld;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link StringPool}
+ */
+class StringPoolTest {
+	@Test
+	void internReturnsFirstInstance() {
+		StringPool pool = new StringPool();
+		String first = new String("()V");
+		String second = new String("()V");
+		assertSame(first, pool.intern(first));
+		assertSame(first, pool.intern(second));
+		assertSame(first, pool.intern(first));
+		assertNull(pool.intern(null));
+
+		// Only the lookup of an equal but different instance counts as a duplicate.
+		assertEquals(1, pool.size());
+		assertEquals(3, pool.getLookupCount());
+		assertEquals(1, pool.getDuplicateCount());
+		assertTrue(pool.getSavedBytes() > 0);
+	}
+
+	@Test
+	void classesBuiltWithPoolShareDescriptors() throws IOException {
+		StringPool pool = new StringPool();
+		JvmClassInfo a = build(HelloWorld.class, pool);
+		JvmClassInfo b = build(ClassWithConstructor.class, pool);
+
+		MethodMember initA = a.getDeclaredMethod("<init>", "()V");
+		MethodMember initB = b.getDeclaredMethods().stream()
+				.filter(m -> m.getName().equals("<init>"))
+				.findFirst().orElseThrow();
+		assertNotNull(initA);
+		assertSame(initA.getName(), initB.getName());
+		assertSame(a.getSuperName(), b.getSuperName());
+		assertTrue(pool.getDuplicateCount() > 0);
+
+		// Without a pool, equal values read from different classes are different instances.
+		JvmClassInfo c = build(HelloWorld.class, null);
+		assertEquals(a.getSuperName(), c.getSuperName());
+		assertNotSame(a.getSuperName(), c.getSuperName());
+	}
+
+	private static JvmClassInfo build(Class<?> type, StringPool pool) throws IOException {
+		return new JvmClassInfoBuilder()
+				.withStringPool(pool)
+				.adaptFrom(new ClassReader(type.getName()))
+				.build();
+	}
+}
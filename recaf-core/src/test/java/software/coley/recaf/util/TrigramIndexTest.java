@@ -0,0 +1,112 @@
+package software.coley.recaf.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TrigramIndex}
+ */
+class TrigramIndexTest {
+	@Test
+	void containment() {
+		TrigramIndex<String> index = new TrigramIndex<>(false);
+		index.add("a", "a", "com/example/Foo");
+		index.add("b", "b", "com/example/FooBar");
+		index.add("c", "c", "com/other/Baz");
+
+		// Long queries go through trigram postings, short ones scan all texts.
+		assertEquals(List.of("a", "b"), index.search("foo", false, 10));
+		assertEquals(List.of("a", "b"), index.search("fo", false, 10));
+		assertEquals(List.of("c"), index.search("other", false, 10));
+		assertEquals(List.of(), index.search("missing", false, 10));
+
+		// Case sensitivity
+		assertEquals(List.of("a", "b"), index.search("Foo", true, 10));
+		assertEquals(List.of(), index.search("foo", true, 10));
+	}
+
+	@Test
+	void ranking() {
+		TrigramIndex<String> index = new TrigramIndex<>(false);
+		index.add("contains", "contains", "com/example/MyFoo");
+		index.add("prefix", "prefix", "com/example/FooBar");
+		index.add("exact", "exact", "foo");
+		assertEquals(List.of("exact", "prefix", "contains"), index.search("foo", false, 10));
+	}
+
+	@Test
+	void limit() {
+		TrigramIndex<String> index = new TrigramIndex<>(false);
+		for (int i = 0; i < 100; i++)
+			index.add(i, "value" + i, "text" + i);
+		assertEquals(100, index.size());
+		assertEquals(10, index.search("text", false, 10).size());
+	}
+
+	@Test
+	void fuzzy() {
+		TrigramIndex<String> index = new TrigramIndex<>(true);
+		index.add("a", "a", "software/coley/QuickNavWindow");
+		index.add("b", "b", "software/coley/QuickSilver");
+		assertEquals(List.of("a"), index.search("qnw", false, 10));
+
+		// Containment matches are ranked before fuzzy matches.
+		index.add("c", "c", "software/coley/Qnw");
+		assertEquals(List.of("c", "a"), index.search("qnw", false, 10));
+
+		// Fuzzy matching is disabled when not requested.
+		TrigramIndex<String> strict = new TrigramIndex<>(false);
+		strict.add("a", "a", "software/coley/QuickNavWindow");
+		assertEquals(List.of(), strict.search("qnw", false, 10));
+	}
+
+	@Test
+	void removeByOwner() {
+		TrigramIndex<String> index = new TrigramIndex<>(false);
+		index.add("file", "line1", "shared text");
+		index.add("file", "line2", "other text");
+		index.add("other-file", "line3", "shared text");
+		assertEquals(List.of("line1", "line3"), index.search("shared", false, 10));
+
+		assertTrue(index.remove("file"));
+		assertFalse(index.remove("file"));
+		assertEquals(1, index.size());
+		assertEquals(List.of("line3"), index.search("shared", false, 10));
+		assertEquals(List.of(), index.search("other", false, 10));
+
+		// Re-adding a previously removed text works
+		index.add("file", "line4", "other text");
+		assertEquals(List.of("line4"), index.search("other", false, 10));
+	}
+
+	@Test
+	void removedTextsAreReclaimed() {
+		TrigramIndex<String> index = new TrigramIndex<>(true);
+		index.add("kept", "kept", "com/example/Kept");
+		for (int i = 0; i < TrigramIndex.MIN_FREED_TEXTS_TO_COMPACT * 10; i++) {
+			// Each round indexes the owner under a new text, like a file whose content keeps changing.
+			index.add("file", "value" + i, "com/example/Text" + i);
+			assertEquals(List.of("value" + i), index.search("text" + i, false, 10));
+			assertTrue(index.remove("file"));
+			assertTrue(index.textCount() <= TrigramIndex.MIN_FREED_TEXTS_TO_COMPACT * 2 + 1,
+					"Removed texts were not reclaimed");
+		}
+
+		// Remaining content is still searchable after compaction.
+		assertEquals(1, index.size());
+		assertEquals(List.of("kept"), index.search("kept", false, 10));
+		assertEquals(List.of("kept"), index.search("kpt", false, 10));
+		assertEquals(List.of(), index.search("text", false, 10));
+	}
+
+	@Test
+	void filter() {
+		TrigramIndex<String> index = new TrigramIndex<>(false);
+		index.add("a", "a", "alpha");
+		index.add("b", "b", "beta");
+		assertEquals(List.of("b"), index.filter(t -> t.startsWith("b"), 10));
+	}
+}
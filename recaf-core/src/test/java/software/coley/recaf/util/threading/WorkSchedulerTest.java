@@ -0,0 +1,63 @@
+package software.coley.recaf.util.threading;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link WorkScheduler} and the pools created on it by {@link ThreadPoolFactory}.
+ */
+class WorkSchedulerTest {
+	@Test
+	void singleExecutorRunsInOrder() throws InterruptedException {
+		ExecutorService service = ThreadPoolFactory.newSingleThreadExecutor("test-order", WorkPriority.NORMAL);
+		List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+		for (int i = 0; i < 100; i++) {
+			int value = i;
+			service.execute(() -> order.add(value));
+		}
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 100; i++)
+			assertEquals(i, order.get(i));
+	}
+
+	@Test
+	void concurrencyLimited() throws InterruptedException {
+		ExecutorService service = ThreadPoolFactory.newFixedThreadPool("test-limit", 2, WorkPriority.BACKGROUND);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		for (int i = 0; i < 20; i++)
+			service.execute(() -> {
+				peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(5);
+				} catch (InterruptedException ignored) {
+					// ignored
+				}
+				running.decrementAndGet();
+			});
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+		assertTrue(peak.get() <= 2, "Ran more tasks at once than the pool size");
+	}
+
+	@Test
+	void statisticsCountSubmittedTasks() throws InterruptedException {
+		long before = WorkScheduler.getStatistics(WorkPriority.INTERACTIVE).submitted();
+		ExecutorService service = ThreadPoolFactory.newFixedThreadPool("test-stats", WorkPriority.INTERACTIVE);
+		for (int i = 0; i < 10; i++)
+			service.execute(() -> {});
+		service.shutdown();
+		assertTrue(service.awaitTermination(5, TimeUnit.SECONDS));
+		assertTrue(WorkScheduler.getStatistics(WorkPriority.INTERACTIVE).submitted() >= before + 10);
+		assertThrows(Exception.class, () -> service.execute(() -> {}));
+	}
+}
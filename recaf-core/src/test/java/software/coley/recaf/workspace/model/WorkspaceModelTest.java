@@ -4,8 +4,10 @@
 import jakarta.annotation.Nullable;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.StubFileInfo;
 import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.test.TestClassUtils;
 import software.coley.recaf.test.dummy.AccessibleFields;
 import software.coley.recaf.test.dummy.AccessibleMethods;
 import software.coley.recaf.test.dummy.AccessibleMethodsChild;
@@ -13,7 +15,9 @@
 import software.coley.recaf.test.dummy.ClassWithConstructor;
 import software.coley.recaf.test.dummy.ClassWithExceptions;
 import software.coley.recaf.workspace.model.bundle.BasicAndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.BasicJvmClassBundle;
 import software.coley.recaf.workspace.model.bundle.Bundle;
+import software.coley.recaf.workspace.model.bundle.BundleStatistics;
 import software.coley.recaf.workspace.model.resource.AndroidApiResource;
 import software.coley.recaf.workspace.model.resource.RuntimeWorkspaceResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResource;
@@ -253,4 +257,62 @@ private static ClassPathNode findClass(@Nonnull Workspace workspace, @Nonnull Cl
 			return workspace.findClass(type.getName().replace('.', '/'));
 		}
 	}
-}
\ No newline at end of file
+
+	@Nested
+	class Statistics {
+		@Test
+		void bundleStatisticsTrackChanges() throws IOException {
+			BasicJvmClassBundle bundle = fromClasses(AccessibleFields.class, AccessibleMethods.class);
+			BundleStatistics statistics = bundle.getStatistics();
+			assertEquals(2, statistics.getItemCount().getValue());
+			assertEquals(bundle.stream().mapToLong(c -> c.getBytecode().length).sum(), statistics.getByteCount().getValue());
+			assertEquals(bundle.stream().mapToInt(c -> c.getFields().size()).sum(), statistics.getFieldCount().getValue());
+
+			// Adding, then removing a class should bring values back to where they were
+			long bytes = statistics.getByteCount().getValue();
+			int methods = statistics.getMethodCount().getValue();
+			JvmClassInfo added = TestClassUtils.fromRuntimeClass(ClassWithConstructor.class);
+			bundle.put(added);
+			assertEquals(3, statistics.getItemCount().getValue());
+			assertEquals(bytes + added.getBytecode().length, statistics.getByteCount().getValue());
+			assertEquals(methods + added.getMethods().size(), statistics.getMethodCount().getValue());
+			bundle.remove(added.getName());
+			assertEquals(2, statistics.getItemCount().getValue());
+			assertEquals(bytes, statistics.getByteCount().getValue());
+			assertEquals(methods, statistics.getMethodCount().getValue());
+		}
+
+		@Test
+		void workspaceStatisticsAggregateResources() throws IOException {
+			WorkspaceResource primary = new WorkspaceResourceBuilder()
+					.withJvmClassBundle(fromClasses(AccessibleFields.class, AccessibleMethods.class))
+					.build();
+			WorkspaceResource supporting = new WorkspaceResourceBuilder()
+					.withJvmClassBundle(fromClasses(ClassWithAnnotation.class))
+					.build();
+			Workspace workspace = new BasicWorkspace(primary, List.of(supporting));
+			WorkspaceStatistics statistics = workspace.getStatistics();
+			assertEquals(3, statistics.getClassCount().getValue());
+			assertEquals(0, statistics.getFileCount().getValue());
+
+			// Changes to bundles should be reflected
+			primary.getJvmClassBundle().put(TestClassUtils.fromRuntimeClass(ClassWithConstructor.class));
+			primary.getFileBundle().put(new StubFileInfo("foo.txt"));
+			assertEquals(4, statistics.getClassCount().getValue());
+			assertEquals(1, statistics.getFileCount().getValue());
+
+			// Removing a library should remove its contribution, and later changes to it should be ignored
+			workspace.removeSupportingResource(supporting);
+			assertEquals(3, statistics.getClassCount().getValue());
+			supporting.getJvmClassBundle().put(TestClassUtils.fromRuntimeClass(ClassWithExceptions.class));
+			assertEquals(3, statistics.getClassCount().getValue());
+
+			// Adding a library should add its contribution
+			WorkspaceResource library = new WorkspaceResourceBuilder()
+					.withJvmClassBundle(fromClasses(AccessibleMethodsChild.class))
+					.build();
+			workspace.addSupportingResource(library);
+			assertEquals(4, statistics.getClassCount().getValue());
+		}
+	}
+}
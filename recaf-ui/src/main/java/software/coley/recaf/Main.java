@@ -4,6 +4,7 @@
 import org.slf4j.Logger;
 import picocli.CommandLine;
 import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.cdi.BeanIndex;
 import software.coley.recaf.cdi.EagerInitialization;
 import software.coley.recaf.cdi.EagerInitializationExtension;
 import software.coley.recaf.cdi.InitializationEvent;
@@ -11,6 +12,8 @@
 import software.coley.recaf.launch.LaunchArguments;
 import software.coley.recaf.launch.LaunchCommand;
 import software.coley.recaf.launch.LaunchHandler;
+import software.coley.recaf.services.batch.BatchJobRunner;
+import software.coley.recaf.services.batch.BatchReport;
 import software.coley.recaf.services.file.RecafDirectoriesConfig;
 import software.coley.recaf.services.plugin.PluginContainer;
 import software.coley.recaf.services.plugin.PluginException;
@@ -58,7 +61,7 @@ public static void main(String[] args) {
 		ExitDebugLoggingHook.register();
 
 		// Add a class reference for our UI module.
-		Bootstrap.setWeldConsumer(weld -> weld.addPackage(true, Main.class));
+		Bootstrap.setWeldConsumer(weld -> BeanIndex.register(weld, "recaf-ui", Main.class));
 
 		// Handle arguments.
 		LaunchCommand launchArgValues = new LaunchCommand();
@@ -252,5 +255,19 @@ private static void initHandleInputs() {
 		} catch (Throwable t) {
 			logger.error("Error handling execution of launch script.", t);
 		}
+
+		// Run batch job, exiting once it completes.
+		File job = launchArgs.getJob();
+		if (job != null) {
+			int code = ExitCodes.ERR_BATCH_JOB_FAILURE;
+			try {
+				BatchReport report = recaf.get(BatchJobRunner.class).run(job.toPath());
+				if (report.isSuccess())
+					code = ExitCodes.SUCCESS;
+			} catch (Throwable t) {
+				logger.error("Error handling execution of batch job.", t);
+			}
+			ExitDebugLoggingHook.exit(code);
+		}
 	}
 }
@@ -0,0 +1,114 @@
+package software.coley.recaf.services.info.summary;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.objectweb.asm.tree.ClassNode;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+/**
+ * A {@link ResourceSummarizer} which inspects each JVM class of a resource individually.
+ * <p>
+ * Rather than walking the resource itself, it is handed each class by {@link ResourceSummaryService}, which walks
+ * the resource once for all such summarizers. Classes may be handed over concurrently from multiple threads.
+ *
+ * @author Matt Coley
+ */
+public interface ClassSummarizer extends ResourceSummarizer {
+	/**
+	 * @return Content of each class needed by this summarizer.
+	 */
+	@Nonnull
+	Requirement getRequirement();
+
+	/**
+	 * @param workspace
+	 * 		Containing workspace.
+	 * @param resource
+	 * 		Resource to summarize.
+	 *
+	 * @return New pass to record class content into, for a single summarization of the given resource.
+	 */
+	@Nonnull
+	Pass newPass(@Nonnull Workspace workspace, @Nonnull WorkspaceResource resource);
+
+	/**
+	 * Standalone summarization, walking the resource on the calling thread.
+	 */
+	@Override
+	default boolean summarize(@Nonnull Workspace workspace,
+	                          @Nonnull WorkspaceResource resource,
+	                          @Nonnull SummaryConsumer consumer) {
+		Requirement requirement = getRequirement();
+		Pass pass = newPass(workspace, resource);
+		resource.jvmClassBundleStream().forEach(bundle -> {
+			for (JvmClassInfo cls : bundle)
+				pass.visit(bundle, cls, requirement.toNode(cls));
+		});
+		return pass.complete(consumer);
+	}
+
+	/**
+	 * Levels of class content a summarizer can require.
+	 */
+	enum Requirement {
+		/**
+		 * Declarations of the class and its fields and methods, as provided by {@link JvmClassInfo}.
+		 */
+		MEMBERS,
+		/**
+		 * Annotations on the class and its fields and methods, as provided by {@link JvmClassInfo}.
+		 */
+		ANNOTATIONS,
+		/**
+		 * Full class content including method code, as provided by a {@link ClassNode}.
+		 */
+		BYTECODE;
+
+		/**
+		 * @param cls
+		 * 		Class to provide content of.
+		 *
+		 * @return Tree model of the class if this level requires it, otherwise {@code null}.
+		 */
+		@Nullable
+		public ClassNode toNode(@Nonnull JvmClassInfo cls) {
+			if (this != BYTECODE)
+				return null;
+			ClassNode node = new ClassNode();
+			cls.getClassReader().accept(node, 0);
+			return node;
+		}
+	}
+
+	/**
+	 * Recorder of class content for a single summarization of a resource.
+	 */
+	interface Pass {
+		/**
+		 * Called for each JVM class in the resource. May be called concurrently.
+		 *
+		 * @param bundle
+		 * 		Bundle containing the class.
+		 * @param cls
+		 * 		Class to inspect.
+		 * @param node
+		 * 		Tree model of the class when the summarizer {@link Requirement#BYTECODE requires bytecode},
+		 * 		otherwise {@code null}.
+		 */
+		void visit(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls, @Nullable ClassNode node);
+
+		/**
+		 * Called once all classes have been visited.
+		 *
+		 * @param consumer
+		 * 		Consumer of summary data.
+		 *
+		 * @return {@code true} when data was summarized.
+		 * {@code false} when summarization was skipped.
+		 */
+		boolean complete(@Nonnull SummaryConsumer consumer);
+	}
+}
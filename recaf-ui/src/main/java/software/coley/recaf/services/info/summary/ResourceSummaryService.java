@@ -5,15 +5,23 @@
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import javafx.scene.control.Separator;
+import org.objectweb.asm.tree.ClassNode;
 import org.slf4j.Logger;
 import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.services.Service;
 import software.coley.recaf.ui.pane.WorkspaceInformationPane;
 import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,6 +29,9 @@
 
 /**
  * Provides {@link ResourceSummarizer} content to the {@link WorkspaceInformationPane}.
+ * <p>
+ * All {@link ClassSummarizer} instances are served by a single walk over the classes of the resource,
+ * which is split across multiple threads. Each class is handed to every such summarizer in turn.
  *
  * @author Matt Coley
  */
@@ -29,6 +40,8 @@ public class ResourceSummaryService implements Service {
 	public static final String SERVICE_ID = "info-summary";
 	private static final Logger logger = Logging.get(ResourceSummaryService.class);
 	private static final ExecutorService threadPool = ThreadPoolFactory.newSingleThreadExecutor("resource-summary");
+	private static final ExecutorService walkPool = ThreadPoolFactory.newFixedThreadPool("resource-summary-walk");
+	private static final int WALK_SPLITS = Runtime.getRuntime().availableProcessors() * 4;
 	private final Map<String, ResourceSummarizer> summarizers = new ConcurrentHashMap<>();
 	private final ResourceSummaryServiceConfig config;
 
@@ -65,12 +78,20 @@ public CompletableFuture<Void> summarizeTo(@Nonnull Workspace workspace,
 	                                           @Nonnull SummaryConsumer consumer) {
 		// Run async so we do not block the UI thread
 		return CompletableFuture.runAsync(() -> {
+			Set<ResourceSummarizer> ordered = new TreeSet<>(summarizers.values());
+			Map<ResourceSummarizer, ClassSummarizer.Pass> passes = walkClasses(workspace, resource, ordered);
 			boolean lastSummarizerAppended = false;
-			for (ResourceSummarizer summarizer : new TreeSet<>(summarizers.values())) {
+			for (ResourceSummarizer summarizer : ordered) {
 				if (lastSummarizerAppended)
 					consumer.appendSummary(new Separator());
 				try {
-					lastSummarizerAppended = summarizer.summarize(workspace, resource, consumer);
+					if (summarizer instanceof ClassSummarizer) {
+						// Class summarizers only have results if their pass completed the walk.
+						ClassSummarizer.Pass pass = passes.get(summarizer);
+						lastSummarizerAppended = pass != null && pass.complete(consumer);
+					} else {
+						lastSummarizerAppended = summarizer.summarize(workspace, resource, consumer);
+					}
 				} catch (Throwable t) {
 					logger.error("Summarizer '{}' encountered an error", summarizer.getClass().getName(), t);
 					lastSummarizerAppended = false;
@@ -79,6 +100,76 @@ public CompletableFuture<Void> summarizeTo(@Nonnull Workspace workspace,
 		}, threadPool);
 	}
 
+	/**
+	 * @param workspace
+	 * 		Containing workspace.
+	 * @param resource
+	 * 		Resource to summarize.
+	 * @param summarizers
+	 * 		Summarizers to run, of which the {@link ClassSummarizer} instances are handed all JVM classes.
+	 *
+	 * @return Map of class summarizers to their passes which visited all classes.
+	 */
+	@Nonnull
+	private static Map<ResourceSummarizer, ClassSummarizer.Pass> walkClasses(@Nonnull Workspace workspace,
+	                                                                         @Nonnull WorkspaceResource resource,
+	                                                                         @Nonnull Set<ResourceSummarizer> summarizers) {
+		Map<ResourceSummarizer, ClassSummarizer.Pass> passes = new IdentityHashMap<>();
+		Map<ClassSummarizer.Pass, ClassSummarizer.Requirement> requirements = new IdentityHashMap<>();
+		for (ResourceSummarizer summarizer : summarizers) {
+			if (summarizer instanceof ClassSummarizer classSummarizer) {
+				try {
+					ClassSummarizer.Pass pass = classSummarizer.newPass(workspace, resource);
+					passes.put(summarizer, pass);
+					requirements.put(pass, classSummarizer.getRequirement());
+				} catch (Throwable t) {
+					logger.error("Summarizer '{}' encountered an error", summarizer.getClass().getName(), t);
+				}
+			}
+		}
+		if (passes.isEmpty())
+			return passes;
+
+		// Bytecode is only parsed when at least one summarizer needs it, and then only once per class.
+		boolean needsBytecode = requirements.containsValue(ClassSummarizer.Requirement.BYTECODE);
+		List<ClassSummarizer.Pass> activePasses = new ArrayList<>(passes.values());
+		Set<ClassSummarizer.Pass> failedPasses = ConcurrentHashMap.newKeySet();
+		List<ClassEntry> classes = new ArrayList<>();
+		resource.jvmClassBundleStream().forEach(bundle -> {
+			for (JvmClassInfo cls : bundle)
+				classes.add(new ClassEntry(bundle, cls));
+		});
+
+		// Split the classes into interleaved slices, so that each slice has a similar mix of class sizes.
+		int splits = Math.max(1, Math.min(WALK_SPLITS, classes.size()));
+		CompletableFuture<?>[] futures = new CompletableFuture[splits];
+		for (int i = 0; i < splits; i++) {
+			int offset = i;
+			futures[i] = CompletableFuture.runAsync(() -> {
+				for (int c = offset; c < classes.size(); c += splits) {
+					ClassEntry entry = classes.get(c);
+					ClassNode node = needsBytecode ? ClassSummarizer.Requirement.BYTECODE.toNode(entry.cls()) : null;
+					for (ClassSummarizer.Pass pass : activePasses) {
+						if (failedPasses.contains(pass))
+							continue;
+						try {
+							boolean passNeedsBytecode = requirements.get(pass) == ClassSummarizer.Requirement.BYTECODE;
+							pass.visit(entry.bundle(), entry.cls(), passNeedsBytecode ? node : null);
+						} catch (Throwable t) {
+							if (failedPasses.add(pass))
+								logger.error("Summarizer pass failed on class '{}'", entry.cls().getName(), t);
+						}
+					}
+				}
+			}, walkPool);
+		}
+		CompletableFuture.allOf(futures).join();
+
+		// Drop passes which did not see all classes.
+		passes.values().removeAll(failedPasses);
+		return Collections.unmodifiableMap(passes);
+	}
+
 	/**
 	 * @param summarizer
 	 * 		Summarizer to add.
@@ -108,4 +199,12 @@ public String getServiceId() {
 	public ResourceSummaryServiceConfig getServiceConfig() {
 		return config;
 	}
+
+	/**
+	 * @param bundle
+	 * 		Bundle containing the class.
+	 * @param cls
+	 * 		Class to visit.
+	 */
+	private record ClassEntry(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {}
 }
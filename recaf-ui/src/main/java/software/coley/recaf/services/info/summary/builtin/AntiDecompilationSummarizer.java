@@ -14,6 +14,7 @@
 import javafx.stage.Stage;
 import org.kordamp.ikonli.carbonicons.CarbonIcons;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
 import org.slf4j.Logger;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.JvmClassInfo;
@@ -21,7 +22,7 @@
 import software.coley.recaf.info.member.FieldMember;
 import software.coley.recaf.info.member.MethodMember;
 import software.coley.recaf.path.ClassPathNode;
-import software.coley.recaf.services.info.summary.ResourceSummarizer;
+import software.coley.recaf.services.info.summary.ClassSummarizer;
 import software.coley.recaf.services.info.summary.SummaryConsumer;
 import software.coley.recaf.services.mapping.gen.filter.IncludeKeywordNameFilter;
 import software.coley.recaf.services.mapping.gen.filter.IncludeNonAsciiNameFilter;
@@ -43,6 +44,7 @@
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.Bundle;
 import software.coley.recaf.workspace.model.bundle.ClassBundle;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
 import java.util.Collections;
@@ -66,7 +68,7 @@
  * @author Matt Coley
  */
 @ApplicationScoped
-public class AntiDecompilationSummarizer implements ResourceSummarizer {
+public class AntiDecompilationSummarizer implements ClassSummarizer {
 	private static final int LONG_ANNO = 256;
 	private static final int BUTTON_WIDTH = 210;
 	private static final NameGeneratorFilter ILLEGAL_NAME_FILTER =
@@ -82,383 +84,348 @@ public AntiDecompilationSummarizer(@Nonnull Instance<MappingGeneratorPane> gener
 		this.windowFactory = windowFactory;
 	}
 
+	@Nonnull
 	@Override
-	@SuppressWarnings("unchecked")
-	public boolean summarize(@Nonnull Workspace workspace,
-	                         @Nonnull WorkspaceResource resource,
-	                         @Nonnull SummaryConsumer consumer) {
-		Set<JvmClassInfo> classesWithInvalidSignatures = Collections.newSetFromMap(new IdentityHashMap<>());
-		Set<JvmClassInfo> classesWithDuplicateAnnotations = Collections.newSetFromMap(new IdentityHashMap<>());
-		Set<JvmClassInfo> classesWithIllegalNames = Collections.newSetFromMap(new IdentityHashMap<>());
-		Map<JvmClassInfo, Set<String>> classesWithLongAnnotations = new IdentityHashMap<>();
-		Set<JvmClassInfo> classesWithIllegalAnnos = Collections.newSetFromMap(new IdentityHashMap<>());
-		resource.jvmClassBundleStream().forEach(bundle -> {
-			bundle.forEach(cls -> {
-				// Check for invalid signatures in the class.
-				if (!cls.hasValidSignatures())
-					classesWithInvalidSignatures.add(cls);
-
-				// Check for duplicate annotations, which is not allowed at source level.
-				// Commonly paired with bogus long annotation names.
-				duplicates:
-				{
-					List<AnnotationInfo> annotations = cls.getAnnotations();
-					Set<String> uniqueNames = annotations.stream()
-							.map(AnnotationInfo::getDescriptor)
-							.collect(Collectors.toSet());
-					if (annotations.size() != uniqueNames.size()) {
-						classesWithDuplicateAnnotations.add(cls);
-						break duplicates;
-					}
-
-					for (FieldMember field : cls.getFields()) {
-						annotations = field.getAnnotations();
-						uniqueNames = annotations.stream()
-								.map(AnnotationInfo::getDescriptor)
-								.collect(Collectors.toSet());
-						if (annotations.size() != uniqueNames.size()) {
-							classesWithDuplicateAnnotations.add(cls);
-							break duplicates;
-						}
-					}
-
-					for (MethodMember method : cls.getMethods()) {
-						annotations = method.getAnnotations();
-						uniqueNames = annotations.stream()
-								.map(AnnotationInfo::getDescriptor)
-								.collect(Collectors.toSet());
-						if (annotations.size() != uniqueNames.size()) {
-							classesWithDuplicateAnnotations.add(cls);
-							break duplicates;
-						}
-					}
-				}
+	public Requirement getRequirement() {
+		return Requirement.ANNOTATIONS;
+	}
 
-				// Check for annotation names with obnoxiously long names. These are generally added to classes
-				// to slow down decompilers without any hit to runtime performance since they go unused.
-				bogusLong:
-				{
-					for (AnnotationInfo annotation : cls.getAnnotations()) {
-						String descriptor = annotation.getDescriptor();
-						if (descriptor.length() > LONG_ANNO) {
-							classesWithLongAnnotations.computeIfAbsent(cls, c -> new HashSet<>()).add(descriptor);
-							break bogusLong;
-						}
-					}
-
-					for (FieldMember field : cls.getFields()) {
-						for (AnnotationInfo annotation : field.getAnnotations()) {
-							String descriptor = annotation.getDescriptor();
-							if (descriptor.length() > LONG_ANNO) {
-								classesWithLongAnnotations.computeIfAbsent(cls, c -> new HashSet<>()).add(descriptor);
-								break bogusLong;
+	@Nonnull
+	@Override
+	public Pass newPass(@Nonnull Workspace workspace, @Nonnull WorkspaceResource resource) {
+		return new AntiDecompilationPass(workspace);
+	}
+
+	@Nonnull
+	private static Node box(@Nonnull Node left, @Nonnull Node right) {
+		HBox box = new HBox(left, right);
+		box.setSpacing(10);
+		box.setAlignment(Pos.CENTER_LEFT);
+		return box;
+	}
+
+	/**
+	 * Records classes with anti-decompilation tricks, and offers patching them once all classes have been visited.
+	 */
+	private class AntiDecompilationPass implements Pass {
+		private final Set<JvmClassInfo> classesWithInvalidSignatures = identitySet();
+		private final Set<JvmClassInfo> classesWithDuplicateAnnotations = identitySet();
+		private final Set<JvmClassInfo> classesWithIllegalNames = identitySet();
+		private final Set<JvmClassInfo> classesWithLongAnnotations = identitySet();
+		private final Set<JvmClassInfo> classesWithIllegalAnnos = identitySet();
+		private final Workspace workspace;
+
+		private AntiDecompilationPass(@Nonnull Workspace workspace) {
+			this.workspace = workspace;
+		}
+
+		@Override
+		public void visit(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls, @Nullable ClassNode node) {
+			// Check for invalid signatures in the class.
+			if (!cls.hasValidSignatures())
+				classesWithInvalidSignatures.add(cls);
+
+			// Check the annotations and names of the class and its members, visiting each declaration once.
+			AnnotationIssues issues = new AnnotationIssues();
+			issues.check(cls.getAnnotations());
+			boolean illegalName = ILLEGAL_NAME_FILTER.shouldMapClass(cls);
+			for (FieldMember field : cls.getFields()) {
+				issues.check(field.getAnnotations());
+				if (!illegalName && ILLEGAL_NAME_FILTER.shouldMapField(cls, field))
+					illegalName = true;
+			}
+			for (MethodMember method : cls.getMethods()) {
+				issues.check(method.getAnnotations());
+				if (!illegalName && ILLEGAL_NAME_FILTER.shouldMapMethod(cls, method))
+					illegalName = true;
+			}
+			if (issues.duplicate)
+				classesWithDuplicateAnnotations.add(cls);
+			if (issues.longName)
+				classesWithLongAnnotations.add(cls);
+			if (issues.illegal)
+				classesWithIllegalAnnos.add(cls);
+			if (illegalName)
+				classesWithIllegalNames.add(cls);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean complete(@Nonnull SummaryConsumer consumer) {
+			Set<JvmClassInfo> classesWithCyclicInheritance = Collections.newSetFromMap(new IdentityHashMap<>());
+			Graph graph = new Graph(workspace);
+			graph.handleClassesWithCycles(classesWithCyclicInheritance::add);
+
+			// Add entries for automatic cleaning of found issues.
+			int cycleCount = classesWithCyclicInheritance.size();
+			int invalidSigCount = classesWithInvalidSignatures.size();
+			int dupAnnoCount = classesWithDuplicateAnnotations.size();
+			int longAnnoCount = classesWithLongAnnotations.size();
+			int illegalAnnoCount = classesWithIllegalAnnos.size();
+			int illegalNameCount = classesWithIllegalNames.size();
+			if (cycleCount > 0 ||
+					invalidSigCount > 0 ||
+					dupAnnoCount > 0 ||
+					longAnnoCount > 0 ||
+					illegalAnnoCount > 0 ||
+					illegalNameCount > 0) {
+				ExecutorService service = ThreadPoolFactory.newSingleThreadExecutor("anti-decompile-patching");
+				Label title = new BoundLabel(Lang.getBinding("service.analysis.anti-decompile"));
+				title.getStyleClass().addAll(Styles.TITLE_4);
+				consumer.appendSummary(title);
+
+				// Option to remove cycles
+				if (cycleCount > 0) {
+					BoundLabel label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-remove", cycleCount));
+					Button action = new ActionButton(CarbonIcons.TRASH_CAN, Lang.getBinding("service.analysis.anti-decompile.cyclic"), () -> {
+						CompletableFuture.supplyAsync(() -> {
+							int patched = 0;
+							for (JvmClassInfo classInfo : classesWithCyclicInheritance) {
+								ClassPathNode path = workspace.findClass(classInfo.getName());
+								if (path != null) {
+									Bundle<?> bundle = path.getValueOfType(Bundle.class);
+									if (bundle != null) {
+										bundle.remove(classInfo.getName());
+										patched++;
+									}
+								}
 							}
-						}
-					}
-
-					for (MethodMember method : cls.getMethods()) {
-						for (AnnotationInfo annotation : method.getAnnotations()) {
-							String descriptor = annotation.getDescriptor();
-							if (descriptor.length() > LONG_ANNO) {
-								classesWithLongAnnotations.computeIfAbsent(cls, c -> new HashSet<>()).add(descriptor);
-								break bogusLong;
+							return patched;
+						}, service).whenCompleteAsync((count, error) -> {
+							if (error == null) {
+								label.rebind(Lang.format("service.analysis.anti-decompile.label-remove", cycleCount - count));
+								logger.info("Removed {} illegal cyclic classes", count);
+							} else {
+								logger.error("Failed removing cyclic classes", error);
 							}
-						}
-					}
+						}, FxThreadUtil.executor());
+					}).once().width(BUTTON_WIDTH);
+					consumer.appendSummary(box(action, label));
 				}
 
-				// Check for annotation names with empty names. These are used to attempt triggering OOBE errors
-				// in analysis and editing features.
-				bogusAnnoName:
-				{
-					for (AnnotationInfo annotation : cls.getAnnotations()) {
-						String descriptor = annotation.getDescriptor();
-						if (!Types.isValidDesc(descriptor)) {
-							classesWithIllegalAnnos.add(cls);
-							break bogusAnnoName;
-						}
-					}
-
-					for (FieldMember field : cls.getFields()) {
-						for (AnnotationInfo annotation : field.getAnnotations()) {
-							String descriptor = annotation.getDescriptor();
-							if (!Types.isValidDesc(descriptor)) {
-								classesWithIllegalAnnos.add(cls);
-								break bogusAnnoName;
+				// Option to remove invalid signatures
+				if (invalidSigCount > 0) {
+					BoundLabel label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-patch", invalidSigCount));
+					Button action = new ActionButton(CarbonIcons.CLEAN, Lang.getBinding("service.analysis.anti-decompile.illegal-sig"), () -> {
+						CompletableFuture.supplyAsync(() -> {
+							int patched = 0;
+							for (JvmClassInfo classInfo : classesWithInvalidSignatures) {
+								ClassPathNode path = workspace.findClass(classInfo.getName());
+								if (path != null) {
+									var bundle = path.getValueOfType(ClassBundle.class);
+									if (bundle != null) {
+										// Patch class to remove illegal signatures.
+										ClassWriter writer = new ClassWriter(0);
+										classInfo.getClassReader().accept(new IllegalSignatureRemovingVisitor(writer), 0);
+										JvmClassInfo patchedInfo = classInfo.toJvmClassBuilder().withBytecode(writer.toByteArray()).build();
+
+										// Replace class
+										bundle.put(patchedInfo);
+										patched++;
+									}
+								}
 							}
-						}
-					}
-
-					for (MethodMember method : cls.getMethods()) {
-						for (AnnotationInfo annotation : method.getAnnotations()) {
-							String descriptor = annotation.getDescriptor();
-							if (!Types.isValidDesc(descriptor)) {
-								classesWithIllegalAnnos.add(cls);
-								break bogusAnnoName;
+							return patched;
+						}, service).whenCompleteAsync((count, error) -> {
+							if (error == null) {
+								label.rebind(Lang.format("service.analysis.anti-decompile.label-patch", invalidSigCount - count));
+								logger.info("Patched {} classes with illegal signatures", count);
+							} else {
+								logger.error("Failed patching illegal signatures", error);
 							}
-						}
-					}
-				}
+						}, FxThreadUtil.executor());
 
-				// Check for illegally declared names.
-				illegalNames:
-				{
-					if (ILLEGAL_NAME_FILTER.shouldMapClass(cls)) {
-						classesWithIllegalNames.add(cls);
-						break illegalNames;
-					}
-					for (FieldMember field : cls.getFields()) {
-						if (ILLEGAL_NAME_FILTER.shouldMapField(cls, field)) {
-							classesWithIllegalNames.add(cls);
-							break illegalNames;
-						}
-					}
-					for (MethodMember method : cls.getMethods()) {
-						if (ILLEGAL_NAME_FILTER.shouldMapMethod(cls, method)) {
-							classesWithIllegalNames.add(cls);
-							break illegalNames;
-						}
-					}
+					}).once().width(BUTTON_WIDTH);
+					consumer.appendSummary(box(action, label));
 				}
-			});
-		});
-
-		Set<JvmClassInfo> classesWithCyclicInheritance = Collections.newSetFromMap(new IdentityHashMap<>());
-		Graph graph = new Graph(workspace);
-		graph.handleClassesWithCycles(classesWithCyclicInheritance::add);
-
-		// Add entries for automatic cleaning of found issues.
-		int cycleCount = classesWithCyclicInheritance.size();
-		int invalidSigCount = classesWithInvalidSignatures.size();
-		int dupAnnoCount = classesWithDuplicateAnnotations.size();
-		int longAnnoCount = classesWithLongAnnotations.size();
-		int illegalAnnoCount = classesWithIllegalAnnos.size();
-		int illegalNameCount = classesWithIllegalNames.size();
-		if (cycleCount > 0 ||
-				invalidSigCount > 0 ||
-				dupAnnoCount > 0 ||
-				longAnnoCount > 0 ||
-				illegalAnnoCount > 0 ||
-				illegalNameCount > 0) {
-			ExecutorService service = ThreadPoolFactory.newSingleThreadExecutor("anti-decompile-patching");
-			Label title = new BoundLabel(Lang.getBinding("service.analysis.anti-decompile"));
-			title.getStyleClass().addAll(Styles.TITLE_4);
-			consumer.appendSummary(title);
-
-			// Option to remove cycles
-			if (cycleCount > 0) {
-				BoundLabel label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-remove", cycleCount));
-				Button action = new ActionButton(CarbonIcons.TRASH_CAN, Lang.getBinding("service.analysis.anti-decompile.cyclic"), () -> {
-					CompletableFuture.supplyAsync(() -> {
-						int patched = 0;
-						for (JvmClassInfo classInfo : classesWithCyclicInheritance) {
-							ClassPathNode path = workspace.findClass(classInfo.getName());
-							if (path != null) {
-								Bundle<?> bundle = path.getValueOfType(Bundle.class);
-								if (bundle != null) {
-									bundle.remove(classInfo.getName());
-									patched++;
-								}
-							}
-						}
-						return patched;
-					}, service).whenCompleteAsync((count, error) -> {
-						if (error == null) {
-							label.rebind(Lang.format("service.analysis.anti-decompile.label-remove", cycleCount - count));
-							logger.info("Removed {} illegal cyclic classes", count);
-						} else {
-							logger.error("Failed removing cyclic classes", error);
-						}
-					}, FxThreadUtil.executor());
-				}).once().width(BUTTON_WIDTH);
-				consumer.appendSummary(box(action, label));
-			}
 
-			// Option to remove invalid signatures
-			if (invalidSigCount > 0) {
-				BoundLabel label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-patch", invalidSigCount));
-				Button action = new ActionButton(CarbonIcons.CLEAN, Lang.getBinding("service.analysis.anti-decompile.illegal-sig"), () -> {
-					CompletableFuture.supplyAsync(() -> {
-						int patched = 0;
-						for (JvmClassInfo classInfo : classesWithInvalidSignatures) {
-							ClassPathNode path = workspace.findClass(classInfo.getName());
-							if (path != null) {
-								var bundle = path.getValueOfType(ClassBundle.class);
-								if (bundle != null) {
-									// Patch class to remove illegal signatures.
-									ClassWriter writer = new ClassWriter(0);
-									classInfo.getClassReader().accept(new IllegalSignatureRemovingVisitor(writer), 0);
-									JvmClassInfo patchedInfo = classInfo.toJvmClassBuilder().withBytecode(writer.toByteArray()).build();
-
-									// Replace class
-									bundle.put(patchedInfo);
-									patched++;
+				// Option to remove duplicate annotations
+				if (dupAnnoCount > 0) {
+					BoundLabel label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-patch", dupAnnoCount));
+					Button action = new ActionButton(CarbonIcons.CLEAN, Lang.getBinding("service.analysis.anti-decompile.duplicate-annos"), () -> {
+						CompletableFuture.supplyAsync(() -> {
+							int patched = 0;
+							for (JvmClassInfo classInfo : classesWithDuplicateAnnotations) {
+								ClassPathNode path = workspace.findClass(classInfo.getName());
+								if (path != null) {
+									var bundle = path.getValueOfType(ClassBundle.class);
+									if (bundle != null) {
+										// Patch class to remove duplicate annotations.
+										ClassWriter writer = new ClassWriter(0);
+										classInfo.getClassReader().accept(new DuplicateAnnotationRemovingVisitor(writer), 0);
+										JvmClassInfo patchedInfo = classInfo.toJvmClassBuilder().withBytecode(writer.toByteArray()).build();
+
+										// Replace class
+										bundle.put(patchedInfo);
+										patched++;
+									}
 								}
 							}
-						}
-						return patched;
-					}, service).whenCompleteAsync((count, error) -> {
-						if (error == null) {
-							label.rebind(Lang.format("service.analysis.anti-decompile.label-patch", invalidSigCount - count));
-							logger.info("Patched {} classes with illegal signatures", count);
-						} else {
-							logger.error("Failed patching illegal signatures", error);
-						}
-					}, FxThreadUtil.executor());
-
-				}).once().width(BUTTON_WIDTH);
-				consumer.appendSummary(box(action, label));
-			}
-
-			// Option to remove duplicate annotations
-			if (dupAnnoCount > 0) {
-				BoundLabel label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-patch", dupAnnoCount));
-				Button action = new ActionButton(CarbonIcons.CLEAN, Lang.getBinding("service.analysis.anti-decompile.duplicate-annos"), () -> {
-					CompletableFuture.supplyAsync(() -> {
-						int patched = 0;
-						for (JvmClassInfo classInfo : classesWithDuplicateAnnotations) {
-							ClassPathNode path = workspace.findClass(classInfo.getName());
-							if (path != null) {
-								var bundle = path.getValueOfType(ClassBundle.class);
-								if (bundle != null) {
-									// Patch class to remove duplicate annotations.
-									ClassWriter writer = new ClassWriter(0);
-									classInfo.getClassReader().accept(new DuplicateAnnotationRemovingVisitor(writer), 0);
-									JvmClassInfo patchedInfo = classInfo.toJvmClassBuilder().withBytecode(writer.toByteArray()).build();
-
-									// Replace class
-									bundle.put(patchedInfo);
-									patched++;
-								}
+							return patched;
+						}, service).whenCompleteAsync((count, error) -> {
+							if (error == null) {
+								label.rebind(Lang.format("service.analysis.anti-decompile.label-patch", dupAnnoCount - count));
+								logger.info("Patched {} classes with duplicate annotations", count);
+							} else {
+								logger.error("Failed patching classes with duplicate annotations", error);
 							}
-						}
-						return patched;
-					}, service).whenCompleteAsync((count, error) -> {
-						if (error == null) {
-							label.rebind(Lang.format("service.analysis.anti-decompile.label-patch", dupAnnoCount - count));
-							logger.info("Patched {} classes with duplicate annotations", count);
-						} else {
-							logger.error("Failed patching classes with duplicate annotations", error);
-						}
-					}, FxThreadUtil.executor());
-				}).once().width(BUTTON_WIDTH);
-				consumer.appendSummary(box(action, label));
-			}
+						}, FxThreadUtil.executor());
+					}).once().width(BUTTON_WIDTH);
+					consumer.appendSummary(box(action, label));
+				}
 
-			// Option to remove long named annotations
-			if (longAnnoCount > 0) {
-				BoundLabel label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-patch", longAnnoCount));
-				Button action = new ActionButton(CarbonIcons.CLEAN, Lang.getBinding("service.analysis.anti-decompile.long-annos"), () -> {
-					CompletableFuture.supplyAsync(() -> {
-						int patched = 0;
-						for (JvmClassInfo classInfo : classesWithLongAnnotations.keySet()) {
-							ClassPathNode path = workspace.findClass(classInfo.getName());
-							if (path != null) {
-								var bundle = path.getValueOfType(ClassBundle.class);
-								if (bundle != null) {
-									// Patch class to remove long annotations.
-									ClassWriter writer = new ClassWriter(0);
-									classInfo.getClassReader().accept(new LongAnnotationRemovingVisitor(writer, LONG_ANNO), 0);
-									JvmClassInfo patchedInfo = classInfo.toJvmClassBuilder().withBytecode(writer.toByteArray()).build();
-
-									// Replace class
-									bundle.put(patchedInfo);
-									patched++;
+				// Option to remove long named annotations
+				if (longAnnoCount > 0) {
+					BoundLabel label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-patch", longAnnoCount));
+					Button action = new ActionButton(CarbonIcons.CLEAN, Lang.getBinding("service.analysis.anti-decompile.long-annos"), () -> {
+						CompletableFuture.supplyAsync(() -> {
+							int patched = 0;
+							for (JvmClassInfo classInfo : classesWithLongAnnotations) {
+								ClassPathNode path = workspace.findClass(classInfo.getName());
+								if (path != null) {
+									var bundle = path.getValueOfType(ClassBundle.class);
+									if (bundle != null) {
+										// Patch class to remove long annotations.
+										ClassWriter writer = new ClassWriter(0);
+										classInfo.getClassReader().accept(new LongAnnotationRemovingVisitor(writer, LONG_ANNO), 0);
+										JvmClassInfo patchedInfo = classInfo.toJvmClassBuilder().withBytecode(writer.toByteArray()).build();
+
+										// Replace class
+										bundle.put(patchedInfo);
+										patched++;
+									}
 								}
 							}
-						}
-						return patched;
-					}, service).whenCompleteAsync((count, error) -> {
-						if (error == null) {
-							label.rebind(Lang.format("service.analysis.anti-decompile.label-patch", longAnnoCount - count));
-							logger.info("Patched {} classes with long annotations", count);
-						} else {
-							logger.error("Failed patching classes with long annotations", error);
-						}
-					}, FxThreadUtil.executor());
-				}).once().width(BUTTON_WIDTH);
-				consumer.appendSummary(box(action, label));
-			}
+							return patched;
+						}, service).whenCompleteAsync((count, error) -> {
+							if (error == null) {
+								label.rebind(Lang.format("service.analysis.anti-decompile.label-patch", longAnnoCount - count));
+								logger.info("Patched {} classes with long annotations", count);
+							} else {
+								logger.error("Failed patching classes with long annotations", error);
+							}
+						}, FxThreadUtil.executor());
+					}).once().width(BUTTON_WIDTH);
+					consumer.appendSummary(box(action, label));
+				}
 
-			// Option to remove empty named annotations
-			if (illegalAnnoCount > 0) {
-				BoundLabel label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-patch", illegalAnnoCount));
-				Button action = new ActionButton(CarbonIcons.CLEAN, Lang.getBinding("service.analysis.anti-decompile.illegal-annos"), () -> {
-					CompletableFuture.supplyAsync(() -> {
-						int patched = 0;
-						for (JvmClassInfo classInfo : classesWithIllegalAnnos) {
-							ClassPathNode path = workspace.findClass(classInfo.getName());
-							if (path != null) {
-								var bundle = path.getValueOfType(ClassBundle.class);
-								if (bundle != null) {
-									// Patch class to remove illegal annotations.
-									ClassWriter writer = new ClassWriter(0);
-									classInfo.getClassReader().accept(new IllegalAnnotationRemovingVisitor(writer), 0);
-									JvmClassInfo patchedInfo = classInfo.toJvmClassBuilder().withBytecode(writer.toByteArray()).build();
-
-									// Replace class
-									bundle.put(patchedInfo);
-									patched++;
+				// Option to remove empty named annotations
+				if (illegalAnnoCount > 0) {
+					BoundLabel label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-patch", illegalAnnoCount));
+					Button action = new ActionButton(CarbonIcons.CLEAN, Lang.getBinding("service.analysis.anti-decompile.illegal-annos"), () -> {
+						CompletableFuture.supplyAsync(() -> {
+							int patched = 0;
+							for (JvmClassInfo classInfo : classesWithIllegalAnnos) {
+								ClassPathNode path = workspace.findClass(classInfo.getName());
+								if (path != null) {
+									var bundle = path.getValueOfType(ClassBundle.class);
+									if (bundle != null) {
+										// Patch class to remove illegal annotations.
+										ClassWriter writer = new ClassWriter(0);
+										classInfo.getClassReader().accept(new IllegalAnnotationRemovingVisitor(writer), 0);
+										JvmClassInfo patchedInfo = classInfo.toJvmClassBuilder().withBytecode(writer.toByteArray()).build();
+
+										// Replace class
+										bundle.put(patchedInfo);
+										patched++;
+									}
 								}
 							}
-						}
-						return patched;
-					}, service).whenCompleteAsync((count, error) -> {
-						if (error == null) {
-							label.rebind(Lang.format("service.analysis.anti-decompile.label-patch", illegalAnnoCount - count));
-							logger.info("Patched {} classes with illegal annotations", count);
-						} else {
-							logger.error("Failed patching classes with illegal annotations", error);
-						}
-					}, FxThreadUtil.executor());
-				}).once().width(BUTTON_WIDTH);
-				consumer.appendSummary(box(action, label));
-			}
+							return patched;
+						}, service).whenCompleteAsync((count, error) -> {
+							if (error == null) {
+								label.rebind(Lang.format("service.analysis.anti-decompile.label-patch", illegalAnnoCount - count));
+								logger.info("Patched {} classes with illegal annotations", count);
+							} else {
+								logger.error("Failed patching classes with illegal annotations", error);
+							}
+						}, FxThreadUtil.executor());
+					}).once().width(BUTTON_WIDTH);
+					consumer.appendSummary(box(action, label));
+				}
 
-			// Option to open mapping generator
-			if (illegalNameCount > 0) {
-				Button action = new ActionButton(CarbonIcons.LICENSE_MAINTENANCE, Lang.getBinding("service.analysis.anti-decompile.illegal-name"), () -> {
-					CompletableFuture.runAsync(() -> {
-						MappingGeneratorPane mappingGeneratorPane = generatorPaneProvider.get();
-						mappingGeneratorPane.addConfiguredFilter(new MappingGeneratorPane.IncludeNonAsciiNames());
-						mappingGeneratorPane.addConfiguredFilter(new MappingGeneratorPane.IncludeKeywordNames());
-						mappingGeneratorPane.addConfiguredFilter(new MappingGeneratorPane.IncludeWhitespaceNames());
-						mappingGeneratorPane.generate();
-						RecafScene scene = new RecafScene(mappingGeneratorPane);
-						FxThreadUtil.run(() -> {
-							Stage window = windowFactory.createAnonymousStage(scene, getBinding("mapgen"), 800, 400);
-							window.show();
-							window.requestFocus();
-
-							// Because our service is application scoped, the injected mapping generator panes won't
-							// be automatically destroyed until all of Recaf is closed. Thus, for optimal GC usage we
-							// need to manually invoke the destruction of our injected mapping generator panes.
-							// We can do this when the stage is closed.
-							window.setOnHidden(e -> generatorPaneProvider.destroy(mappingGeneratorPane));
+				// Option to open mapping generator
+				if (illegalNameCount > 0) {
+					Button action = new ActionButton(CarbonIcons.LICENSE_MAINTENANCE, Lang.getBinding("service.analysis.anti-decompile.illegal-name"), () -> {
+						CompletableFuture.runAsync(() -> {
+							MappingGeneratorPane mappingGeneratorPane = generatorPaneProvider.get();
+							mappingGeneratorPane.addConfiguredFilter(new MappingGeneratorPane.IncludeNonAsciiNames());
+							mappingGeneratorPane.addConfiguredFilter(new MappingGeneratorPane.IncludeKeywordNames());
+							mappingGeneratorPane.addConfiguredFilter(new MappingGeneratorPane.IncludeWhitespaceNames());
+							mappingGeneratorPane.generate();
+							RecafScene scene = new RecafScene(mappingGeneratorPane);
+							FxThreadUtil.run(() -> {
+								Stage window = windowFactory.createAnonymousStage(scene, getBinding("mapgen"), 800, 400);
+								window.show();
+								window.requestFocus();
+
+								// Because our service is application scoped, the injected mapping generator panes won't
+								// be automatically destroyed until all of Recaf is closed. Thus, for optimal GC usage we
+								// need to manually invoke the destruction of our injected mapping generator panes.
+								// We can do this when the stage is closed.
+								window.setOnHidden(e -> generatorPaneProvider.destroy(mappingGeneratorPane));
+							});
+						}, service).exceptionally(t -> {
+							logger.error("Failed to open mapping viewer", t);
+							return null;
 						});
-					}, service).exceptionally(t -> {
-						logger.error("Failed to open mapping viewer", t);
-						return null;
-					});
-				}).width(BUTTON_WIDTH);
-				Label label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-patch", illegalNameCount));
-				consumer.appendSummary(box(action, label));
+					}).width(BUTTON_WIDTH);
+					Label label = new BoundLabel(Lang.format("service.analysis.anti-decompile.label-patch", illegalNameCount));
+					consumer.appendSummary(box(action, label));
+				}
+
+				return true;
 			}
 
-			return true;
+			return false;
 		}
-
-		return false;
 	}
 
 	@Nonnull
-	private static Node box(@Nonnull Node left, @Nonnull Node right) {
-		HBox box = new HBox(left, right);
-		box.setSpacing(10);
-		box.setAlignment(Pos.CENTER_LEFT);
-		return box;
+	private static Set<JvmClassInfo> identitySet() {
+		return Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
 	}
 
+	/**
+	 * Issues found in annotations of a class and its members.
+	 */
+	private static class AnnotationIssues {
+		/**
+		 * Duplicate annotations, which is not allowed at source level.
+		 * Commonly paired with bogus long annotation names.
+		 */
+		private boolean duplicate;
+		/**
+		 * Annotations with obnoxiously long names. These are generally added to classes to slow down decompilers
+		 * without any hit to runtime performance since they go unused.
+		 */
+		private boolean longName;
+		/**
+		 * Annotations with illegal names, such as empty names. These are used to attempt triggering OOBE errors
+		 * in analysis and editing features.
+		 */
+		private boolean illegal;
+
+		/**
+		 * @param annotations
+		 * 		Annotations of a single declaration.
+		 */
+		private void check(@Nonnull List<AnnotationInfo> annotations) {
+			int size = annotations.size();
+			if (size == 0)
+				return;
+			Set<String> uniqueNames = size == 1 ? null : new HashSet<>(size);
+			for (AnnotationInfo annotation : annotations) {
+				String descriptor = annotation.getDescriptor();
+				if (uniqueNames != null && !uniqueNames.add(descriptor))
+					duplicate = true;
+				if (descriptor.length() > LONG_ANNO)
+					longName = true;
+				if (!illegal && !Types.isValidDesc(descriptor))
+					illegal = true;
+			}
+		}
+	}
 
 	/**
 	 * Simple class hierarchy graph for detecting cycles.
@@ -2,25 +2,30 @@
 
 import atlantafx.base.theme.Styles;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import javafx.geometry.Insets;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
-import software.coley.recaf.info.ClassInfo;
+import org.objectweb.asm.tree.ClassNode;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.member.MethodMember;
 import software.coley.recaf.services.cell.icon.IconProviderService;
 import software.coley.recaf.services.cell.text.TextProviderService;
-import software.coley.recaf.services.info.summary.ResourceSummarizer;
+import software.coley.recaf.services.info.summary.ClassSummarizer;
 import software.coley.recaf.services.info.summary.SummaryConsumer;
 import software.coley.recaf.services.navigation.Actions;
 import software.coley.recaf.ui.control.BoundLabel;
 import software.coley.recaf.util.Lang;
 import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -34,7 +39,7 @@
  * @author Matt Coley
  */
 @ApplicationScoped
-public class EntryPointSummarizer implements ResourceSummarizer {
+public class EntryPointSummarizer implements ClassSummarizer {
 	private final TextProviderService textService;
 	private final IconProviderService iconService;
 	private final Actions actions;
@@ -48,65 +53,96 @@ public EntryPointSummarizer(@Nonnull TextProviderService textService,
 		this.actions = actions;
 	}
 
+	@Nonnull
 	@Override
-	public boolean summarize(@Nonnull Workspace workspace,
-							 @Nonnull WorkspaceResource resource,
-							 @Nonnull SummaryConsumer consumer) {
-		Label title = new BoundLabel(Lang.getBinding("service.analysis.entry-points"));
-		title.getStyleClass().addAll(Styles.TITLE_4);
-		consumer.appendSummary(title);
-
-		// Visit JVM classes
-		int[] found = {0};
-		resource.jvmClassBundleStream().forEach(bundle -> {
-			bundle.forEach(cls -> {
+	public Requirement getRequirement() {
+		return Requirement.MEMBERS;
+	}
+
+	@Nonnull
+	@Override
+	public Pass newPass(@Nonnull Workspace workspace, @Nonnull WorkspaceResource resource) {
+		List<EntryClass> entryClasses = Collections.synchronizedList(new ArrayList<>());
+		return new Pass() {
+			@Override
+			public void visit(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls, @Nullable ClassNode node) {
 				List<MethodMember> entryMethods = cls.getMethods().stream()
-						.filter(this::isJvmEntry)
+						.filter(EntryPointSummarizer::isJvmEntry)
 						.toList();
-				if (!entryMethods.isEmpty()) {
-					Supplier<JvmClassInfo> classLookup = () -> Objects.requireNonNullElse(bundle.get(cls.getName()), cls);
-
-					// Add entry for class
-					String classDisplay = textService.getJvmClassInfoTextProvider(workspace, resource, bundle, cls).makeText();
-					Node classIcon = iconService.getJvmClassInfoIconProvider(workspace, resource, bundle, cls).makeIcon();
-					Label classLabel = new Label(classDisplay, classIcon);
-					classLabel.setCursor(Cursor.HAND);
-					classLabel.setOnMouseEntered(e -> classLabel.getStyleClass().add(Styles.TEXT_UNDERLINED));
-					classLabel.setOnMouseExited(e -> classLabel.getStyleClass().remove(Styles.TEXT_UNDERLINED));
-					classLabel.setOnMouseClicked(e -> actions.gotoDeclaration(workspace, resource, bundle, classLookup.get()));
-					consumer.appendSummary(classLabel);
-
-					// Add entries for methods
-					for (MethodMember method : entryMethods) {
-						String methodDisplay = textService.getMethodMemberTextProvider(workspace, resource, bundle, cls, method).makeText();
-						Node methodIcon = iconService.getClassMemberIconProvider(workspace, resource, bundle, cls, method).makeIcon();
-						Label methodLabel = new Label(methodDisplay);
-						methodLabel.setCursor(Cursor.HAND);
-						methodLabel.setGraphic(methodIcon);
-						methodLabel.setPadding(new Insets(2, 2, 2, 15));
-						methodLabel.setOnMouseEntered(e -> methodLabel.getStyleClass().add(Styles.TEXT_UNDERLINED));
-						methodLabel.setOnMouseExited(e -> methodLabel.getStyleClass().remove(Styles.TEXT_UNDERLINED));
-						methodLabel.setOnMouseClicked(e -> {
-							actions.gotoDeclaration(workspace, resource, bundle, classLookup.get())
-									.requestFocus(method);
-						});
-						consumer.appendSummary(methodLabel);
-						found[0]++;
-					}
+				if (!entryMethods.isEmpty())
+					entryClasses.add(new EntryClass(bundle, cls, entryMethods));
+			}
+
+			@Override
+			public boolean complete(@Nonnull SummaryConsumer consumer) {
+				Label title = new BoundLabel(Lang.getBinding("service.analysis.entry-points"));
+				title.getStyleClass().addAll(Styles.TITLE_4);
+				consumer.appendSummary(title);
+
+				// Classes are visited in no particular order, so sort them for display.
+				entryClasses.sort(Comparator.comparing(entry -> entry.cls().getName()));
+				for (EntryClass entry : entryClasses)
+					appendEntry(workspace, resource, entry, consumer);
+
+				if (entryClasses.isEmpty()) {
+					consumer.appendSummary(new BoundLabel(Lang.getBinding("service.analysis.entry-points.none")));
 				}
-			});
-		});
 
-		if (found[0] == 0) {
-			consumer.appendSummary(new BoundLabel(Lang.getBinding("service.analysis.entry-points.none")));
-		}
+				return true;
+			}
+		};
+	}
+
+	private void appendEntry(@Nonnull Workspace workspace,
+	                         @Nonnull WorkspaceResource resource,
+	                         @Nonnull EntryClass entry,
+	                         @Nonnull SummaryConsumer consumer) {
+		JvmClassBundle bundle = entry.bundle();
+		JvmClassInfo cls = entry.cls();
+		Supplier<JvmClassInfo> classLookup = () -> Objects.requireNonNullElse(bundle.get(cls.getName()), cls);
+
+		// Add entry for class
+		String classDisplay = textService.getJvmClassInfoTextProvider(workspace, resource, bundle, cls).makeText();
+		Node classIcon = iconService.getJvmClassInfoIconProvider(workspace, resource, bundle, cls).makeIcon();
+		Label classLabel = new Label(classDisplay, classIcon);
+		classLabel.setCursor(Cursor.HAND);
+		classLabel.setOnMouseEntered(e -> classLabel.getStyleClass().add(Styles.TEXT_UNDERLINED));
+		classLabel.setOnMouseExited(e -> classLabel.getStyleClass().remove(Styles.TEXT_UNDERLINED));
+		classLabel.setOnMouseClicked(e -> actions.gotoDeclaration(workspace, resource, bundle, classLookup.get()));
+		consumer.appendSummary(classLabel);
 
-		return true;
+		// Add entries for methods
+		for (MethodMember method : entry.methods()) {
+			String methodDisplay = textService.getMethodMemberTextProvider(workspace, resource, bundle, cls, method).makeText();
+			Node methodIcon = iconService.getClassMemberIconProvider(workspace, resource, bundle, cls, method).makeIcon();
+			Label methodLabel = new Label(methodDisplay);
+			methodLabel.setCursor(Cursor.HAND);
+			methodLabel.setGraphic(methodIcon);
+			methodLabel.setPadding(new Insets(2, 2, 2, 15));
+			methodLabel.setOnMouseEntered(e -> methodLabel.getStyleClass().add(Styles.TEXT_UNDERLINED));
+			methodLabel.setOnMouseExited(e -> methodLabel.getStyleClass().remove(Styles.TEXT_UNDERLINED));
+			methodLabel.setOnMouseClicked(e -> {
+				actions.gotoDeclaration(workspace, resource, bundle, classLookup.get())
+						.requestFocus(method);
+			});
+			consumer.appendSummary(methodLabel);
+		}
 	}
 
-	private boolean isJvmEntry(MethodMember method) {
+	private static boolean isJvmEntry(@Nonnull MethodMember method) {
 		return method.hasModifierMask(PUBLIC | STATIC) &&
 				method.getName().equals("main") &&
 				method.getDescriptor().equals("([Ljava/lang/String;)V");
 	}
+
+	/**
+	 * @param bundle
+	 * 		Bundle containing the class.
+	 * @param cls
+	 * 		Class declaring entry points.
+	 * @param methods
+	 * 		Entry point methods.
+	 */
+	private record EntryClass(@Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls,
+	                          @Nonnull List<MethodMember> methods) {}
 }
@@ -43,6 +43,7 @@
 import software.coley.recaf.services.mapping.MappingApplier;
 import software.coley.recaf.services.mapping.MappingResults;
 import software.coley.recaf.services.window.WindowFactory;
+import software.coley.recaf.services.workspace.io.DeferredClassValidator;
 import software.coley.recaf.ui.control.FontIconView;
 import software.coley.recaf.ui.control.graph.MethodCallGraphsPane;
 import software.coley.recaf.ui.control.popup.AddMemberPopup;
@@ -130,6 +131,7 @@ public class Actions implements Service {
 	private final IconProviderService iconService;
 	private final CellConfigurationService cellConfigurationService;
 	private final PathExportingManager pathExportingManager;
+	private final DeferredClassValidator deferredClassValidator;
 	private final Instance<InheritanceGraph> graphProvider;
 	private final Instance<MappingApplier> applierProvider;
 	private final Instance<JvmClassPane> jvmPaneProvider;
@@ -158,6 +160,7 @@ public Actions(@Nonnull ActionsConfig config,
 	               @Nonnull IconProviderService iconService,
 	               @Nonnull CellConfigurationService cellConfigurationService,
 	               @Nonnull PathExportingManager pathExportingManager,
+	               @Nonnull DeferredClassValidator deferredClassValidator,
 	               @Nonnull Instance<InheritanceGraph> graphProvider,
 	               @Nonnull Instance<MappingApplier> applierProvider,
 	               @Nonnull Instance<JvmClassPane> jvmPaneProvider,
@@ -183,6 +186,7 @@ public Actions(@Nonnull ActionsConfig config,
 		this.iconService = iconService;
 		this.cellConfigurationService = cellConfigurationService;
 		this.pathExportingManager = pathExportingManager;
+		this.deferredClassValidator = deferredClassValidator;
 		this.graphProvider = graphProvider;
 		this.applierProvider = applierProvider;
 		this.jvmPaneProvider = jvmPaneProvider;
@@ -298,6 +302,10 @@ public ClassNavigable gotoDeclaration(@Nonnull Workspace workspace,
 	                                      @Nonnull WorkspaceResource resource,
 	                                      @Nonnull JvmClassBundle bundle,
 	                                      @Nonnull JvmClassInfo info) {
+		// If the class has not yet been validated, do so ahead of other classes.
+		// Should it need patching the open content will be updated with the patched class.
+		deferredClassValidator.prioritize(bundle, info);
+
 		ClassPathNode path = PathNodes.classPath(workspace, resource, bundle, info);
 		return (ClassNavigable) getOrCreatePathContent(path, () -> {
 			// Create text/graphic for the tab to create.
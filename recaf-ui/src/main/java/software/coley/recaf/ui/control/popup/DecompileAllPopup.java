@@ -29,6 +29,7 @@
 import software.coley.recaf.ui.window.RecafScene;
 import software.coley.recaf.ui.window.RecafStage;
 import software.coley.recaf.util.*;
+import software.coley.recaf.util.threading.WorkPriority;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResource;
@@ -110,7 +111,7 @@ public DecompileAllPopup(@Nonnull DecompilerManager decompilerManager,
 				ZipCreationUtils.ZipBuilder builder = ZipCreationUtils.builder();
 				targetClasses.forEach(cls -> {
 					String name = cls.getName();
-					decompilerManager.decompile(decompiler, workspace, cls)
+					decompilerManager.decompile(decompiler, workspace, cls, WorkPriority.BACKGROUND)
 							.orTimeout(decompilerPaneConfig.getTimeoutSeconds().getValue(), TimeUnit.SECONDS)
 							.whenComplete((result, error) -> {
 								int remaining = actionedClasses.decrementAndGet();
@@ -43,6 +43,7 @@
 import software.coley.recaf.util.StringUtil;
 import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.util.threading.ThreadUtil;
+import software.coley.recaf.util.threading.WorkPriority;
 
 import java.time.Duration;
 import java.util.Collection;
@@ -76,7 +77,7 @@ public class Editor extends BorderPane {
 	private final ScrollBar verticalScrollbar;
 	private final VirtualFlow<?, ?> virtualFlow;
 	private final MemoizationList<Cell<?, ?>> virtualCellList;
-	private final ExecutorService syntaxPool = ThreadPoolFactory.newSingleThreadExecutor("syntax-highlight");
+	private final ExecutorService syntaxPool = ThreadPoolFactory.newSingleThreadExecutor("syntax-highlight", WorkPriority.INTERACTIVE);
 	private final RootLineGraphicFactory rootLineGraphicFactory = new RootLineGraphicFactory(this);
 	private final EventStream<Change<Integer>> caretPosEventStream;
 	private ReadOnlyStyledDocument<Collection<String>, String, Collection<String>> lastDocumentSnapshot;
@@ -18,7 +18,6 @@
 import org.openrewrite.ParseExceptionResult;
 import org.openrewrite.SourceFile;
 import org.openrewrite.Tree;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.marker.Range;
@@ -82,7 +81,9 @@ public class JavaContextActionSupport implements EditorComponent, UpdatableNavig
 	private Runnable queuedSelectionTask;
 	private String className;
 	private J.CompilationUnit unit;
-	private JavaParser parser;
+	private Set<String> parserReferencedClasses;
+	private long parserClasspathStamp;
+	private AstIncrementalParser parser;
 	private Editor editor;
 	private ContextMenu menu;
 
@@ -150,10 +151,18 @@ private void initialize(@Nonnull JvmClassInfo targetClass) {
 		// Set name
 		className = EscapeUtil.escapeStandard(targetClass.getName());
 
-		// Allocate new parser
-		if (parser != null)
+		// Allocate new parser, unless the classes referenced have not changed, and none of them have been updated
+		// in the workspace since the parser was made. In that case the existing parser's classpath is still current.
+		Set<String> referencedClasses = targetClass.getReferencedClasses();
+		if (parser != null) {
+			if (referencedClasses.equals(parserReferencedClasses)
+					&& !astService.hasClasspathChanged(referencedClasses, parserClasspathStamp))
+				return;
 			parser.reset();
-		parser = astService.newParser(targetClass);
+		}
+		parserReferencedClasses = referencedClasses;
+		parserClasspathStamp = astService.getClasspathStamp();
+		parser = new AstIncrementalParser(astService.newParser(targetClass));
 	}
 
 	/**
@@ -316,21 +325,18 @@ private void handleLongDurationChange() {
 			if (unit != null)
 				astAvailabilityButton.setNewParseInProgress();
 
-			// Clear parser cache
-			parser.reset();
-
-			// Parse the current source
+			// Parse the current source.
+			// If the changes since the last parse are within a single member, only that member is re-parsed.
 			long start = System.currentTimeMillis();
 			logger.debugging(l -> l.info("Starting AST parse..."));
-			List<SourceFile> results = parser.parse(text).toList();
+			SourceFile result = parser.parse(text);
 			long diff = (System.currentTimeMillis() - start);
 			String classNameEsc = EscapeUtil.escapeAll(className);
-			if (results.isEmpty()) {
+			if (result == null) {
 				unit = null;
 				logger.warn("Could not create Java AST model from source of: {} after {}ms", classNameEsc, diff);
 				astAvailabilityButton.setUnavailable();
 			} else {
-				SourceFile result = results.getFirst();
 				if (result instanceof ParseError parseError) {
 					unit = null;
 					ParseExceptionResult errResult = (ParseExceptionResult) parseError.getMarkers().getMarkers().getFirst();
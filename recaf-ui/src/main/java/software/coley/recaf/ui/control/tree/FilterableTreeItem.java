@@ -16,6 +16,7 @@
 import software.coley.recaf.util.ReflectUtil;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -175,6 +176,28 @@ public void addAndSortChild(@Nonnull TreeItem<T> item) {
 		}
 	}
 
+	/**
+	 * Add multiple unfiltered children to this item in sorted order, in a single change.
+	 *
+	 * @param items
+	 * 		Child items to add, in any order.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public void addAndSortChildren(@Nonnull List<? extends TreeItem<T>> items) {
+		if (items.isEmpty())
+			return;
+		synchronized (sourceChildren) {
+			for (TreeItem<T> item : items)
+				if (item instanceof FilterableTreeItem<?> filterableItem)
+					filterableItem.sourceParent.set(Unchecked.cast(this));
+			List<TreeItem<T>> merged = new ArrayList<>(sourceChildren.size() + items.size());
+			merged.addAll(sourceChildren);
+			merged.addAll(items);
+			Collections.sort((List) merged);
+			sourceChildren.setAll(merged);
+		}
+	}
+
 	/**
 	 * Add an unfiltered unsorted child to this item.
 	 *
@@ -189,6 +212,23 @@ protected void addPreSortedChild(@Nonnull TreeItem<T> item) {
 		}
 	}
 
+	/**
+	 * Add multiple unfiltered children to this item, in a single change.
+	 *
+	 * @param items
+	 * 		Child items to add, sorted relative to each other and all existing children.
+	 */
+	protected void addPreSortedChildren(@Nonnull List<? extends TreeItem<T>> items) {
+		if (items.isEmpty())
+			return;
+		synchronized (sourceChildren) {
+			for (TreeItem<T> item : items)
+				if (item instanceof FilterableTreeItem<?> filterableItem)
+					filterableItem.sourceParent.set(Unchecked.cast(this));
+			sourceChildren.addAll(items);
+		}
+	}
+
 	/**
 	 * Remove an unfiltered child from this item.
 	 *
@@ -206,6 +246,39 @@ public boolean removeSourceChild(@Nonnull TreeItem<T> child) {
 		}
 	}
 
+	/**
+	 * Re-runs the current {@link #predicateProperty() predicate} against a single unfiltered child.
+	 * Unlike setting a new predicate, this does not cascade the re-evaluation through every other child.
+	 *
+	 * @param child
+	 * 		Child item to re-test.
+	 *
+	 * @return {@code true} when the child was found and re-tested.
+	 * {@code false} when the child does not belong to this item.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public boolean refilterSourceChild(@Nonnull TreeItem<T> child) {
+		synchronized (sourceChildren) {
+			// Children are kept sorted when they are comparable, so try a binary search first.
+			int index = -1;
+			if (child instanceof Comparable<?>) {
+				try {
+					index = Collections.binarySearch((List) sourceChildren, child);
+				} catch (ClassCastException ignored) {
+					// Mixed child types, fall back to linear lookup.
+				}
+			}
+			if (index < 0 || sourceChildren.get(index) != child)
+				index = sourceChildren.indexOf(child);
+			if (index < 0)
+				return false;
+
+			// Replacing the item with itself makes the filtered list re-test only this index.
+			sourceChildren.set(index, child);
+			return true;
+		}
+	}
+
 	/**
 	 * @param comparator
 	 * 		Comparator to run to handle child sorting.
@@ -0,0 +1,265 @@
+package software.coley.recaf.ui.control.tree;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.info.FileInfo;
+import software.coley.recaf.info.Named;
+import software.coley.recaf.path.BundlePathNode;
+import software.coley.recaf.path.DirectoryPathNode;
+import software.coley.recaf.path.PathNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Holds the not yet materialized contents of a {@link WorkspaceTreeNode}.
+ * <p>
+ * Contents are kept in parallel arrays, sorted by directory key and then by name.
+ * Directory keys are the directory name with a trailing {@code '/'}, so every entry beneath
+ * a given directory is part of a single contiguous range. When the owning node is expanded,
+ * the range is split into direct children and sub-branches, each of which defers its own
+ * contents in the same way.
+ * <p>
+ * The lowercase name of each item is computed once when the item enters the branch,
+ * so that case-insensitive filtering does not need to convert every name on each pass.
+ *
+ * @author Matt Coley
+ */
+public class LazyTreeBranch {
+	private static final Comparator<Entry> ENTRY_COMPARATOR = Comparator.comparing(Entry::key)
+			.thenComparing(e -> e.value().getName());
+	private final BundlePathNode bundlePath;
+	private final int prefixLength;
+	private Named[] entries;
+	private String[] keys;
+	private String[] lowerNames;
+
+	private LazyTreeBranch(@Nonnull BundlePathNode bundlePath, @Nonnull Named[] entries,
+	                       @Nonnull String[] keys, @Nonnull String[] lowerNames, int prefixLength) {
+		this.bundlePath = bundlePath;
+		this.entries = entries;
+		this.keys = keys;
+		this.lowerNames = lowerNames;
+		this.prefixLength = prefixLength;
+	}
+
+	/**
+	 * @param bundlePath
+	 * 		Path to the bundle containing the items.
+	 * @param items
+	 * 		Classes or files in the bundle.
+	 * @param directoryLookup
+	 * 		Function to get the directory an item should be displayed in.
+	 * 		May yield {@code null} for items in the root directory.
+	 *
+	 * @return Branch for the contents of a bundle node.
+	 */
+	@Nonnull
+	public static LazyTreeBranch ofBundle(@Nonnull BundlePathNode bundlePath,
+	                                      @Nonnull Collection<? extends Named> items,
+	                                      @Nonnull Function<Named, String> directoryLookup) {
+		// Items in the same directory share the same key instance.
+		Map<String, String> keyPool = new HashMap<>();
+		Entry[] sorted = new Entry[items.size()];
+		int i = 0;
+		for (Named item : items) {
+			String directory = directoryLookup.apply(item);
+			if (directory == null) directory = "";
+			String key = keyPool.computeIfAbsent(directory, d -> d + '/');
+			sorted[i++] = new Entry(key, item);
+		}
+		if (i < sorted.length)
+			sorted = Arrays.copyOf(sorted, i);
+		Arrays.sort(sorted, ENTRY_COMPARATOR);
+
+		Named[] entries = new Named[sorted.length];
+		String[] keys = new String[sorted.length];
+		String[] lowerNames = new String[sorted.length];
+		for (int j = 0; j < sorted.length; j++) {
+			entries[j] = sorted[j].value();
+			keys[j] = sorted[j].key();
+			lowerNames[j] = entries[j].getName().toLowerCase();
+		}
+		return new LazyTreeBranch(bundlePath, entries, keys, lowerNames, 0);
+	}
+
+	/**
+	 * @param owner
+	 * 		Node which owns this branch.
+	 *
+	 * @return Sorted children nodes of the owner.
+	 * Directory children are given their own lazy branches.
+	 */
+	@Nonnull
+	public synchronized List<WorkspaceTreeNode> createChildren(@Nonnull WorkspaceTreeNode owner) {
+		Named[] entries = this.entries;
+		String[] keys = this.keys;
+		String[] lowerNames = this.lowerNames;
+		int size = entries.length;
+		List<WorkspaceTreeNode> children = new ArrayList<>();
+		int i = 0;
+		while (i < size) {
+			String key = keys[i];
+			if (key.length() == prefixLength && owner.getValue() instanceof DirectoryPathNode directoryPath) {
+				// Item directly within the owner directory.
+				PathNode<?> path = childPath(directoryPath, entries[i]);
+				if (path != null)
+					children.add(new WorkspaceTreeNode(path));
+				i++;
+			} else {
+				// Item within a sub-directory. Group all items with the same sub-directory prefix.
+				int end = key.indexOf('/', prefixLength);
+				String subPrefix = key.substring(0, end + 1);
+				int j = i + 1;
+				while (j < size && keys[j].startsWith(subPrefix))
+					j++;
+				WorkspaceTreeNode directoryNode = new WorkspaceTreeNode(bundlePath.child(key.substring(0, end)));
+				directoryNode.setLazyBranch(new LazyTreeBranch(bundlePath,
+						Arrays.copyOfRange(entries, i, j),
+						Arrays.copyOfRange(keys, i, j),
+						Arrays.copyOfRange(lowerNames, i, j),
+						end + 1));
+				children.add(directoryNode);
+				i = j;
+			}
+		}
+		children.sort(null);
+		return children;
+	}
+
+	/**
+	 * @param path
+	 * 		Class or file path to check.
+	 *
+	 * @return {@code true} when the path is a class or file that belongs in this branch.
+	 */
+	public boolean canHold(@Nonnull PathNode<?> path) {
+		return path.getValue() instanceof Named && path.getParent() instanceof DirectoryPathNode;
+	}
+
+	/**
+	 * @param path
+	 * 		Class or file path to add.
+	 *
+	 * @see #canHold(PathNode)
+	 */
+	public synchronized void add(@Nonnull PathNode<?> path) {
+		Named value = (Named) path.getValue();
+		String key = keyOf(path);
+		int index = indexOf(key, value.getName());
+		if (index >= 0) {
+			entries = entries.clone();
+			entries[index] = value;
+			return;
+		}
+		index = -(index + 1);
+		entries = insert(entries, new Named[entries.length + 1], index, value);
+		keys = insert(keys, new String[keys.length + 1], index, key);
+		lowerNames = insert(lowerNames, new String[lowerNames.length + 1], index, value.getName().toLowerCase());
+	}
+
+	/**
+	 * @param path
+	 * 		Class or file path to remove.
+	 *
+	 * @return {@code true} when the item was removed.
+	 * {@code false} when it was not in this branch.
+	 */
+	public synchronized boolean remove(@Nonnull PathNode<?> path) {
+		Named value = (Named) path.getValue();
+		int index = indexOf(keyOf(path), value.getName());
+		if (index < 0)
+			return false;
+		entries = remove(entries, new Named[entries.length - 1], index);
+		keys = remove(keys, new String[keys.length - 1], index);
+		lowerNames = remove(lowerNames, new String[lowerNames.length - 1], index);
+		return true;
+	}
+
+	/**
+	 * @param query
+	 * 		Text to look for.
+	 * @param caseSensitive
+	 * 		Case sensitivity of the query. When {@code false} the query is expected to be lowercase.
+	 *
+	 * @return {@code true} when any deferred item name contains the query text.
+	 */
+	public boolean anyMatch(@Nonnull String query, boolean caseSensitive) {
+		if (caseSensitive) {
+			for (Named entry : entries)
+				if (entry.getName().contains(query))
+					return true;
+		} else {
+			for (String name : lowerNames)
+				if (name.contains(query))
+					return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return {@code true} when there are no items in the branch.
+	 */
+	public boolean isEmpty() {
+		return entries.length == 0;
+	}
+
+	private int indexOf(@Nonnull String key, @Nonnull String name) {
+		String[] keys = this.keys;
+		Named[] entries = this.entries;
+		int low = 0;
+		int high = keys.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = keys[mid].compareTo(key);
+			if (cmp == 0)
+				cmp = entries[mid].getName().compareTo(name);
+			if (cmp < 0)
+				low = mid + 1;
+			else if (cmp > 0)
+				high = mid - 1;
+			else
+				return mid;
+		}
+		return -(low + 1);
+	}
+
+	@Nonnull
+	private static String keyOf(@Nonnull PathNode<?> path) {
+		DirectoryPathNode directoryPath = (DirectoryPathNode) path.getParent();
+		return directoryPath == null ? "/" : directoryPath.getValue() + '/';
+	}
+
+	@Nullable
+	private static PathNode<?> childPath(@Nonnull DirectoryPathNode directoryPath, @Nonnull Named value) {
+		if (value instanceof ClassInfo classInfo)
+			return directoryPath.child(classInfo);
+		else if (value instanceof FileInfo fileInfo)
+			return directoryPath.child(fileInfo);
+		return null;
+	}
+
+	@Nonnull
+	private static <T> T[] insert(@Nonnull T[] source, @Nonnull T[] target, int index, @Nonnull T value) {
+		System.arraycopy(source, 0, target, 0, index);
+		target[index] = value;
+		System.arraycopy(source, index, target, index + 1, source.length - index);
+		return target;
+	}
+
+	@Nonnull
+	private static <T> T[] remove(@Nonnull T[] source, @Nonnull T[] target, int index) {
+		System.arraycopy(source, 0, target, 0, index);
+		System.arraycopy(source, index + 1, target, index, source.length - index - 1);
+		return target;
+	}
+
+	private record Entry(@Nonnull String key, @Nonnull Named value) {}
+}
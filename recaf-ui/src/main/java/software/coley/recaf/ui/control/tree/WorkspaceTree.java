@@ -11,10 +11,7 @@
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.Named;
 import software.coley.recaf.path.BundlePathNode;
-import software.coley.recaf.path.ClassPathNode;
-import software.coley.recaf.path.DirectoryPathNode;
 import software.coley.recaf.path.EmbeddedResourceContainerPathNode;
-import software.coley.recaf.path.FilePathNode;
 import software.coley.recaf.path.PathNodes;
 import software.coley.recaf.path.ResourcePathNode;
 import software.coley.recaf.path.WorkspacePathNode;
@@ -37,10 +34,9 @@
 import software.coley.recaf.workspace.model.resource.WorkspaceFileResource;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
 
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeSet;
 
 /**
  * Tree view for navigating a {@link Workspace}.
@@ -71,7 +67,7 @@ public WorkspaceTree(@Nonnull CellConfigurationService configurationService, @No
 	}
 
 	/**
-	 * Sets the workspace, and creates a complete model for it.
+	 * Sets the workspace, and creates a model for it. Contents of bundles are created when they are first expanded.
 	 *
 	 * @param workspace
 	 * 		Workspace to represent.
@@ -107,7 +103,7 @@ public void createWorkspaceRoot(@Nullable Workspace workspace) {
 
 	/**
 	 * Adds the given resource to the tree.
-	 * All paths to items contained by the resource are generated <i>(classes, files, etc)</i>.
+	 * Paths to items contained by the resource <i>(classes, files, etc)</i> are generated lazily as branches are expanded.
 	 *
 	 * @param resource
 	 * 		Resource to add to the tree.
@@ -140,20 +136,7 @@ private void createResourceSubTree(@Nonnull WorkspaceResource resource) {
 	 */
 	private void insertClasses(@Nonnull ResourcePathNode containingResourcePath,
 	                           @Nonnull ClassBundle<?> bundle) {
-		Map<String, DirectoryPathNode> directories = new HashMap<>();
-		BundlePathNode bundlePath = containingResourcePath.child(bundle);
-
-		// Pre-sort classes to skip tree-building comparisons/synchronizations.
-		TreeSet<ClassInfo> sortedClasses = new TreeSet<>(Named.NAME_PATH_COMPARATOR);
-		sortedClasses.addAll(bundle.values());
-
-		// Add each class in sorted order.
-		for (ClassInfo classInfo : sortedClasses) {
-			String packageName = interceptDirectoryName(classInfo.getPackageName());
-			DirectoryPathNode packagePath = directories.computeIfAbsent(packageName, bundlePath::child);
-			ClassPathNode classPath = packagePath.child(classInfo);
-			WorkspaceTreeNode.getOrInsertIntoTree(root, classPath, true);
-		}
+		insertBundle(containingResourcePath.child(bundle), bundle.values());
 	}
 
 	/**
@@ -164,20 +147,28 @@ private void insertClasses(@Nonnull ResourcePathNode containingResourcePath,
 	 */
 	private void insertFiles(@Nonnull ResourcePathNode containingResourcePath,
 	                         @Nonnull FileBundle bundle) {
-		Map<String, DirectoryPathNode> directories = new HashMap<>();
-		BundlePathNode bundlePath = containingResourcePath.child(bundle);
-
-		// Pre-sort classes to skip tree-building comparisons/synchronizations.
-		TreeSet<FileInfo> sortedFiles = new TreeSet<>(Named.NAME_PATH_COMPARATOR);
-		sortedFiles.addAll(bundle.values());
-
-		// Add each file in sorted order.
-		for (FileInfo fileInfo : sortedFiles) {
-			String directoryName = interceptDirectoryName(fileInfo.getDirectoryName());
-			DirectoryPathNode directoryPath = directories.computeIfAbsent(directoryName, bundlePath::child);
-			FilePathNode filePath = directoryPath.child(fileInfo);
-			WorkspaceTreeNode.getOrInsertIntoTree(root, filePath, true);
-		}
+		insertBundle(containingResourcePath.child(bundle), bundle.values());
+	}
+
+	/**
+	 * Inserts a node for the bundle, but defers creation of nodes for its contents until the bundle is expanded.
+	 *
+	 * @param bundlePath
+	 * 		Path to bundle to insert.
+	 * @param items
+	 * 		Classes or files in the bundle.
+	 */
+	private void insertBundle(@Nonnull BundlePathNode bundlePath, @Nonnull Collection<? extends Named> items) {
+		if (items.isEmpty())
+			return;
+		WorkspaceTreeNode bundleNode = WorkspaceTreeNode.getOrInsertIntoTree(root, bundlePath, true);
+		bundleNode.setLazyBranch(LazyTreeBranch.ofBundle(bundlePath, items, item -> {
+			if (item instanceof ClassInfo classInfo)
+				return interceptDirectoryName(classInfo.getPackageName());
+			else if (item instanceof FileInfo fileInfo)
+				return interceptDirectoryName(fileInfo.getDirectoryName());
+			return null;
+		}));
 	}
 
 	/**
@@ -263,7 +254,7 @@ public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidC
 	public void onNewFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundle, @Nonnull FileInfo file) {
 		FxThreadUtil.run(() -> {
 			if (isTargetResource(resource))
-				root.getOrCreateNodeByPath(rootPath
+				root.insertNodeByPath(rootPath
 						.child(resource)
 						.child(bundle)
 						.child(interceptDirectoryName(file.getDirectoryName()))
@@ -271,7 +262,7 @@ public void onNewFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle b
 			else {
 				WorkspaceResource containingResource = resource.getContainingResource();
 				if (containingResource != null && isTargetResource(containingResource)) {
-					root.getOrCreateNodeByPath(rootPath
+					root.insertNodeByPath(rootPath
 							.child(containingResource)
 							.embeddedChildContainer()
 							.child(resource)
@@ -287,31 +278,18 @@ public void onNewFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle b
 	public void onUpdateFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundle, @Nonnull FileInfo oldFile, @Nonnull FileInfo newFile) {
 		FxThreadUtil.run(() -> {
 			if (isTargetResource(resource)) {
-				WorkspaceTreeNode node = root.getOrCreateNodeByPath(rootPath
-						.child(resource)
-						.child(bundle)
-						.child(interceptDirectoryName(oldFile.getDirectoryName()))
-						.child(oldFile));
-				node.setValue(rootPath
-						.child(resource)
-						.child(bundle)
-						.child(newFile.getDirectoryName())
-						.child(newFile));
+				BundlePathNode bundlePath = rootPath.child(resource).child(bundle);
+				root.updateNodeByPath(bundlePath.child(interceptDirectoryName(oldFile.getDirectoryName())).child(oldFile),
+						bundlePath.child(interceptDirectoryName(newFile.getDirectoryName())).child(newFile));
 			} else {
 				WorkspaceResource containingResource = resource.getContainingResource();
 				if (containingResource != null && isTargetResource(containingResource)) {
-					WorkspaceTreeNode node = root.getOrCreateNodeByPath(rootPath.child(containingResource)
+					BundlePathNode bundlePath = rootPath.child(containingResource)
 							.embeddedChildContainer()
 							.child(resource)
-							.child(bundle)
-							.child(interceptDirectoryName(oldFile.getDirectoryName()))
-							.child(oldFile));
-					node.setValue(rootPath.child(containingResource)
-							.embeddedChildContainer()
-							.child(resource)
-							.child(bundle)
-							.child(interceptDirectoryName(newFile.getDirectoryName()))
-							.child(newFile));
+							.child(bundle);
+					root.updateNodeByPath(bundlePath.child(interceptDirectoryName(oldFile.getDirectoryName())).child(oldFile),
+							bundlePath.child(interceptDirectoryName(newFile.getDirectoryName())).child(newFile));
 				}
 			}
 		});
@@ -344,7 +322,7 @@ public void onRemoveFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundl
 	private void newClass(@Nonnull WorkspaceResource resource, @Nonnull ClassBundle<?> bundle, @Nonnull ClassInfo cls) {
 		FxThreadUtil.run(() -> {
 			if (isTargetResource(resource))
-				root.getOrCreateNodeByPath(rootPath
+				root.insertNodeByPath(rootPath
 						.child(resource)
 						.child(bundle)
 						.child(interceptDirectoryName(cls.getPackageName()))
@@ -352,7 +330,7 @@ private void newClass(@Nonnull WorkspaceResource resource, @Nonnull ClassBundle<
 			else {
 				WorkspaceResource containingResource = resource.getContainingResource();
 				if (containingResource != null && isTargetResource(containingResource)) {
-					root.getOrCreateNodeByPath(rootPath
+					root.insertNodeByPath(rootPath
 							.child(containingResource)
 							.embeddedChildContainer()
 							.child(resource)
@@ -367,31 +345,18 @@ private void newClass(@Nonnull WorkspaceResource resource, @Nonnull ClassBundle<
 	private void updateClass(@Nonnull WorkspaceResource resource, @Nonnull ClassBundle<?> bundle, @Nonnull ClassInfo oldCls, @Nonnull ClassInfo newCls) {
 		FxThreadUtil.run(() -> {
 			if (isTargetResource(resource)) {
-				WorkspaceTreeNode node = root.getOrCreateNodeByPath(rootPath
-						.child(resource)
-						.child(bundle)
-						.child(interceptDirectoryName(oldCls.getPackageName()))
-						.child(oldCls));
-				node.setValue(rootPath
-						.child(resource)
-						.child(bundle)
-						.child(newCls.getPackageName())
-						.child(newCls));
+				BundlePathNode bundlePath = rootPath.child(resource).child(bundle);
+				root.updateNodeByPath(bundlePath.child(interceptDirectoryName(oldCls.getPackageName())).child(oldCls),
+						bundlePath.child(interceptDirectoryName(newCls.getPackageName())).child(newCls));
 			} else {
 				WorkspaceResource containingResource = resource.getContainingResource();
 				if (containingResource != null && isTargetResource(containingResource)) {
-					WorkspaceTreeNode node = root.getOrCreateNodeByPath(rootPath.child(containingResource)
+					BundlePathNode bundlePath = rootPath.child(containingResource)
 							.embeddedChildContainer()
 							.child(resource)
-							.child(bundle)
-							.child(interceptDirectoryName(oldCls.getPackageName()))
-							.child(oldCls));
-					node.setValue(rootPath.child(containingResource)
-							.embeddedChildContainer()
-							.child(resource)
-							.child(bundle)
-							.child(interceptDirectoryName(newCls.getPackageName()))
-							.child(newCls));
+							.child(bundle);
+					root.updateNodeByPath(bundlePath.child(interceptDirectoryName(oldCls.getPackageName())).child(oldCls),
+							bundlePath.child(interceptDirectoryName(newCls.getPackageName())).child(newCls));
 				}
 			}
 		});
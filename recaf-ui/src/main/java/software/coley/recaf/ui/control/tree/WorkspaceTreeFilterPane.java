@@ -3,26 +3,53 @@
 import atlantafx.base.controls.CustomTextField;
 import atlantafx.base.theme.Styles;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.scene.control.TextField;
+import javafx.scene.control.TreeItem;
 import javafx.scene.layout.BorderPane;
 import org.kordamp.ikonli.carbonicons.CarbonIcons;
-import software.coley.recaf.path.ClassPathNode;
-import software.coley.recaf.path.DirectoryPathNode;
-import software.coley.recaf.path.FilePathNode;
+import org.reactfx.EventStreams;
 import software.coley.recaf.path.PathNode;
 import software.coley.recaf.ui.control.BoundToggleIcon;
 import software.coley.recaf.ui.control.FontIconView;
+import software.coley.recaf.util.FxThreadUtil;
 import software.coley.recaf.util.Lang;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * Pane component to filter what is visible in a given {@link WorkspaceTree}.
+ * <p>
+ * Filter input is debounced, and matching is done on a background thread against the cached
+ * {@link WorkspaceTreeNode#getFilterKey(boolean) filter keys} of each node. Only the nodes whose
+ * match state changed since the last pass are re-filtered on the FX thread.
+ * Branches of the tree which have not been materialized yet are matched against their deferred contents.
  *
  * @author Matt Coley
  */
 public class WorkspaceTreeFilterPane extends BorderPane {
+	private static final ExecutorService filterPool = ThreadPoolFactory.newSingleThreadExecutor("tree-filter");
+	private static final int FILTER_DELAY_MS = 150;
+	private final AtomicInteger generation = new AtomicInteger();
 	private final SimpleBooleanProperty caseSensitivity = new SimpleBooleanProperty(false);
 	private final CustomTextField textField = new CustomTextField();
+	// Only accessed on the filter thread
+	private FilterPass lastPass;
+	// Only accessed on the FX thread
+	private PathFilterPredicate activePredicate;
 
 	/**
 	 * @param tree
@@ -38,37 +65,138 @@ public WorkspaceTreeFilterPane(@Nonnull WorkspaceTree tree) {
 		getStyleClass().add("workspace-filter-pane");
 		textField.getStyleClass().add("workspace-filter-text");
 
-
-		textField.textProperty().addListener((ob, old, cur) -> update(tree));
-		caseSensitivity.addListener((ob, old, cur) -> update(tree));
+		// Wait for the user to stop typing before updating the filter.
+		EventStreams.merge(EventStreams.changesOf(textField.textProperty()), EventStreams.changesOf(caseSensitivity))
+				.successionEnds(Duration.ofMillis(FILTER_DELAY_MS))
+				.addObserver(unused -> update(tree));
 	}
 
 	private void update(@Nonnull WorkspaceTree tree) {
 		WorkspaceTreeNode root = (WorkspaceTreeNode) tree.getRoot();
-		if (root == null) return;
+		String text = textField.getText();
+		boolean caseSensitive = caseSensitivity.get();
+		int passGeneration = generation.incrementAndGet();
+		filterPool.submit(() -> {
+			// Skip if a newer filter request has been made since this one was queued.
+			if (passGeneration != generation.get())
+				return;
+
+			// Clearing the filter, or filtering a different tree than the last pass.
+			FilterPass previous = lastPass;
+			if (root == null || text == null || text.isEmpty()) {
+				lastPass = null;
+				if (root != null)
+					FxThreadUtil.run(() -> applyFull(root, null));
+				return;
+			}
+
+			// Compute match state of all nodes, then diff against the prior pass.
+			String query = caseSensitive ? text : text.toLowerCase();
+			Map<WorkspaceTreeNode, Boolean> results = computeMatches(root, query, caseSensitive);
+			FilterPass pass = new FilterPass(root, query, caseSensitive, results);
+			lastPass = pass;
+			if (previous == null || previous.root() != root || previous.results().size() != results.size()) {
+				FxThreadUtil.run(() -> applyFull(root, pass));
+			} else {
+				List<WorkspaceTreeNode> changed = new ArrayList<>();
+				Map<WorkspaceTreeNode, Boolean> previousResults = previous.results();
+				for (Map.Entry<WorkspaceTreeNode, Boolean> entry : results.entrySet())
+					if (!entry.getValue().equals(previousResults.get(entry.getKey())))
+						changed.add(entry.getKey());
 
-		if (textField.getText().isEmpty())
+				// If most of the tree is changing, a full re-filter is cheaper than many single updates.
+				if (changed.size() > results.size() / 4)
+					FxThreadUtil.run(() -> applyFull(root, pass));
+				else if (!changed.isEmpty())
+					FxThreadUtil.run(() -> applyDiff(root, pass, changed));
+			}
+		});
+	}
+
+	/**
+	 * @param root
+	 * 		Root of tree to walk.
+	 * @param query
+	 * 		Filter text, already lowercase if not case-sensitive.
+	 * @param caseSensitive
+	 * 		Case sensitivity of the query.
+	 *
+	 * @return Map of nodes with filter keys, to their match state.
+	 */
+	@Nonnull
+	private static Map<WorkspaceTreeNode, Boolean> computeMatches(@Nonnull WorkspaceTreeNode root,
+	                                                              @Nonnull String query, boolean caseSensitive) {
+		Map<WorkspaceTreeNode, Boolean> results = new IdentityHashMap<>();
+		Deque<WorkspaceTreeNode> queue = new ArrayDeque<>();
+		queue.add(root);
+		while (!queue.isEmpty()) {
+			WorkspaceTreeNode node = queue.poll();
+			if (node.getFilterKey(caseSensitive) != null)
+				results.put(node, node.matchesFilter(query, caseSensitive));
+
+			// Children are modified on the FX thread, so copy them while holding their lock.
+			Object[] children;
+			List<TreeItem<PathNode<?>>> sourceChildren = node.getSourceChildren();
+			synchronized (sourceChildren) {
+				children = sourceChildren.toArray();
+			}
+			for (Object child : children)
+				if (child instanceof WorkspaceTreeNode childNode)
+					queue.add(childNode);
+		}
+		return results;
+	}
+
+	/**
+	 * Sets a new predicate on the root, which re-evaluates the whole tree.
+	 *
+	 * @param root
+	 * 		Root to update.
+	 * @param pass
+	 * 		Filter pass results to apply, or {@code null} to clear the filter.
+	 */
+	private void applyFull(@Nonnull WorkspaceTreeNode root, @Nullable FilterPass pass) {
+		if (pass == null) {
+			activePredicate = null;
 			root.predicateProperty().set(null);
-		else
-			root.predicateProperty().set(item -> {
-				String path;
-				PathNode<?> node = item.getValue();
-				if (node instanceof DirectoryPathNode directoryNode) {
-					path = directoryNode.getValue();
-				} else if (node instanceof ClassPathNode classPathNode) {
-					path = classPathNode.getValue().getName();
-				} else if (node instanceof FilePathNode classPathNode) {
-					path = classPathNode.getValue().getName();
-				} else {
-					path = null;
-				}
-
-				if (path == null) return true;
-
-				return caseSensitivity.get() ?
-						path.contains(textField.getText()) :
-						path.toLowerCase().contains(textField.getText().toLowerCase());
-			});
+		} else {
+			activePredicate = new PathFilterPredicate(pass);
+			root.predicateProperty().set(activePredicate);
+		}
+	}
+
+	/**
+	 * Updates the current predicate's results, then re-filters only the changed nodes and their parents.
+	 *
+	 * @param root
+	 * 		Root to update.
+	 * @param pass
+	 * 		Filter pass results to apply.
+	 * @param changed
+	 * 		Nodes which have a different match state compared to the prior pass.
+	 */
+	private void applyDiff(@Nonnull WorkspaceTreeNode root, @Nonnull FilterPass pass,
+	                       @Nonnull List<WorkspaceTreeNode> changed) {
+		PathFilterPredicate predicate = activePredicate;
+		if (predicate == null || root.predicateProperty().get() != predicate) {
+			applyFull(root, pass);
+			return;
+		}
+		predicate.pass = pass;
+
+		// Re-test changed nodes first, then walk upwards since a directory's visibility
+		// depends on whether it has any visible children.
+		Set<WorkspaceTreeNode> level = Collections.newSetFromMap(new IdentityHashMap<>());
+		level.addAll(changed);
+		while (!level.isEmpty()) {
+			Set<WorkspaceTreeNode> parents = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (WorkspaceTreeNode node : level) {
+				WorkspaceTreeNode parent = node.getSourceParentNode();
+				if (parent != null && parent.refilterSourceChild(node))
+					parents.add(parent);
+			}
+			level = parents;
+		}
 	}
 
 	/**
@@ -78,4 +206,41 @@ private void update(@Nonnull WorkspaceTree tree) {
 	public TextField getTextField() {
 		return textField;
 	}
+
+	/**
+	 * @param root
+	 * 		Root of the filtered tree.
+	 * @param query
+	 * 		Filter text, already lowercase if not case-sensitive.
+	 * @param caseSensitive
+	 * 		Case sensitivity of the query.
+	 * @param results
+	 * 		Match state of nodes in the tree at the time of the pass.
+	 */
+	private record FilterPass(@Nonnull WorkspaceTreeNode root, @Nonnull String query, boolean caseSensitive,
+	                          @Nonnull Map<WorkspaceTreeNode, Boolean> results) {}
+
+	/**
+	 * Predicate backed by pre-computed filter results.
+	 * Nodes inserted after the last filter pass are matched directly against the pass query.
+	 */
+	private static class PathFilterPredicate implements Predicate<TreeItem<PathNode<?>>> {
+		private FilterPass pass;
+
+		private PathFilterPredicate(@Nonnull FilterPass pass) {
+			this.pass = pass;
+		}
+
+		@Override
+		public boolean test(TreeItem<PathNode<?>> item) {
+			if (!(item instanceof WorkspaceTreeNode node))
+				return true;
+
+			Boolean result = pass.results().get(node);
+			if (result != null)
+				return result;
+
+			return node.matchesFilter(pass.query(), pass.caseSensitive());
+		}
+	}
 }
@@ -2,11 +2,15 @@
 
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.collections.ObservableList;
 import javafx.scene.control.TreeItem;
 import software.coley.collections.Unchecked;
 import software.coley.recaf.path.BundlePathNode;
+import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.path.DirectoryPathNode;
+import software.coley.recaf.path.FilePathNode;
 import software.coley.recaf.path.PathNode;
 import software.coley.recaf.util.StringUtil;
 
@@ -16,6 +20,9 @@
  * @author Matt Coley
  */
 public class WorkspaceTreeNode extends FilterableTreeItem<PathNode<?>> implements Comparable<WorkspaceTreeNode> {
+	private FilterKey filterKey;
+	private LazyTreeBranch lazyBranch;
+
 	/**
 	 * Create new node with path value.
 	 *
@@ -36,27 +43,122 @@ public WorkspaceTreeNode(PathNode<?> path) {
 	 * {@code false} if nothing was removed.
 	 */
 	public synchronized boolean removeNodeByPath(@Nonnull PathNode<?> path) {
-		// Get node by path from the root.
-		WorkspaceTreeNode nodeByPath = getRoot().getNodeByPath(path);
-
-		// Get that node's parent, remove the child.
-		if (nodeByPath != null) {
-			WorkspaceTreeNode parentNode = nodeByPath.getSourceParentNode();
-			if (parentNode != null) {
-				boolean removed = parentNode.removeSourceChild(nodeByPath);
-				while (parentNode.isSourceLeaf() && parentNode.getSourceParentNode() != null) {
-					WorkspaceTreeNode parentOfParent = parentNode.getSourceParentNode();
-					parentOfParent.removeSourceChild(parentNode);
-					parentNode = parentOfParent;
-				}
-				return removed;
-			}
+		WorkspaceTreeNode root = getRoot();
+
+		// If the path is in a branch that has not been materialized yet, remove it from the branch.
+		WorkspaceTreeNode lazyNode = root.getLazyAncestor(path);
+		if (lazyNode != null) {
+			LazyTreeBranch branch = lazyNode.lazyBranch;
+			if (branch == null || !branch.remove(path))
+				return false;
+			if (branch.isEmpty())
+				removeWithEmptyParents(lazyNode);
+			return true;
 		}
 
+		// Get node by path from the root, then remove it.
+		WorkspaceTreeNode nodeByPath = root.getNodeByPath(path);
+		if (nodeByPath != null)
+			return removeWithEmptyParents(nodeByPath);
+
 		// No known node by path.
 		return false;
 	}
 
+	/**
+	 * Inserts a class or file path into the tree. If the path belongs to a branch which has not been
+	 * materialized yet, it is recorded in that branch instead of creating any new tree nodes.
+	 *
+	 * @param path
+	 * 		Path to insert.
+	 */
+	public synchronized void insertNodeByPath(@Nonnull PathNode<?> path) {
+		WorkspaceTreeNode root = getRoot();
+		WorkspaceTreeNode lazyNode = root.getLazyAncestor(path);
+		LazyTreeBranch branch = lazyNode == null ? null : lazyNode.lazyBranch;
+		if (branch != null && branch.canHold(path))
+			branch.add(path);
+		else
+			getOrInsertIntoTree(root, path);
+	}
+
+	/**
+	 * Replaces the path of a class or file in the tree. If the path belongs to a branch which has not been
+	 * materialized yet, only that branch is updated.
+	 *
+	 * @param oldPath
+	 * 		Prior path of item.
+	 * @param newPath
+	 * 		New path of item.
+	 */
+	public synchronized void updateNodeByPath(@Nonnull PathNode<?> oldPath, @Nonnull PathNode<?> newPath) {
+		WorkspaceTreeNode root = getRoot();
+		WorkspaceTreeNode lazyNode = root.getLazyAncestor(oldPath);
+		LazyTreeBranch branch = lazyNode == null ? null : lazyNode.lazyBranch;
+		if (branch != null && branch.canHold(oldPath) && branch.canHold(newPath)) {
+			branch.remove(oldPath);
+			if (newPath.isDescendantOf(lazyNode.getValue())) {
+				branch.add(newPath);
+			} else {
+				if (branch.isEmpty())
+					removeWithEmptyParents(lazyNode);
+				root.insertNodeByPath(newPath);
+			}
+		} else {
+			getOrInsertIntoTree(root, oldPath).setValue(newPath);
+		}
+	}
+
+	/**
+	 * @param node
+	 * 		Node to remove from its parent.
+	 * 		Any parents which become empty as a result are also removed.
+	 *
+	 * @return {@code true} when removal is a success.
+	 */
+	private static boolean removeWithEmptyParents(@Nonnull WorkspaceTreeNode node) {
+		WorkspaceTreeNode parentNode = node.getSourceParentNode();
+		if (parentNode == null)
+			return false;
+		boolean removed = parentNode.removeSourceChild(node);
+		while (parentNode.isSourceLeaf() && parentNode.getSourceParentNode() != null) {
+			WorkspaceTreeNode parentOfParent = parentNode.getSourceParentNode();
+			parentOfParent.removeSourceChild(parentNode);
+			parentNode = parentOfParent;
+		}
+		return removed;
+	}
+
+	/**
+	 * @param path
+	 * 		Path to look for.
+	 *
+	 * @return Node with a {@link #hasLazyChildren() deferred branch} which would hold the given path.
+	 * {@code null} if the path is in an already materialized part of the tree.
+	 */
+	@Nullable
+	private WorkspaceTreeNode getLazyAncestor(@Nonnull PathNode<?> path) {
+		WorkspaceTreeNode node = this;
+		while (true) {
+			if (node.hasLazyChildren())
+				return path.isDescendantOf(node.getValue()) ? node : null;
+
+			WorkspaceTreeNode next = null;
+			for (TreeItem<PathNode<?>> child : node.getSourceChildren()) {
+				PathNode<?> childPath = child.getValue();
+				if (path.equals(childPath))
+					return null;
+				if (path.isDescendantOf(childPath) && child instanceof WorkspaceTreeNode childNode) {
+					next = childNode;
+					break;
+				}
+			}
+			if (next == null)
+				return null;
+			node = next;
+		}
+	}
+
 	/**
 	 * Gets or creates a tree node by the given {@link PathNode}.
 	 *
@@ -90,6 +192,7 @@ public synchronized WorkspaceTreeNode getNodeByPath(@Nonnull PathNode<?> path) {
 			return this;
 
 		// Check all children for a match, regardless of the current filter.
+		materialize();
 		for (TreeItem<PathNode<?>> child : getSourceChildren())
 			if (path.isDescendantOf(child.getValue()) && child instanceof WorkspaceTreeNode childNode)
 				return childNode.getNodeByPath(path);
@@ -103,6 +206,7 @@ public synchronized WorkspaceTreeNode getNodeByPath(@Nonnull PathNode<?> path) {
 	@Nullable
 	public synchronized WorkspaceTreeNode getFirstChild() {
 		// Get first child, regardless of the current filter.
+		materialize();
 		var children = getSourceChildren();
 		return children.isEmpty()
 				? null : children.getFirst() instanceof WorkspaceTreeNode node
@@ -134,6 +238,105 @@ public boolean matches(@Nonnull PathNode<?> path) {
 		return path.equals(getValue());
 	}
 
+	/**
+	 * The key is computed once per {@link #getValue() path value} and then cached,
+	 * so repeated filter passes do not need to re-derive or lowercase path names.
+	 *
+	 * @param caseSensitive
+	 *        {@code true} to get the key as-is.
+	 *        {@code false} to get the lowercase key.
+	 *
+	 * @return Name of the directory, class, or file this node represents, used for filtering.
+	 * {@code null} for nodes that are not subject to filtering, such as resources and bundles.
+	 */
+	@Nullable
+	public String getFilterKey(boolean caseSensitive) {
+		// Keys are bundled in an immutable holder so that filter passes on background threads
+		// never observe a key belonging to a different path value.
+		PathNode<?> path = getValue();
+		FilterKey filterKey = this.filterKey;
+		if (filterKey == null || filterKey.path() != path) {
+			String key;
+			if (path instanceof DirectoryPathNode directoryNode) {
+				key = directoryNode.getValue();
+			} else if (path instanceof ClassPathNode classPathNode) {
+				key = classPathNode.getValue().getName();
+			} else if (path instanceof FilePathNode filePathNode) {
+				key = filePathNode.getValue().getName();
+			} else {
+				key = null;
+			}
+			filterKey = new FilterKey(path, key, key == null ? null : key.toLowerCase());
+			this.filterKey = filterKey;
+		}
+		return caseSensitive ? filterKey.key() : filterKey.keyLower();
+	}
+
+	/**
+	 * @param query
+	 * 		Text to look for.
+	 * @param caseSensitive
+	 * 		Case sensitivity of the query. When {@code false} the query is expected to be lowercase.
+	 *
+	 * @return {@code true} when this node's {@link #getFilterKey(boolean) filter key} contains the query,
+	 * or any of its not yet materialized children do. Nodes without a filter key always match.
+	 */
+	public boolean matchesFilter(@Nonnull String query, boolean caseSensitive) {
+		String key = getFilterKey(caseSensitive);
+		if (key == null || key.contains(query))
+			return true;
+		LazyTreeBranch branch = lazyBranch;
+		return branch != null && branch.anyMatch(query, caseSensitive);
+	}
+
+	/**
+	 * @return {@code true} when this node has children which have not been created yet.
+	 * They are created when the node is expanded, or when the children are otherwise needed.
+	 */
+	public boolean hasLazyChildren() {
+		LazyTreeBranch branch = lazyBranch;
+		return branch != null && !branch.isEmpty();
+	}
+
+	/**
+	 * Creates the children of this node, if they have been deferred by a {@link LazyTreeBranch}.
+	 */
+	public synchronized void materialize() {
+		LazyTreeBranch branch = lazyBranch;
+		if (branch == null)
+			return;
+		lazyBranch = null;
+		addPreSortedChildren(branch.createChildren(this));
+	}
+
+	/**
+	 * @param branch
+	 * 		Branch holding the deferred children of this node.
+	 * 		They will be created when this node is first expanded.
+	 */
+	void setLazyBranch(@Nonnull LazyTreeBranch branch) {
+		lazyBranch = branch;
+		expandedProperty().addListener(new InvalidationListener() {
+			@Override
+			public void invalidated(Observable observable) {
+				if (isExpanded()) {
+					expandedProperty().removeListener(this);
+					materialize();
+				}
+			}
+		});
+	}
+
+	@Override
+	public boolean isLeaf() {
+		return !hasLazyChildren() && super.isLeaf();
+	}
+
+	@Override
+	protected boolean isSourceLeaf() {
+		return !hasLazyChildren() && super.isSourceLeaf();
+	}
+
 	/**
 	 * @return {@link #getSourceParent()} but cast to {@link WorkspaceTreeNode}.
 	 */
@@ -234,6 +437,7 @@ public static WorkspaceTreeNode getOrInsertIntoTree(@Nonnull WorkspaceTreeNode n
 				DirectoryPathNode localPathNode = directoryPath.withDirectory(directoryName);
 
 				// Get existing tree node, or create child if non-existent
+				node.materialize();
 				WorkspaceTreeNode childNode = null;
 				ObservableList<TreeItem<PathNode<?>>> children;
 				if (node instanceof FilterableTreeItem<?> filterableNode)
@@ -272,6 +476,7 @@ else if (path.typeIdMatch(node.getValue())) {
 		}
 
 		// Check if already inserted.
+		node.materialize();
 		ObservableList<TreeItem<PathNode<?>>> children;
 		if (node instanceof FilterableTreeItem<?> filterableNode)
 			children = Unchecked.cast(filterableNode.getSourceChildren());
@@ -290,4 +495,14 @@ else if (path.typeIdMatch(node.getValue())) {
 		}
 		return inserted;
 	}
+
+	/**
+	 * @param path
+	 * 		Path value the keys were computed from.
+	 * @param key
+	 * 		Filter key.
+	 * @param keyLower
+	 * 		Lowercase filter key.
+	 */
+	private record FilterKey(@Nullable PathNode<?> path, @Nullable String key, @Nullable String keyLower) {}
 }
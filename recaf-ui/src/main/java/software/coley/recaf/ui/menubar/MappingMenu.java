@@ -29,6 +29,8 @@
 import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.services.workspace.WorkspaceManager;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.nio.file.Files;
 import java.util.concurrent.ExecutorService;
@@ -44,8 +46,9 @@
 @Dependent
 public class MappingMenu extends WorkspaceAwareMenu {
 	private static final Logger logger = Logging.get(MappingMenu.class);
-	private final ExecutorService exportPool = ThreadPoolFactory.newSingleThreadExecutor("mapping-export");
-	private final ExecutorService importPool = ThreadPoolFactory.newSingleThreadExecutor("mapping-import");
+	// Imports apply to the primary resource and exports may target the same file, so each runs one at a time.
+	private final ExecutorService exportPool = ThreadPoolFactory.newSingleVirtualThreadExecutor("mapping-export");
+	private final ExecutorService importPool = ThreadPoolFactory.newSingleVirtualThreadExecutor("mapping-import");
 	private final WindowManager windowManager;
 	private final WindowFactory windowFactory;
 
@@ -84,8 +87,10 @@ public MappingMenu(@Nonnull WindowManager windowManager,
 					importPool.submit(() -> {
 						try {
 							MappingFileFormat format = formatManager.createFormatInstance(formatName);
-							String mappingsText = Files.readString(file.toPath());
-							IntermediateMappings parsedMappings = format.parse(mappingsText);
+							IntermediateMappings parsedMappings;
+							try (BufferedReader reader = Files.newBufferedReader(file.toPath())) {
+								parsedMappings = format.parse(reader);
+							}
 							logger.info("Loaded mappings from {} in {} format", file.getName(), formatName);
 
 							MappingResults results = mappingApplier.applyToPrimaryResource(parsedMappings);
@@ -111,8 +116,9 @@ public MappingMenu(@Nonnull WindowManager windowManager,
 								AggregatedMappings mappings = aggregateMappingManager.getAggregatedMappings();
 								MappingFileFormat format = formatManager.createFormatInstance(formatName);
 								if (format != null) {
-									String mappingsText = format.exportText(mappings);
-									Files.writeString(file.toPath(), mappingsText);
+									try (BufferedWriter writer = Files.newBufferedWriter(file.toPath())) {
+										format.exportText(mappings, writer);
+									}
 									logger.info("Exporting mappings to {} in {} format", file.getName(), formatName);
 								} else {
 									throw new IllegalStateException("Format was unregistered: " + formatName);
@@ -0,0 +1,206 @@
+package software.coley.recaf.ui.pane;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import org.slf4j.event.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ring buffer of log messages, holding only the most recent messages up to a given capacity.
+ * <p>
+ * Each message is assigned an increasing sequence number, allowing views of the buffer to track which messages
+ * they have already displayed, and which have since been evicted.
+ * <p>
+ * Filtering is a linear scan over the held messages, without any per-level or per-logger index. This is intended:
+ * the buffer is bounded by its capacity, so a scan has a fixed upper cost. Views only re-scan the whole buffer
+ * when their filter changes, and otherwise only scan messages added {@link #since(long, Filter) since} their last
+ * update. An index would instead need to be maintained on every logged message, including evictions.
+ *
+ * @author Matt Coley
+ */
+public class LogBuffer {
+	private LogEntry[] entries;
+	private int head;
+	private int size;
+	private long nextSequence;
+
+	/**
+	 * @param capacity
+	 * 		Maximum number of messages to hold.
+	 */
+	public LogBuffer(int capacity) {
+		entries = new LogEntry[Math.max(1, capacity)];
+	}
+
+	/**
+	 * Adds a message, evicting the oldest message if the buffer is full.
+	 *
+	 * @param loggerName
+	 * 		Name of logger the message was logged to.
+	 * @param level
+	 * 		Level of the message.
+	 * @param message
+	 * 		Message content.
+	 * @param throwable
+	 * 		Optional exception logged with the message.
+	 *
+	 * @return Added entry.
+	 */
+	@Nonnull
+	public synchronized LogEntry add(@Nonnull String loggerName, @Nonnull Level level,
+	                                 @Nonnull String message, @Nullable Throwable throwable) {
+		LogEntry entry = new LogEntry(nextSequence++, loggerName, level, message, throwable);
+		int capacity = entries.length;
+		if (size < capacity) {
+			entries[(head + size) % capacity] = entry;
+			size++;
+		} else {
+			entries[head] = entry;
+			head = (head + 1) % capacity;
+		}
+		return entry;
+	}
+
+	/**
+	 * Changes the maximum number of held messages. When reduced, the oldest messages are evicted.
+	 *
+	 * @param capacity
+	 * 		New maximum number of messages to hold.
+	 */
+	public synchronized void setCapacity(int capacity) {
+		capacity = Math.max(1, capacity);
+		if (capacity == entries.length)
+			return;
+		int kept = Math.min(size, capacity);
+		LogEntry[] resized = new LogEntry[capacity];
+		for (int i = 0; i < kept; i++)
+			resized[i] = entries[(head + size - kept + i) % entries.length];
+		entries = resized;
+		head = 0;
+		size = kept;
+	}
+
+	/**
+	 * @return Maximum number of held messages.
+	 */
+	public synchronized int getCapacity() {
+		return entries.length;
+	}
+
+	/**
+	 * @return Number of held messages.
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * @return Sequence number of the oldest held message. Equal to {@link #getNextSequence()} when empty.
+	 */
+	public synchronized long getFirstSequence() {
+		return nextSequence - size;
+	}
+
+	/**
+	 * @return Sequence number to be assigned to the next added message.
+	 */
+	public synchronized long getNextSequence() {
+		return nextSequence;
+	}
+
+	/**
+	 * @param sequence
+	 * 		Sequence number to start from, inclusive.
+	 * @param filter
+	 * 		Filter to match messages against.
+	 *
+	 * @return Held messages at or after the given sequence number that match the filter, from oldest to newest.
+	 */
+	@Nonnull
+	public synchronized List<LogEntry> since(long sequence, @Nonnull Filter filter) {
+		long first = getFirstSequence();
+		int start = sequence <= first ? 0 : (int) Math.min(size, sequence - first);
+		List<LogEntry> matched = new ArrayList<>(size - start);
+		for (int i = start; i < size; i++) {
+			LogEntry entry = entries[(head + i) % entries.length];
+			if (filter.test(entry))
+				matched.add(entry);
+		}
+		return matched;
+	}
+
+	/**
+	 * @param filter
+	 * 		Filter to match messages against.
+	 *
+	 * @return All held messages that match the filter, from oldest to newest.
+	 */
+	@Nonnull
+	public List<LogEntry> matching(@Nonnull Filter filter) {
+		return since(Long.MIN_VALUE, filter);
+	}
+
+	/**
+	 * Single log message.
+	 *
+	 * @param sequence
+	 * 		Position of the message in the order all messages were added.
+	 * @param loggerName
+	 * 		Name of logger the message was logged to.
+	 * @param level
+	 * 		Level of the message.
+	 * @param message
+	 * 		Message content.
+	 * @param throwable
+	 * 		Optional exception logged with the message.
+	 */
+	public record LogEntry(long sequence, @Nonnull String loggerName, @Nonnull Level level,
+	                       @Nonnull String message, @Nullable Throwable throwable) {}
+
+	/**
+	 * Filter of log messages.
+	 *
+	 * @param minimumLevel
+	 * 		Lowest level of messages to match.
+	 * @param loggerText
+	 * 		Text which matching logger names must contain, ignoring case. Empty to match any logger.
+	 * @param messageText
+	 * 		Text which matching messages must contain, ignoring case. Empty to match any message.
+	 */
+	public record Filter(@Nonnull Level minimumLevel, @Nonnull String loggerText, @Nonnull String messageText) {
+		/**
+		 * Filter matching all messages.
+		 */
+		public static final Filter ALL = new Filter(Level.TRACE, "", "");
+
+		public Filter {
+			loggerText = loggerText.toLowerCase(Locale.ROOT);
+			messageText = messageText.toLowerCase(Locale.ROOT);
+		}
+
+		/**
+		 * @param entry
+		 * 		Entry to check.
+		 *
+		 * @return {@code true} when the entry matches this filter.
+		 */
+		public boolean test(@Nonnull LogEntry entry) {
+			if (entry.level().toInt() < minimumLevel.toInt())
+				return false;
+			if (!loggerText.isEmpty() && !containsIgnoreCase(entry.loggerName(), loggerText))
+				return false;
+			return messageText.isEmpty() || containsIgnoreCase(entry.message(), messageText);
+		}
+
+		private static boolean containsIgnoreCase(@Nonnull String text, @Nonnull String lowerSearch) {
+			int max = text.length() - lowerSearch.length();
+			for (int i = 0; i <= max; i++)
+				if (text.regionMatches(true, i, lowerSearch, 0, lowerSearch.length()))
+					return true;
+			return false;
+		}
+	}
+}
@@ -4,83 +4,102 @@
 import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.control.TextField;
 import javafx.scene.control.Tooltip;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Polygon;
 import javafx.scene.shape.Shape;
 import javafx.util.Duration;
-import org.fxmisc.richtext.CodeArea;
+import org.reactfx.EventStreams;
 import org.slf4j.event.Level;
-import software.coley.recaf.analytics.logging.DebuggingLogger;
+import software.coley.collections.Lists;
 import software.coley.recaf.analytics.logging.LogConsumer;
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.services.file.RecafDirectoriesConfig;
 import software.coley.recaf.ui.control.richtext.Editor;
-import software.coley.recaf.ui.control.richtext.linegraphics.LineContainer;
-import software.coley.recaf.ui.control.richtext.linegraphics.LineGraphicFactory;
-import software.coley.recaf.ui.control.richtext.search.SearchBar;
+import software.coley.recaf.ui.pane.LogBuffer.LogEntry;
+import software.coley.recaf.util.ClipboardUtil;
 import software.coley.recaf.util.FxThreadUtil;
+import software.coley.recaf.util.Lang;
 import software.coley.recaf.util.StringUtil;
 import software.coley.recaf.util.threading.ThreadPoolFactory;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Queue;
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Pane for displaying logger calls.
+ * <p>
+ * Messages are held in a {@link LogBuffer} bounded by {@link LoggingPaneConfig#getMaxLines()}, and shown in a
+ * virtualized list that only creates cells for visible rows. Filtering by level, logger, and text selects
+ * the matching entries of the buffer without needing to re-render any text.
  *
  * @author Matt Coley
  */
 @Dependent
 public class LoggingPane extends BorderPane implements LogConsumer<String> {
-	private final List<LogCallInfo> infos = Collections.synchronizedList(new ArrayList<>());
-	private final Queue<String> messageQueue = new ArrayDeque<>();
-	private final Editor editor = new Editor();
-	private final CodeArea codeArea = editor.getCodeArea();
+	private static final KeyCombination COPY = new KeyCodeCombination(KeyCode.C, KeyCombination.SHORTCUT_DOWN);
+	private final ObservableList<LogEntry> items = FXCollections.observableArrayList();
+	private final ListView<LogEntry> list = new ListView<>(items);
+	private final ComboBox<Level> levelCombo = new ComboBox<>();
+	private final TextField loggerField = new TextField();
+	private final TextField messageField = new TextField();
+	private final LogBuffer buffer;
+	private LogBuffer.Filter filter = LogBuffer.Filter.ALL;
+	private long displayedSequence;
+	private long postedSequence;
 
 	@Inject
-	public LoggingPane(@Nonnull RecafDirectoriesConfig config, @Nonnull SearchBar searchBar) {
+	public LoggingPane(@Nonnull RecafDirectoriesConfig config, @Nonnull LoggingPaneConfig paneConfig) {
+		buffer = new LogBuffer(paneConfig.getMaxLines().getValue());
+		paneConfig.getMaxLines().addChangeListener((ob, old, cur) -> {
+			buffer.setCapacity(cur);
+			FxThreadUtil.run(this::update);
+		});
 		Logging.addLogConsumer(this);
-		codeArea.setEditable(false);
-		searchBar.install(editor);
-		editor.getRootLineGraphicFactory().addLineGraphicFactory(new LoggingLineFactory());
-		setCenter(editor);
+
+		list.getStyleClass().add("log-list");
+		list.setCellFactory(v -> new LogCell());
+		list.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+		list.setOnKeyPressed(e -> {
+			if (COPY.match(e))
+				copySelection();
+		});
+		setTop(createFilterBar());
+		setCenter(list);
 
 		// Initial line
-		infos.add(new LogCallInfo(Level.TRACE, null));
-		codeArea.appendText("Current log will write to: " + StringUtil.pathToAbsoluteString(config.getCurrentLogPath()));
+		buffer.add("", Level.TRACE, "Current log will write to: " + StringUtil.pathToAbsoluteString(config.getCurrentLogPath()), null);
 
 		// We want to reduce the calls to the FX thread, so we will chunk log-appends into groups
 		// occurring every 500ms, which shouldn't be too noticeable, and save us some CPU time.
 		ThreadPoolFactory.newScheduledThreadPool("logging-pane")
 				.scheduleAtFixedRate(() -> {
 					try {
-						StringBuilder messageBuilder = new StringBuilder();
-						synchronized (messageQueue) {
-							if (messageQueue.isEmpty())
-								return;
-							String message;
-							while ((message = messageQueue.poll()) != null)
-								messageBuilder.append(message).append('\n');
-						}
-						if (messageBuilder.length() > 1) {
-							String collectedMessage = messageBuilder.substring(0, messageBuilder.length() - 1);
-							FxThreadUtil.run(() -> {
-								codeArea.appendText("\n" + collectedMessage);
-								codeArea.showParagraphAtBottom(codeArea.getParagraphs().size() - 1);
-							});
+						long next = buffer.getNextSequence();
+						if (next != postedSequence) {
+							postedSequence = next;
+							FxThreadUtil.run(this::update);
 						}
 					} catch (Throwable t) {
 						// We don't want to cause infinite loops by causing uncaught exceptions to trigger another
@@ -102,17 +121,94 @@ public void accept(@Nonnull String loggerName, @Nonnull Level level, @Nullable S
 				return;
 			messageContent = Objects.requireNonNullElse(throwable.getMessage(), throwable.getClass().getSimpleName());
 		}
-		infos.add(new LogCallInfo(level, throwable));
-		synchronized (messageQueue) {
-			messageQueue.add(messageContent);
-		}
+		buffer.add(loggerName, level, messageContent, throwable);
+	}
+
+	/**
+	 * Appends messages added since the last update which match the current filter,
+	 * and removes messages which have been evicted from the buffer. Must be called on the FX thread.
+	 */
+	private void update() {
+		long next = buffer.getNextSequence();
+		List<LogEntry> added = upTo(buffer.since(displayedSequence, filter), next);
+		displayedSequence = next;
+
+		// Displayed items are ordered by sequence, so evicted items are all at the start.
+		long first = buffer.getFirstSequence();
+		int evicted = 0;
+		while (evicted < items.size() && items.get(evicted).sequence() < first)
+			evicted++;
+		if (evicted > 0)
+			items.remove(0, evicted);
+		items.addAll(added);
+		scrollToBottom();
+	}
+
+	/**
+	 * Replaces the displayed messages with all buffered messages matching the current filter.
+	 * Must be called on the FX thread.
+	 */
+	private void refilter() {
+		filter = new LogBuffer.Filter(Objects.requireNonNullElse(levelCombo.getValue(), Level.TRACE),
+				Objects.requireNonNullElse(loggerField.getText(), ""),
+				Objects.requireNonNullElse(messageField.getText(), ""));
+		long next = buffer.getNextSequence();
+		items.setAll(upTo(buffer.matching(filter), next));
+		displayedSequence = next;
+		scrollToBottom();
+	}
+
+	private void scrollToBottom() {
+		// Do not move the view while the user is inspecting selected messages.
+		if (!items.isEmpty() && list.getSelectionModel().isEmpty())
+			list.scrollTo(items.size() - 1);
+	}
+
+	private void copySelection() {
+		List<LogEntry> selected = list.getSelectionModel().getSelectedItems();
+		if (!selected.isEmpty())
+			ClipboardUtil.copyString(selected.stream().map(LogEntry::message).collect(Collectors.joining("\n")));
+	}
+
+	@Nonnull
+	private Node createFilterBar() {
+		levelCombo.getItems().setAll(Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR);
+		levelCombo.setValue(Level.TRACE);
+		loggerField.promptTextProperty().bind(Lang.getBinding("logging.filter.logger"));
+		messageField.promptTextProperty().bind(Lang.getBinding("logging.filter.text"));
+		EventStreams.changesOf(levelCombo.valueProperty())
+				.or(EventStreams.changesOf(loggerField.textProperty()))
+				.or(EventStreams.changesOf(messageField.textProperty()))
+				.reduceSuccessions(Collections::singletonList, Lists::add, java.time.Duration.ofMillis(Editor.SHORT_DELAY_MS))
+				.addObserver(unused -> refilter());
+
+		HBox bar = new HBox(5, levelCombo, loggerField, messageField);
+		HBox.setHgrow(messageField, Priority.ALWAYS);
+		bar.setAlignment(Pos.CENTER_LEFT);
+		bar.setPadding(new Insets(5));
+		return bar;
 	}
 
-	private record LogCallInfo(
-			@Nonnull Level level,
-			@Nullable Throwable throwable) {}
+	/**
+	 * @param entries
+	 * 		Entries ordered by sequence.
+	 * @param sequence
+	 * 		Sequence to stop at, exclusive.
+	 *
+	 * @return Entries prior to the given sequence.
+	 */
+	@Nonnull
+	private static List<LogEntry> upTo(@Nonnull List<LogEntry> entries, long sequence) {
+		int end = entries.size();
+		while (end > 0 && entries.get(end - 1).sequence() >= sequence)
+			end--;
+		return end == entries.size() ? entries : entries.subList(0, end);
+	}
 
-	private class LoggingLineFactory implements LineGraphicFactory {
+	/**
+	 * Cell displaying a single log message, with an indicator of its level.
+	 */
+	private static class LogCell extends ListCell<LogEntry> {
 		private static final Insets PADDING = new Insets(0, 10, 0, 0);
 		private static final double SIZE = 4;
 		private static final double[] TRIANGLE = {
@@ -122,19 +218,24 @@ private class LoggingLineFactory implements LineGraphicFactory {
 		};
 
 		@Override
-		public int priority() {
-			return -1;
+		protected void updateItem(LogEntry item, boolean empty) {
+			super.updateItem(item, empty);
+			if (empty || item == null) {
+				setText(null);
+				setGraphic(null);
+				setTooltip(null);
+			} else {
+				setText(item.message());
+				setGraphic(createIndicator(item));
+			}
 		}
 
-		@Override
-		public void apply(@Nonnull LineContainer container, int paragraph) {
-			if (paragraph >= infos.size())
-				return;
-			LogCallInfo info = infos.get(paragraph);
+		@Nonnull
+		private static Node createIndicator(@Nonnull LogEntry entry) {
 			Shape shape;
-			switch (info.level) {
+			switch (entry.level()) {
 				case ERROR -> {
-					if (info.throwable == null)
+					if (entry.throwable() == null)
 						shape = new Circle(SIZE, Color.RED);
 					else {
 						shape = new Polygon(TRIANGLE);
@@ -149,33 +250,19 @@ public void apply(@Nonnull LineContainer container, int paragraph) {
 			}
 			shape.setOpacity(0.65);
 
-			// Wrap and provide right-side padding to give the indicator space between it and the line no.
+			// Wrap and provide right-side padding to give the indicator space between it and the text.
 			HBox wrapper = new HBox(shape);
 			wrapper.setAlignment(Pos.CENTER);
 			wrapper.setPadding(PADDING);
 			wrapper.setCursor(Cursor.HAND);
-			if (info.throwable != null) {
-				Tooltip tooltip = new Tooltip(StringUtil.traceToString(info.throwable));
+			String tooltipText = entry.throwable() == null ? entry.loggerName() :
+					entry.loggerName() + '\n' + StringUtil.traceToString(entry.throwable());
+			if (!tooltipText.isBlank()) {
+				Tooltip tooltip = new Tooltip(tooltipText);
 				tooltip.setShowDelay(Duration.ZERO);
 				Tooltip.install(wrapper, tooltip);
 			}
-			container.addHorizontal(wrapper);
-		}
-
-		@Override
-		public void install(@Nonnull Editor editor) {
-			// no-op
-		}
-
-		@Override
-		public void uninstall(@Nonnull Editor editor) {
-			// no-op
-		}
-	}
-
-	private static class PruneError extends RuntimeException {
-		private PruneError() {
-			super(null, null, false, false);
+			return wrapper;
 		}
 	}
 }
@@ -0,0 +1,34 @@
+package software.coley.recaf.ui.pane;
+
+import jakarta.annotation.Nonnull;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import software.coley.observables.ObservableInteger;
+import software.coley.recaf.config.BasicConfigContainer;
+import software.coley.recaf.config.BasicConfigValue;
+import software.coley.recaf.config.ConfigGroups;
+
+/**
+ * Config for {@link LoggingPane}.
+ *
+ * @author Matt Coley
+ */
+@ApplicationScoped
+public class LoggingPaneConfig extends BasicConfigContainer {
+	private final ObservableInteger maxLines = new ObservableInteger(10_000);
+
+	@Inject
+	public LoggingPaneConfig() {
+		super(ConfigGroups.SERVICE_UI, "logging-pane" + CONFIG_SUFFIX);
+		addValue(new BasicConfigValue<>("max-lines", int.class, maxLines));
+	}
+
+	/**
+	 * @return Maximum number of log messages to keep in the logging pane.
+	 * Older messages are still written to the log file.
+	 */
+	@Nonnull
+	public ObservableInteger getMaxLines() {
+		return maxLines;
+	}
+}
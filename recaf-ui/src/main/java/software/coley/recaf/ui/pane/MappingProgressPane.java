@@ -22,9 +22,6 @@
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import org.reactfx.EventStreams;
-import software.coley.collections.tree.SortedTreeImpl;
-import software.coley.collections.tree.Tree;
 import software.coley.recaf.info.AndroidClassInfo;
 import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.JvmClassInfo;
@@ -33,6 +30,7 @@
 import software.coley.recaf.info.properties.builtin.HasMappedReferenceProperty;
 import software.coley.recaf.info.properties.builtin.OriginalClassNameProperty;
 import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.path.PathNodes;
 import software.coley.recaf.services.cell.CellConfigurationService;
 import software.coley.recaf.services.cell.context.ContextSource;
 import software.coley.recaf.services.mapping.IntermediateMappings;
@@ -46,7 +44,9 @@
 import software.coley.recaf.services.workspace.WorkspaceManager;
 import software.coley.recaf.workspace.model.Workspace;
 import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.ClassBundle;
 import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.bundle.VersionedJvmClassBundle;
 import software.coley.recaf.workspace.model.resource.ResourceAndroidClassListener;
 import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
 import software.coley.recaf.workspace.model.resource.WorkspaceResource;
@@ -54,16 +54,25 @@
 import software.coley.treemap.content.SimpleHierarchicalTreeContent;
 import software.coley.treemap.content.TreeContent;
 
-import java.time.Duration;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.ToDoubleFunction;
 
 /**
  * Pane to display the current mapping progress of classes in the workspace.
  * Classes change color to indicate if they are mapped or not, and how fully mapped their declared members are.
+ * <p>
+ * The content of each class is kept between updates, and only replaced when the class itself changes.
+ * Since applying mappings updates each affected class in the workspace, only those classes are re-measured.
+ * Likewise, each package has its own node in the displayed tree, and only the packages of changed classes
+ * have their node contents updated.
  *
  * @author Matt Coley
  * @see MappingProgressWindow
@@ -80,13 +89,18 @@ public class MappingProgressPane extends BorderPane implements ResourceJvmClassL
 	private final CellConfigurationService configurationService;
 	private final ObjectProperty<Metric> metric = new SimpleObjectProperty<>();
 	private final ObjectProperty<SelectionInfo> selectedPath = new SimpleObjectProperty<>();
-	private final ObservableList<TreeContent> treeContentListDelegate = FXCollections.observableArrayList();
 	private final ObservableList<TreeContent> treeContentList;
 	private final WorkspaceManager workspaceManager;
 	private final BooleanProperty active = new SimpleBooleanProperty();
 	private final WorkspaceExplorerConfig explorerConfig;
-	private IntermediateMappings mappings;
-	private Callable<Boolean> pendingUpdate;
+	private final AtomicBoolean updateQueued = new AtomicBoolean();
+	// Only accessed on the pool thread
+	private final Map<String, ContextualClassTreeContent> classContents = new HashMap<>();
+	private final Map<String, PackageNode> classPackages = new HashMap<>();
+	private final Set<PackageNode> dirtyPackages = new HashSet<>();
+	private final PackageNode rootPackage = new PackageNode(null, null);
+	private volatile IntermediateMappings mappings;
+	private Runnable pendingUpdate;
 
 	@Inject
 	public MappingProgressPane(@Nonnull CellConfigurationService configurationService,
@@ -101,55 +115,60 @@ public MappingProgressPane(@Nonnull CellConfigurationService configurationServic
 		TreeMapPane<TreeContent> treeMapPane = TreeMapPane.forTreeContent();
 		PannableView treeMapWrapper = new PannableView(treeMapPane);
 
-		// Create an initial dummy tree.
-		treeContentList = FXCollections.observableArrayList();
+		// The tree holds the root package node, which updates as classes are added to it.
+		treeContentList = FXCollections.observableArrayList(rootPackage.content);
 		treeMapPane.valueListProperty().set(treeContentList);
 
 		// When a workspace is opened, refresh the tree and listen for changes on the new workspace.
 		workspaceManager.addWorkspaceOpenListener(workspace -> {
-			int classes = workspace.findClasses(c -> true).size();
+			WorkspaceResource primaryResource = workspace.getPrimaryResource();
+			int classes = workspace.getStatistics().getClassCount().getValue();
 
 			treeMapPane.setPrefWidth(40 * classes);
 			treeMapPane.setPrefHeight(5 * classes);
 			treeMapWrapper.resetTranslation();
 			treeMapWrapper.resetZoom();
 
-			// When the mappings update, refresh the tree and mappings reference.
-			aggregateMappingManagerInstance.get().addAggregatedMappingsListener(this::updateTreeAndMappings);
+			// When the mappings update, refresh the mappings reference.
+			aggregateMappingManagerInstance.get().addAggregatedMappingsListener(this::updateMappings);
 
 			// Initial outline
+			pool.submit(() -> populate(workspace));
 			updateTree();
 
 			// Listen for updates
-			workspace.getPrimaryResource().addListener(this);
+			primaryResource.addListener(this);
 		});
 
 		workspaceManager.addWorkspaceCloseListener(workspace -> {
 			// The pending update can be cleared once the workspace is closed.
 			pendingUpdate = null;
+			updateQueued.set(false);
 
 			// And the tree content can be cleared.
-			treeContentListDelegate.clear();
+			pool.submit(() -> {
+				classContents.clear();
+				classPackages.clear();
+				dirtyPackages.clear();
+				rootPackage.clear();
+			});
+			FxThreadUtil.run(rootPackage.children::clear);
 
 			// Clear selection, as it holds a path which contains workspace references,
 			// which can prevent GC from freeing it.
 			selectedPath.set(null);
 		});
 
-		// The tree update passes data to this delegate list.
-		// We use ReactFX to merge rapid changes to limit redundant work.
-		EventStreams.changesOf(treeContentListDelegate)
-				.reduceSuccessions((change, change2) -> change2, Duration.ofMillis(500))
-				.addObserver(c -> {
-					FxThreadUtil.run(() -> treeContentList.setAll(treeContentListDelegate));
-				});
-
-		// When the metric measurement changes, update the tree.
-		metric.addListener((ob, old, cur) -> updateTree());
+		// When the metric measurement changes, re-weigh the existing content and update the tree.
+		metric.addListener((ob, old, cur) -> pool.submit(() -> {
+			classContents.values().forEach(ContextualClassTreeContent::updateWeight);
+			rootPackage.markDirty(dirtyPackages);
+			updateTree();
+		}));
 
 		// Only update the UI when visible
 		active.addListener((ob, old, cur) -> {
-			Callable<Boolean> update = pendingUpdate;
+			Runnable update = pendingUpdate;
 			if (cur && update != null) {
 				pendingUpdate = null;
 				pool.submit(update);
@@ -212,99 +231,168 @@ private static Label makeLegendEntry(@Nonnull String text, @Nonnull Color color)
 
 	@Override
 	public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
-		updateTree();
+		putClass(resource, bundle, cls);
 	}
 
 	@Override
 	public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo oldCls, @Nonnull AndroidClassInfo newCls) {
-		updateTree();
+		putClass(resource, bundle, newCls);
 	}
 
 	@Override
 	public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
-		updateTree();
+		removeClass(cls);
 	}
 
 	@Override
 	public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
-		updateTree();
+		if (!(bundle instanceof VersionedJvmClassBundle))
+			putClass(resource, bundle, cls);
 	}
 
 	@Override
 	public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo oldCls, @Nonnull JvmClassInfo newCls) {
-		updateTree();
+		if (!(bundle instanceof VersionedJvmClassBundle))
+			putClass(resource, bundle, newCls);
 	}
 
 	@Override
 	public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
-		updateTree();
+		if (!(bundle instanceof VersionedJvmClassBundle))
+			removeClass(cls);
 	}
 
-	private void updateTreeAndMappings(@Nullable Mappings mappings) {
-		this.mappings = mappings == null ? null : mappings.exportIntermediate();
-		updateTree();
+	/**
+	 * Records content for all classes in the primary resource of the given workspace.
+	 * Must be called on the {@link #pool} thread.
+	 *
+	 * @param workspace
+	 * 		Workspace to pull classes from.
+	 */
+	private void populate(@Nonnull Workspace workspace) {
+		classContents.clear();
+		classPackages.clear();
+		rootPackage.clear();
+		dirtyPackages.add(rootPackage);
+		WorkspaceResource resource = workspace.getPrimaryResource();
+		JvmClassBundle jvmBundle = resource.getJvmClassBundle();
+		for (JvmClassInfo cls : jvmBundle)
+			putContent(new ContextualClassTreeContent(PathNodes.classPath(workspace, resource, jvmBundle, cls)));
+		for (AndroidClassBundle androidBundle : resource.getAndroidClassBundles().values())
+			for (AndroidClassInfo cls : androidBundle)
+				putContent(new ContextualClassTreeContent(PathNodes.classPath(workspace, resource, androidBundle, cls)));
 	}
 
-	private void updateTree() {
+	private void putClass(@Nonnull WorkspaceResource resource, @Nonnull ClassBundle<?> bundle, @Nonnull ClassInfo cls) {
 		Workspace workspace = workspaceManager.getCurrent();
-		if (workspace != null) {
-			Callable<Boolean> action = () -> treeContentListDelegate.setAll(buildTreeRoots(workspaceToTree(workspace)));
-			if (active.get())
-				pool.submit(action);
-			else
-				pendingUpdate = action;
-		}
+		if (workspace == null)
+			return;
+		ClassPathNode path = PathNodes.classPath(workspace, resource, bundle, cls);
+		pool.submit(() -> {
+			if (putContent(new ContextualClassTreeContent(path)))
+				updateTree();
+		});
 	}
 
-	@Nonnull
-	private Tree<String, ClassPathNode> workspaceToTree(@Nonnull Workspace workspace) {
-		Tree<String, ClassPathNode> tree = new SortedTreeImpl<>();
-		workspace.findClasses(classInfo -> true)
-				.forEach(classPath -> {
-					// Only match classes in the primary resource
-					WorkspaceResource resource = classPath.getValueOfType(WorkspaceResource.class);
-					if (resource != workspace.getPrimaryResource())
-						return;
-
-					ClassInfo info = classPath.getValue();
-					String name = info.getName();
-					String[] sections = name.split("/");
-					int maxSplit = explorerConfig.getMaxTreeDirectoryDepth();
-					if (sections.length > maxSplit) {
-						name = StringUtil.cutOffAtNth(name, '/', maxSplit) + "/" + StringUtil.shortenPath(name);
-						sections = name.split("/");
-					}
-
-					Tree<String, ClassPathNode> path = tree;
-					for (int i = 0; i < sections.length; i++) {
-						String section = sections[i];
-						if (i == sections.length - 1)
-							path = path.computeIfAbsent(section, s -> new SortedTreeImpl<>(classPath));
-						else
-							path = path.computeIfAbsent(section, s -> new SortedTreeImpl<>());
-					}
-				});
-		return tree;
+	private void removeClass(@Nonnull ClassInfo cls) {
+		pool.submit(() -> {
+			if (removeContent(cls))
+				updateTree();
+		});
 	}
 
-	@Nonnull
-	private List<TreeContent> buildTreeRoots(@Nonnull Tree<String, ClassPathNode> tree) {
-		if (tree.isBranch()) {
-			ObservableList<TreeContent> list = FXCollections.observableArrayList();
-			for (Tree<String, ClassPathNode> subtree : tree.values())
-				list.addAll(buildTreeRoots(subtree));
-			return Collections.singletonList(new SimpleHierarchicalTreeContent(new SimpleListProperty<>(list)));
-		} else {
-			ClassPathNode value = tree.getValue();
-			if (value == null)
-				return Collections.emptyList();
-			return Collections.singletonList(toContent(value));
+	/**
+	 * Records content of a class, replacing any prior content of the class.
+	 * JVM classes take precedence over android classes of the same name.
+	 * Must be called on the {@link #pool} thread.
+	 *
+	 * @param content
+	 * 		Content to record.
+	 *
+	 * @return {@code true} when the content was recorded.
+	 */
+	private boolean putContent(@Nonnull ContextualClassTreeContent content) {
+		ClassInfo cls = content.path.getValue();
+		String name = cls.getName();
+		ContextualClassTreeContent existing = classContents.get(name);
+		if (existing != null && cls.isAndroidClass() && existing.path.getValue().isJvmClass())
+			return false;
+		classContents.put(name, content);
+
+		PackageNode packageNode = classPackages.get(name);
+		if (packageNode == null) {
+			// Long names are cut off at the max directory depth, to match the workspace tree display.
+			String displayName = name;
+			int maxSplit = explorerConfig.getMaxTreeDirectoryDepth();
+			if (StringUtil.count('/', name) >= maxSplit)
+				displayName = StringUtil.cutOffAtNth(name, '/', maxSplit) + "/" + StringUtil.shortenPath(name);
+			String[] sections = displayName.split("/");
+			packageNode = rootPackage;
+			for (int i = 0; i < sections.length - 1; i++)
+				packageNode = packageNode.getOrCreatePackage(sections[i], dirtyPackages);
+			// Shortened names may collide, so the full name is also part of the key.
+			packageNode.classKeys.put(name, sections[sections.length - 1] + '\0' + name);
+			classPackages.put(name, packageNode);
 		}
+		packageNode.putClass(name, content, dirtyPackages);
+		return true;
 	}
 
-	@Nonnull
-	private TreeContent toContent(@Nonnull ClassPathNode value) {
-		return new ContextualClassTreeContent(value);
+	/**
+	 * Removes content of a class, if the recorded content is of the same kind of class.
+	 * Must be called on the {@link #pool} thread.
+	 *
+	 * @param cls
+	 * 		Class to remove content of.
+	 *
+	 * @return {@code true} when content was removed.
+	 */
+	private boolean removeContent(@Nonnull ClassInfo cls) {
+		String name = cls.getName();
+		ContextualClassTreeContent existing = classContents.get(name);
+		if (existing == null || existing.path.getValue().isJvmClass() != cls.isJvmClass())
+			return false;
+		classContents.remove(name);
+		PackageNode packageNode = classPackages.remove(name);
+		if (packageNode != null)
+			packageNode.removeClass(name, dirtyPackages);
+		return true;
+	}
+
+	private void updateMappings(@Nullable Mappings mappings) {
+		IntermediateMappings intermediate = mappings == null ? null : mappings.exportIntermediate();
+		pool.submit(() -> {
+			this.mappings = intermediate;
+
+			// Classes affected by newly applied mappings are updated in the workspace, which replaces their content.
+			// When the mappings are cleared, everything needs to be re-measured.
+			if (intermediate == null) {
+				List<ContextualClassTreeContent> contents = new ArrayList<>(classContents.values());
+				for (ContextualClassTreeContent content : contents)
+					putContent(new ContextualClassTreeContent(content.path));
+				updateTree();
+			}
+		});
+	}
+
+	private void updateTree() {
+		// Rapid sequences of changes, such as when applying mappings, only need to result in one update.
+		if (workspaceManager.getCurrent() != null && updateQueued.compareAndSet(false, true)) {
+			Runnable action = () -> {
+				updateQueued.set(false);
+
+				// Only the packages with changed contents need to be updated in the UI.
+				Map<PackageNode, List<TreeContent>> updates = new HashMap<>();
+				for (PackageNode packageNode : dirtyPackages)
+					updates.put(packageNode, new ArrayList<>(packageNode.entries.values()));
+				dirtyPackages.clear();
+				FxThreadUtil.run(() -> updates.forEach((packageNode, children) -> packageNode.children.setAll(children)));
+			};
+			if (active.get())
+				pool.submit(action);
+			else
+				pendingUpdate = action;
+		}
 	}
 
 	/**
@@ -381,6 +469,73 @@ private static double map(@Nonnull ClassPathNode path) {
 		}
 	}
 
+	/**
+	 * Package within the displayed tree. The entries of a package are only accessed on the {@link #pool} thread.
+	 * The displayed children of a package are only accessed on the FX thread, and are updated from the entries
+	 * when the package is marked as dirty.
+	 */
+	private static class PackageNode {
+		// Sub-package keys end with '/' so that they cannot collide with class keys.
+		private final Map<String, TreeContent> entries = new TreeMap<>();
+		private final Map<String, PackageNode> packages = new HashMap<>();
+		private final Map<String, String> classKeys = new HashMap<>();
+		private final ObservableList<TreeContent> children = FXCollections.observableArrayList();
+		private final TreeContent content = new SimpleHierarchicalTreeContent(new SimpleListProperty<>(children));
+		private final PackageNode parent;
+		private final String key;
+
+		private PackageNode(@Nullable PackageNode parent, @Nullable String name) {
+			this.parent = parent;
+			this.key = name == null ? null : name + '/';
+		}
+
+		@Nonnull
+		private PackageNode getOrCreatePackage(@Nonnull String name, @Nonnull Set<PackageNode> dirty) {
+			PackageNode packageNode = packages.get(name);
+			if (packageNode == null) {
+				packageNode = new PackageNode(this, name);
+				packages.put(name, packageNode);
+				entries.put(packageNode.key, packageNode.content);
+				dirty.add(this);
+			}
+			return packageNode;
+		}
+
+		private void putClass(@Nonnull String name, @Nonnull TreeContent classContent, @Nonnull Set<PackageNode> dirty) {
+			entries.put(classKeys.get(name), classContent);
+			dirty.add(this);
+		}
+
+		private void removeClass(@Nonnull String name, @Nonnull Set<PackageNode> dirty) {
+			String classKey = classKeys.remove(name);
+			if (classKey != null)
+				entries.remove(classKey);
+			dirty.add(this);
+
+			// Prune packages which no longer hold anything.
+			PackageNode packageNode = this;
+			while (packageNode.parent != null && packageNode.entries.isEmpty()) {
+				PackageNode parentNode = packageNode.parent;
+				parentNode.packages.remove(packageNode.key.substring(0, packageNode.key.length() - 1));
+				parentNode.entries.remove(packageNode.key);
+				dirty.remove(packageNode);
+				dirty.add(parentNode);
+				packageNode = parentNode;
+			}
+		}
+
+		private void markDirty(@Nonnull Set<PackageNode> dirty) {
+			dirty.add(this);
+			packages.values().forEach(packageNode -> packageNode.markDirty(dirty));
+		}
+
+		private void clear() {
+			entries.clear();
+			packages.clear();
+			classKeys.clear();
+		}
+	}
+
 	/**
 	 * Contextual tree-content allowing context-actions to be used on the display.
 	 * <br>
@@ -388,12 +543,20 @@ private static double map(@Nonnull ClassPathNode path) {
 	 */
 	private class ContextualClassTreeContent implements TreeContent, ContextSource {
 		private final ClassPathNode path;
-		private final double weight;
+		private volatile double weight;
 		private Node node;
 
 		public ContextualClassTreeContent(@Nonnull ClassPathNode path) {
 			this.path = path;
-			this.weight = metric.get().toWeight(path);
+			updateWeight();
+		}
+
+		/**
+		 * Re-computes the weight of the content with the current metric.
+		 */
+		public void updateWeight() {
+			Metric currentMetric = metric.get();
+			weight = currentMetric == null ? 1 : currentMetric.toWeight(path);
 		}
 
 		@Override
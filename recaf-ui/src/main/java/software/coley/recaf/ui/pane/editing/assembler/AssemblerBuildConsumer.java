@@ -4,6 +4,7 @@
 import me.darknet.assembler.compiler.ClassRepresentation;
 import me.darknet.assembler.compiler.ClassResult;
 import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.info.member.MethodMember;
 import software.coley.recaf.services.assembler.AssemblerPipeline;
 
 /**
@@ -22,4 +23,19 @@ public interface AssemblerBuildConsumer {
 	 * 		Recaf class model.
 	 */
 	void consumeClass(@Nonnull ClassResult result, @Nonnull ClassInfo classInfo);
+
+	/**
+	 * Called when {@link AssemblerPane} rebuilds a single method of a class, leaving all other content as-is.
+	 * The result's analysis only covers the given method, so analysis of other methods from prior builds remains valid.
+	 *
+	 * @param result
+	 * 		Assembler output model.
+	 * @param classInfo
+	 * 		Recaf class model.
+	 * @param method
+	 * 		The method that was rebuilt.
+	 */
+	default void consumeMethod(@Nonnull ClassResult result, @Nonnull ClassInfo classInfo, @Nonnull MethodMember method) {
+		consumeClass(result, classInfo);
+	}
 }
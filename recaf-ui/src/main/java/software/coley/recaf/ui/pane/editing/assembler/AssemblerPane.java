@@ -1,6 +1,7 @@
 package software.coley.recaf.ui.pane.editing.assembler;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import jakarta.enterprise.context.Dependent;
 import jakarta.inject.Inject;
 import javafx.scene.Node;
@@ -22,6 +23,7 @@
 import software.coley.recaf.analytics.logging.Logging;
 import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.member.ClassMember;
+import software.coley.recaf.info.member.MethodMember;
 import software.coley.recaf.path.ClassMemberPathNode;
 import software.coley.recaf.path.ClassPathNode;
 import software.coley.recaf.path.DirectoryPathNode;
@@ -50,6 +52,7 @@
 import software.coley.recaf.util.Animations;
 import software.coley.recaf.util.FxThreadUtil;
 import software.coley.recaf.util.SceneUtils;
+import software.coley.recaf.util.StringUtil;
 import software.coley.recaf.workspace.model.bundle.Bundle;
 
 import java.time.Duration;
@@ -62,6 +65,9 @@
 
 /**
  * Display dissassembled {@link ClassInfo} and {@link ClassMember} content.
+ * <p>
+ * When editing a whole class and an edit is contained within a single method, only that method is re-assembled
+ * against the last assembled class. This skips re-analysis of every other method in the class.
  *
  * @author Matt Coley
  */
@@ -83,6 +89,9 @@ public class AssemblerPane extends AbstractContentPane<PathNode<?>> implements U
 	private List<ASTElement> lastRoughAst;
 	private List<ASTElement> lastPartialAst;
 	private List<ASTElement> lastConcreteAst;
+	private String lastAttemptedText;
+	private String lastAssembledText;
+	private List<ASTElement> lastAssembledAst;
 
 	@Inject
 	public AssemblerPane(@Nonnull AssemblerPipelineManager pipelineManager,
@@ -296,6 +305,9 @@ else if (path instanceof ClassMemberPathNode memberPathNode)
 			lastAssembledClass = path.getValueOfType(ClassInfo.class);
 			lastAssembledClassRepresentation = pipeline.getRepresentation(Unchecked.cast(lastAssembledClass));
 			lastResult = () -> lastAssembledClassRepresentation;
+			lastAttemptedText = null;
+			lastAssembledText = null;
+			lastAssembledAst = null;
 			eachChild(UpdatableNavigable.class, c -> c.onUpdatePath(path));
 			eachChild(AssemblerBuildConsumer.class, c -> c.consumeClass(lastResult, lastAssembledClass));
 
@@ -329,14 +341,17 @@ private CompletableFuture<Result<String>> disassemble() {
 	}
 
 	/**
-	 * Parse the current editor's text into AST.
+	 * Parse the given editor text into AST.
+	 *
+	 * @param text
+	 * 		Current editor text.
 	 *
 	 * @return Future of parse completion.
 	 */
 	@Nonnull
-	private CompletableFuture<Result<List<ASTElement>>> parseAST() {
+	private CompletableFuture<Result<List<ASTElement>>> parseAST(@Nonnull String text) {
 		// Nothing to parse
-		if (editor.getText().isBlank()) return CompletableFuture.completedFuture(null);
+		if (text.isBlank()) return CompletableFuture.completedFuture(null);
 
 		// Clear lint errors since we are running the linter again.
 		if (problemTracking.removeByPhase(ProblemPhase.LINT))
@@ -344,7 +359,7 @@ private CompletableFuture<Result<List<ASTElement>>> parseAST() {
 
 		return CompletableFuture.supplyAsync(() -> {
 			// Tokenize the current input.
-			Result<List<Token>> tokenResult = pipeline.tokenize(editor.getText(), "<assembler>");
+			Result<List<Token>> tokenResult = pipeline.tokenize(text, "<assembler>");
 
 			// Process any errors and assign the latest token list.
 			if (tokenResult.hasErr())
@@ -396,21 +411,36 @@ private CompletableFuture<Result<List<ASTElement>>> parseAST() {
 	 */
 	@Nonnull
 	private CompletableFuture<Void> assemble() {
+		// Skip if the text has not changed since the last attempt, as the prior outputs and problems still apply.
+		String text = editor.getText();
+		if (text.equals(lastAttemptedText))
+			return CompletableFuture.completedFuture(null);
+		String priorText = lastAssembledText;
+		List<ASTElement> priorAst = lastAssembledAst;
+
 		// Ensure the AST is up-to-date before moving onto build stage.
-		return parseAST().thenAccept(astResult -> {
-			// If the parse finished, clear old build errors.
-			if (problemTracking.removeByPhase(ProblemPhase.BUILD))
-				FxThreadUtil.run(editor::redrawParagraphGraphics);
+		return parseAST(text).thenAccept(astResult -> {
+			lastAttemptedText = text;
 
 			// Skip if any problems remain in the AST
-			if (!problemTracking.getProblemsByPhase(ProblemPhase.LINT).isEmpty() || lastConcreteAst == null)
+			if (!problemTracking.getProblemsByPhase(ProblemPhase.LINT).isEmpty() || lastConcreteAst == null) {
+				if (problemTracking.removeByPhase(ProblemPhase.BUILD))
+					FxThreadUtil.run(editor::redrawParagraphGraphics);
 				return;
-
-			// Clear build errors since we are running the build process again.
-			problemTracking.removeByPhase(ProblemPhase.BUILD);
+			}
 
 			try {
-				pipeline.assemble(lastConcreteAst, path).ifOk(result -> {
+				// If the only change since the last build is inside a single method, rebuild just that method.
+				ASTMethod changedMethod = findSoleChangedMethod(priorText, priorAst, text, lastConcreteAst);
+				if (changedMethod != null && assembleMethod(changedMethod, text))
+					return;
+
+				// Clear build errors since we are running the build process again.
+				if (problemTracking.removeByPhase(ProblemPhase.BUILD))
+					FxThreadUtil.run(editor::redrawParagraphGraphics);
+
+				List<ASTElement> assembledAst = lastConcreteAst;
+				pipeline.assemble(assembledAst, path).ifOk(result -> {
 					ClassRepresentation representation = result.representation();
 
 					lastResult = result;
@@ -486,6 +516,12 @@ else if (representation instanceof AndroidClassRepresentation androidClassRep) {
 					}
 					 */
 
+					// Record the state for future incremental builds, if the result was accepted.
+					if (problemTracking.getProblemsByPhase(ProblemPhase.BUILD).isEmpty()) {
+						lastAssembledText = text;
+						lastAssembledAst = assembledAst;
+					}
+
 					eachChild(AssemblerBuildConsumer.class, c -> c.consumeClass(result, lastAssembledClass));
 				}).ifErr(errors -> processErrors(errors, ProblemPhase.BUILD))
 						.ifWarn(warns -> processErrors(warns, ProblemLevel.WARN, ProblemPhase.BUILD));
@@ -496,6 +532,124 @@ else if (representation instanceof AndroidClassRepresentation androidClassRep) {
 		});
 	}
 
+	/**
+	 * Assemble a single method of the class against the {@link #lastAssembledClass last assembled class}.
+	 * All other class content is carried over from the last assembled class as-is.
+	 *
+	 * @param astMethod
+	 * 		Method to assemble, from the current concrete AST.
+	 * @param text
+	 * 		Editor text the AST was parsed from.
+	 *
+	 * @return {@code true} when the method was handled.
+	 * {@code false} when the class must be fully re-assembled instead.
+	 */
+	private boolean assembleMethod(@Nonnull ASTMethod astMethod, @Nonnull String text) {
+		if (!(path instanceof ClassPathNode classPath) || lastAssembledClass == null || !lastAssembledClass.isJvmClass())
+			return false;
+		String name = astMethod.getName().literal();
+		String desc = astMethod.getDescriptor().literal();
+		MethodMember oldMethod = lastAssembledClass.getDeclaredMethod(name, desc);
+		if (oldMethod == null)
+			return false;
+
+		// The member is assembled with the last assembled class as an overlay, just like when editing a single method.
+		ClassPathNode lastClassPath = classPath.getParent().child(lastAssembledClass);
+		Result<? extends ClassResult> result = pipeline.assemble(List.of(astMethod), lastClassPath.child(oldMethod));
+
+		// Only build problems within the rebuilt method are outdated.
+		int startLine = StringUtil.count('\n', text.substring(0, astMethod.range().start())) + 1;
+		int endLine = StringUtil.count('\n', text.substring(0, Math.min(text.length(), astMethod.range().end()))) + 1;
+		List<Problem> outdated = problemTracking.getProblems(p -> p.phase() == ProblemPhase.BUILD
+				&& p.line() >= startLine && p.line() <= endLine);
+		outdated.forEach(problemTracking::removeByInstance);
+		if (!outdated.isEmpty())
+			FxThreadUtil.run(editor::redrawParagraphGraphics);
+
+		if (result.hasErr()) {
+			processErrors(result.errors(), ProblemPhase.BUILD);
+			return true;
+		}
+		result.ifWarn(warns -> processErrors(warns, ProblemLevel.WARN, ProblemPhase.BUILD));
+
+		ClassResult classResult = result.get();
+		if (!(classResult.representation() instanceof JavaClassRepresentation javaClassRep))
+			return false;
+		ClassInfo assembledClass = pipeline.getClassInfo(Unchecked.cast(javaClassRep));
+		MethodMember newMethod = assembledClass.getDeclaredMethod(name, desc);
+		if (newMethod == null
+				|| assembledClass.getMethods().size() != lastAssembledClass.getMethods().size()
+				|| assembledClass.getFields().size() != lastAssembledClass.getFields().size())
+			return false;
+
+		// Update the local path value without triggering a disassembly, same as with a full build.
+		// The last result is intentionally not replaced, since its analysis still covers all other methods.
+		updateLock.set(true);
+		try {
+			lastAssembledClassRepresentation = javaClassRep;
+			onUpdatePath(classPath.getParent().child(assembledClass));
+			lastAssembledClass = assembledClass;
+		} finally {
+			updateLock.set(false);
+		}
+		lastAssembledText = text;
+		lastAssembledAst = lastConcreteAst;
+		eachChild(AssemblerBuildConsumer.class, c -> c.consumeMethod(classResult, assembledClass, newMethod));
+		return true;
+	}
+
+	/**
+	 * @param priorText
+	 * 		Editor text of the last successful build.
+	 * @param priorAst
+	 * 		Concrete AST of the last successful build.
+	 * @param text
+	 * 		Current editor text.
+	 * @param ast
+	 * 		Current concrete AST.
+	 *
+	 * @return The method in the current AST which contains all differences between the prior and current text.
+	 * {@code null} if there is no prior state, or if the changes are not within the body of a single method.
+	 */
+	@Nullable
+	private static ASTMethod findSoleChangedMethod(@Nullable String priorText, @Nullable List<ASTElement> priorAst,
+	                                               @Nonnull String text, @Nonnull List<ASTElement> ast) {
+		if (priorText == null || priorAst == null || priorAst.size() != 1 || ast.size() != 1)
+			return null;
+		if (!(priorAst.getFirst() instanceof ASTClass priorClass) || !(ast.getFirst() instanceof ASTClass astClass))
+			return null;
+		if (priorClass.children().size() != astClass.children().size())
+			return null;
+
+		// Compute the changed region in both the prior and current text.
+		int prefix = 0;
+		int maxPrefix = Math.min(priorText.length(), text.length());
+		while (prefix < maxPrefix && priorText.charAt(prefix) == text.charAt(prefix))
+			prefix++;
+		int suffix = 0;
+		int maxSuffix = maxPrefix - prefix;
+		while (suffix < maxSuffix && priorText.charAt(priorText.length() - 1 - suffix) == text.charAt(text.length() - 1 - suffix))
+			suffix++;
+		int priorChangeEnd = priorText.length() - suffix;
+		int changeEnd = text.length() - suffix;
+
+		// Both regions must be strictly inside the same method, so that its declaration is untouched.
+		ASTMethod priorMethod = null;
+		for (ASTElement child : priorClass.children())
+			if (child instanceof ASTMethod method && method.range().start() < prefix && priorChangeEnd < method.range().end())
+				priorMethod = method;
+		if (priorMethod == null)
+			return null;
+		for (ASTElement child : astClass.children()) {
+			if (child instanceof ASTMethod method && method.range().start() < prefix && changeEnd < method.range().end()) {
+				boolean sameMember = method.getName().literal().equals(priorMethod.getName().literal())
+						&& method.getDescriptor().literal().equals(priorMethod.getDescriptor().literal());
+				return sameMember ? method : null;
+			}
+		}
+		return null;
+	}
+
 	@Nonnull
 	@SuppressWarnings("unchecked")
 	private CompletableFuture<Void> assembleAndUpdateWorkspace() {
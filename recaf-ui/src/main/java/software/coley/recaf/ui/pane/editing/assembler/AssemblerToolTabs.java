@@ -11,6 +11,7 @@
 import me.darknet.assembler.compiler.ClassResult;
 import org.kordamp.ikonli.carbonicons.CarbonIcons;
 import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.info.member.MethodMember;
 import software.coley.recaf.path.PathNode;
 import software.coley.recaf.services.navigation.Navigable;
 import software.coley.recaf.services.navigation.UpdatableNavigable;
@@ -115,6 +116,17 @@ public void consumeClass(@Nonnull ClassResult result,
 		onUpdatePath(path);
 	}
 
+	@Override
+	public void consumeMethod(@Nonnull ClassResult result,
+							  @Nonnull ClassInfo classInfo,
+							  @Nonnull MethodMember method) {
+		for (Navigable navigableChild : getNavigableChildren())
+			if (navigableChild instanceof AssemblerBuildConsumer consumer)
+				consumer.consumeMethod(result, classInfo, method);
+
+		onUpdatePath(path);
+	}
+
 	@Override
 	public void onUpdatePath(@Nonnull PathNode<?> path) {
 		boolean isInitial = this.path == null;
@@ -1,7 +1,9 @@
 package software.coley.recaf.ui.pane.editing.assembler;
 
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import me.darknet.assembler.ast.ASTElement;
+import me.darknet.assembler.compile.analysis.AnalysisResults;
 import me.darknet.assembler.compile.analysis.MethodAnalysisLookup;
 import me.darknet.assembler.compile.visitor.JavaCompileResult;
 import me.darknet.assembler.compiler.ClassResult;
@@ -10,7 +12,9 @@
 import software.coley.recaf.info.member.MethodMember;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Contextual assembler component that consumes assembler outputs.
@@ -20,6 +24,7 @@
 public abstract class AstBuildConsumerComponent extends ContextualAssemblerComponent implements AssemblerAstConsumer, AssemblerBuildConsumer {
 	protected List<ASTElement> astElements = Collections.emptyList();
 	protected MethodAnalysisLookup analysisLookup;
+	private final Map<String, MethodAnalysisLookup> methodAnalysisLookups = new HashMap<>();
 	protected ClassInfo currentClass;
 	protected MethodMember currentMethod;
 	protected FieldMember currentField;
@@ -58,10 +63,42 @@ public void consumeAst(@Nonnull List<ASTElement> astElements, @Nonnull AstPhase
 	public void consumeClass(@Nonnull ClassResult result, @Nonnull ClassInfo classInfo) {
 		if (result instanceof JavaCompileResult javaCompileResult) {
 			analysisLookup = javaCompileResult.analysisLookup();
+			methodAnalysisLookups.clear();
 			onPipelineOutputUpdate();
 		}
 	}
 
+	@Override
+	public void consumeMethod(@Nonnull ClassResult result, @Nonnull ClassInfo classInfo, @Nonnull MethodMember method) {
+		if (result instanceof JavaCompileResult javaCompileResult) {
+			// Only the given method was analyzed, so the prior class-wide lookup is kept for all other methods.
+			if (analysisLookup == null)
+				analysisLookup = javaCompileResult.analysisLookup();
+			methodAnalysisLookups.put(method.getName() + method.getDescriptor(), javaCompileResult.analysisLookup());
+
+			// Other methods are unchanged, so only refresh if the rebuilt method is the one being shown.
+			if (currentMethod != null && currentMethod.getName().equals(method.getName())
+					&& currentMethod.getDescriptor().equals(method.getDescriptor()))
+				onPipelineOutputUpdate();
+		}
+	}
+
+	/**
+	 * @param method
+	 * 		Method to get analysis of.
+	 *
+	 * @return Latest analysis results of the method, or {@code null} if no analysis exists for it.
+	 */
+	@Nullable
+	protected AnalysisResults analysisResults(@Nonnull MethodMember method) {
+		String name = method.getName();
+		String desc = method.getDescriptor();
+		MethodAnalysisLookup lookup = methodAnalysisLookups.getOrDefault(name + desc, analysisLookup);
+		if (lookup == null)
+			return null;
+		return lookup.results(name, desc);
+	}
+
 	/**
 	 * Called when {@link #currentClass} is updated.
 	 */
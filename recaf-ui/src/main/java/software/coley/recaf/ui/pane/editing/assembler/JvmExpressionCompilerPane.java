@@ -77,6 +77,11 @@ public JvmExpressionCompilerPane(@Nonnull ExpressionCompiler expressionCompiler,
 				.addObserver(unused -> scheduleCompile());
 	}
 
+	@Override
+	public void disable() {
+		expressionCompiler.close();
+	}
+
 	@Override
 	protected void onClassSelected() {
 		expressionCompiler.clearContext();
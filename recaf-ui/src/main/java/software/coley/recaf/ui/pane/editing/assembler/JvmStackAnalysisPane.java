@@ -135,7 +135,7 @@ private void updateTable() {
 			return;
 
 		// Skip of no method analysis for the current method.
-		AnalysisResults analysisResults = analysisLookup.results(currentMethod.getName(), currentMethod.getDescriptor());
+		AnalysisResults analysisResults = analysisResults(currentMethod);
 		if (analysisResults == null)
 			return;
 
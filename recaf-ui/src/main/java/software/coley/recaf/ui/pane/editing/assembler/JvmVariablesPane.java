@@ -256,7 +256,7 @@ private void updateTable() {
 		}
 
 		// Populate the variables map from the stack analysis results.
-		AnalysisResults analysisResults = analysisLookup.results(currentMethod.getName(), currentMethod.getDescriptor());
+		AnalysisResults analysisResults = analysisResults(currentMethod);
 		if (analysisResults != null && !analysisResults.frames().isEmpty()) {
 			// Linked map for ordering
 			Map<String, VariableData> variables = new LinkedHashMap<>();
@@ -8,8 +8,7 @@
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
 import javafx.event.EventHandler;
 import javafx.geometry.Bounds;
 import javafx.scene.input.KeyCode;
@@ -23,18 +22,20 @@
 import software.coley.recaf.ui.pane.editing.hex.ops.HexAccess;
 import software.coley.recaf.ui.pane.editing.hex.ops.HexNavigation;
 import software.coley.recaf.ui.pane.editing.hex.ops.HexOperations;
+import software.coley.recaf.ui.pane.editing.hex.ops.PagedHexAccess;
 import software.coley.recaf.util.FxThreadUtil;
 import software.coley.recaf.util.NodeEvents;
 
-import java.util.Arrays;
-import java.util.List;
+import java.lang.foreign.MemorySegment;
+import java.util.AbstractList;
 import java.util.Optional;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Hex editor control.
+ * <p>
+ * Data is never copied as a whole while viewing or editing. Rows read from the underlying content on demand,
+ * and edits are held in {@link PagedHexAccess pages} layered over the original content.
  *
  * @author Matt Coley
  */
@@ -42,13 +43,13 @@
 public class HexEditor extends BorderPane {
 	private static final Logger logger = Logging.get(HexEditor.class);
 	private final HexConfig config;
-	private final ObservableList<Integer> rows = FXCollections.observableArrayList();
+	private final RowList rows = new RowList();
 	private final IntegerProperty rowCount = new SimpleIntegerProperty(0);
 	private final VirtualFlow<Integer, HexRow> flow;
 	private final HexOperations ops = newHexOperations();
 	private Consumer<byte[]> commitAction;
-	private byte[] data;
-	private byte[] dataDefaultState;
+	private PagedHexAccess data;
+	private PagedHexAccess dataDefaultState;
 
 	@Inject
 	public HexEditor(@Nonnull HexConfig config) {
@@ -133,7 +134,7 @@ public void commit() {
 			logger.warn("Tried to commit hex-view contents without assocated data.");
 			return;
 		}
-		if (commitAction != null) commitAction.accept(data);
+		if (commitAction != null) commitAction.accept(data.getData());
 		else logger.warn("Tried to commit hex-view contents without commit action specified.");
 	}
 
@@ -147,6 +148,8 @@ public boolean hasData() {
 	/**
 	 * Used to assign the initial state of the data to display.
 	 * For making modifications to the current data, use {@link #updateData(byte[])} instead.
+	 * <p>
+	 * The array is wrapped rather than copied, and is never modified by the editor.
 	 *
 	 * @param data
 	 * 		Data to assign to the hex-view.
@@ -154,12 +157,7 @@ public boolean hasData() {
 	public void setInitialData(@Nullable byte[] data) {
 		if (data == null)
 			data = new byte[0];
-		else
-			data = Arrays.copyOf(data, data.length);
-		setData0(data);
-
-		// Scroll to the top
-		FxThreadUtil.run(() -> flow.show(0));
+		setData0(MemorySegment.ofArray(data));
 	}
 
 	/**
@@ -173,8 +171,9 @@ public void updateData(@Nonnull byte[] data) {
 			logger.warn("Tried to update hex-view data before setting the initial data state");
 			return;
 		}
-		this.data = data;
+		this.data = new PagedHexAccess(MemorySegment.ofArray(data));
 
+		refreshRowModel();
 		refreshRowDisplay();
 	}
 
@@ -182,35 +181,37 @@ public void updateData(@Nonnull byte[] data) {
 	 * Reset the data content to what it was when initially calling {@link #setInitialData(byte[])}.
 	 */
 	public void resetData() {
-		this.data = Arrays.copyOf(dataDefaultState, dataDefaultState.length);
+		this.data = new PagedHexAccess(dataDefaultState.getBase());
+		refreshRowModel();
 		refreshRowDisplay();
 	}
 
 	/**
-	 * @param data
+	 * @param segment
 	 * 		Data to set.
 	 */
-	private void setData0(@Nonnull byte[] data) {
-		this.data = data;
-		this.dataDefaultState = Arrays.copyOf(data, data.length);
+	private void setData0(@Nonnull MemorySegment segment) {
+		this.data = new PagedHexAccess(segment);
+		this.dataDefaultState = new PagedHexAccess(segment);
 
 		// Refresh model/display.
 		refreshRowModel();
 		refreshRowDisplay();
+
+		// Scroll to the top
+		FxThreadUtil.run(() -> flow.show(0));
 	}
 
 	/**
 	 * Called when {@link #data} is updated and requires recomputing how many rows need to be displayed.
 	 */
 	private void refreshRowModel() {
-		// Update observable list model to generate the numbers of rows we want to show.
+		// Update the row model to represent the numbers of rows we want to show.
+		// Row values are computed from their index, so this is constant time regardless of the data size.
 		double rowLength = config.getRowLength().getValue().doubleValue();
-		int rowCount = (int) Math.max(1, Math.ceil(data.length / rowLength));
-		if (rowCount != this.rows.size()) {
-			// Start at -1 since we use that as an edge case to display the column titles and such.
-			List<Integer> zeroToRowMax = IntStream.range(-1, rowCount)
-					.boxed().collect(Collectors.toList());
-			this.rows.setAll(zeroToRowMax);
+		int rowCount = (int) Math.max(1, Math.ceil(data.length() / rowLength));
+		if (rowCount != this.rows.getRowCount()) {
+			this.rows.setRowCount(rowCount);
 			this.rowCount.setValue(rowCount);
 		}
 	}
@@ -275,8 +276,6 @@ private int offsetToRowIndex(int offset) {
 	private HexOperations newHexOperations() {
 		IntegerProperty focusedOffset = new SimpleIntegerProperty(0);
 		BooleanProperty isHexColumActive = new SimpleBooleanProperty(true);
-		HexAccess currentRead = () -> data;
-		HexAccess originalRead = () -> dataDefaultState;
 		HexNavigation navigation = new HexNavigation() {
 			@Override
 			public int selectionOffset() {
@@ -302,7 +301,7 @@ public void switchColumns() {
 
 			@Override
 			public void select(int offset) {
-				int max = currentRead.length();
+				int max = data.length();
 				int clampedOffset = Math.clamp(offset, 0, max - 1);
 
 				focusedOffset.setValue(clampedOffset);
@@ -371,13 +370,13 @@ public void selectUp(int rows) {
 			@Nonnull
 			@Override
 			public HexAccess currentAccess() {
-				return currentRead;
+				return data;
 			}
 
 			@Nonnull
 			@Override
 			public HexAccess originalAccess() {
-				return originalRead;
+				return dataDefaultState;
 			}
 
 			@Nonnull
@@ -438,4 +437,60 @@ interface CellConsumer {
 			}
 		};
 	}
+
+	/**
+	 * Row model where each value is derived from its index, so no per-row state is allocated.
+	 * Index {@code 0} holds {@code -1}, which is used as an edge case to display the column titles and such.
+	 */
+	private static class RowList extends ObservableListBase<Integer> {
+		private int rowCount;
+
+		/**
+		 * @return Number of data rows, excluding the header row.
+		 */
+		private int getRowCount() {
+			return rowCount;
+		}
+
+		/**
+		 * @param newRowCount
+		 * 		Number of data rows, excluding the header row.
+		 */
+		private void setRowCount(int newRowCount) {
+			int oldSize = size();
+			rowCount = newRowCount;
+			int newSize = size();
+			beginChange();
+			if (newSize > oldSize) {
+				nextAdd(oldSize, newSize);
+			} else if (newSize < oldSize) {
+				// Removed values are derived from their index, like the values in the list itself.
+				nextRemove(newSize, new AbstractList<>() {
+					@Override
+					public Integer get(int index) {
+						return newSize + index - 1;
+					}
+
+					@Override
+					public int size() {
+						return oldSize - newSize;
+					}
+				});
+			}
+			endChange();
+		}
+
+		@Override
+		public Integer get(int index) {
+			if (index < 0 || index >= size())
+				throw new IndexOutOfBoundsException(index);
+			return index - 1;
+		}
+
+		@Override
+		public int size() {
+			// Plus one for the header row, which is only shown when there is data
+			return rowCount == 0 ? 0 : rowCount + 1;
+		}
+	}
 }
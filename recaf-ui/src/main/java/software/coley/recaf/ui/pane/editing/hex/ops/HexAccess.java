@@ -1,22 +1,27 @@
 package software.coley.recaf.ui.pane.editing.hex.ops;
 
+import jakarta.annotation.Nonnull;
+
 /**
  * Outlines the data access model for the hex editor.
  *
  * @author Matt Coley
+ * @see PagedHexAccess Default implementation.
  */
 public interface HexAccess {
 	/**
+	 * Implementations are not required to hold data as a single array, so this may create a copy.
+	 * For reading individual values, use {@link #getByte(int)} instead.
+	 *
 	 * @return Data to operate on.
 	 */
+	@Nonnull
 	byte[] getData();
 
 	/**
 	 * @return Length of the data.
 	 */
-	default int length() {
-		return getData().length;
-	}
+	int length();
 
 	/**
 	 * @param offset
@@ -24,11 +29,7 @@ default int length() {
 	 *
 	 * @return Value at offset. Any out of bounds value is mapped to {@code 0}.
 	 */
-	default byte getByte(int offset) {
-		if (isInBounds(offset))
-			return getData()[offset];
-		return 0;
-	}
+	byte getByte(int offset);
 
 	/**
 	 * @param offset
@@ -41,7 +42,7 @@ default boolean isInBounds(int offset) {
 	}
 
 	/**
-	 * Update the {@link #getData() data} model with the given value at the given offset.
+	 * Update the data model with the given value at the given offset.
 	 * Does nothing if the offset is outside the data bounds.
 	 *
 	 * @param offset
@@ -49,7 +50,5 @@ default boolean isInBounds(int offset) {
 	 * @param b
 	 * 		Value to set.
 	 */
-	default void setByte(int offset, byte b) {
-		if (isInBounds(offset)) getData()[offset] = b;
-	}
+	void setByte(int offset, byte b);
 }
@@ -0,0 +1,99 @@
+package software.coley.recaf.ui.pane.editing.hex.ops;
+
+import jakarta.annotation.Nonnull;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hex data access over a read-only base segment, with edits layered on top in copy-on-write pages.
+ * <p>
+ * The base content is never copied up-front, so wrapping a large memory-mapped source is instant.
+ * The first edit to a page copies only that page, and later edits to it are applied in place.
+ *
+ * @author Matt Coley
+ */
+public class PagedHexAccess implements HexAccess {
+	/** Size of edit pages. Must be a power of two. */
+	public static final int PAGE_SIZE = 4096;
+	private static final int PAGE_SHIFT = Integer.numberOfTrailingZeros(PAGE_SIZE);
+	private static final int PAGE_MASK = PAGE_SIZE - 1;
+	private final Map<Integer, byte[]> dirtyPages = new HashMap<>();
+	private final MemorySegment base;
+	private final int length;
+
+	/**
+	 * @param base
+	 * 		Base content to read from. Never written to.
+	 */
+	public PagedHexAccess(@Nonnull MemorySegment base) {
+		this.base = base;
+
+		// Offsets in the editor are int-based, so content past that is not addressable.
+		length = (int) Math.min(base.byteSize(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @return Base content, without any edits applied.
+	 */
+	@Nonnull
+	public MemorySegment getBase() {
+		return base;
+	}
+
+	/**
+	 * @return {@code true} when any page has been edited.
+	 */
+	public boolean hasEdits() {
+		return !dirtyPages.isEmpty();
+	}
+
+	@Nonnull
+	@Override
+	public byte[] getData() {
+		byte[] data = new byte[length];
+		MemorySegment.copy(base, ValueLayout.JAVA_BYTE, 0, data, 0, length);
+		for (Map.Entry<Integer, byte[]> entry : dirtyPages.entrySet()) {
+			int pageStart = entry.getKey() << PAGE_SHIFT;
+			byte[] page = entry.getValue();
+			System.arraycopy(page, 0, data, pageStart, Math.min(page.length, length - pageStart));
+		}
+		return data;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public byte getByte(int offset) {
+		if (!isInBounds(offset))
+			return 0;
+		if (!dirtyPages.isEmpty()) {
+			byte[] page = dirtyPages.get(offset >>> PAGE_SHIFT);
+			if (page != null)
+				return page[offset & PAGE_MASK];
+		}
+		return base.get(ValueLayout.JAVA_BYTE, offset);
+	}
+
+	@Override
+	public void setByte(int offset, byte b) {
+		if (!isInBounds(offset))
+			return;
+		byte[] page = dirtyPages.computeIfAbsent(offset >>> PAGE_SHIFT, this::copyPage);
+		page[offset & PAGE_MASK] = b;
+	}
+
+	@Nonnull
+	private byte[] copyPage(int pageIndex) {
+		int pageStart = pageIndex << PAGE_SHIFT;
+		int pageLength = Math.min(PAGE_SIZE, length - pageStart);
+		byte[] page = new byte[pageLength];
+		MemorySegment.copy(base, ValueLayout.JAVA_BYTE, pageStart, page, 0, pageLength);
+		return page;
+	}
+}
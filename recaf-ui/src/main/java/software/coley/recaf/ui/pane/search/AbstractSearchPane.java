@@ -4,8 +4,11 @@
 import jakarta.annotation.Nullable;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
 import software.coley.recaf.path.IncompletePathException;
 import software.coley.recaf.path.PathNode;
 import software.coley.recaf.path.PathNodes;
@@ -19,10 +22,12 @@
 import software.coley.recaf.services.search.result.Result;
 import software.coley.recaf.services.search.result.Results;
 import software.coley.recaf.services.workspace.WorkspaceManager;
+import software.coley.recaf.ui.control.ActionButton;
+import software.coley.recaf.ui.control.BoundLabel;
 import software.coley.recaf.ui.control.PathNodeTree;
-import software.coley.recaf.ui.control.tree.TreeItems;
 import software.coley.recaf.ui.control.tree.WorkspaceTreeNode;
 import software.coley.recaf.util.FxThreadUtil;
+import software.coley.recaf.util.Lang;
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.util.Collection;
@@ -45,6 +50,7 @@ public abstract class AbstractSearchPane extends BorderPane implements Navigable
 	protected final PathNodeTree liveResultsTree;
 	protected final BooleanProperty liveResults = new SimpleBooleanProperty(true);
 	private CancellableSearchFeedback lastSearchFeedback;
+	private SearchResultBuffer lastResultBuffer;
 
 	/**
 	 * Create the base outline of a search panel capabilities.
@@ -151,6 +157,9 @@ protected PathNodeTree newTree() {
 
 	/**
 	 * Initiates the search with current search inputs. Updates the output display.
+	 * <p>
+	 * Results are passed through a {@link SearchResultBuffer} so that the output tree is updated in batches
+	 * on the FX thread, rather than once per result from the search threads.
 	 */
 	protected final void search() {
 		// Skip if the panel has been disabled (occurs when closing it).
@@ -177,34 +186,63 @@ protected final void search() {
 			return;
 
 		// Run new search.
+		SearchResultBuffer buffer = new SearchResultBuffer(root);
+		setBottom(newShowMoreBar(buffer));
 		CancellableSearchFeedback feedback;
 		if (liveResults.get()) {
-			feedback = new LiveOnlySearchFeedback(result -> {
-				// Search is multi-threaded, so we will want to lock on the root to prevent concurrent-modification errors
-				synchronized (root) {
-					WorkspaceTreeNode node = WorkspaceTreeNode.getOrInsertIntoTree(root, result.getPath(), false);
-					TreeItems.expandParents(node);
-				}
-			});
+			feedback = new LiveOnlySearchFeedback(buffer::add);
 			CompletableFuture.runAsync(() -> searchService.search(workspace, query, feedback));
 		} else {
 			feedback = new CancellableSearchFeedback();
 			CompletableFuture.supplyAsync(() -> searchService.search(workspace, query, feedback))
-					.thenAccept(this::handleSearchResults);
+					.thenAccept(results -> {
+						// Skip results of searches that were replaced by a newer search.
+						if (!feedback.hasRequestedCancellation())
+							handleSearchResults(results, buffer, tree);
+					});
 		}
 		lastSearchFeedback = feedback;
+		lastResultBuffer = buffer;
 	}
 
 	/**
 	 * Called when a search completes that is not {@link #liveResults live}.
+	 * Populates the results tree of the search, and displays it.
 	 *
 	 * @param results
 	 * 		Results of a non-live search.
+	 * @param buffer
+	 * 		Buffer of the search, to pass the results through.
+	 * @param tree
+	 * 		Tree of the search, to display.
 	 */
-	protected void handleSearchResults(@Nonnull Results results) {
-		// TODO: Handle displaying the results for non-live search
-		//  - put display in center, should be a PathNodeTree model, ideally dockable so user can move it around
-		//  - maybe have the toggle for "[x] live" be an overlay like the "(i)" in decompile UI
+	protected void handleSearchResults(@Nonnull Results results, @Nonnull SearchResultBuffer buffer, @Nonnull PathNodeTree tree) {
+		buffer.addAll(results);
+		FxThreadUtil.run(() -> {
+			// Skip showing the tree if a newer search replaced this one in the meantime.
+			if (!liveResults.get() && lastResultBuffer == buffer)
+				setCenter(tree);
+		});
+	}
+
+	/**
+	 * @param buffer
+	 * 		Buffer of the current search's results.
+	 *
+	 * @return Bar showing how many results are shown, with a button to show more.
+	 * Only visible when there are results held back from display.
+	 */
+	@Nonnull
+	private Node newShowMoreBar(@Nonnull SearchResultBuffer buffer) {
+		BoundLabel label = new BoundLabel(Lang.format("search.results-shown",
+				buffer.shownCountProperty(), buffer.totalCountProperty()));
+		ActionButton button = new ActionButton(Lang.getBinding("search.show-more"), buffer::showMore);
+		HBox bar = new HBox(10, label, button);
+		bar.setAlignment(Pos.CENTER_LEFT);
+		bar.setPadding(new Insets(5, 10, 5, 10));
+		bar.visibleProperty().bind(buffer.totalCountProperty().greaterThan(buffer.shownCountProperty()));
+		bar.managedProperty().bind(bar.visibleProperty());
+		return bar;
 	}
 
 	/**
@@ -215,6 +253,11 @@ private void cancelLastSearch() {
 			lastSearchFeedback.cancel();
 			lastSearchFeedback = null;
 		}
+		if (lastResultBuffer != null) {
+			lastResultBuffer.close();
+			lastResultBuffer = null;
+		}
+		setBottom(null);
 	}
 
 	/**
@@ -0,0 +1,224 @@
+package software.coley.recaf.ui.pane.search;
+
+import jakarta.annotation.Nonnull;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import software.coley.recaf.path.DirectoryPathNode;
+import software.coley.recaf.path.PathNode;
+import software.coley.recaf.path.WorkspacePathNode;
+import software.coley.recaf.services.search.result.Result;
+import software.coley.recaf.ui.control.tree.WorkspaceTreeNode;
+import software.coley.recaf.util.FxThreadUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects search results from any thread and flushes them into a tree model on the FX thread.
+ * <p>
+ * Results are queued off the FX thread as the series of tree paths leading to them. Each flush takes as many
+ * queued results as fit in a small time budget, merges them into a trie of paths, and then inserts the trie into
+ * the tree. New children of any tree node are added in a single change, so the tree is updated once per flush
+ * rather than once per result. Only {@link #PAGE_SIZE} results are shown at a time, with the rest held back until
+ * {@link #showMore()} is called.
+ *
+ * @author Matt Coley
+ */
+public class SearchResultBuffer {
+	/**
+	 * Number of results to show before holding the remaining results back.
+	 */
+	public static final int PAGE_SIZE = 10_000;
+	private static final long FLUSH_DELAY_MS = 50;
+	private static final long FLUSH_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(8);
+	private final Queue<List<PathNode<?>>> pending = new ConcurrentLinkedQueue<>();
+	private final Queue<List<PathNode<?>>> held = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+	private final AtomicInteger received = new AtomicInteger();
+	private final AtomicInteger limit = new AtomicInteger(PAGE_SIZE);
+	private final Map<PathNode<?>, WorkspaceTreeNode> nodes = new HashMap<>();
+	private final IntegerProperty shownCount = new SimpleIntegerProperty();
+	private final IntegerProperty totalCount = new SimpleIntegerProperty();
+	private final WorkspaceTreeNode root;
+	private volatile boolean closed;
+
+	/**
+	 * @param root
+	 * 		Root of the tree to insert results into.
+	 */
+	public SearchResultBuffer(@Nonnull WorkspaceTreeNode root) {
+		this.root = root;
+	}
+
+	/**
+	 * May be called from any thread.
+	 *
+	 * @param result
+	 * 		Result to add to the tree.
+	 */
+	public void add(@Nonnull Result<?> result) {
+		if (closed)
+			return;
+		List<PathNode<?>> chain = chain(result.getPath());
+		if (received.getAndIncrement() < limit.get())
+			pending.add(chain);
+		else
+			held.add(chain);
+		scheduleFlush();
+	}
+
+	/**
+	 * May be called from any thread.
+	 *
+	 * @param results
+	 * 		Results to add to the tree.
+	 */
+	public void addAll(@Nonnull Collection<? extends Result<?>> results) {
+		for (Result<?> result : results)
+			add(result);
+	}
+
+	/**
+	 * Allows the next {@link #PAGE_SIZE} held back results to be shown.
+	 */
+	public void showMore() {
+		limit.addAndGet(PAGE_SIZE);
+		List<PathNode<?>> chain;
+		for (int i = 0; i < PAGE_SIZE && (chain = held.poll()) != null; i++)
+			pending.add(chain);
+		scheduleFlush();
+	}
+
+	/**
+	 * Stops any further updates to the tree.
+	 */
+	public void close() {
+		closed = true;
+		pending.clear();
+		held.clear();
+	}
+
+	/**
+	 * @return Number of results shown in the tree. Updated on the FX thread.
+	 */
+	@Nonnull
+	public ReadOnlyIntegerProperty shownCountProperty() {
+		return shownCount;
+	}
+
+	/**
+	 * @return Number of results received, including those not yet shown. Updated on the FX thread.
+	 */
+	@Nonnull
+	public ReadOnlyIntegerProperty totalCountProperty() {
+		return totalCount;
+	}
+
+	private void scheduleFlush() {
+		if (flushScheduled.compareAndSet(false, true))
+			FxThreadUtil.delayedRun(FLUSH_DELAY_MS, this::flush);
+	}
+
+	/**
+	 * Inserts queued results into the tree, stopping early if the time budget of a flush runs out.
+	 * Must be called on the FX thread.
+	 */
+	private void flush() {
+		flushScheduled.set(false);
+		if (closed)
+			return;
+
+		long deadline = System.nanoTime() + FLUSH_BUDGET_NANOS;
+		PathTrie trie = new PathTrie();
+		int count = 0;
+		List<PathNode<?>> chain;
+		while ((chain = pending.poll()) != null) {
+			trie.insert(chain);
+			if ((++count & 0xFF) == 0 && System.nanoTime() > deadline)
+				break;
+		}
+		merge(root, trie);
+		shownCount.set(shownCount.get() + count);
+		totalCount.set(received.get());
+
+		// Continue with the remaining results in a later pulse so the UI stays responsive.
+		if (!pending.isEmpty())
+			scheduleFlush();
+	}
+
+	/**
+	 * @param parent
+	 * 		Tree node to insert into.
+	 * @param trie
+	 * 		Trie of paths to insert as children of the tree node.
+	 */
+	private void merge(@Nonnull WorkspaceTreeNode parent, @Nonnull PathTrie trie) {
+		List<WorkspaceTreeNode> added = null;
+		for (Map.Entry<PathNode<?>, PathTrie> entry : trie.children.entrySet()) {
+			PathNode<?> path = entry.getKey();
+			PathTrie childTrie = entry.getValue();
+			WorkspaceTreeNode node = nodes.get(path);
+			if (node == null) {
+				node = new WorkspaceTreeNode(path);
+				nodes.put(path, node);
+				if (added == null) added = new ArrayList<>();
+				added.add(node);
+			}
+			if (!childTrie.children.isEmpty()) {
+				// Children of new nodes are populated before the node is attached to the tree.
+				node.setExpanded(true);
+				merge(node, childTrie);
+			}
+		}
+		if (added != null)
+			parent.addAndSortChildren(added);
+	}
+
+	/**
+	 * @param path
+	 * 		Path of a result.
+	 *
+	 * @return Paths of each tree node leading to the result, not including the workspace root.
+	 * Directories are split into a path for each level, matching {@link WorkspaceTreeNode#getOrInsertIntoTree}.
+	 */
+	@Nonnull
+	private static List<PathNode<?>> chain(@Nonnull PathNode<?> path) {
+		List<PathNode<?>> chain = new ArrayList<>();
+		for (PathNode<?> node = path; node != null && !(node instanceof WorkspacePathNode); node = node.getParent()) {
+			if (node instanceof DirectoryPathNode directoryPath) {
+				String directory = directoryPath.getValue();
+				int end = directory.length();
+				while (end >= 0) {
+					chain.add(directoryPath.withDirectory(directory.substring(0, end)));
+					end = directory.lastIndexOf('/', end - 1);
+				}
+			} else {
+				chain.add(node);
+			}
+		}
+		return chain.reversed();
+	}
+
+	/**
+	 * Trie of paths to insert into the tree in a single flush.
+	 */
+	private static class PathTrie {
+		private final Map<PathNode<?>, PathTrie> children = new LinkedHashMap<>();
+
+		private void insert(@Nonnull List<PathNode<?>> chain) {
+			PathTrie trie = this;
+			for (PathNode<?> path : chain)
+				trie = trie.children.computeIfAbsent(path, p -> new PathTrie());
+		}
+	}
+}
@@ -0,0 +1,291 @@
+package software.coley.recaf.ui.window;
+
+import jakarta.annotation.Nonnull;
+import org.slf4j.Logger;
+import software.coley.recaf.analytics.logging.Logging;
+import software.coley.recaf.info.AndroidClassInfo;
+import software.coley.recaf.info.ClassInfo;
+import software.coley.recaf.info.FileInfo;
+import software.coley.recaf.info.JvmClassInfo;
+import software.coley.recaf.info.member.ClassMember;
+import software.coley.recaf.path.BundlePathNode;
+import software.coley.recaf.path.ClassMemberPathNode;
+import software.coley.recaf.path.ClassPathNode;
+import software.coley.recaf.path.FilePathNode;
+import software.coley.recaf.path.LineNumberPathNode;
+import software.coley.recaf.path.PathNodes;
+import software.coley.recaf.path.WorkspacePathNode;
+import software.coley.recaf.util.TrigramIndex;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
+import software.coley.recaf.workspace.model.Workspace;
+import software.coley.recaf.workspace.model.WorkspaceModificationListener;
+import software.coley.recaf.workspace.model.bundle.AndroidClassBundle;
+import software.coley.recaf.workspace.model.bundle.Bundle;
+import software.coley.recaf.workspace.model.bundle.ClassBundle;
+import software.coley.recaf.workspace.model.bundle.FileBundle;
+import software.coley.recaf.workspace.model.bundle.JvmClassBundle;
+import software.coley.recaf.workspace.model.resource.ResourceAndroidClassListener;
+import software.coley.recaf.workspace.model.resource.ResourceFileListener;
+import software.coley.recaf.workspace.model.resource.ResourceJvmClassListener;
+import software.coley.recaf.workspace.model.resource.WorkspaceResource;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+/**
+ * Navigation index of a workspace for {@link QuickNavWindow}.
+ * <p>
+ * The index is populated in the background, and then kept up-to-date by workspace and resource listeners.
+ * All index modifications run on a single thread, so updates are always applied in order after the initial build.
+ *
+ * @author Matt Coley
+ */
+public class QuickNavIndex implements WorkspaceModificationListener,
+		ResourceJvmClassListener, ResourceAndroidClassListener, ResourceFileListener {
+	private static final Logger logger = Logging.get(QuickNavIndex.class);
+	private static final ExecutorService indexPool = ThreadPoolFactory.newSingleThreadExecutor("quick-nav-index");
+	private final TrigramIndex<ClassPathNode> classIndex = new TrigramIndex<>(true);
+	private final TrigramIndex<ClassMemberPathNode> memberIndex = new TrigramIndex<>(true);
+	private final TrigramIndex<FilePathNode> fileIndex = new TrigramIndex<>(true);
+	private final TrigramIndex<LineNumberPathNode> textIndex = new TrigramIndex<>(false);
+	private final CompletableFuture<Void> buildFuture;
+	private final WorkspacePathNode workspacePath;
+	private final Workspace workspace;
+	private volatile boolean disposed;
+
+	/**
+	 * @param workspace
+	 * 		Workspace to index.
+	 */
+	public QuickNavIndex(@Nonnull Workspace workspace) {
+		this.workspace = workspace;
+		workspacePath = PathNodes.workspacePath(workspace);
+
+		// Register listeners before building so that no changes are missed.
+		// Since all updates go through the same single-threaded pool, they will be handled after the build.
+		workspace.addWorkspaceModificationListener(this);
+		for (WorkspaceResource resource : workspace.getAllResources(false))
+			resource.addListener(this);
+		buildFuture = CompletableFuture.runAsync(this::build, indexPool);
+	}
+
+	/**
+	 * Removes listeners and clears the index.
+	 */
+	public void dispose() {
+		disposed = true;
+		workspace.removeWorkspaceModificationListener(this);
+		for (WorkspaceResource resource : workspace.getAllResources(false))
+			resource.removeListener(this);
+		indexPool.submit(() -> {
+			classIndex.clear();
+			memberIndex.clear();
+			fileIndex.clear();
+			textIndex.clear();
+		});
+	}
+
+	/**
+	 * @return Future of the initial index population.
+	 */
+	@Nonnull
+	public CompletableFuture<Void> whenBuilt() {
+		return buildFuture;
+	}
+
+	/**
+	 * @return Indexed workspace.
+	 */
+	@Nonnull
+	public Workspace getWorkspace() {
+		return workspace;
+	}
+
+	/**
+	 * @return Index of class names.
+	 */
+	@Nonnull
+	public TrigramIndex<ClassPathNode> getClassIndex() {
+		return classIndex;
+	}
+
+	/**
+	 * @return Index of field and method names.
+	 */
+	@Nonnull
+	public TrigramIndex<ClassMemberPathNode> getMemberIndex() {
+		return memberIndex;
+	}
+
+	/**
+	 * @return Index of file names.
+	 */
+	@Nonnull
+	public TrigramIndex<FilePathNode> getFileIndex() {
+		return fileIndex;
+	}
+
+	/**
+	 * @return Index of lines in text files.
+	 */
+	@Nonnull
+	public TrigramIndex<LineNumberPathNode> getTextIndex() {
+		return textIndex;
+	}
+
+	private void build() {
+		long start = System.currentTimeMillis();
+		for (WorkspaceResource resource : workspace.getAllResources(true))
+			addResource(resource);
+		logger.debug("Built quick-nav index in {}ms: {} classes, {} members, {} files, {} text lines",
+				System.currentTimeMillis() - start, classIndex.size(), memberIndex.size(),
+				fileIndex.size(), textIndex.size());
+	}
+
+	private void addResource(@Nonnull WorkspaceResource resource) {
+		Stream.concat(resource.jvmClassBundleStreamRecursive(), resource.versionedJvmClassBundleStreamRecursive())
+				.forEach(bundle -> bundle.values().forEach(cls -> addClass(resource, bundle, cls)));
+		resource.androidClassBundleStreamRecursive()
+				.forEach(bundle -> bundle.values().forEach(cls -> addClass(resource, bundle, cls)));
+		resource.fileBundleStreamRecursive()
+				.forEach(bundle -> bundle.values().forEach(file -> addFile(resource, bundle, file)));
+	}
+
+	private void removeResource(@Nonnull WorkspaceResource resource) {
+		Stream.concat(resource.jvmClassBundleStreamRecursive(), resource.versionedJvmClassBundleStreamRecursive())
+				.forEach(bundle -> bundle.values().forEach(cls -> removeClass(bundle, cls)));
+		resource.androidClassBundleStreamRecursive()
+				.forEach(bundle -> bundle.values().forEach(cls -> removeClass(bundle, cls)));
+		resource.fileBundleStreamRecursive()
+				.forEach(bundle -> bundle.values().forEach(file -> removeFile(bundle, file)));
+	}
+
+	private void addClass(@Nonnull WorkspaceResource resource, @Nonnull ClassBundle<?> bundle, @Nonnull ClassInfo cls) {
+		ItemKey key = new ItemKey(bundle, cls.getName());
+		BundlePathNode bundlePath = workspacePath.child(resource).child(bundle);
+		ClassPathNode classPath = bundlePath.child(cls.getPackageName()).child(cls);
+		classIndex.add(key, classPath, cls.getName());
+		for (ClassMember member : cls.getFields())
+			memberIndex.add(key, classPath.child(member), member.getName());
+		for (ClassMember member : cls.getMethods())
+			memberIndex.add(key, classPath.child(member), member.getName());
+	}
+
+	private void removeClass(@Nonnull ClassBundle<?> bundle, @Nonnull ClassInfo cls) {
+		ItemKey key = new ItemKey(bundle, cls.getName());
+		classIndex.remove(key);
+		memberIndex.remove(key);
+	}
+
+	private void addFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundle, @Nonnull FileInfo file) {
+		ItemKey key = new ItemKey(bundle, file.getName());
+		BundlePathNode bundlePath = workspacePath.child(resource).child(bundle);
+		FilePathNode filePath = bundlePath.child(file.getDirectoryName()).child(file);
+		fileIndex.add(key, filePath, file.getName());
+		if (file.isTextFile()) {
+			String[] lines = file.asTextFile().getTextLines();
+			for (int i = 0; i < lines.length; i++)
+				textIndex.add(key, filePath.child(i + 1), lines[i]);
+		}
+	}
+
+	private void removeFile(@Nonnull FileBundle bundle, @Nonnull FileInfo file) {
+		ItemKey key = new ItemKey(bundle, file.getName());
+		fileIndex.remove(key);
+		textIndex.remove(key);
+	}
+
+	private void submit(@Nonnull Runnable action) {
+		if (!disposed)
+			indexPool.submit(() -> {
+				if (!disposed) action.run();
+			});
+	}
+
+	@Override
+	public void onAddLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+		library.addListener(this);
+		submit(() -> addResource(library));
+	}
+
+	@Override
+	public void onRemoveLibrary(@Nonnull Workspace workspace, @Nonnull WorkspaceResource library) {
+		library.removeListener(this);
+		submit(() -> removeResource(library));
+	}
+
+	@Override
+	public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+		submit(() -> addClass(resource, bundle, cls));
+	}
+
+	@Override
+	public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo oldCls, @Nonnull JvmClassInfo newCls) {
+		submit(() -> {
+			removeClass(bundle, oldCls);
+			addClass(resource, bundle, newCls);
+		});
+	}
+
+	@Override
+	public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull JvmClassBundle bundle, @Nonnull JvmClassInfo cls) {
+		submit(() -> removeClass(bundle, cls));
+	}
+
+	@Override
+	public void onNewClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
+		submit(() -> addClass(resource, bundle, cls));
+	}
+
+	@Override
+	public void onUpdateClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo oldCls, @Nonnull AndroidClassInfo newCls) {
+		submit(() -> {
+			removeClass(bundle, oldCls);
+			addClass(resource, bundle, newCls);
+		});
+	}
+
+	@Override
+	public void onRemoveClass(@Nonnull WorkspaceResource resource, @Nonnull AndroidClassBundle bundle, @Nonnull AndroidClassInfo cls) {
+		submit(() -> removeClass(bundle, cls));
+	}
+
+	@Override
+	public void onNewFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundle, @Nonnull FileInfo file) {
+		submit(() -> addFile(resource, bundle, file));
+	}
+
+	@Override
+	public void onUpdateFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundle, @Nonnull FileInfo oldFile, @Nonnull FileInfo newFile) {
+		submit(() -> {
+			removeFile(bundle, oldFile);
+			addFile(resource, bundle, newFile);
+		});
+	}
+
+	@Override
+	public void onRemoveFile(@Nonnull WorkspaceResource resource, @Nonnull FileBundle bundle, @Nonnull FileInfo file) {
+		submit(() -> removeFile(bundle, file));
+	}
+
+	/**
+	 * Key of an indexed class or file. Bundles are compared by identity.
+	 *
+	 * @param bundle
+	 * 		Bundle containing the item.
+	 * @param name
+	 * 		Name of the item.
+	 */
+	private record ItemKey(@Nonnull Bundle<?> bundle, @Nonnull String name) {
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof ItemKey other && bundle == other.bundle && name.equals(other.name);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(bundle) + name.hashCode();
+		}
+	}
+}
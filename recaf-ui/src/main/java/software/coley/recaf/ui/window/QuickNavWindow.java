@@ -22,6 +22,7 @@
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 import org.fxmisc.flowless.Cell;
 import org.fxmisc.flowless.VirtualFlow;
 import org.fxmisc.flowless.VirtualizedScrollPane;
@@ -51,26 +52,35 @@
 import software.coley.recaf.ui.control.BoundTab;
 import software.coley.recaf.ui.control.FontIconView;
 import software.coley.recaf.util.*;
+import software.coley.recaf.util.threading.ThreadPoolFactory;
 import software.coley.recaf.workspace.model.Workspace;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
  * Window for quickly opening classes, fields, methods, files, and other supported content.
+ * <p>
+ * Names and text lines are looked up in a {@link QuickNavIndex} of the current workspace, which is
+ * populated in the background when the window is first shown and kept up-to-date with workspace changes.
  *
  * @author Matt Coley
  */
 @Dependent
 public class QuickNavWindow extends AbstractIdentifiableStage {
 	private static final Logger logger = Logging.get(QuickNavWindow.class);
+	private static final ExecutorService searchPool = ThreadPoolFactory.newSingleThreadExecutor("quick-nav-search");
+	private static final int MAX_RESULTS = 10_000;
+	private QuickNavIndex index;
 
 	@Inject
 	public QuickNavWindow(@Nonnull WorkspaceManager workspaceManager, @Nonnull CommentManager commentManager,
@@ -78,12 +88,10 @@ public QuickNavWindow(@Nonnull WorkspaceManager workspaceManager, @Nonnull Comme
 						  @Nonnull CellConfigurationService configurationService) {
 		super(WindowManager.WIN_QUICK_NAV);
 
-		OneToOneContentPane<ClassPathNode> classContent = new OneToOneContentPane<>(actions, this, () -> {
-			Workspace current = workspaceManager.getCurrent();
-			if (current == null)
-				return Stream.empty();
-			return current.classesStream();
-		}, classPath -> classPath.getValue().getName(), cell -> {
+		IndexedContentPane<ClassPathNode> classContent = new IndexedContentPane<>(actions, this, () -> {
+			QuickNavIndex current = index;
+			return current == null ? null : current.getClassIndex();
+		}, cell -> {
 			ClassPathNode classPath = cell.getItem();
 			DirectoryPathNode packagePath = Objects.requireNonNull(classPath.getParent());
 			String packageName = packagePath.getValue();
@@ -108,17 +116,10 @@ public QuickNavWindow(@Nonnull WorkspaceManager workspaceManager, @Nonnull Comme
 
 			cell.setOnMouseClicked(configurationService.contextMenuHandlerOf(cell, classPath, ContextSource.REFERENCE));
 		});
-		OneToOneContentPane<ClassMemberPathNode> memberContent = new OneToOneContentPane<>(actions, this, () -> {
-			Workspace current = workspaceManager.getCurrent();
-			if (current == null)
-				return Stream.empty();
-			return current.classesStream().flatMap(p -> {
-				ClassInfo classInfo = p.getValue();
-				Stream<ClassMemberPathNode> fields = classInfo.getFields().stream().map(p::child);
-				Stream<ClassMemberPathNode> methods = classInfo.getMethods().stream().map(p::child);
-				return Stream.concat(fields, methods);
-			});
-		}, classMemberPath -> classMemberPath.getValue().getName(), cell -> {
+		IndexedContentPane<ClassMemberPathNode> memberContent = new IndexedContentPane<>(actions, this, () -> {
+			QuickNavIndex current = index;
+			return current == null ? null : current.getMemberIndex();
+		}, cell -> {
 			ClassMemberPathNode memberPath = cell.getItem();
 			ClassPathNode classPath = Objects.requireNonNull(memberPath.getParent());
 
@@ -139,12 +140,10 @@ public QuickNavWindow(@Nonnull WorkspaceManager workspaceManager, @Nonnull Comme
 
 			cell.setOnMouseClicked(configurationService.contextMenuHandlerOf(cell, memberPath, ContextSource.REFERENCE));
 		});
-		OneToOneContentPane<FilePathNode> fileContent = new OneToOneContentPane<>(actions, this, () -> {
-			Workspace current = workspaceManager.getCurrent();
-			if (current == null)
-				return Stream.empty();
-			return current.filesStream();
-		}, filePath -> filePath.getValue().getName(), cell -> {
+		IndexedContentPane<FilePathNode> fileContent = new IndexedContentPane<>(actions, this, () -> {
+			QuickNavIndex current = index;
+			return current == null ? null : current.getFileIndex();
+		}, cell -> {
 			FilePathNode filePath = cell.getItem();
 			DirectoryPathNode directoryPath = Objects.requireNonNull(filePath.getParent());
 			String directoryName = directoryPath.getValue();
@@ -169,20 +168,9 @@ public QuickNavWindow(@Nonnull WorkspaceManager workspaceManager, @Nonnull Comme
 
 			cell.setOnMouseClicked(configurationService.contextMenuHandlerOf(cell, filePath, ContextSource.REFERENCE));
 		});
-		OneToManyContentPane<FilePathNode, LineNumberPathNode> textContent = new OneToManyContentPane<>(actions, this, () -> {
-			Workspace current = workspaceManager.getCurrent();
-			if (current == null)
-				return Stream.empty();
-			return current.filesStream()
-					.filter(f -> f.getValue().isTextFile());
-		}, filePath -> {
-			TextFileInfo textFile = filePath.getValue().asTextFile();
-			int lineCount = StringUtil.count('\n', textFile.getText());
-			return IntStream.rangeClosed(1, lineCount).mapToObj(filePath::child);
-		}, lineNumberPath -> {
-			int index = lineNumberPath.getValue().intValue() - 1;
-			String[] lines = lineNumberPath.getParent().getValue().asTextFile().getTextLines();
-			return lines[index];
+		IndexedContentPane<LineNumberPathNode> textContent = new IndexedContentPane<>(actions, this, () -> {
+			QuickNavIndex current = index;
+			return current == null ? null : current.getTextIndex();
 		}, cell -> {
 			LineNumberPathNode linePath = cell.getItem();
 			FilePathNode filePath = linePath.getParent();
@@ -268,6 +256,28 @@ public QuickNavWindow(@Nonnull WorkspaceManager workspaceManager, @Nonnull Comme
 		List<ContentPaneBase> contentPanes = List.of(classContent, memberContent, fileContent, textContent, commentContent);
 		contentPanes.forEach(workspaceManager::addWorkspaceCloseListener);
 
+		// The index is built when the window is first shown for a workspace, and dropped when the workspace closes.
+		// Once the index is fully populated, results of any existing query are refreshed.
+		addEventHandler(WindowEvent.WINDOW_SHOWN, e -> {
+			Workspace current = workspaceManager.getCurrent();
+			if (current == null || (index != null && index.getWorkspace() == current))
+				return;
+			if (index != null)
+				index.dispose();
+			QuickNavIndex newIndex = new QuickNavIndex(current);
+			index = newIndex;
+			newIndex.whenBuilt().thenRun(() -> FxThreadUtil.run(() -> {
+				if (index == newIndex)
+					contentPanes.forEach(ContentPaneBase::refresh);
+			}));
+		});
+		workspaceManager.addWorkspaceCloseListener(workspace -> FxThreadUtil.run(() -> {
+			if (index != null && index.getWorkspace() == workspace) {
+				index.dispose();
+				index = null;
+			}
+		}));
+
 		BoundTab tabClasses = new BoundTab(Lang.getBinding("dialog.quicknav.tab.classes"), Icons.getIconView(Icons.CLASS), classContent);
 		BoundTab tabMembers = new BoundTab(Lang.getBinding("dialog.quicknav.tab.members"), Icons.getIconView(Icons.FIELD_N_METHOD), memberContent);
 		BoundTab tabFiles = new BoundTab(Lang.getBinding("dialog.quicknav.tab.files"), new FontIconView(CarbonIcons.DOCUMENT), fileContent);
@@ -297,12 +307,14 @@ public QuickNavWindow(@Nonnull WorkspaceManager workspaceManager, @Nonnull Comme
 	 */
 	private static class ContentPaneBase extends BorderPane implements WorkspaceCloseListener {
 		protected final PathResultsPane<?> results;
+		private NavSearchBarBase<?> searchBar;
 
 		protected ContentPaneBase(@Nonnull PathResultsPane<?> results) {
 			this.results = results;
 		}
 
-		protected void setSearchBar(@Nonnull AbstractSearchBar searchBar) {
+		protected void setSearchBar(@Nonnull NavSearchBarBase<?> searchBar) {
+			this.searchBar = searchBar;
 			setTop(searchBar);
 
 			// Register event filter which will allow jumping from the search bar to other controls.
@@ -316,6 +328,14 @@ else if (e.getCode() == KeyCode.DOWN)
 			});
 		}
 
+		/**
+		 * Re-runs the current search.
+		 */
+		protected void refresh() {
+			if (searchBar != null)
+				searchBar.refreshResults();
+		}
+
 		@Override
 		public void onWorkspaceClosed(@Nonnull Workspace workspace) {
 			results.list.clear();
@@ -341,22 +361,18 @@ private OneToOneContentPane(@Nonnull Actions actions,
 	}
 
 	/**
-	 * Pane for displaying results that come from a one-to-many lookup.
+	 * Pane for displaying results that come from a {@link QuickNavIndex} lookup.
 	 *
 	 * @param <T>
-	 * 		Input type.
-	 * @param <R>
 	 * 		Result type.
 	 */
-	private static class OneToManyContentPane<T extends PathNode<?>, R extends PathNode<?>> extends ContentPaneBase {
-		private OneToManyContentPane(@Nonnull Actions actions,
-									 @Nonnull Stage stage,
-									 @Nonnull Supplier<Stream<T>> valueProvider,
-									 @Nonnull Function<T, Stream<R>> valueUnroller,
-									 @Nonnull Function<R, String> valueTextMapper,
-									 @Nonnull Consumer<ListCell<R>> renderCell) {
+	private static class IndexedContentPane<T extends PathNode<?>> extends ContentPaneBase {
+		private IndexedContentPane(@Nonnull Actions actions,
+								   @Nonnull Stage stage,
+								   @Nonnull Supplier<TrigramIndex<T>> indexProvider,
+								   @Nonnull Consumer<ListCell<T>> renderCell) {
 			super(new PathResultsPane<>(actions, stage, renderCell));
-			setSearchBar(new OneToManyNavSearchBar<>(Unchecked.cast(results), valueProvider, valueUnroller, valueTextMapper));
+			setSearchBar(new IndexedNavSearchBar<>(Unchecked.cast(results), indexProvider));
 			setCenter(results);
 		}
 	}
@@ -510,18 +526,15 @@ private void clearNavigation(ListCell<T> cell) {
 	/**
 	 * Search bar base implementation, tied to a {@link PathResultsPane}.
 	 *
-	 * @param <T>
-	 * 		Input type.
 	 * @param <R>
 	 * 		Result type.
 	 */
-	private abstract static class NavSearchBarBase<T extends PathNode<?>, R extends PathNode<?>> extends AbstractSearchBar {
+	private abstract static class NavSearchBarBase<R extends PathNode<?>> extends AbstractSearchBar {
+		protected final AtomicInteger generation = new AtomicInteger();
 		protected final PathResultsPane<R> results;
-		protected final Supplier<Stream<T>> valueProvider;
 
-		private NavSearchBarBase(@Nonnull PathResultsPane<R> results, @Nonnull Supplier<Stream<T>> valueProvider) {
+		private NavSearchBarBase(@Nonnull PathResultsPane<R> results) {
 			this.results = results;
-			this.valueProvider = valueProvider;
 
 			setup();
 		}
@@ -543,6 +556,9 @@ protected void bindResultCountDisplay(@Nonnull StringProperty resultTextProperty
 
 		@Override
 		protected void refreshResults() {
+			// Invalidate any in-progress search.
+			int searchGeneration = generation.incrementAndGet();
+
 			// Skip when there is nothing
 			String search = searchInput.getText();
 			if (search == null || search.isBlank()) {
@@ -551,7 +567,6 @@ protected void refreshResults() {
 				return;
 			}
 
-			List<R> tempResultsList = new ArrayList<>();
 			if (regex.get()) {
 				// Validate the regex.
 				RegexUtil.RegexValidation validation = RegexUtil.validate(search);
@@ -559,7 +574,7 @@ protected void refreshResults() {
 				if (validation.valid()) {
 					// It's valid, match against values
 					Pattern pattern = RegexUtil.pattern(search);
-					regexSearch(pattern, tempResultsList);
+					regexSearch(pattern, searchGeneration);
 				} else {
 					// It's not valid. Tell the user what went wrong.
 					popoverValidation = new Popover(new Label(validation.message()));
@@ -573,27 +588,37 @@ protected void refreshResults() {
 				if (old instanceof Popover oldPopover)
 					oldPopover.hide();
 			} else {
-				containmentSearch(search, tempResultsList);
+				containmentSearch(search, searchGeneration);
 			}
-			tempResultsList.sort(Comparator.naturalOrder());
-			results.list.setAll(tempResultsList);
+		}
+
+		/**
+		 * @param found
+		 * 		Results to display.
+		 * @param searchGeneration
+		 * 		Generation of the search that yielded the results.
+		 * 		Results of outdated searches are discarded.
+		 */
+		protected void setResults(@Nonnull List<R> found, int searchGeneration) {
+			if (searchGeneration == generation.get())
+				results.list.setAll(found);
 		}
 
 		/**
 		 * @param pattern
 		 * 		Pattern to search with.
-		 * @param results
-		 * 		Results sink to add to.
+		 * @param searchGeneration
+		 * 		Generation of the search, to pass to {@link #setResults(List, int)}.
 		 */
-		protected abstract void regexSearch(@Nonnull Pattern pattern, @Nonnull List<R> results);
+		protected abstract void regexSearch(@Nonnull Pattern pattern, int searchGeneration);
 
 		/**
 		 * @param search
 		 * 		The {@link #searchInput}'s text content to search with.
-		 * @param results
-		 * 		Results sink to add to.
+		 * @param searchGeneration
+		 * 		Generation of the search, to pass to {@link #setResults(List, int)}.
 		 */
-		protected abstract void containmentSearch(@Nonnull String search, @Nonnull List<R> results);
+		protected abstract void containmentSearch(@Nonnull String search, int searchGeneration);
 	}
 
 	/**
@@ -602,30 +627,35 @@ protected void refreshResults() {
 	 * @param <T>
 	 * 		Input/result type.
 	 */
-	private static class OneToOneNavSearchBar<T extends PathNode<?>> extends NavSearchBarBase<T, T> {
+	private static class OneToOneNavSearchBar<T extends PathNode<?>> extends NavSearchBarBase<T> {
+		private final Supplier<Stream<T>> valueProvider;
 		private final Function<T, String> valueTextMapper;
 
 		private OneToOneNavSearchBar(@Nonnull PathResultsPane<T> results,
 									 @Nonnull Supplier<Stream<T>> valueProvider,
 									 @Nonnull Function<T, String> valueTextMapper) {
-			super(results, valueProvider);
+			super(results);
+			this.valueProvider = valueProvider;
 			this.valueTextMapper = valueTextMapper;
 		}
 
 		@Override
-		protected void regexSearch(@Nonnull Pattern pattern, @Nonnull List<T> results) {
+		protected void regexSearch(@Nonnull Pattern pattern, int searchGeneration) {
+			List<T> found = new ArrayList<>();
 			valueProvider.get().forEach(item -> {
 				String text = valueTextMapper.apply(item);
 				if (text == null)
 					return;
 				Matcher matcher = pattern.matcher(text);
 				if (matcher.find())
-					results.add(item);
+					found.add(item);
 			});
+			found.sort(Comparator.naturalOrder());
+			setResults(found, searchGeneration);
 		}
 
 		@Override
-		protected void containmentSearch(@Nonnull String search, @Nonnull List<T> results) {
+		protected void containmentSearch(@Nonnull String search, int searchGeneration) {
 			// Modify the text/search for case-insensitive searches.
 			Function<T, String> localValueTextMapper;
 			if (!caseSensitivity.get()) {
@@ -636,66 +666,63 @@ protected void containmentSearch(@Nonnull String search, @Nonnull List<T> result
 			}
 
 			String finalSearch = search;
+			List<T> found = new ArrayList<>();
 			valueProvider.get().forEach(item -> {
 				String text = localValueTextMapper.apply(item);
 				if (text == null)
 					return;
 				if (text.contains(finalSearch))
-					results.add(item);
+					found.add(item);
 			});
+			found.sort(Comparator.naturalOrder());
+			setResults(found, searchGeneration);
 		}
 	}
 
 	/**
-	 * Search bar implementation where we match against multiple string values within a {@code <T>} value.
+	 * Search bar implementation backed by a {@link TrigramIndex}.
+	 * Lookups run on a background thread, so typing is never blocked by large workspaces.
+	 * Containment results are ranked by match quality, and include fuzzy matches where the index supports them.
 	 *
 	 * @param <T>
-	 * 		Input type.
-	 * @param <R>
 	 * 		Result type.
 	 */
-	private static class OneToManyNavSearchBar<T extends PathNode<?>, R extends PathNode<?>> extends NavSearchBarBase<T, R> {
-		private final Function<T, Stream<R>> valueUnroller;
-		private final Function<R, String> valueTextMapper;
-
-		private OneToManyNavSearchBar(@Nonnull PathResultsPane<R> results,
-									  @Nonnull Supplier<Stream<T>> valueProvider,
-									  @Nonnull Function<T, Stream<R>> valueUnroller,
-									  @Nonnull Function<R, String> valueTextMapper) {
-			super(results, valueProvider);
-			this.valueUnroller = valueUnroller;
-			this.valueTextMapper = valueTextMapper;
+	private static class IndexedNavSearchBar<T extends PathNode<?>> extends NavSearchBarBase<T> {
+		private final Supplier<TrigramIndex<T>> indexProvider;
+
+		private IndexedNavSearchBar(@Nonnull PathResultsPane<T> results,
+									@Nonnull Supplier<TrigramIndex<T>> indexProvider) {
+			super(results);
+			this.indexProvider = indexProvider;
 		}
 
 		@Override
-		protected void regexSearch(@Nonnull Pattern pattern, @Nonnull List<R> results) {
-			valueProvider.get().forEach(item -> {
-				valueUnroller.apply(item).forEach(mappedItem -> {
-					String text = valueTextMapper.apply(mappedItem);
-					if (text == null)
-						return;
-					Matcher matcher = pattern.matcher(text);
-					if (matcher.find())
-						results.add(mappedItem);
-				});
+		protected void regexSearch(@Nonnull Pattern pattern, int searchGeneration) {
+			search(searchGeneration, index -> {
+				List<T> found = index.filter(text -> pattern.matcher(text).find(), MAX_RESULTS);
+				found.sort(Comparator.naturalOrder());
+				return found;
 			});
 		}
 
 		@Override
-		protected void containmentSearch(@Nonnull String search, @Nonnull List<R> results) {
-			valueProvider.get().forEach(item -> {
-				valueUnroller.apply(item).forEach(mappedItem -> {
-					String text = valueTextMapper.apply(mappedItem);
-					if (text == null)
-						return;
-					String localSearch = search;
-					if (!caseSensitivity.get()) {
-						text = text.toLowerCase();
-						localSearch = localSearch.toLowerCase();
-					}
-					if (text.contains(localSearch))
-						results.add(mappedItem);
-				});
+		protected void containmentSearch(@Nonnull String search, int searchGeneration) {
+			boolean caseSensitive = caseSensitivity.get();
+			search(searchGeneration, index -> index.search(search, caseSensitive, MAX_RESULTS));
+		}
+
+		private void search(int searchGeneration, @Nonnull Function<TrigramIndex<T>, List<T>> lookup) {
+			TrigramIndex<T> index = indexProvider.get();
+			if (index == null) {
+				setResults(Collections.emptyList(), searchGeneration);
+				return;
+			}
+			searchPool.submit(() -> {
+				// Skip if the user has changed the search since this was queued.
+				if (searchGeneration != generation.get())
+					return;
+				List<T> found = lookup.apply(index);
+				FxThreadUtil.run(() -> setResults(found, searchGeneration));
 			});
 		}
 	}
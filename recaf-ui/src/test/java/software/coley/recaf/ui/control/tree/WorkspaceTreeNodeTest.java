@@ -5,6 +5,7 @@
 import org.junit.jupiter.api.Test;
 import software.coley.collections.Unchecked;
 import software.coley.recaf.info.BasicFileInfo;
+import software.coley.recaf.info.ClassInfo;
 import software.coley.recaf.info.FileInfo;
 import software.coley.recaf.info.JvmClassInfo;
 import software.coley.recaf.info.StubFileInfo;
@@ -427,6 +428,33 @@ void removeWhileFilteredDoesNotEliminateOtherClasses() {
 			assertNotNull(workspaceNode.getNodeByPath(p1b), "Class B not accessible after adjacent leaf removed");
 			assertNotNull(workspaceNode.getNodeByPath(p1c), "Class C not accessible after adjacent leaf removed");
 		}
+
+		@Test
+		void collapsedBranchMatchesDeferredChildren() {
+			// Directory node with deferred contents, which is never expanded
+			WorkspaceTreeNode directoryNode = new WorkspaceTreeNode(p2b);
+			LazyTreeBranch branch = LazyTreeBranch.ofBundle(p3c, primaryJvmBundle.values(),
+					item -> ((ClassInfo) item).getPackageName());
+			directoryNode.setLazyBranch(branch);
+			assertTrue(directoryNode.hasLazyChildren(), "Branch contents should be deferred");
+
+			// Case-insensitive queries are given in lowercase
+			assertTrue(directoryNode.matchesFilter("helloworld", false), "Deferred class not matched");
+			assertTrue(directoryNode.matchesFilter("HelloWorld", true), "Deferred class not matched");
+			assertFalse(directoryNode.matchesFilter("helloworld", true), "Case-sensitive query matched wrong case");
+			assertFalse(directoryNode.matchesFilter("nosuchclass", false), "Query matched no deferred class");
+
+			// Removing the deferred class should also remove it from matching
+			assertTrue(branch.remove(p1b), "Deferred class not removed");
+			assertFalse(directoryNode.matchesFilter("helloworld", false), "Removed class still matched");
+
+			// Adding it back should match again
+			branch.add(p1b);
+			assertTrue(directoryNode.matchesFilter("helloworld", false), "Added class not matched");
+
+			// Filtering must not have populated the branch
+			assertTrue(directoryNode.getSourceChildren().isEmpty(), "Filtering populated the branch");
+		}
 	}
 
 	@Nested
@@ -0,0 +1,57 @@
+package software.coley.recaf.ui.pane;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link LogBuffer}.
+ */
+class LogBufferTest {
+	@Test
+	void evictsOldestWhenFull() {
+		LogBuffer buffer = new LogBuffer(3);
+		for (int i = 0; i < 5; i++)
+			buffer.add("logger", Level.INFO, "message " + i, null);
+		assertEquals(3, buffer.size());
+		assertEquals(2, buffer.getFirstSequence());
+		assertEquals(5, buffer.getNextSequence());
+		assertEquals(List.of("message 2", "message 3", "message 4"), messages(buffer.matching(LogBuffer.Filter.ALL)));
+		assertEquals(List.of("message 4"), messages(buffer.since(4, LogBuffer.Filter.ALL)));
+	}
+
+	@Test
+	void shrinkingKeepsNewest() {
+		LogBuffer buffer = new LogBuffer(4);
+		for (int i = 0; i < 6; i++)
+			buffer.add("logger", Level.INFO, "message " + i, null);
+		buffer.setCapacity(2);
+		assertEquals(List.of("message 4", "message 5"), messages(buffer.matching(LogBuffer.Filter.ALL)));
+
+		// Growing again retains what is held, and makes room for more.
+		buffer.setCapacity(3);
+		buffer.add("logger", Level.INFO, "message 6", null);
+		assertEquals(List.of("message 4", "message 5", "message 6"), messages(buffer.matching(LogBuffer.Filter.ALL)));
+	}
+
+	@Test
+	void filterByLevelLoggerAndText() {
+		LogBuffer buffer = new LogBuffer(10);
+		buffer.add("software.coley.Alpha", Level.DEBUG, "Loaded classes", null);
+		buffer.add("software.coley.Alpha", Level.WARN, "Skipped CLASS file", null);
+		buffer.add("software.coley.Beta", Level.ERROR, "Failed to read class", null);
+		assertEquals(List.of("Skipped CLASS file", "Failed to read class"),
+				messages(buffer.matching(new LogBuffer.Filter(Level.WARN, "", ""))));
+		assertEquals(List.of("Loaded classes", "Skipped CLASS file"),
+				messages(buffer.matching(new LogBuffer.Filter(Level.TRACE, "alpha", ""))));
+		assertEquals(List.of("Skipped CLASS file"),
+				messages(buffer.matching(new LogBuffer.Filter(Level.TRACE, "", "Class f"))));
+	}
+
+	private static List<String> messages(List<LogBuffer.LogEntry> entries) {
+		return entries.stream().map(LogBuffer.LogEntry::message).toList();
+	}
+}